@@ -25,7 +25,7 @@ import java.util.concurrent.TimeUnit;
  * FolderInfoResponse folder = client.folders().createFolder(parentId, folderName);
  *
  * // 検索
- * List<String> results = client.search().search("query", SearchRequest.builder()...);
+ * List<SearchResultItem> results = client.search().search(SearchRequest.builder()...build());
  * }</pre>
  * </p>
  *
@@ -1,7 +1,10 @@
 package com.example.boxwrapper.client;
 
 import com.example.boxwrapper.model.request.FolderCreateRequest;
+import com.example.boxwrapper.model.response.FolderChangesResponse;
 import com.example.boxwrapper.model.response.FolderInfoResponse;
+import com.example.boxwrapper.model.response.FolderSnapshotResponse;
+import com.example.boxwrapper.model.response.FolderUsageResponse;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.extern.slf4j.Slf4j;
 
@@ -78,6 +81,55 @@ public class FolderClient extends BaseClient {
         return get(url, new TypeReference<List<String>>() {});
     }
 
+    /**
+     * フォルダ内のアイテム一覧をページ指定で取得します.
+     *
+     * @param folderId フォルダID
+     * @param offset 取得開始位置
+     * @param limit 取得件数の上限
+     * @return アイテム名のリスト
+     * @throws BoxWrapperClientException 取得に失敗した場合
+     */
+    public List<String> listFolderItems(String folderId, int offset, int limit) {
+        String url = "/api/v1/folders/" + folderId + "/items?offset=" + offset + "&limit=" + limit;
+        return get(url, new TypeReference<List<String>>() {});
+    }
+
+    /**
+     * フォルダ配下の使用量を取得します.
+     *
+     * @param folderId フォルダID
+     * @param refresh 古い集計を再取得するかどうか
+     * @return 合計バイト数、ファイル数、フォルダ数
+     * @throws BoxWrapperClientException 取得に失敗した場合
+     */
+    public FolderUsageResponse getFolderUsage(String folderId, boolean refresh) {
+        return get("/api/v1/folders/" + folderId + "/usage?refresh=" + refresh, FolderUsageResponse.class);
+    }
+
+    /**
+     * フォルダ配下のスナップショットを作成します.
+     *
+     * @param folderId フォルダID
+     * @return 作成されたスナップショットの情報
+     * @throws BoxWrapperClientException 作成に失敗した場合
+     */
+    public FolderSnapshotResponse createSnapshot(String folderId) {
+        return post("/api/v1/folders/" + folderId + "/snapshots", null, FolderSnapshotResponse.class);
+    }
+
+    /**
+     * スナップショット以降の変更を取得します.
+     *
+     * @param folderId フォルダID
+     * @param sinceSnapshotId 比較元のスナップショットID
+     * @return 追加・削除・変更・移動されたアイテムと新しいスナップショットID
+     * @throws BoxWrapperClientException 取得に失敗した場合
+     */
+    public FolderChangesResponse getChanges(String folderId, String sinceSnapshotId) {
+        return get("/api/v1/folders/" + folderId + "/changes?since=" + sinceSnapshotId, FolderChangesResponse.class);
+    }
+
     /**
      * フォルダを削除します.
      *
@@ -1,5 +1,6 @@
 package com.example.boxwrapper.client;
 
+import com.example.boxwrapper.model.request.BulkTransferRequest;
 import com.example.boxwrapper.model.response.JobStatusResponse;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,6 +13,9 @@ import lombok.extern.slf4j.Slf4j;
  * <pre>{@code
  * JobClient jobClient = client.jobs();
  *
+ * // 一括移動ジョブ開始
+ * JobStatusResponse job = jobClient.startTransfer(request);
+ *
  * // ジョブステータス取得
  * JobStatusResponse status = jobClient.getJobStatus("job-123");
  *
@@ -29,6 +33,17 @@ public class JobClient extends BaseClient {
         super(mainClient);
     }
 
+    /**
+     * 一括コピー/移動ジョブを開始します.
+     *
+     * @param request 操作種別と対象アイテムのリスト
+     * @return 開始されたジョブのステータス
+     * @throws BoxWrapperClientException 開始に失敗した場合
+     */
+    public JobStatusResponse startTransfer(BulkTransferRequest request) {
+        return post("/api/v1/jobs/transfers", request, JobStatusResponse.class);
+    }
+
     /**
      * ジョブのステータスを取得します.
      *
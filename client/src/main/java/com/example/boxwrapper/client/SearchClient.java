@@ -1,14 +1,21 @@
 package com.example.boxwrapper.client;
 
 import com.example.boxwrapper.model.request.SearchRequest;
+import com.example.boxwrapper.model.response.SearchIndexStatusResponse;
+import com.example.boxwrapper.model.response.SearchResultItem;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
+import okio.BufferedSource;
 
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * 検索クライアント.
@@ -20,7 +27,7 @@ import java.util.List;
  * SearchClient searchClient = client.search();
  *
  * // シンプルな検索
- * List<String> results = searchClient.search("document");
+ * List<SearchResultItem> results = searchClient.search("document");
  *
  * // 詳細検索
  * SearchRequest request = SearchRequest.builder()
@@ -30,7 +37,7 @@ import java.util.List;
  *     .offset(0)
  *     .limit(10)
  *     .build();
- * List<String> results = searchClient.search(request);
+ * List<SearchResultItem> results = searchClient.search(request);
  * }</pre>
  * </p>
  *
@@ -47,10 +54,10 @@ public class SearchClient extends BaseClient {
      * シンプルな検索を実行します.
      *
      * @param query 検索クエリ
-     * @return 検索結果のアイテム名リスト
+     * @return 検索結果のアイテムリスト
      * @throws BoxWrapperClientException 検索に失敗した場合
      */
-    public List<String> search(String query) {
+    public List<SearchResultItem> search(String query) {
         SearchRequest request = SearchRequest.builder()
             .query(query)
             .build();
@@ -61,10 +68,10 @@ public class SearchClient extends BaseClient {
      * 詳細な検索を実行します.
      *
      * @param searchRequest 検索リクエスト
-     * @return 検索結果のアイテム名リスト
+     * @return 検索結果のアイテムリスト
      * @throws BoxWrapperClientException 検索に失敗した場合
      */
-    public List<String> search(SearchRequest searchRequest) {
+    public List<SearchResultItem> search(SearchRequest searchRequest) {
         HttpUrl.Builder urlBuilder = HttpUrl.parse(mainClient.getBaseUrl() + "/api/v1/search").newBuilder();
         urlBuilder.addQueryParameter("query", searchRequest.getQuery());
 
@@ -95,9 +102,136 @@ public class SearchClient extends BaseClient {
             }
 
             String responseBody = response.body() != null ? response.body().string() : "[]";
-            return objectMapper.readValue(responseBody, new TypeReference<List<String>>() {});
+            return objectMapper.readValue(responseBody, new TypeReference<List<SearchResultItem>>() {});
         } catch (IOException e) {
             throw new BoxWrapperClientException("Search failed", e);
         }
     }
+
+    /**
+     * 検索にマッチした全アイテムをストリームで受け取ります.
+     *
+     * <p>サーバーがNDJSON形式で出力する結果を1行ずつ読み込み、受け取るたびに{@code consumer}を呼び出します。
+     * 結果全体をメモリに保持しないため、大量の結果のエクスポートに使用できます。
+     * offset/limitは無視されます。</p>
+     *
+     * @param searchRequest 検索リクエスト
+     * @param consumer 結果アイテムを受け取る処理
+     * @return 受け取ったアイテム数
+     * @throws BoxWrapperClientException 検索に失敗した場合、またはストリームが途中で切断された場合
+     */
+    public long streamSearch(SearchRequest searchRequest, Consumer<SearchResultItem> consumer) {
+        HttpUrl.Builder urlBuilder = HttpUrl.parse(mainClient.getBaseUrl() + "/api/v1/search/stream").newBuilder();
+        urlBuilder.addQueryParameter("query", searchRequest.getQuery());
+
+        if (searchRequest.getType() != null) {
+            urlBuilder.addQueryParameter("type", searchRequest.getType());
+        }
+        if (searchRequest.getFileExtension() != null) {
+            urlBuilder.addQueryParameter("fileExtension", searchRequest.getFileExtension());
+        }
+
+        Request request = new Request.Builder()
+            .url(urlBuilder.build())
+            .addHeader("X-API-Key", mainClient.getApiKey())
+            .get()
+            .build();
+
+        try (Response response = mainClient.getHttpClient().newCall(request).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new BoxWrapperClientException(
+                    "Search stream failed with status: " + response.code()
+                );
+            }
+
+            long count = 0;
+            BufferedSource source = response.body().source();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                if (!line.isEmpty()) {
+                    consumer.accept(objectMapper.readValue(line, SearchResultItem.class));
+                    count++;
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            throw new BoxWrapperClientException("Search stream failed", e);
+        }
+    }
+
+    /**
+     * 入力途中の文字列から候補のアイテム名を取得します.
+     *
+     * @param prefix 入力途中の文字列
+     * @param limit 最大件数
+     * @return 候補のアイテム名リスト
+     * @throws BoxWrapperClientException 取得に失敗した場合
+     */
+    public List<String> typeahead(String prefix, int limit) {
+        String endpoint = "/api/v1/search/typeahead?prefix=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8)
+            + "&limit=" + limit;
+        return get(endpoint, new TypeReference<List<String>>() {});
+    }
+
+    /**
+     * 入力途中の文字列から候補のアイテム名を取得します（セッション指定）.
+     *
+     * <p>サーバーでデバウンス（{@code box.search.debounce-millis}）が有効な場合、
+     * 同じセッションの次の入力に置き換えられたリクエストは空を返します。</p>
+     *
+     * @param prefix 入力途中の文字列
+     * @param limit 最大件数
+     * @param sessionId 入力元のセッションID
+     * @return 候補のアイテム名リスト。新しい入力に置き換えられた場合は空
+     * @throws BoxWrapperClientException 取得に失敗した場合
+     */
+    public Optional<List<String>> typeahead(String prefix, int limit, String sessionId) {
+        HttpUrl url = HttpUrl.parse(mainClient.getBaseUrl() + "/api/v1/search/typeahead").newBuilder()
+            .addQueryParameter("prefix", prefix)
+            .addQueryParameter("limit", String.valueOf(limit))
+            .build();
+
+        Request request = new Request.Builder()
+            .url(url)
+            .addHeader("X-API-Key", mainClient.getApiKey())
+            .addHeader("X-Session-Id", sessionId)
+            .get()
+            .build();
+
+        try (Response response = mainClient.getHttpClient().newCall(request).execute()) {
+            if (response.code() == 204) {
+                return Optional.empty();
+            }
+            if (!response.isSuccessful()) {
+                throw new BoxWrapperClientException(
+                    "Typeahead failed with status: " + response.code()
+                );
+            }
+
+            String responseBody = response.body() != null ? response.body().string() : "[]";
+            return Optional.of(objectMapper.readValue(responseBody, new TypeReference<List<String>>() {}));
+        } catch (IOException e) {
+            throw new BoxWrapperClientException("Typeahead failed", e);
+        }
+    }
+
+    /**
+     * ローカル検索索引の状態を取得します.
+     *
+     * @return 索引の状態
+     * @throws BoxWrapperClientException 取得に失敗した場合（索引が無効な場合を含む）
+     */
+    public SearchIndexStatusResponse getIndexStatus() {
+        return get("/api/v1/search/index", SearchIndexStatusResponse.class);
+    }
+
+    /**
+     * ローカル検索索引の再構築を開始します.
+     *
+     * @return 索引の状態
+     * @throws BoxWrapperClientException 開始に失敗した場合（索引が無効な場合を含む）
+     */
+    public SearchIndexStatusResponse rebuildIndex() {
+        return post("/api/v1/search/index/rebuild", null, SearchIndexStatusResponse.class);
+    }
 }
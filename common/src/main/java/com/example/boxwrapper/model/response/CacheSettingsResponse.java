@@ -0,0 +1,45 @@
+package com.example.boxwrapper.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * キャッシュ設定レスポンス
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheSettingsResponse {
+
+    private String cacheName;
+
+    /**
+     * 重み（値のヒープ使用量の概算）で容量を制限する場合true
+     */
+    private boolean weighted;
+
+    private long maximumSize;
+
+    private long maximumWeightBytes;
+
+    private long expireAfterWriteSeconds;
+
+    private double refreshAheadRatio;
+
+    private boolean softValues;
+
+    private double overflowRatio;
+
+    /**
+     * 現在のエントリ数（L1）
+     */
+    private long size;
+
+    /**
+     * 現在の重みの合計（L1、重みで制限する場合のみ）
+     */
+    private long weightedSize;
+}
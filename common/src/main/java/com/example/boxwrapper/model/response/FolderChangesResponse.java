@@ -0,0 +1,53 @@
+package com.example.boxwrapper.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * フォルダ差分レスポンス
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FolderChangesResponse {
+
+    private String folderId;
+
+    private String sinceSnapshotId;
+
+    private String snapshotId;  // 次回の差分取得に使用する新しいスナップショットID
+
+    private boolean incremental;  // イベントストリームを使用した場合true
+
+    @Builder.Default
+    private List<ChangedItem> added = new ArrayList<>();
+
+    @Builder.Default
+    private List<ChangedItem> removed = new ArrayList<>();
+
+    @Builder.Default
+    private List<ChangedItem> modified = new ArrayList<>();
+
+    @Builder.Default
+    private List<ChangedItem> moved = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChangedItem {
+        private String id;
+        private String type;
+        private String name;
+        private String parentId;
+        private String previousParentId;
+        private String etag;
+        private String sha1;
+    }
+}
@@ -30,4 +30,6 @@ public class FolderInfoResponse {
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
     private LocalDateTime modifiedAt;
+
+    private String etag;  // Boxのバージョン識別子（変更の有無の確認に使用）
 }
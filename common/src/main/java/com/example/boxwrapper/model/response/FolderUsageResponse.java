@@ -0,0 +1,30 @@
+package com.example.boxwrapper.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * フォルダ使用量レスポンス
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FolderUsageResponse {
+
+    private String folderId;
+
+    private long totalBytes;
+
+    private long fileCount;
+
+    private long folderCount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime computedAt;
+}
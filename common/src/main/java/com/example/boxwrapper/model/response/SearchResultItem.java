@@ -0,0 +1,35 @@
+package com.example.boxwrapper.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 検索結果アイテム
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultItem implements Serializable {
+
+    private String id;
+
+    private String type;  // file, folder or web_link
+
+    private String name;
+
+    private Long size;
+
+    private String parentId;
+
+    private String sha1;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime modifiedAt;
+}
@@ -0,0 +1,60 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Boxアイテム変更イベント.
+ *
+ * <p>このサーバー経由でアイテムが作成・削除・移動された際にサービス層から発行され、
+ * 各種キャッシュがこのイベントを受け取って自身のエントリを更新または無効化します。</p>
+ *
+ * <p>Springのイベントリスナーは同期実行されるため、サービスメソッドが返る時点で
+ * キャッシュへの反映は完了しています。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class BoxItemChangedEvent {
+
+    /**
+     * 変更の種類
+     */
+    public enum ChangeType {
+        CREATED,
+        DELETED,
+        MOVED
+    }
+
+    /**
+     * 変更対象アイテムの種類
+     */
+    public enum ItemType {
+        FILE,
+        FOLDER
+    }
+
+    String scope;
+
+    ChangeType changeType;
+
+    ItemType itemType;
+
+    String itemId;
+
+    /**
+     * 親フォルダID（移動時は移動先、不明な場合はnull）
+     */
+    String parentId;
+
+    /**
+     * 移動前の親フォルダID（移動時のみ、不明な場合はnull）
+     */
+    String previousParentId;
+
+    /**
+     * 作成・移動されたアイテムの情報（削除時はnull）
+     */
+    FolderItem item;
+}
@@ -0,0 +1,47 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Boxアイテム外部変更イベント.
+ *
+ * <p>このサーバーを経由せずに行われた変更（Boxのイベントストリームで通知された変更）について発行され、
+ * 各種キャッシュがこのイベントを受け取って対象アイテムと親フォルダのエントリを無効化します。</p>
+ *
+ * <p>{@link BoxItemChangedEvent}と異なり、変更内容をキャッシュに書き込まず無効化のみを行います。
+ * イベントストリームには同じ変更が重複して通知されることがあるため、各リスナーは
+ * 同じイベントを複数回受け取っても結果が変わらないように処理します。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class BoxItemInvalidatedEvent {
+
+    String scope;
+
+    BoxItemChangedEvent.ItemType itemType;
+
+    String itemId;
+
+    /**
+     * 変更後の親フォルダID（不明な場合はnull）
+     */
+    String parentId;
+
+    /**
+     * 変更前の親フォルダID（移動された場合のみ、不明な場合はnull）
+     */
+    String previousParentId;
+
+    /**
+     * ゴミ箱への移動・削除の場合true
+     */
+    boolean deleted;
+
+    /**
+     * 変更後のアイテム情報（削除時や不明な場合はnull）
+     */
+    FolderItem item;
+}
@@ -0,0 +1,35 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 他のノードの管理APIによるキャッシュ無効化イベント.
+ *
+ * <p>他のノードで管理API（キー・前方一致・フォルダ配下の無効化、全削除）が呼び出された場合に、
+ * 受信したノードで発行されます。{@code CacheAdminService}が同じ範囲をこのノードのキャッシュから
+ * 削除します（再送信はしません）。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class CacheAdminInvalidatedEvent {
+
+    CacheInvalidationMessage.Operation operation;
+
+    /**
+     * キャッシュ名（全キャッシュの場合はnull）
+     */
+    String cacheName;
+
+    /**
+     * テナントスコープ（全テナントの場合はnull）
+     */
+    String scope;
+
+    /**
+     * キー・前方一致・フォルダID（全削除の場合はnull）
+     */
+    String key;
+}
@@ -0,0 +1,95 @@
+package com.example.boxwrapper.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 2次領域（L2）に保存するキャッシュエントリの変換.
+ *
+ * <p>キーは{@link TenantCacheKey}の文字列表現、値はクラス名とJSONの組み合わせで保存します。
+ * 復元できるのはこのアプリケーションのパッケージのクラスのみです。</p>
+ *
+ * @since 1.1.0
+ */
+final class CacheEntryCodec {
+
+    private static final String ALLOWED_PACKAGE = "com.example.boxwrapper.";
+    private static final byte SEPARATOR = '\n';
+
+    private final ObjectMapper objectMapper;
+
+    CacheEntryCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * キーを変換します（L2に保存できないキーの場合は空）
+     */
+    Optional<byte[]> encodeKey(Object key) {
+        if (key instanceof TenantCacheKey tenantKey) {
+            return Optional.of(tenantKey.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * テナントスコープのキーに一致する条件を返します
+     */
+    Predicate<byte[]> scopeMatcher(String scope) {
+        byte[] prefix = (scope + ":").getBytes(StandardCharsets.UTF_8);
+        return key -> key.length >= prefix.length
+            && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * 値を変換します（L2に保存できない値の場合は空）
+     */
+    Optional<byte[]> encodeValue(Object value) throws IOException {
+        if (value == null || !value.getClass().getName().startsWith(ALLOWED_PACKAGE)) {
+            return Optional.empty();
+        }
+        byte[] type = value.getClass().getName().getBytes(StandardCharsets.UTF_8);
+        byte[] json = objectMapper.writeValueAsBytes(value);
+
+        byte[] encoded = new byte[type.length + 1 + json.length];
+        System.arraycopy(type, 0, encoded, 0, type.length);
+        encoded[type.length] = SEPARATOR;
+        System.arraycopy(json, 0, encoded, type.length + 1, json.length);
+        return Optional.of(encoded);
+    }
+
+    /**
+     * 値を復元します
+     */
+    Object decodeValue(byte[] encoded) throws IOException {
+        int separator = indexOf(encoded, SEPARATOR);
+        if (separator < 0) {
+            throw new IOException("Invalid cache entry");
+        }
+        String typeName = new String(encoded, 0, separator, StandardCharsets.UTF_8);
+        if (!typeName.startsWith(ALLOWED_PACKAGE)) {
+            throw new IOException("Cache entry type is not allowed: " + typeName);
+        }
+
+        try {
+            Class<?> type = Class.forName(typeName, false, getClass().getClassLoader());
+            return objectMapper.readValue(encoded, separator + 1, encoded.length - separator - 1, type);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown cache entry type: " + typeName, e);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte value) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
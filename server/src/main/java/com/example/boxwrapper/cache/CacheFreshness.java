@@ -0,0 +1,156 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * リクエストの{@code Cache-Control}ヘッダーで指定された、許容するキャッシュの古さ.
+ *
+ * <p>{@code max-age}・{@code max-stale}・{@code no-cache}・{@code stale-while-revalidate}を解釈します。
+ * {@code max-age}に{@code max-stale}を加えた時間までに書き込まれたエントリはそのまま応答に使い、
+ * さらに{@code stale-while-revalidate}の時間内であれば古いエントリを返しつつバックグラウンドで更新します。
+ * それより古いエントリと、{@code no-cache}が指定された場合のエントリは使わずにBoxから再取得します。</p>
+ *
+ * <p>値のない{@code max-stale}は古さを制限しません。解釈できない指定は無視します。
+ * いずれの指定もない場合は、有効期間内のエントリを全て使います（{@link #DEFAULT}）。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class CacheFreshness {
+
+    /**
+     * 指定のないリクエスト（有効期間内のエントリを全て使う）
+     */
+    public static final CacheFreshness DEFAULT = CacheFreshness.builder().build();
+
+    /**
+     * キャッシュを使わずにBoxから再取得するリクエスト
+     */
+    public static final CacheFreshness NO_CACHE = CacheFreshness.builder().noCache(true).build();
+
+    private static final Duration UNLIMITED = Duration.ofNanos(Long.MAX_VALUE);
+
+    /**
+     * 許容する書き込みからの経過時間（nullの場合は制限しない）
+     */
+    Duration maxAge;
+
+    /**
+     * {@code max-age}を超えても許容する時間（nullの場合は0）
+     */
+    Duration maxStale;
+
+    /**
+     * 古いエントリを返しつつ更新する時間（nullの場合は古いエントリを返さない）
+     */
+    Duration staleWhileRevalidate;
+
+    /**
+     * キャッシュを使わない
+     */
+    boolean noCache;
+
+    /**
+     * エントリの使い方.
+     */
+    public enum Verdict {
+
+        /**
+         * そのまま応答に使う
+         */
+        FRESH,
+
+        /**
+         * 応答に使い、バックグラウンドで更新する
+         */
+        STALE_WHILE_REVALIDATE,
+
+        /**
+         * 使わずに再取得する
+         */
+        EXPIRED
+    }
+
+    /**
+     * {@code Cache-Control}ヘッダーの値を解釈します.
+     *
+     * @param header ヘッダーの値（nullの場合は{@link #DEFAULT}）
+     * @return 許容するキャッシュの古さ
+     */
+    public static CacheFreshness parse(String header) {
+        if (header == null || header.isBlank()) {
+            return DEFAULT;
+        }
+
+        CacheFreshnessBuilder builder = CacheFreshness.builder();
+        for (String directive : header.split(",")) {
+            String[] parts = directive.trim().split("=", 2);
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            String value = parts.length > 1 ? parts[1].trim() : null;
+            switch (name) {
+                case "no-cache" -> builder.noCache(true);
+                case "max-age" -> builder.maxAge(seconds(value));
+                case "max-stale" -> builder.maxStale(value == null ? UNLIMITED : seconds(value));
+                case "stale-while-revalidate" -> builder.staleWhileRevalidate(seconds(value));
+                default -> {
+                    // 対象外の指定（no-store、only-if-cachedなど）は無視する
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 書き込みからの経過時間に応じたエントリの使い方を判定します.
+     *
+     * @param age 書き込みからの経過時間
+     * @return エントリの使い方
+     */
+    public Verdict evaluate(Duration age) {
+        if (noCache) {
+            return Verdict.EXPIRED;
+        }
+        if (maxAge == null) {
+            return Verdict.FRESH;
+        }
+
+        Duration acceptable = add(maxAge, maxStale);
+        if (age.compareTo(acceptable) <= 0) {
+            return Verdict.FRESH;
+        }
+        if (staleWhileRevalidate != null && age.compareTo(add(acceptable, staleWhileRevalidate)) <= 0) {
+            return Verdict.STALE_WHILE_REVALIDATE;
+        }
+        return Verdict.EXPIRED;
+    }
+
+    /**
+     * 秒数を解釈（不正な値はnull）
+     */
+    private static Duration seconds(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            long seconds = Long.parseLong(value.replace("\"", ""));
+            return seconds >= 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Duration add(Duration base, Duration extra) {
+        if (extra == null) {
+            return base;
+        }
+        if (base.compareTo(UNLIMITED.minus(extra)) >= 0) {
+            return UNLIMITED;
+        }
+        return base.plus(extra);
+    }
+}
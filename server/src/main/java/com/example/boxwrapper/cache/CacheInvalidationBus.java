@@ -0,0 +1,40 @@
+package com.example.boxwrapper.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ノード間でキャッシュの無効化を通知するバス.
+ *
+ * <p>ロードバランサー配下の複数ノードで、あるノードでの変更を他のノードのキャッシュに反映するために使用します。
+ * {@code box.cluster.transport}で実装を選択します（{@code in-process}: {@link InProcessInvalidationBus}、
+ * {@code udp}: {@link UdpInvalidationBus}）。</p>
+ *
+ * <p>通知は到達を保証しません。届かなかった場合も、エントリは有効期間が過ぎると再取得されます。</p>
+ *
+ * @since 1.1.0
+ */
+public interface CacheInvalidationBus extends AutoCloseable {
+
+    /**
+     * 他のノードにメッセージを送信します.
+     *
+     * <p>送信したノード自身のリスナーには配信しません。</p>
+     *
+     * @param messages 無効化メッセージ
+     */
+    void publish(List<CacheInvalidationMessage> messages);
+
+    /**
+     * 他のノードから受信したメッセージのリスナーを登録します.
+     *
+     * @param listener 受信したメッセージを受け取る処理（受信スレッドで呼び出される）
+     */
+    void subscribe(Consumer<List<CacheInvalidationMessage>> listener);
+
+    /**
+     * 送受信を停止します.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,189 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 他のノードに通知するキャッシュ無効化メッセージ.
+ *
+ * <p>このサーバー経由の変更（{@link BoxItemChangedEvent}）と、このノードが受信したWebhookから生成し、受信したノードでは
+ * {@link BoxItemInvalidatedEvent}として発行して、アイテムと親フォルダのエントリを無効化します。</p>
+ *
+ * <p>管理APIによる無効化・全削除（{@link #admin}）も同じメッセージで通知し、受信したノードでは
+ * {@link CacheAdminInvalidatedEvent}として発行して同じ範囲を無効化します。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder(toBuilder = true)
+public class CacheInvalidationMessage {
+
+    /**
+     * 無効化の種類
+     */
+    public enum Operation {
+        /** アイテムと親フォルダのエントリ */
+        ITEM,
+        /** キーを指定したエントリ */
+        KEY,
+        /** キーの前方一致 */
+        PREFIX,
+        /** フォルダと配下のアイテム */
+        SUBTREE,
+        /** キャッシュの全削除 */
+        FLUSH
+    }
+
+    @Builder.Default
+    Operation operation = Operation.ITEM;
+
+    /**
+     * テナントスコープ（{@link Operation#FLUSH}で全テナントの場合はnull）
+     */
+    String scope;
+
+    BoxItemChangedEvent.ItemType itemType;
+
+    String itemId;
+
+    /**
+     * 親フォルダID（移動時は移動先、不明な場合はnull）
+     */
+    String parentId;
+
+    /**
+     * 移動前の親フォルダID（移動時のみ、不明な場合はnull）
+     */
+    String previousParentId;
+
+    /**
+     * 削除の場合true
+     */
+    boolean deleted;
+
+    /**
+     * 管理APIの対象キャッシュ名（全キャッシュの場合と{@link Operation#ITEM}ではnull）
+     */
+    String cacheName;
+
+    /**
+     * 管理APIのキー・前方一致・フォルダID（{@link Operation#FLUSH}と{@link Operation#ITEM}ではnull）
+     */
+    String key;
+
+    /**
+     * アイテム変更イベントからメッセージを生成します.
+     *
+     * @param event アイテム変更イベント
+     * @return 無効化メッセージ
+     */
+    public static CacheInvalidationMessage from(BoxItemChangedEvent event) {
+        return CacheInvalidationMessage.builder()
+            .scope(event.getScope())
+            .itemType(event.getItemType())
+            .itemId(event.getItemId())
+            .parentId(event.getParentId())
+            .previousParentId(event.getPreviousParentId())
+            .deleted(event.getChangeType() == BoxItemChangedEvent.ChangeType.DELETED)
+            .build();
+    }
+
+    /**
+     * 外部変更イベントからメッセージを生成します.
+     *
+     * @param event 外部変更イベント
+     * @return 無効化メッセージ
+     */
+    public static CacheInvalidationMessage from(BoxItemInvalidatedEvent event) {
+        return CacheInvalidationMessage.builder()
+            .scope(event.getScope())
+            .itemType(event.getItemType())
+            .itemId(event.getItemId())
+            .parentId(event.getParentId())
+            .previousParentId(event.getPreviousParentId())
+            .deleted(event.isDeleted())
+            .build();
+    }
+
+    /**
+     * 管理APIによる無効化のメッセージを生成します.
+     *
+     * @param operation 無効化の種類
+     * @param cacheName キャッシュ名（全キャッシュの場合はnull）
+     * @param scope テナントスコープ（全テナントの場合はnull）
+     * @param key キー・前方一致・フォルダID（全削除の場合はnull）
+     * @return 無効化メッセージ
+     */
+    public static CacheInvalidationMessage admin(Operation operation, String cacheName, String scope, String key) {
+        return CacheInvalidationMessage.builder()
+            .operation(operation)
+            .cacheName(cacheName)
+            .scope(scope)
+            .key(key)
+            .build();
+    }
+
+    /**
+     * 送信前に1件にまとめるメッセージを判別するキーを返します.
+     *
+     * @return アイテムの変更はテナントとアイテムID、管理APIは種類・キャッシュ・テナント・キーの組
+     */
+    public String coalescingKey() {
+        if (operation == Operation.ITEM) {
+            return scope + ":" + itemId;
+        }
+        return operation + ":" + cacheName + ":" + scope + ":" + key;
+    }
+
+    /**
+     * 同じアイテムへの後続のメッセージと1件にまとめます.
+     *
+     * <p>後続のメッセージを優先し、前のメッセージの親フォルダが後続と異なる場合は
+     * 移動前の親フォルダとして残します（両方のフォルダの一覧を無効化するため）。</p>
+     *
+     * @param next 同じアイテムへの後続のメッセージ
+     * @return まとめたメッセージ
+     */
+    public CacheInvalidationMessage merge(CacheInvalidationMessage next) {
+        if (next.getPreviousParentId() != null || parentId == null || parentId.equals(next.getParentId())) {
+            return next;
+        }
+        return next.toBuilder().previousParentId(parentId).build();
+    }
+
+    /**
+     * 受信したノードで発行する外部変更イベントに変換します.
+     *
+     * @return 外部変更イベント
+     */
+    public BoxItemInvalidatedEvent toInvalidatedEvent() {
+        if (operation != Operation.ITEM) {
+            throw new IllegalStateException("Not an item invalidation: " + operation);
+        }
+        return BoxItemInvalidatedEvent.builder()
+            .scope(scope)
+            .itemType(itemType)
+            .itemId(itemId)
+            .parentId(parentId)
+            .previousParentId(previousParentId)
+            .deleted(deleted)
+            .build();
+    }
+
+    /**
+     * 受信したノードで発行する管理APIの無効化イベントに変換します.
+     *
+     * @return 管理APIの無効化イベント
+     */
+    public CacheAdminInvalidatedEvent toAdminEvent() {
+        if (operation == Operation.ITEM) {
+            throw new IllegalStateException("Not an admin invalidation");
+        }
+        return CacheAdminInvalidatedEvent.builder()
+            .operation(operation)
+            .cacheName(cacheName)
+            .scope(scope)
+            .key(key)
+            .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * キャッシュごとの容量・有効期間の設定.
+ *
+ * <p>{@code box.cache.caches.<キャッシュ名>}で指定し、指定のない項目は{@code box.cache}の値を使用します。
+ * {@code maximumWeightBytes}が0より大きい場合は、エントリ数ではなく値のヒープ使用量の概算
+ * （{@link ObjectSizeEstimator}）の合計で容量を制限します。</p>
+ *
+ * <p>容量・有効期間・更新の割合・共有領域の割合は{@link TenantPartitionedCache#reconfigure(CacheSettings)}で
+ * 実行中に変更できます。容量の単位（エントリ数か重みか）とソフト参照の有無は変更できません。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder(toBuilder = true)
+public class CacheSettings {
+
+    /**
+     * 全テナント合計の最大エントリ数（{@code maximumWeightBytes}が0の場合に使用）
+     */
+    long maximumSize;
+
+    /**
+     * 全テナント合計の最大重み（バイト数）。0の場合はエントリ数で制限する
+     */
+    long maximumWeightBytes;
+
+    /**
+     * 書き込みからの有効期間
+     */
+    Duration ttl;
+
+    /**
+     * 有効期間のこの割合を過ぎて参照されたエントリを更新する（0で更新しない）
+     */
+    double refreshAheadRatio;
+
+    /**
+     * 値をソフト参照で保持する（ヒープが不足した場合にGCで回収される）
+     */
+    boolean softValues;
+
+    /**
+     * 全体の容量のうち共有領域に割り当てる割合（0.0〜1.0）
+     */
+    double overflowRatio;
+
+    /**
+     * 重み（バイト数）で容量を制限するかどうかを判定します.
+     *
+     * @return {@code maximumWeightBytes}が0より大きい場合true
+     */
+    public boolean isWeighted() {
+        return maximumWeightBytes > 0;
+    }
+
+    /**
+     * 容量を返します.
+     *
+     * @return 重みで制限する場合はバイト数、それ以外はエントリ数
+     */
+    public long getCapacity() {
+        return isWeighted() ? maximumWeightBytes : maximumSize;
+    }
+}
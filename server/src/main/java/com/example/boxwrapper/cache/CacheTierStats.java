@@ -0,0 +1,62 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * キャッシュの階層（L1: ヒープ上、L2: メモリマップドファイル）ごとの統計.
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class CacheTierStats {
+
+    String cacheName;
+
+    /**
+     * 階層名（"L1"または"L2"）
+     */
+    String tier;
+
+    long size;
+
+    long hitCount;
+
+    long missCount;
+
+    /**
+     * 容量超過によって追い出されたエントリ数（期限切れは含まない）
+     */
+    long evictionCount;
+
+    /**
+     * 使用中のバイト数（L2、または重みで制限するL1）
+     */
+    long usedBytes;
+
+    /**
+     * 容量のバイト数（L2、または重みで制限するL1）
+     */
+    long capacityBytes;
+
+    /**
+     * ヒット率を返します.
+     *
+     * @return ヒット数 / 参照数。参照がない場合は1.0
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * ミス率を返します.
+     *
+     * @return ミス数 / 参照数。参照がない場合は0.0
+     */
+    public double getMissRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) missCount / requests;
+    }
+}
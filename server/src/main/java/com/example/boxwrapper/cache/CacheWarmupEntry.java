@@ -0,0 +1,34 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * ウォームアップ用スナップショットに保存するキャッシュエントリ.
+ *
+ * <p>書き込み時刻と有効期限はエポックミリ秒で保持し、復元後も元の有効期限を引き継ぎます。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class CacheWarmupEntry {
+
+    TenantCacheKey key;
+
+    Object value;
+
+    long writtenAtMillis;
+
+    long expiresAtMillis;
+
+    /**
+     * 有効期限を過ぎているかを判定します.
+     *
+     * @param nowMillis 現在時刻（エポックミリ秒）
+     * @return 有効期限を過ぎている場合true
+     */
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
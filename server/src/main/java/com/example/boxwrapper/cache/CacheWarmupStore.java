@@ -0,0 +1,140 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.config.BoxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * キャッシュのウォームアップ用スナップショットのファイルストア.
+ *
+ * <p>参照頻度の高いエントリを{@code box.warmup.file}にバイナリ形式で保存します。
+ * 値はL2と同じ形式（{@link CacheEntryCodec}、クラス名とJSON）で保存するため、
+ * 復元できるのはこのアプリケーションのパッケージのクラスのみです。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Component
+public class CacheWarmupStore {
+
+    private static final int MAGIC = 0x424F5857;  // "BOXW"
+    private static final byte FORMAT_VERSION = 1;
+
+    private final Path file;
+    private final CacheEntryCodec codec;
+
+    public CacheWarmupStore(BoxProperties boxProperties, ObjectMapper objectMapper) {
+        this.file = Path.of(boxProperties.getWarmup().getFile());
+        this.codec = new CacheEntryCodec(objectMapper);
+    }
+
+    /**
+     * スナップショットを保存します.
+     *
+     * <p>一時ファイルに書き込んでから置き換えるため、書き込み中に停止しても前回のスナップショットは残ります。</p>
+     *
+     * @param entriesByCache キャッシュ名ごとのエントリ
+     * @return 保存したエントリ数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public int save(Map<String, List<CacheWarmupEntry>> entriesByCache) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "warmup", ".tmp");
+        int saved = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(entriesByCache.size());
+            for (Map.Entry<String, List<CacheWarmupEntry>> cacheEntries : entriesByCache.entrySet()) {
+                List<byte[]> values = new ArrayList<>();
+                List<CacheWarmupEntry> encodable = new ArrayList<>();
+                for (CacheWarmupEntry entry : cacheEntries.getValue()) {
+                    Optional<byte[]> value = codec.encodeValue(entry.getValue());
+                    if (value.isPresent()) {
+                        values.add(value.get());
+                        encodable.add(entry);
+                    }
+                }
+
+                out.writeUTF(cacheEntries.getKey());
+                out.writeInt(encodable.size());
+                for (int i = 0; i < encodable.size(); i++) {
+                    CacheWarmupEntry entry = encodable.get(i);
+                    out.writeUTF(entry.getKey().getScope());
+                    out.writeUTF(entry.getKey().getId());
+                    out.writeLong(entry.getWrittenAtMillis());
+                    out.writeLong(entry.getExpiresAtMillis());
+                    out.writeInt(values.get(i).length);
+                    out.write(values.get(i));
+                }
+                saved += encodable.size();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Saved cache warm-up snapshot: {} entries, {} bytes", saved, Files.size(file));
+        return saved;
+    }
+
+    /**
+     * スナップショットを読み込みます.
+     *
+     * <p>復元できない値（クラスが削除された場合など）のエントリは読み飛ばします。</p>
+     *
+     * @return キャッシュ名ごとのエントリ。スナップショットがない場合は空のマップ
+     * @throws IOException 読み込みに失敗した場合、または形式が不正な場合
+     */
+    public Map<String, List<CacheWarmupEntry>> load() throws IOException {
+        Map<String, List<CacheWarmupEntry>> entriesByCache = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return entriesByCache;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                throw new IOException("未対応のウォームアップスナップショット形式です");
+            }
+            int cacheCount = in.readInt();
+            for (int c = 0; c < cacheCount; c++) {
+                String cacheName = in.readUTF();
+                int entryCount = in.readInt();
+                List<CacheWarmupEntry> entries = new ArrayList<>(entryCount);
+                for (int i = 0; i < entryCount; i++) {
+                    TenantCacheKey key = TenantCacheKey.of(in.readUTF(), in.readUTF());
+                    long writtenAtMillis = in.readLong();
+                    long expiresAtMillis = in.readLong();
+                    byte[] value = in.readNBytes(in.readInt());
+                    try {
+                        entries.add(CacheWarmupEntry.builder()
+                            .key(key)
+                            .value(codec.decodeValue(value))
+                            .writtenAtMillis(writtenAtMillis)
+                            .expiresAtMillis(expiresAtMillis)
+                            .build());
+                    } catch (IOException e) {
+                        log.debug("Skipping unreadable warm-up entry {} in cache {}: {}", key, cacheName, e.getMessage());
+                    }
+                }
+                entriesByCache.put(cacheName, entries);
+            }
+        }
+        return entriesByCache;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.model.response.FileInfoResponse;
+
+/**
+ * キャッシュに保持するファイル情報の省メモリ表現.
+ *
+ * <p>IDは数値の場合は{@code long}、それ以外は{@code *Text}に保持します。日時はUTCとみなした
+ * エポックミリ秒、サイズはnullの場合に{@link CompactValues#ABSENT}です。変換は{@link CompactValues}を参照してください。</p>
+ *
+ * @since 1.1.0
+ */
+public record CompactFileInfo(long fileId,
+                              String fileIdText,
+                              String fileName,
+                              long size,
+                              long parentFolderId,
+                              String parentFolderIdText,
+                              long createdAt,
+                              long modifiedAt,
+                              byte[] sha1,
+                              String sha1Text,
+                              String downloadUrl,
+                              String etag) {
+
+    static CompactFileInfo of(FileInfoResponse response) {
+        byte[] sha1 = CompactValues.sha1Bytes(response.getSha1());
+        return new CompactFileInfo(
+            CompactValues.numericId(response.getFileId()),
+            CompactValues.textId(response.getFileId()),
+            response.getFileName(),
+            response.getSize() != null ? response.getSize() : CompactValues.ABSENT,
+            CompactValues.numericId(response.getParentFolderId()),
+            CompactValues.textId(response.getParentFolderId()),
+            CompactValues.epochMillis(response.getCreatedAt()),
+            CompactValues.epochMillis(response.getModifiedAt()),
+            sha1,
+            sha1 == null ? response.getSha1() : null,
+            response.getDownloadUrl(),
+            CompactValues.token(response.getEtag()));
+    }
+
+    FileInfoResponse toResponse() {
+        return FileInfoResponse.builder()
+            .fileId(CompactValues.id(fileId, fileIdText))
+            .fileName(fileName)
+            .size(size != CompactValues.ABSENT ? size : null)
+            .parentFolderId(CompactValues.id(parentFolderId, parentFolderIdText))
+            .createdAt(CompactValues.dateTime(createdAt))
+            .modifiedAt(CompactValues.dateTime(modifiedAt))
+            .sha1(CompactValues.sha1(sha1, sha1Text))
+            .downloadUrl(downloadUrl)
+            .etag(etag)
+            .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.model.response.FolderInfoResponse;
+
+/**
+ * キャッシュに保持するフォルダ情報の省メモリ表現.
+ *
+ * <p>IDは数値の場合は{@code long}、それ以外は{@code *Text}に保持します。日時はUTCとみなした
+ * エポックミリ秒、アイテム数はnullの場合に-1です。変換は{@link CompactValues}を参照してください。</p>
+ *
+ * @since 1.1.0
+ */
+public record CompactFolderInfo(long folderId,
+                                String folderIdText,
+                                String folderName,
+                                long parentFolderId,
+                                String parentFolderIdText,
+                                int itemCount,
+                                long createdAt,
+                                long modifiedAt,
+                                String etag) {
+
+    static CompactFolderInfo of(FolderInfoResponse response) {
+        return new CompactFolderInfo(
+            CompactValues.numericId(response.getFolderId()),
+            CompactValues.textId(response.getFolderId()),
+            response.getFolderName(),
+            CompactValues.numericId(response.getParentFolderId()),
+            CompactValues.textId(response.getParentFolderId()),
+            response.getItemCount() != null ? response.getItemCount() : -1,
+            CompactValues.epochMillis(response.getCreatedAt()),
+            CompactValues.epochMillis(response.getModifiedAt()),
+            CompactValues.token(response.getEtag()));
+    }
+
+    FolderInfoResponse toResponse() {
+        return FolderInfoResponse.builder()
+            .folderId(CompactValues.id(folderId, folderIdText))
+            .folderName(folderName)
+            .parentFolderId(CompactValues.id(parentFolderId, parentFolderIdText))
+            .itemCount(itemCount >= 0 ? itemCount : null)
+            .createdAt(CompactValues.dateTime(createdAt))
+            .modifiedAt(CompactValues.dateTime(modifiedAt))
+            .etag(etag)
+            .build();
+    }
+}
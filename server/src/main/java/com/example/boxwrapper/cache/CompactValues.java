@@ -0,0 +1,161 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import com.example.boxwrapper.model.response.FolderInfoResponse;
+import com.github.benmanes.caffeine.cache.Interner;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+
+/**
+ * キャッシュに保持する値の省メモリ表現への変換.
+ *
+ * <p>{@link FileInfoResponse}と{@link FolderInfoResponse}は、文字列のID・ボックス化された数値・
+ * {@link LocalDateTime}を持つため、1件あたりのヒープ使用量が大きくなります。キャッシュには
+ * プリミティブ型のフィールドのみを持つ{@link CompactFileInfo}/{@link CompactFolderInfo}として保持し、
+ * 参照されるたびにDTOに戻します（戻したDTOを変更してもキャッシュには影響しません）。</p>
+ *
+ * <ul>
+ *   <li>ID: 数値のIDは{@code long}で保持します。数値でないIDは文字列のまま重複を除いて保持します。</li>
+ *   <li>日時: タイムゾーン変換を行わず、{@link LocalDateTime}をUTCとみなしたエポックミリ秒で保持します。</li>
+ *   <li>SHA-1: 40文字の16進数を20バイトの配列で保持します。</li>
+ *   <li>etag: 文字列のまま重複を除いて保持します。</li>
+ * </ul>
+ *
+ * <p>ミリ秒未満の日時など、元の値を復元できない値は変換しません。</p>
+ *
+ * @since 1.1.0
+ */
+public final class CompactValues {
+
+    /**
+     * IDが数値でない（またはnullの）場合の値
+     */
+    static final long NOT_NUMERIC = -1;
+
+    /**
+     * 日時・数値がnullの場合の値
+     */
+    static final long ABSENT = Long.MIN_VALUE;
+
+    private static final int SHA1_LENGTH = 40;
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Interner<String> IDS = Interner.newWeakInterner();
+
+    private CompactValues() {
+    }
+
+    /**
+     * 値を省メモリ表現に変換します.
+     *
+     * @param value キャッシュに格納する値
+     * @return 省メモリ表現（変換できない値はそのまま）
+     */
+    public static Object compact(Object value) {
+        if (value instanceof FileInfoResponse fileInfo
+                && (fileInfo.getSize() == null || fileInfo.getSize() != ABSENT)
+                && isLossless(fileInfo.getCreatedAt(), fileInfo.getModifiedAt())) {
+            return CompactFileInfo.of(fileInfo);
+        }
+        if (value instanceof FolderInfoResponse folderInfo
+                && (folderInfo.getItemCount() == null || folderInfo.getItemCount() >= 0)
+                && isLossless(folderInfo.getCreatedAt(), folderInfo.getModifiedAt())) {
+            return CompactFolderInfo.of(folderInfo);
+        }
+        return value;
+    }
+
+    /**
+     * 省メモリ表現をDTOに戻します.
+     *
+     * @param value キャッシュに格納されている値
+     * @return DTO（省メモリ表現でない値はそのまま）
+     */
+    public static Object inflate(Object value) {
+        if (value instanceof CompactFileInfo fileInfo) {
+            return fileInfo.toResponse();
+        }
+        if (value instanceof CompactFolderInfo folderInfo) {
+            return folderInfo.toResponse();
+        }
+        return value;
+    }
+
+    static long numericId(String id) {
+        if (id == null || id.isEmpty() || id.length() > 18 || (id.charAt(0) == '0' && id.length() > 1)) {
+            return NOT_NUMERIC;
+        }
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_NUMERIC;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 数値でないIDを重複を除いて返す（数値のIDとnullの場合はnull）
+     */
+    static String textId(String id) {
+        return id != null && numericId(id) == NOT_NUMERIC ? IDS.intern(id) : null;
+    }
+
+    /**
+     * etagなど、同じ値が繰り返し現れる短い文字列を重複を除いて返す
+     */
+    static String token(String value) {
+        return value != null ? IDS.intern(value) : null;
+    }
+
+    static String id(long numericId, String textId) {
+        return numericId != NOT_NUMERIC ? Long.toString(numericId) : textId;
+    }
+
+    static long epochMillis(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return ABSENT;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000 + dateTime.getNano() / 1_000_000;
+    }
+
+    static LocalDateTime dateTime(long epochMillis) {
+        if (epochMillis == ABSENT) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+            (int) Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * 40文字の小文字16進数のSHA-1を20バイトに変換（それ以外はnull）
+     */
+    static byte[] sha1Bytes(String sha1) {
+        if (sha1 == null || sha1.length() != SHA1_LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < SHA1_LENGTH; i++) {
+            char c = sha1.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return null;
+            }
+        }
+        return HEX.parseHex(sha1);
+    }
+
+    static String sha1(byte[] sha1Bytes, String sha1Text) {
+        return sha1Bytes != null ? HEX.formatHex(sha1Bytes) : sha1Text;
+    }
+
+    private static boolean isLossless(LocalDateTime... dateTimes) {
+        for (LocalDateTime dateTime : dateTimes) {
+            if (dateTime != null && dateTime.getNano() % 1_000_000 != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.boxwrapper.cache;
+
+/**
+ * キャッシュしている値の変更の有無を確認し、変更された場合のみ値を読み込み直す処理.
+ *
+ * <p>{@link TenantPartitionedCache#enableConditionalReload(java.time.Duration, ConditionalLoader)}で設定します。
+ * Boxのetagを使った条件付きリクエスト（{@code If-None-Match}）のように、変更がない場合は
+ * 値の全体を転送せずに確認できる処理を想定しています。</p>
+ *
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface ConditionalLoader {
+
+    /**
+     * 変更がないことを表す戻り値
+     */
+    Object NOT_MODIFIED = new Object();
+
+    /**
+     * キャッシュしている値の変更の有無を確認します.
+     *
+     * @param key キャッシュキー
+     * @param cachedValue キャッシュしている値
+     * @return 変更がない場合は{@link #NOT_MODIFIED}、変更された場合は新しい値、
+     *     確認できない場合（etagがないなど）はnull
+     * @throws Exception 確認に失敗した場合
+     */
+    Object reload(Object key, Object cachedValue) throws Exception;
+}
@@ -0,0 +1,39 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * {@link ConditionalLoader}による条件付き読み込みの統計.
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class ConditionalReloadStats {
+
+    /**
+     * 変更がなく（304 Not Modified）、有効期間を延長した数
+     */
+    long notModifiedCount;
+
+    /**
+     * 変更されており、新しい値に置き換えた数
+     */
+    long modifiedCount;
+
+    /**
+     * 確認に失敗し、通常の読み込みに切り替えた数
+     */
+    long failedCount;
+
+    /**
+     * 確認した数のうち、変更がなかった割合を返します.
+     *
+     * @return 変更がなかった割合（確認していない場合は0）
+     */
+    public double getNotModifiedRate() {
+        long total = notModifiedCount + modifiedCount;
+        return total == 0 ? 0 : (double) notModifiedCount / total;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.boxwrapper.cache;
+
+import com.box.sdk.BoxFile;
+import com.box.sdk.BoxFolder;
+import com.box.sdk.BoxItem;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * フォルダ一覧キャッシュに保持するアイテム情報.
+ *
+ * <p>一覧APIのレスポンスから必要最小限のフィールドのみを保持します。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class FolderItem implements Serializable {
+
+    /**
+     * 一覧取得時にBoxへ要求するフィールド
+     */
+    public static final String[] FIELDS = {"type", "id", "name", "size", "etag", "sha1"};
+
+    String id;
+
+    String type;  // file, folder or web_link
+
+    String name;
+
+    Long size;
+
+    String etag;
+
+    String sha1;
+
+    /**
+     * フォルダかどうかを判定します.
+     *
+     * @return フォルダの場合true
+     */
+    public boolean isFolder() {
+        return "folder".equals(type);
+    }
+
+    /**
+     * BoxItem.InfoからFolderItemを生成します.
+     *
+     * @param info Box SDKのアイテム情報
+     * @return 生成されたFolderItem
+     */
+    public static FolderItem from(BoxItem.Info info) {
+        String type;
+        String sha1 = null;
+        if (info instanceof BoxFile.Info fileInfo) {
+            type = "file";
+            sha1 = fileInfo.getSha1();
+        } else if (info instanceof BoxFolder.Info) {
+            type = "folder";
+        } else {
+            type = "web_link";
+        }
+
+        return FolderItem.builder()
+            .id(info.getID())
+            .type(type)
+            .name(info.getName())
+            .size(info.getSize())
+            .etag(info.getEtag())
+            .sha1(sha1)
+            .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * フォルダ一覧取得イベント.
+ *
+ * <p>フォルダ一覧をBoxから取得した際にサービス層から発行されます。
+ * キャッシュから応答した場合は発行されません。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+public class FolderListedEvent {
+
+    String scope;
+
+    String folderId;
+
+    List<FolderItem> items;
+
+    /**
+     * 全件一覧の場合true（ページ指定の場合false）
+     */
+    boolean complete;
+}
@@ -0,0 +1,91 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * フォルダ一覧キャッシュのエントリ.
+ *
+ * <p>1つのフォルダについて、全件一覧とページ単位の一覧をまとめて保持します。
+ * 不変オブジェクトのため、更新時は新しいインスタンスを生成して置き換えます。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+public class FolderListing implements Serializable {
+
+    /**
+     * 全件一覧（未取得の場合はnull）
+     */
+    List<FolderItem> items;
+
+    /**
+     * ページ単位の一覧（キーは "offset:limit"）
+     */
+    Map<String, List<FolderItem>> pages;
+
+    /**
+     * フォルダ内の総アイテム数（不明な場合はnull）
+     */
+    Long totalCount;
+
+    static final FolderListing EMPTY = new FolderListing(null, Map.of(), null);
+
+    /**
+     * 全件一覧を設定したエントリを返します.
+     */
+    FolderListing withItems(List<FolderItem> newItems) {
+        return new FolderListing(List.copyOf(newItems), pages, (long) newItems.size());
+    }
+
+    /**
+     * ページを追加したエントリを返します.
+     */
+    FolderListing withPage(String pageKey, List<FolderItem> pageItems, Long fullSize) {
+        Map<String, List<FolderItem>> newPages = new HashMap<>(pages);
+        newPages.put(pageKey, List.copyOf(pageItems));
+        return new FolderListing(items, Map.copyOf(newPages), fullSize != null ? fullSize : totalCount);
+    }
+
+    /**
+     * アイテムを追加したエントリを返します.
+     *
+     * <p>全件一覧は追記で更新し、位置がずれるページ単位の一覧は破棄します。</p>
+     */
+    FolderListing withItemAdded(FolderItem item) {
+        List<FolderItem> newItems = null;
+        if (items != null) {
+            newItems = new ArrayList<>(items.size() + 1);
+            for (FolderItem existing : items) {
+                if (!existing.getId().equals(item.getId())) {
+                    newItems.add(existing);
+                }
+            }
+            newItems.add(item);
+        }
+        Long newCount = newItems != null ? Long.valueOf(newItems.size())
+            : totalCount != null ? Long.valueOf(totalCount + 1) : null;
+        return new FolderListing(newItems != null ? List.copyOf(newItems) : null, Map.of(), newCount);
+    }
+
+    /**
+     * アイテムを削除したエントリを返します.
+     *
+     * <p>全件一覧からは除外し、ページ単位の一覧は破棄します。</p>
+     */
+    FolderListing withItemRemoved(String itemId) {
+        if (items != null) {
+            List<FolderItem> newItems = items.stream()
+                .filter(existing -> !existing.getId().equals(itemId))
+                .toList();
+            return new FolderListing(newItems, Map.of(), (long) newItems.size());
+        }
+        Long newCount = totalCount != null ? Long.valueOf(Math.max(0, totalCount - 1)) : null;
+        return new FolderListing(null, Map.of(), newCount);
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.boxwrapper.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * フォルダ一覧キャッシュ.
+ *
+ * <p>テナントスコープ・フォルダID・ページ条件ごとにフォルダ一覧を保持します。
+ * このサーバー経由のアップロード、フォルダ作成、削除は{@link BoxItemChangedEvent}として
+ * 通知され、対象フォルダのエントリをその場で更新（ライトスルー）します。</p>
+ *
+ * <p>Boxのイベントストリームで通知された外部の変更（{@link BoxItemInvalidatedEvent}）は、
+ * 親フォルダ（移動の場合は移動元も）の一覧を無効化します。</p>
+ *
+ * <p>一覧取得中に変更が発生した場合に古い一覧で上書きしないよう、
+ * フォルダごとの世代番号で書き込みを検証します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Component
+public class FolderListingCache {
+
+    public static final String CACHE_NAME = "folderListing";
+
+    private final Cache cache;
+
+    /**
+     * アイテムID → 親フォルダIDの逆引き（削除時に親フォルダが不明な場合に使用）
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<TenantCacheKey, String> parentIndex =
+        Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(30, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * フォルダごとの変更世代番号
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<TenantCacheKey, Long> generations =
+        Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    public FolderListingCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    /**
+     * キャッシュされたフォルダ一覧を取得します.
+     *
+     * @param scope テナントスコープ
+     * @param folderId フォルダID
+     * @param offset 取得開始位置（全件の場合はnull）
+     * @param limit 取得件数（全件の場合はnull）
+     * @return キャッシュされた一覧。存在しない場合は空
+     */
+    public Optional<List<FolderItem>> get(String scope, String folderId, Integer offset, Integer limit) {
+        FolderListing listing = cache.get(TenantCacheKey.of(scope, folderId), FolderListing.class);
+        if (listing == null) {
+            return Optional.empty();
+        }
+        if (isFullListing(offset, limit)) {
+            return Optional.ofNullable(listing.getItems());
+        }
+
+        List<FolderItem> page = listing.getPages().get(pageKey(offset, limit));
+        if (page == null && listing.getItems() != null) {
+            // 全件一覧があればそこからページを切り出す
+            List<FolderItem> items = listing.getItems();
+            int from = Math.min(offset != null ? offset : 0, items.size());
+            int to = limit != null ? Math.min(from + limit, items.size()) : items.size();
+            page = items.subList(from, to);
+        }
+        return Optional.ofNullable(page);
+    }
+
+    /**
+     * キャッシュされたフォルダ内の総アイテム数を取得します.
+     *
+     * @param scope テナントスコープ
+     * @param folderId フォルダID
+     * @return 総アイテム数。不明な場合は空
+     */
+    public Optional<Long> getTotalCount(String scope, String folderId) {
+        FolderListing listing = cache.get(TenantCacheKey.of(scope, folderId), FolderListing.class);
+        return listing != null ? Optional.ofNullable(listing.getTotalCount()) : Optional.empty();
+    }
+
+    /**
+     * キャッシュ済みの一覧からアイテムの親フォルダIDを逆引きします.
+     *
+     * @param scope テナントスコープ
+     * @param itemId アイテムID
+     * @return 親フォルダID。不明な場合は空
+     */
+    public Optional<String> findParentId(String scope, String itemId) {
+        return Optional.ofNullable(parentIndex.getIfPresent(TenantCacheKey.of(scope, itemId)));
+    }
+
+    /**
+     * キャッシュ済みの一覧からフォルダ配下の全アイテムのIDを求めます.
+     *
+     * <p>このサーバーが一覧を取得したことのあるフォルダのみを辿るため、
+     * 一覧を取得していないサブフォルダの配下は含みません。</p>
+     *
+     * @param scope テナントスコープ
+     * @param folderId フォルダID
+     * @return 配下のアイテムID（フォルダ自身は含まない）
+     */
+    public Set<String> findDescendantIds(String scope, String folderId) {
+        Map<String, List<String>> children = new HashMap<>();
+        parentIndex.asMap().forEach((key, parentId) -> {
+            if (key.getScope().equals(scope)) {
+                children.computeIfAbsent(parentId, id -> new ArrayList<>()).add(key.getId());
+            }
+        });
+
+        Set<String> descendants = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(List.of(folderId));
+        while (!pending.isEmpty()) {
+            for (String childId : children.getOrDefault(pending.pop(), List.of())) {
+                if (!childId.equals(folderId) && descendants.add(childId)) {
+                    pending.push(childId);
+                }
+            }
+        }
+        return descendants;
+    }
+
+    /**
+     * フォルダの現在の世代番号を取得します.
+     *
+     * <p>Boxから一覧を取得する前に呼び出し、{@link #put}に渡してください。</p>
+     *
+     * @param scope テナントスコープ
+     * @param folderId フォルダID
+     * @return 世代番号
+     */
+    public long currentGeneration(String scope, String folderId) {
+        Long generation = generations.getIfPresent(TenantCacheKey.of(scope, folderId));
+        return generation != null ? generation : 0L;
+    }
+
+    /**
+     * Boxから取得したフォルダ一覧をキャッシュに格納します.
+     *
+     * <p>取得開始後にこのフォルダへの変更があった場合は、古い一覧となるため格納しません。</p>
+     *
+     * @param scope テナントスコープ
+     * @param folderId フォルダID
+     * @param offset 取得開始位置（全件の場合はnull）
+     * @param limit 取得件数（全件の場合はnull）
+     * @param items 取得したアイテム
+     * @param fullSize フォルダ内の総アイテム数（不明な場合はnull）
+     * @param generation 取得開始時の世代番号
+     */
+    public synchronized void put(String scope, String folderId, Integer offset, Integer limit,
+                                 List<FolderItem> items, Long fullSize, long generation) {
+        if (currentGeneration(scope, folderId) != generation) {
+            log.debug("Skipped caching stale listing for folder: {}", folderId);
+            return;
+        }
+
+        TenantCacheKey key = TenantCacheKey.of(scope, folderId);
+        FolderListing listing = cache.get(key, FolderListing.class);
+        if (listing == null) {
+            listing = FolderListing.EMPTY;
+        }
+
+        listing = isFullListing(offset, limit)
+            ? listing.withItems(items)
+            : listing.withPage(pageKey(offset, limit), items, fullSize);
+        cache.put(key, listing);
+
+        for (FolderItem item : items) {
+            parentIndex.put(TenantCacheKey.of(scope, item.getId()), folderId);
+        }
+    }
+
+    /**
+     * フォルダ一覧のキャッシュを無効化します.
+     *
+     * @param scope テナントスコープ
+     * @param folderId フォルダID
+     */
+    public synchronized void evict(String scope, String folderId) {
+        TenantCacheKey key = TenantCacheKey.of(scope, folderId);
+        bumpGeneration(key);
+        cache.evict(key);
+    }
+
+    /**
+     * アイテム変更イベントを受け取り、親フォルダの一覧を更新します.
+     *
+     * @param event アイテム変更イベント
+     */
+    @EventListener
+    public synchronized void onItemChanged(BoxItemChangedEvent event) {
+        String scope = event.getScope();
+        TenantCacheKey itemKey = TenantCacheKey.of(scope, event.getItemId());
+        String parentId = event.getParentId() != null
+            ? event.getParentId()
+            : parentIndex.getIfPresent(itemKey);
+
+        switch (event.getChangeType()) {
+            case CREATED -> {
+                if (parentId != null) {
+                    parentIndex.put(itemKey, parentId);
+                    updateListing(scope, parentId, listing -> listing.withItemAdded(event.getItem()));
+                }
+            }
+            case DELETED -> {
+                parentIndex.invalidate(itemKey);
+                if (parentId != null) {
+                    updateListing(scope, parentId, listing -> listing.withItemRemoved(event.getItemId()));
+                }
+                if (event.getItemType() == BoxItemChangedEvent.ItemType.FOLDER) {
+                    evict(scope, event.getItemId());
+                }
+            }
+            case MOVED -> {
+                String previousParentId = event.getPreviousParentId() != null
+                    ? event.getPreviousParentId()
+                    : parentIndex.getIfPresent(itemKey);
+                if (previousParentId != null) {
+                    updateListing(scope, previousParentId, listing -> listing.withItemRemoved(event.getItemId()));
+                }
+                parentIndex.put(itemKey, event.getParentId());
+                updateListing(scope, event.getParentId(), listing -> listing.withItemAdded(event.getItem()));
+            }
+        }
+    }
+
+    /**
+     * 外部変更イベントを受け取り、親フォルダの一覧を無効化します.
+     *
+     * <p>削除されたフォルダは、そのフォルダ自身の一覧も無効化します。</p>
+     *
+     * @param event 外部変更イベント
+     */
+    @EventListener
+    public synchronized void onItemInvalidated(BoxItemInvalidatedEvent event) {
+        String scope = event.getScope();
+        TenantCacheKey itemKey = TenantCacheKey.of(scope, event.getItemId());
+        String previousParentId = event.getPreviousParentId() != null
+            ? event.getPreviousParentId()
+            : parentIndex.getIfPresent(itemKey);
+
+        if (event.getParentId() != null) {
+            evict(scope, event.getParentId());
+        }
+        if (previousParentId != null && !previousParentId.equals(event.getParentId())) {
+            evict(scope, previousParentId);
+        }
+
+        if (event.isDeleted()) {
+            parentIndex.invalidate(itemKey);
+            if (event.getItemType() == BoxItemChangedEvent.ItemType.FOLDER) {
+                evict(scope, event.getItemId());
+            }
+        } else if (event.getParentId() != null) {
+            parentIndex.put(itemKey, event.getParentId());
+        }
+    }
+
+    /**
+     * 親フォルダのエントリを置き換えます
+     */
+    private void updateListing(String scope, String folderId,
+                               UnaryOperator<FolderListing> updater) {
+        TenantCacheKey key = TenantCacheKey.of(scope, folderId);
+        bumpGeneration(key);
+
+        FolderListing listing = cache.get(key, FolderListing.class);
+        if (listing != null) {
+            cache.put(key, updater.apply(listing));
+            log.debug("Updated cached listing in place for folder: {}", folderId);
+        }
+    }
+
+    private void bumpGeneration(TenantCacheKey key) {
+        generations.asMap().merge(key, 1L, Long::sum);
+    }
+
+    private static boolean isFullListing(Integer offset, Integer limit) {
+        return offset == null && limit == null;
+    }
+
+    private static String pageKey(Integer offset, Integer limit) {
+        return (offset != null ? offset : 0) + ":" + limit;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.boxwrapper.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 処理中のリクエストが許容するキャッシュの古さと、応答に使ったエントリの経過時間.
+ *
+ * <p>{@link #open(CacheFreshness)}で設定してから閉じるまでの間、同じスレッドで参照された
+ * {@link TenantPartitionedCache}は{@link CacheFreshness}に従ってエントリを使うかどうかを判定します。
+ * 最初に参照したエントリ（キャッシュミスの場合はこれから書き込まれるエントリ）の経過時間と
+ * 残りの有効期間を記録し、応答の{@code Age}・{@code Cache-Control}ヘッダーに使います。</p>
+ *
+ * @since 1.1.0
+ */
+public final class FreshnessContext {
+
+    private static final ThreadLocal<FreshnessContext> CURRENT = new ThreadLocal<>();
+
+    private final CacheFreshness freshness;
+    private Duration age;
+    private Duration remainingTtl;
+
+    private FreshnessContext(CacheFreshness freshness) {
+        this.freshness = freshness;
+    }
+
+    /**
+     * 許容するキャッシュの古さを指定して処理を実行します.
+     *
+     * @param freshness 許容するキャッシュの古さ
+     * @param action 実行する処理
+     * @param <T> 処理の結果の型
+     * @return 処理の結果
+     */
+    public static <T> T callWith(CacheFreshness freshness, Supplier<T> action) {
+        try (Scope ignored = open(freshness)) {
+            return action.get();
+        }
+    }
+
+    /**
+     * このスレッドで許容するキャッシュの古さを設定します.
+     *
+     * <p>返された{@link Scope}を閉じると、設定前の状態に戻ります。</p>
+     *
+     * @param freshness 許容するキャッシュの古さ
+     * @return 設定を解除するスコープ
+     */
+    public static Scope open(CacheFreshness freshness) {
+        FreshnessContext previous = CURRENT.get();
+        FreshnessContext context = new FreshnessContext(freshness);
+        CURRENT.set(context);
+        return new Scope(context, previous);
+    }
+
+    /**
+     * 処理中のリクエストのコンテキストを返します.
+     *
+     * @return コンテキスト（{@link #open(CacheFreshness)}で設定していない場合はempty）
+     */
+    public static Optional<FreshnessContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * 許容するキャッシュの古さを返します.
+     *
+     * @return 許容するキャッシュの古さ
+     */
+    public CacheFreshness getFreshness() {
+        return freshness;
+    }
+
+    /**
+     * 応答に使ったエントリの書き込みからの経過時間を返します.
+     *
+     * @return 経過時間（キャッシュを参照していない場合はempty）
+     */
+    public Optional<Duration> getAge() {
+        return Optional.ofNullable(age);
+    }
+
+    /**
+     * 応答に使ったエントリの残りの有効期間を返します.
+     *
+     * @return 残りの有効期間（キャッシュを参照していない場合はempty）
+     */
+    public Optional<Duration> getRemainingTtl() {
+        return Optional.ofNullable(remainingTtl);
+    }
+
+    /**
+     * 参照したエントリを記録（2回目以降の参照は応答の主体ではないため無視する）
+     */
+    void record(Duration age, Duration remainingTtl) {
+        if (this.age == null) {
+            this.age = age;
+            this.remainingTtl = remainingTtl;
+        }
+    }
+
+    /**
+     * {@link #open(CacheFreshness)}で設定したコンテキストの有効範囲.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final FreshnessContext context;
+        private final FreshnessContext previous;
+
+        private Scope(FreshnessContext context, FreshnessContext previous) {
+            this.context = context;
+            this.previous = previous;
+        }
+
+        /**
+         * 設定したコンテキストを返します.
+         *
+         * @return コンテキスト
+         */
+        public FreshnessContext getContext() {
+            return context;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.boxwrapper.cache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * 同じJVM内のバスにのみ通知するキャッシュ無効化バス.
+ *
+ * <p>{@link #newPeer()}で作成したバス同士が1つのグループとなり、メッセージは送信元を除く
+ * グループ内の全バスに呼び出し元のスレッドで配信されます。単一ノードでの運用と、
+ * 複数ノードの動作をテストで再現するために使用します。</p>
+ *
+ * @since 1.1.0
+ */
+public class InProcessInvalidationBus implements CacheInvalidationBus {
+
+    private final Set<InProcessInvalidationBus> group;
+    private final List<Consumer<List<CacheInvalidationMessage>>> listeners = new CopyOnWriteArrayList<>();
+
+    public InProcessInvalidationBus() {
+        this(new CopyOnWriteArraySet<>());
+    }
+
+    private InProcessInvalidationBus(Set<InProcessInvalidationBus> group) {
+        this.group = group;
+        group.add(this);
+    }
+
+    /**
+     * 同じグループに参加する別のノードのバスを作成します.
+     *
+     * @return 新しいバス
+     */
+    public InProcessInvalidationBus newPeer() {
+        return new InProcessInvalidationBus(group);
+    }
+
+    @Override
+    public void publish(List<CacheInvalidationMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<CacheInvalidationMessage> delivered = List.copyOf(messages);
+        for (InProcessInvalidationBus peer : group) {
+            if (peer != this) {
+                peer.listeners.forEach(listener -> listener.accept(delivered));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<CacheInvalidationMessage>> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        group.remove(this);
+    }
+}
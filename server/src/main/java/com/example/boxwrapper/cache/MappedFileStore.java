@@ -0,0 +1,509 @@
+package com.example.boxwrapper.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * メモリマップドファイル上のキー・バリューストア.
+ *
+ * <p>キャッシュの2次領域（L2）として、シリアライズ済みのエントリをヒープ外の
+ * メモリマップドファイルに保持します。ファイルは固定サイズの循環ログで、書き込みは常に末尾に
+ * 追記し、容量に達すると最も古いレコードから上書きします（FIFOによる追い出し）。
+ * ヒープ上に保持するのはキーと位置の索引のみです。</p>
+ *
+ * <p>書き込み位置などの状態はファイルの先頭に保存し、起動時にレコードを走査して索引を
+ * 再構築するため、再起動後もエントリを利用できます。削除は削除レコードとして追記します。
+ * 有効期限と保持期限（有効期限を過ぎても条件付きの再検証のために残す期限）はエポックミリ秒で保持し、
+ * 保持期限を過ぎたエントリは返しません。
+ * チェックサムが一致しないレコードがある場合（書き込み中の停止など）はファイルを初期化します。</p>
+ *
+ * <p>書き込みは{@link #writeAll(List)}でまとめて行うことができ、ファイル先頭の状態は
+ * 1回の操作ごとに1度だけ更新します。参照は読み取りロックで並行して行い、書き込みの間のみ待機します。</p>
+ *
+ * <p>スレッドセーフな実装です。ファイルサイズの上限は2GBです。</p>
+ *
+ * @since 1.1.0
+ */
+public class MappedFileStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x424F584C;  // "BOXL"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    /**
+     * レコードヘッダ: キー長、値長（削除レコードは-1）、書き込み時刻、有効期限、保持期限、CRC32
+     */
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 4;
+    private static final int CHECKSUM_OFFSET = RECORD_HEADER_SIZE - 4;
+    private static final int TOMBSTONE = -1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Map<BytesKey, Integer> index = new ConcurrentHashMap<>();
+    /**
+     * 参照は読み取りロック、レコードの追記とファイル先頭の状態の更新は書き込みロックで行う
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 次のレコードの書き込み位置
+     */
+    private int head;
+    /**
+     * 最も古いレコードの位置
+     */
+    private int tail;
+    /**
+     * 前周のレコードが終わる位置（wrappedの場合のみ有効）
+     */
+    private int wrapAt;
+    /**
+     * 書き込み位置がファイル先頭に戻り、[tail, wrapAt)に前周のレコードが残っているかどうか
+     */
+    private boolean wrapped;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * ストアを開きます.
+     *
+     * <p>ファイルが存在し、同じ容量で作成されたものであれば内容を読み込みます。
+     * 存在しない場合や容量が異なる場合は新たに作成します。</p>
+     *
+     * @param file ファイルのパス
+     * @param capacityBytes ファイルサイズ（ヘッダを含む）
+     * @throws IOException ファイルを開けない場合
+     */
+    public MappedFileStore(Path file, long capacityBytes) throws IOException {
+        if (capacityBytes <= HEADER_SIZE + RECORD_HEADER_SIZE || capacityBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("capacityBytes must be between "
+                + (HEADER_SIZE + RECORD_HEADER_SIZE) + " and " + Integer.MAX_VALUE + ": " + capacityBytes);
+        }
+        this.capacity = (int) capacityBytes;
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean reusable = channel.size() == capacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        if (!reusable || !load()) {
+            reset();
+        }
+    }
+
+    /**
+     * エントリを取得します.
+     *
+     * @param key キー
+     * @return 保持期限内のエントリ（有効期限を過ぎたエントリを含む）。存在しない場合は空
+     */
+    public Optional<Record> get(byte[] key) {
+        lock.readLock().lock();
+        try {
+            BytesKey indexKey = new BytesKey(key);
+            Integer position = index.get(indexKey);
+            if (position == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+
+            int keyLength = buffer.getInt(position);
+            int valueLength = buffer.getInt(position + 4);
+            long writtenAt = buffer.getLong(position + 8);
+            long expiresAt = buffer.getLong(position + 16);
+            long retainUntil = buffer.getLong(position + 24);
+            if (retainUntil <= System.currentTimeMillis()) {
+                index.remove(indexKey, position);
+                misses.increment();
+                return Optional.empty();
+            }
+
+            byte[] value = new byte[valueLength];
+            buffer.get(position + RECORD_HEADER_SIZE + keyLength, value);
+            hits.increment();
+            return Optional.of(new Record(value, writtenAt, expiresAt, retainUntil));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * エントリを書き込みます.
+     *
+     * <p>容量が足りない場合は古いレコードから追い出します。1件でファイルに収まらない
+     * エントリは書き込みません。有効期限を過ぎたエントリは保持しません。</p>
+     *
+     * @param key キー
+     * @param value 値
+     * @param writtenAtMillis 書き込み時刻（エポックミリ秒）
+     * @param expiresAtMillis 有効期限（エポックミリ秒）
+     * @return 書き込んだ場合true
+     */
+    public boolean put(byte[] key, byte[] value, long writtenAtMillis, long expiresAtMillis) {
+        return writeAll(List.of(new Write(key, value, writtenAtMillis, expiresAtMillis))) == 1;
+    }
+
+    /**
+     * 複数のエントリの書き込み・削除を順に行います.
+     *
+     * <p>ロックの取得とファイル先頭の状態の更新はまとめて1回だけ行います。</p>
+     *
+     * @param batch 書き込み（値がnullの場合は削除）のリスト
+     * @return 書き込んだエントリ数（削除と、ファイルに収まらず書き込まなかったエントリは含まない）
+     */
+    public int writeAll(List<Write> batch) {
+        lock.writeLock().lock();
+        try {
+            int written = 0;
+            for (Write write : batch) {
+                if (write.value() == null) {
+                    removeRecord(write.key());
+                } else if (append(write.key(), write.value(), write.writtenAtMillis(), write.expiresAtMillis(),
+                        write.retainUntilMillis())) {
+                    written++;
+                }
+            }
+            writes.add(written);
+            writeHeader();
+            return written;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * エントリを削除します.
+     *
+     * @param key キー
+     */
+    public void remove(byte[] key) {
+        lock.writeLock().lock();
+        try {
+            if (removeRecord(key)) {
+                writeHeader();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 条件に一致するキーのエントリを全て削除します.
+     *
+     * @param filter キーを受け取り、削除する場合にtrueを返す条件
+     * @return 削除したエントリ数
+     */
+    public int removeIf(Predicate<byte[]> filter) {
+        lock.writeLock().lock();
+        try {
+            List<byte[]> matched = index.keySet().stream()
+                .map(BytesKey::bytes)
+                .filter(filter)
+                .toList();
+            matched.forEach(this::removeRecord);
+            writeHeader();
+            return matched.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 全てのエントリを削除します.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 統計を返します.
+     *
+     * @return エントリ数、使用バイト数、ヒット数などの統計
+     */
+    public Stats getStats() {
+        lock.readLock().lock();
+        try {
+            long used = wrapped ? (wrapAt - tail) + (head - HEADER_SIZE) : head - tail;
+            return new Stats(index.size(), used, capacity - HEADER_SIZE,
+                hits.sum(), misses.sum(), writes.sum(), evictions.sum());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 書き込み内容をファイルに反映して閉じます.
+     *
+     * @throws IOException ファイルを閉じられない場合
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 削除レコードを追記（存在しないキーの場合は何もしない）
+     */
+    private boolean removeRecord(byte[] key) {
+        if (index.remove(new BytesKey(key)) == null) {
+            return false;
+        }
+        append(key, null, 0, 0, 0);
+        return true;
+    }
+
+    private boolean append(byte[] key, byte[] value, long writtenAtMillis, long expiresAtMillis,
+                           long retainUntilMillis) {
+        int valueLength = value != null ? value.length : TOMBSTONE;
+        int size = RECORD_HEADER_SIZE + key.length + Math.max(0, valueLength);
+        if (size > capacity - HEADER_SIZE) {
+            return false;
+        }
+        ensureSpace(size);
+
+        int position = head;
+        buffer.putInt(position, key.length);
+        buffer.putInt(position + 4, valueLength);
+        buffer.putLong(position + 8, writtenAtMillis);
+        buffer.putLong(position + 16, expiresAtMillis);
+        buffer.putLong(position + 24, Math.max(expiresAtMillis, retainUntilMillis));
+        buffer.put(position + RECORD_HEADER_SIZE, key);
+        if (value != null) {
+            buffer.put(position + RECORD_HEADER_SIZE + key.length, value);
+        }
+        buffer.putInt(position + CHECKSUM_OFFSET, checksum(position, key.length, Math.max(0, valueLength)));
+        head = position + size;
+
+        if (value != null) {
+            index.put(new BytesKey(key), position);
+        }
+        return true;
+    }
+
+    /**
+     * 書き込み位置から{@code size}バイトを確保（必要に応じて古いレコードを追い出す）
+     */
+    private void ensureSpace(int size) {
+        while (true) {
+            if (!wrapped) {
+                // 有効なレコードは[tail, head)
+                if (head + size <= capacity) {
+                    return;
+                }
+                if (tail == head) {
+                    head = HEADER_SIZE;
+                    tail = HEADER_SIZE;
+                    continue;
+                }
+                wrapAt = head;
+                head = HEADER_SIZE;
+                wrapped = true;
+            } else {
+                // 有効なレコードは[tail, wrapAt)と[HEADER_SIZE, head)
+                if (head + size <= tail) {
+                    return;
+                }
+                evictOldest();
+                if (tail >= wrapAt) {
+                    tail = HEADER_SIZE;
+                    wrapped = false;
+                }
+            }
+        }
+    }
+
+    private void evictOldest() {
+        int keyLength = buffer.getInt(tail);
+        int valueLength = buffer.getInt(tail + 4);
+        byte[] key = new byte[keyLength];
+        buffer.get(tail + RECORD_HEADER_SIZE, key);
+        BytesKey indexKey = new BytesKey(key);
+        if (valueLength != TOMBSTONE && index.remove(indexKey, tail)) {
+            evictions.increment();
+        }
+        tail += RECORD_HEADER_SIZE + keyLength + Math.max(0, valueLength);
+    }
+
+    /**
+     * ファイルの状態を読み込み、索引を再構築
+     */
+    private boolean load() {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != capacity) {
+            return false;
+        }
+        head = buffer.getInt(12);
+        tail = buffer.getInt(16);
+        wrapAt = buffer.getInt(20);
+        wrapped = buffer.getInt(24) != 0;
+        if (!isValidRange(head, tail, wrapAt, wrapped)) {
+            return false;
+        }
+
+        if (wrapped) {
+            return scan(tail, wrapAt) && scan(HEADER_SIZE, head);
+        }
+        return scan(tail, head);
+    }
+
+    private boolean isValidRange(int head, int tail, int wrapAt, boolean wrapped) {
+        boolean inBounds = head >= HEADER_SIZE && head <= capacity && tail >= HEADER_SIZE && tail <= capacity;
+        if (!wrapped) {
+            return inBounds && tail <= head;
+        }
+        return inBounds && head <= tail && tail <= wrapAt && wrapAt <= capacity;
+    }
+
+    private boolean scan(int from, int to) {
+        long now = System.currentTimeMillis();
+        int position = from;
+        while (position < to) {
+            if (to - position < RECORD_HEADER_SIZE) {
+                return false;
+            }
+            int keyLength = buffer.getInt(position);
+            int valueLength = buffer.getInt(position + 4);
+            int size = RECORD_HEADER_SIZE + keyLength + Math.max(0, valueLength);
+            if (keyLength < 0 || valueLength < TOMBSTONE || size > to - position
+                || buffer.getInt(position + CHECKSUM_OFFSET) != checksum(position, keyLength, Math.max(0, valueLength))) {
+                return false;
+            }
+
+            byte[] key = new byte[keyLength];
+            buffer.get(position + RECORD_HEADER_SIZE, key);
+            BytesKey indexKey = new BytesKey(key);
+            if (valueLength == TOMBSTONE || buffer.getLong(position + 24) <= now) {
+                index.remove(indexKey);
+            } else {
+                index.put(indexKey, position);
+            }
+            position += size;
+        }
+        return true;
+    }
+
+    private void reset() {
+        index.clear();
+        head = HEADER_SIZE;
+        tail = HEADER_SIZE;
+        wrapAt = HEADER_SIZE;
+        wrapped = false;
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, capacity);
+        writeHeader();
+    }
+
+    private void writeHeader() {
+        buffer.putInt(12, head);
+        buffer.putInt(16, tail);
+        buffer.putInt(20, wrapAt);
+        buffer.putInt(24, wrapped ? 1 : 0);
+    }
+
+    private int checksum(int position, int keyLength, int valueLength) {
+        CRC32 crc = new CRC32();
+        ByteBuffer record = buffer.slice(position, RECORD_HEADER_SIZE + keyLength + valueLength);
+        crc.update(record.slice(0, CHECKSUM_OFFSET));
+        crc.update(record.slice(RECORD_HEADER_SIZE, keyLength + valueLength));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * まとめて行う書き込み.
+     *
+     * @param key キー
+     * @param value 値（nullの場合は削除）
+     * @param writtenAtMillis 書き込み時刻（エポックミリ秒）
+     * @param expiresAtMillis 有効期限（エポックミリ秒）
+     * @param retainUntilMillis 保持期限（エポックミリ秒、有効期限より前の場合は有効期限）
+     */
+    public record Write(byte[] key, byte[] value, long writtenAtMillis, long expiresAtMillis,
+                        long retainUntilMillis) {
+
+        /**
+         * 有効期限を過ぎたら保持しない書き込みを作成します.
+         *
+         * @param key キー
+         * @param value 値（nullの場合は削除）
+         * @param writtenAtMillis 書き込み時刻（エポックミリ秒）
+         * @param expiresAtMillis 有効期限（エポックミリ秒）
+         */
+        public Write(byte[] key, byte[] value, long writtenAtMillis, long expiresAtMillis) {
+            this(key, value, writtenAtMillis, expiresAtMillis, expiresAtMillis);
+        }
+    }
+
+    /**
+     * 保存されたエントリ.
+     *
+     * @param value 値
+     * @param writtenAtMillis 書き込み時刻（エポックミリ秒）
+     * @param expiresAtMillis 有効期限（エポックミリ秒）
+     * @param retainUntilMillis 保持期限（エポックミリ秒）
+     */
+    public record Record(byte[] value, long writtenAtMillis, long expiresAtMillis, long retainUntilMillis) {
+    }
+
+    /**
+     * ストアの統計.
+     *
+     * @param entryCount 有効なエントリ数
+     * @param usedBytes 上書きされていないレコードのバイト数（古い版・削除レコードを含む）
+     * @param capacityBytes レコードに使用できるバイト数
+     * @param hitCount ヒット数
+     * @param missCount ミス数
+     * @param writeCount 書き込み数
+     * @param evictionCount 容量不足によって追い出されたエントリ数
+     */
+    public record Stats(long entryCount, long usedBytes, long capacityBytes,
+                        long hitCount, long missCount, long writeCount, long evictionCount) {
+    }
+
+    /**
+     * バイト列の索引キー
+     */
+    private record BytesKey(byte[] bytes) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof BytesKey key && Arrays.equals(bytes, key.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bytes);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import com.example.boxwrapper.model.response.FolderInfoResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * メタデータキャッシュ更新コンポーネント.
+ *
+ * <p>{@link BoxItemChangedEvent}を受け取り、親フォルダのキャッシュ済み
+ * フォルダ情報（アイテム数）を更新します。移動されたアイテムについては、
+ * アイテム自身のキャッシュ済み情報の親フォルダIDも書き換えます。</p>
+ *
+ * <p>Boxのイベントストリームで通知された外部の変更（{@link BoxItemInvalidatedEvent}）は、
+ * 変更内容が分からないため、アイテム自身と親フォルダのエントリを削除します。</p>
+ *
+ * <p>検索結果に含まれるファイル情報も、ファイル情報キャッシュに登録します。</p>
+ *
+ * <p>キャッシュキーはテナントスコープとアイテムIDの組み合わせ（{@link TenantCacheKey}）です。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Component
+public class MetadataCacheUpdater {
+
+    private final Cache folderInfoCache;
+    private final Cache fileMetadataCache;
+
+    public MetadataCacheUpdater(CacheManager cacheManager) {
+        this.folderInfoCache = cacheManager.getCache("folderInfo");
+        this.fileMetadataCache = cacheManager.getCache("fileMetadata");
+    }
+
+    /**
+     * アイテム変更イベントを受け取り、親フォルダのアイテム数を更新します.
+     *
+     * @param event アイテム変更イベント
+     */
+    @EventListener
+    public synchronized void onItemChanged(BoxItemChangedEvent event) {
+        switch (event.getChangeType()) {
+            case CREATED -> adjustItemCount(event.getScope(), event.getParentId(), 1);
+            case DELETED -> adjustItemCount(event.getScope(), event.getParentId(), -1);
+            case MOVED -> {
+                adjustItemCount(event.getScope(), event.getPreviousParentId(), -1);
+                adjustItemCount(event.getScope(), event.getParentId(), 1);
+                updateParent(event);
+            }
+        }
+    }
+
+    /**
+     * 外部変更イベントを受け取り、アイテムと親フォルダのエントリを削除します.
+     *
+     * @param event 外部変更イベント
+     */
+    @EventListener
+    public synchronized void onItemInvalidated(BoxItemInvalidatedEvent event) {
+        String scope = event.getScope();
+        Cache itemCache = event.getItemType() == BoxItemChangedEvent.ItemType.FOLDER
+            ? folderInfoCache
+            : fileMetadataCache;
+        itemCache.evict(TenantCacheKey.of(scope, event.getItemId()));
+        evictFolderInfo(scope, event.getParentId());
+        evictFolderInfo(scope, event.getPreviousParentId());
+        log.debug("Evicted cached metadata for externally changed item: {}", event.getItemId());
+    }
+
+    /**
+     * 検索結果などから取得したファイル情報をキャッシュします.
+     *
+     * <p>後続のファイル情報取得をBoxを呼ばずにキャッシュから応答するために使用します。</p>
+     *
+     * @param scope テナントスコープ
+     * @param fileInfo ファイル情報
+     */
+    public void putFileInfo(String scope, FileInfoResponse fileInfo) {
+        fileMetadataCache.put(TenantCacheKey.of(scope, fileInfo.getFileId()), fileInfo);
+    }
+
+    /**
+     * キャッシュ済みフォルダ情報のアイテム数を増減
+     */
+    private void adjustItemCount(String scope, String folderId, int delta) {
+        if (folderId == null) {
+            return;
+        }
+
+        TenantCacheKey key = TenantCacheKey.of(scope, folderId);
+        FolderInfoResponse cached = folderInfoCache.get(key, FolderInfoResponse.class);
+        if (cached == null || cached.getItemCount() == null) {
+            return;
+        }
+
+        folderInfoCache.put(key, FolderInfoResponse.builder()
+            .folderId(cached.getFolderId())
+            .folderName(cached.getFolderName())
+            .parentFolderId(cached.getParentFolderId())
+            .itemCount(Math.max(0, cached.getItemCount() + delta))
+            .createdAt(cached.getCreatedAt())
+            .modifiedAt(cached.getModifiedAt())
+            .etag(cached.getEtag())
+            .build());
+        log.debug("Updated cached item count for folder: {}", folderId);
+    }
+
+    private void evictFolderInfo(String scope, String folderId) {
+        if (folderId != null) {
+            folderInfoCache.evict(TenantCacheKey.of(scope, folderId));
+        }
+    }
+
+    /**
+     * 移動されたアイテム自身のキャッシュ済み情報を移動先に合わせて更新
+     */
+    private void updateParent(BoxItemChangedEvent event) {
+        String name = event.getItem() != null ? event.getItem().getName() : null;
+        TenantCacheKey key = TenantCacheKey.of(event.getScope(), event.getItemId());
+
+        if (event.getItemType() == BoxItemChangedEvent.ItemType.FOLDER) {
+            FolderInfoResponse cached = folderInfoCache.get(key, FolderInfoResponse.class);
+            if (cached != null) {
+                folderInfoCache.put(key, FolderInfoResponse.builder()
+                    .folderId(cached.getFolderId())
+                    .folderName(name != null ? name : cached.getFolderName())
+                    .parentFolderId(event.getParentId())
+                    .itemCount(cached.getItemCount())
+                    .createdAt(cached.getCreatedAt())
+                    .modifiedAt(cached.getModifiedAt())
+                    .etag(cached.getEtag())
+                    .build());
+            }
+        } else {
+            FileInfoResponse cached = fileMetadataCache.get(key, FileInfoResponse.class);
+            if (cached != null) {
+                fileMetadataCache.put(key, FileInfoResponse.builder()
+                    .fileId(cached.getFileId())
+                    .fileName(name != null ? name : cached.getFileName())
+                    .size(cached.getSize())
+                    .parentFolderId(event.getParentId())
+                    .createdAt(cached.getCreatedAt())
+                    .modifiedAt(cached.getModifiedAt())
+                    .sha1(cached.getSha1())
+                    .downloadUrl(cached.getDownloadUrl())
+                    .etag(cached.getEtag())
+                    .build());
+            }
+        }
+        log.debug("Updated cached parent of moved item: {}", event.getItemId());
+    }
+}
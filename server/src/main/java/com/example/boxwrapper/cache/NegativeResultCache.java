@@ -0,0 +1,157 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 存在しない・アクセスできないアイテムのキャッシュ（ネガティブキャッシュ）.
+ *
+ * <p>Boxが404（および{@code box.cache.negative-cache-forbidden}がtrueの場合は403）を返した
+ * アイテムを、テナントスコープ・アイテム種類・アイテムIDごとに{@code box.cache.negative-ttl-seconds}の間
+ * 記録します。記録中の同じアイテムへの要求は、Boxを呼ばずレート制限のトークンも消費せずに
+ * 同じエラーで応答します。</p>
+ *
+ * <p>このサーバー経由でアイテムが作成・移動された場合（{@link BoxItemChangedEvent}）は、
+ * そのアイテムと親フォルダの記録を削除します。削除された場合はそのアイテムを404として記録します。
+ * Boxのイベントストリームで通知された外部の変更（{@link BoxItemInvalidatedEvent}）も同様に扱います。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Component
+public class NegativeResultCache {
+
+    private final Cache<Key, Integer> results;
+    private final boolean cacheForbidden;
+    private final LongAdder hits = new LongAdder();
+
+    public NegativeResultCache(BoxProperties boxProperties) {
+        BoxProperties.Cache properties = boxProperties.getCache();
+        this.cacheForbidden = properties.isNegativeCacheForbidden();
+        this.results = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofSeconds(Math.max(0, properties.getNegativeTtlSeconds())))
+            .build();
+    }
+
+    /**
+     * 記録済みのエラーがあれば、そのエラーをスローします.
+     *
+     * @param scope テナントスコープ
+     * @param itemType アイテムの種類
+     * @param itemId アイテムID
+     * @throws ResourceNotFoundException 404として記録されている場合
+     * @throws BoxApiException 403として記録されている場合
+     */
+    public void throwIfRecorded(String scope, BoxItemChangedEvent.ItemType itemType, String itemId) {
+        Integer statusCode = results.getIfPresent(new Key(scope, itemType, itemId));
+        if (statusCode == null) {
+            return;
+        }
+        hits.increment();
+        log.debug("Negative cache hit: {} {} ({})", itemType, itemId, statusCode);
+        if (statusCode == 404) {
+            throw new ResourceNotFoundException(resourceType(itemType), itemId);
+        }
+        throw new BoxApiException(String.format("%s (ID: %s) へのアクセスが拒否されました",
+            resourceType(itemType), itemId), statusCode);
+    }
+
+    /**
+     * Boxが返したエラーを記録します.
+     *
+     * <p>404と403（設定で有効な場合）以外のステータスコードは記録しません。</p>
+     *
+     * @param scope テナントスコープ
+     * @param itemType アイテムの種類
+     * @param itemId アイテムID
+     * @param statusCode Boxが返したHTTPステータスコード
+     */
+    public void record(String scope, BoxItemChangedEvent.ItemType itemType, String itemId, int statusCode) {
+        if (itemId != null && (statusCode == 404 || (statusCode == 403 && cacheForbidden))) {
+            results.put(new Key(scope, itemType, itemId), statusCode);
+        }
+    }
+
+    /**
+     * アイテムの記録を削除します.
+     *
+     * @param scope テナントスコープ
+     * @param itemType アイテムの種類
+     * @param itemId アイテムID
+     */
+    public void invalidate(String scope, BoxItemChangedEvent.ItemType itemType, String itemId) {
+        if (itemId != null) {
+            results.invalidate(new Key(scope, itemType, itemId));
+        }
+    }
+
+    /**
+     * 記録を削除します.
+     *
+     * @param scope テナントスコープ（nullの場合は全テナント）
+     */
+    public void clear(String scope) {
+        if (scope == null) {
+            results.invalidateAll();
+        } else {
+            results.asMap().keySet().removeIf(key -> key.scope().equals(scope));
+        }
+    }
+
+    /**
+     * 記録済みのエラーで応答した回数を返します.
+     *
+     * @return Boxの呼び出しを省略した回数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * アイテム変更イベントを受け取り、記録を更新します.
+     *
+     * @param event アイテム変更イベント
+     */
+    @EventListener
+    public void onItemChanged(BoxItemChangedEvent event) {
+        switch (event.getChangeType()) {
+            case CREATED, MOVED -> {
+                invalidate(event.getScope(), event.getItemType(), event.getItemId());
+                invalidate(event.getScope(), BoxItemChangedEvent.ItemType.FOLDER, event.getParentId());
+            }
+            case DELETED -> record(event.getScope(), event.getItemType(), event.getItemId(), 404);
+        }
+    }
+
+    /**
+     * 外部変更イベントを受け取り、記録を更新します.
+     *
+     * @param event 外部変更イベント
+     */
+    @EventListener
+    public void onItemInvalidated(BoxItemInvalidatedEvent event) {
+        if (event.isDeleted()) {
+            record(event.getScope(), event.getItemType(), event.getItemId(), 404);
+        } else {
+            invalidate(event.getScope(), event.getItemType(), event.getItemId());
+            invalidate(event.getScope(), BoxItemChangedEvent.ItemType.FOLDER, event.getParentId());
+        }
+    }
+
+    private static String resourceType(BoxItemChangedEvent.ItemType itemType) {
+        return itemType == BoxItemChangedEvent.ItemType.FOLDER ? "Folder" : "File";
+    }
+
+    private record Key(String scope, BoxItemChangedEvent.ItemType itemType, String itemId) {
+    }
+}
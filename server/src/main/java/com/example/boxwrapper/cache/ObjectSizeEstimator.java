@@ -0,0 +1,197 @@
+package com.example.boxwrapper.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * キャッシュ値のヒープ使用量の概算.
+ *
+ * <p>キャッシュの容量をバイト数で制限する場合の重み（{@code maximum-weight}）の計算に使用します。
+ * 64ビットJVM（圧縮参照有効）のオブジェクトレイアウトを前提に、オブジェクトヘッダ・フィールド・
+ * 8バイト境界への切り上げを含めて、値から参照されるオブジェクトの合計サイズを求めます。</p>
+ *
+ * <p>文字列・日時・コレクション・マップ・配列は既知のレイアウトで計算し、それ以外のクラスは
+ * フィールドをリフレクションで辿ります。複数回参照されるオブジェクトは1回のみ数えます。
+ * JDKの内部クラスなど、フィールドにアクセスできないオブジェクトは浅いサイズのみを数えます。</p>
+ *
+ * @since 1.1.0
+ */
+public final class ObjectSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int MAX_OBJECTS = 100_000;
+
+    /**
+     * クラスごとの浅いサイズと参照フィールド
+     */
+    private static final Map<Class<?>, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private ObjectSizeEstimator() {
+    }
+
+    /**
+     * 値と、値から参照されるオブジェクトの合計サイズを概算します.
+     *
+     * @param value 値（nullの場合は0）
+     * @return 概算のバイト数
+     */
+    public static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(value);
+        long total = 0;
+        while (!pending.isEmpty() && visited.size() < MAX_OBJECTS) {
+            Object current = pending.pop();
+            if (!visited.add(current)) {
+                continue;
+            }
+            total += sizeOf(current, pending);
+        }
+        return total;
+    }
+
+    /**
+     * オブジェクト自身のサイズを返し、参照先をpendingに追加
+     */
+    private static long sizeOf(Object value, Deque<Object> pending) {
+        if (value instanceof String string) {
+            // String本体 + byte[]（Latin-1で表せない文字を含む場合は1文字2バイト）
+            return align(HEADER + 4 + 4 + 1 + 1 + REFERENCE) + align(ARRAY_HEADER + (long) string.length() * coder(string));
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return 16 + (value instanceof Long || value instanceof Double ? 8 : 0);
+        }
+        if (value instanceof LocalDateTime) {
+            return 24 + 24 + 24;
+        }
+        if (value instanceof OffsetDateTime) {
+            return 24 + 24 + 24 + 24 + 16;
+        }
+        if (value instanceof LocalDate || value instanceof LocalTime || value instanceof Instant) {
+            return 24;
+        }
+        if (value instanceof Enum<?>) {
+            return 0;
+        }
+        if (value instanceof Collection<?> collection) {
+            // ArrayList/HashSetなどの本体と内部配列の概算
+            collection.forEach(element -> push(element, pending));
+            return align(HEADER + 16) + align(ARRAY_HEADER + (long) collection.size() * REFERENCE)
+                + (value instanceof Set<?> ? (long) collection.size() * 32 : 0);
+        }
+        if (value instanceof Map<?, ?> map) {
+            // HashMapの本体・テーブル・エントリ（Node）の概算
+            map.forEach((key, mapped) -> {
+                push(key, pending);
+                push(mapped, pending);
+            });
+            return align(HEADER + 32) + align(ARRAY_HEADER + (long) map.size() * 2 * REFERENCE)
+                + (long) map.size() * 32;
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(value);
+            Class<?> component = type.getComponentType();
+            if (component.isPrimitive()) {
+                return align(ARRAY_HEADER + (long) length * primitiveSize(component));
+            }
+            for (int i = 0; i < length; i++) {
+                push(Array.get(value, i), pending);
+            }
+            return align(ARRAY_HEADER + (long) length * REFERENCE);
+        }
+
+        Layout layout = LAYOUTS.computeIfAbsent(type, ObjectSizeEstimator::layoutOf);
+        for (Field field : layout.references()) {
+            try {
+                push(field.get(value), pending);
+            } catch (IllegalAccessException e) {
+                // アクセスできないフィールドの参照先は数えない
+            }
+        }
+        return layout.shallowSize();
+    }
+
+    private static void push(Object value, Deque<Object> pending) {
+        if (value != null) {
+            pending.push(value);
+        }
+    }
+
+    private static Layout layoutOf(Class<?> type) {
+        long size = HEADER;
+        List<Field> references = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Class<?> fieldType = field.getType();
+                if (fieldType.isPrimitive()) {
+                    size += primitiveSize(fieldType);
+                    continue;
+                }
+                size += REFERENCE;
+                try {
+                    field.setAccessible(true);
+                    references.add(field);
+                } catch (InaccessibleObjectException | SecurityException e) {
+                    // JDKの内部クラスなどは浅いサイズのみ数える
+                }
+            }
+        }
+        return new Layout(align(size), List.copyOf(references));
+    }
+
+    private static int coder(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                return 2;
+            }
+        }
+        return 1;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private record Layout(long shallowSize, List<Field> references) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.model.request.SearchRequest;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.Locale;
+
+/**
+ * 検索結果ページのキャッシュキー.
+ *
+ * <p>テナントスコープと全ての検索条件（クエリ、タイプ、拡張子、オフセット、件数）から構成されます。
+ * 表記ゆれで別エントリにならないよう、クエリの前後空白と大文字小文字、
+ * 拡張子の先頭ドット、未指定時の既定値を正規化します。</p>
+ *
+ * <p>大文字小文字の正規化はキーの比較にのみ使い、Boxには前後の空白を除いた元のクエリを送ります
+ * （{@code AND}・{@code OR}・{@code NOT}の演算子は大文字の場合のみ有効なため）。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+public class SearchCacheKey implements TenantScoped, Serializable {
+
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Box検索APIで取得できる結果の上限（offset + limit）
+     */
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    String scope;
+
+    /**
+     * 比較用に正規化したクエリ
+     */
+    String query;
+
+    /**
+     * Boxに送るクエリ（前後の空白のみ除去、キーの比較には含めない）
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String originalQuery;
+
+    String type;  // file, folder or null
+
+    String fileExtension;
+
+    int offset;
+
+    int limit;
+
+    /**
+     * 検索リクエストから正規化したキーを生成します.
+     *
+     * @param scope テナントスコープ
+     * @param request 検索リクエスト
+     * @return キャッシュキー
+     */
+    public static SearchCacheKey of(String scope, SearchRequest request) {
+        String query = request.getQuery().trim();
+        return new SearchCacheKey(
+            scope,
+            query.toLowerCase(Locale.ROOT),
+            query,
+            normalizeType(request.getType()),
+            normalizeExtension(request.getFileExtension()),
+            request.getOffset() != null ? request.getOffset() : 0,
+            request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT);
+    }
+
+    /**
+     * 次のページのキーを返します.
+     *
+     * @return オフセットを件数分進めたキー
+     */
+    public SearchCacheKey nextPage() {
+        return new SearchCacheKey(scope, query, originalQuery, type, fileExtension, offset + limit, limit);
+    }
+
+    /**
+     * 検索条件が同じで取得範囲が異なるキーを返します.
+     *
+     * @param offset オフセット
+     * @param limit 取得件数
+     * @return 指定した範囲のキー
+     */
+    public SearchCacheKey withRange(int offset, int limit) {
+        return new SearchCacheKey(scope, query, originalQuery, type, fileExtension, offset, limit);
+    }
+
+    /**
+     * このキーと同じ検索を行うリクエストを返します.
+     *
+     * @return 元のクエリと正規化したその他の検索条件のリクエスト
+     */
+    public SearchRequest toRequest() {
+        return SearchRequest.builder()
+            .query(originalQuery)
+            .type(type)
+            .fileExtension(fileExtension)
+            .offset(offset)
+            .limit(limit)
+            .build();
+    }
+
+    private static String normalizeType(String type) {
+        if ("file".equalsIgnoreCase(type)) {
+            return "file";
+        }
+        if ("folder".equalsIgnoreCase(type)) {
+            return "folder";
+        }
+        return null;
+    }
+
+    private static String normalizeExtension(String extension) {
+        if (extension == null || extension.isBlank()) {
+            return null;
+        }
+        String normalized = extension.trim().toLowerCase(Locale.ROOT);
+        return normalized.startsWith(".") ? normalized.substring(1) : normalized;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.boxwrapper.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 検索結果ページキャッシュ.
+ *
+ * <p>{@link SearchCacheKey}（テナントスコープと正規化した全検索条件）ごとに
+ * 検索結果の1ページを保持します。次ページの先読みが同じページを重複して
+ * 取得しないよう、先読み中のキーも管理します。</p>
+ *
+ * <p>Boxのイベントストリームで外部の変更（{@link BoxItemInvalidatedEvent}）が通知されると、
+ * どの検索結果に影響するか判定できないため、そのテナントの検索結果を全て無効化します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Component
+public class SearchResultCache {
+
+    public static final String CACHE_NAME = "searchResults";
+
+    private final Cache cache;
+
+    private final Set<SearchCacheKey> prefetching = ConcurrentHashMap.newKeySet();
+
+    public SearchResultCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    /**
+     * キャッシュされた検索結果ページを取得します.
+     *
+     * @param key キャッシュキー
+     * @return 検索結果ページ。キャッシュされていない場合は空
+     */
+    public Optional<SearchResultPage> get(SearchCacheKey key) {
+        return Optional.ofNullable(cache.get(key, SearchResultPage.class));
+    }
+
+    /**
+     * 検索結果ページをキャッシュします.
+     *
+     * @param key キャッシュキー
+     * @param page 検索結果ページ
+     */
+    public void put(SearchCacheKey key, SearchResultPage page) {
+        cache.put(key, page);
+    }
+
+    /**
+     * 外部変更イベントを受け取り、テナントの検索結果を無効化します.
+     *
+     * @param event 外部変更イベント
+     */
+    @EventListener
+    public void onItemInvalidated(BoxItemInvalidatedEvent event) {
+        if (cache instanceof TenantPartitionedCache partitioned) {
+            partitioned.evictScope(event.getScope());
+        } else {
+            cache.clear();
+        }
+        log.debug("Invalidated cached search results for tenant: {}", event.getScope());
+    }
+
+    /**
+     * ページの先読みを開始できるか判定し、開始済みとして登録します.
+     *
+     * @param key 先読みするページのキー
+     * @return キャッシュ済みでも先読み中でもない場合true
+     */
+    public boolean tryBeginPrefetch(SearchCacheKey key) {
+        return !isCached(key) && prefetching.add(key);
+    }
+
+    /**
+     * キャッシュ済みか確認（ヒット率やリクエストの鮮度情報に影響しない参照）
+     */
+    private boolean isCached(SearchCacheKey key) {
+        if (cache instanceof TenantPartitionedCache partitioned) {
+            return partitioned.containsKey(key);
+        }
+        return cache.get(key) != null;
+    }
+
+    /**
+     * ページの先読みを終了します.
+     *
+     * @param key 先読みしたページのキー
+     */
+    public void endPrefetch(SearchCacheKey key) {
+        prefetching.remove(key);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.model.response.SearchResultItem;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * キャッシュされる検索結果の1ページ.
+ *
+ * @since 1.1.0
+ */
+@Value
+@AllArgsConstructor
+public class SearchResultPage implements Serializable {
+
+    List<SearchResultItem> results;
+
+    /**
+     * 検索条件に一致する全件数
+     */
+    long totalCount;
+
+    /**
+     * 一部のBoxアカウントの結果が含まれていない場合true（キャッシュしない）
+     */
+    boolean partial;
+
+    public SearchResultPage(List<SearchResultItem> results, long totalCount) {
+        this(results, totalCount, false);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.boxwrapper.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * 2次領域（L2）への非同期の書き込み.
+ *
+ * <p>キャッシュへの書き込み・削除を受け付けた時点では保留するだけで、JSONへの変換とファイルへの書き込みは
+ * 専用のスレッドが一定間隔でまとめて行います（{@link MappedFileStore#writeAll(List)}）。
+ * 同じキーへの保留中の書き込みは最後の1件にまとめます。書き込み前のエントリは
+ * {@link #pending(Object)}で参照できるため、L1から追い出されても古い値は返しません。</p>
+ *
+ * <p>まとめて削除する操作（{@link #removeIf(Predicate, Predicate)}・{@link #clear()}）と
+ * 書き込みが競合した場合は、削除したエントリを書き戻さないよう、その回の書き込みを全て削除として反映します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+final class SecondTierWriter {
+
+    private static final Pending REMOVED = new Pending(null, 0, 0, 0);
+
+    private final String cacheName;
+    private final MappedFileStore store;
+    private final CacheEntryCodec codec;
+    private final Map<Object, Pending> pending = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskScheduler flushScheduler;
+    /**
+     * ファイルへの反映とまとめての削除を直列化する
+     */
+    private final Object flushLock = new Object();
+    /**
+     * まとめての削除の回数（flushLockで保護）
+     */
+    private long generation;
+
+    SecondTierWriter(String cacheName, MappedFileStore store, CacheEntryCodec codec, Duration flushInterval) {
+        this.cacheName = cacheName;
+        this.store = store;
+        this.codec = codec;
+        this.flushScheduler = new ThreadPoolTaskScheduler();
+        this.flushScheduler.setPoolSize(1);
+        this.flushScheduler.setThreadNamePrefix("l2-" + cacheName + "-");
+        this.flushScheduler.setDaemon(true);
+        this.flushScheduler.initialize();
+        this.flushScheduler.scheduleWithFixedDelay(this::flushQuietly, flushInterval);
+    }
+
+    MappedFileStore store() {
+        return store;
+    }
+
+    /**
+     * 書き込みを保留します
+     */
+    void put(Object key, Object value, long writtenAtMillis, long expiresAtMillis, long retainUntilMillis) {
+        pending.put(key, new Pending(value, writtenAtMillis, expiresAtMillis, retainUntilMillis));
+    }
+
+    /**
+     * 削除を保留します（保留中の書き込みより後に反映される）
+     */
+    void remove(Object key) {
+        pending.put(key, REMOVED);
+    }
+
+    /**
+     * まだファイルに反映していない書き込み・削除を返します
+     */
+    Optional<Pending> pending(Object key) {
+        return Optional.ofNullable(pending.get(key));
+    }
+
+    /**
+     * 条件に一致する保留中の書き込みとファイルのエントリを削除します
+     */
+    void removeIf(Predicate<Object> keyMatcher, Predicate<byte[]> encodedKeyMatcher) {
+        synchronized (flushLock) {
+            generation++;
+            pending.keySet().removeIf(keyMatcher);
+            store.removeIf(encodedKeyMatcher);
+        }
+    }
+
+    /**
+     * 保留中の書き込みとファイルのエントリを全て削除します
+     */
+    void clear() {
+        synchronized (flushLock) {
+            generation++;
+            pending.clear();
+            store.clear();
+        }
+    }
+
+    /**
+     * 保留中の書き込み・削除をファイルに反映します（同時に1回のみ実行）
+     */
+    synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long startGeneration;
+        synchronized (flushLock) {
+            startGeneration = generation;
+        }
+        Map<Object, Pending> batch = new HashMap<>(pending);
+
+        // JSONへの変換はロックの外で行う
+        List<MappedFileStore.Write> writes = new ArrayList<>(batch.size());
+        batch.forEach((key, write) -> codec.encodeKey(key)
+            .ifPresent(encodedKey -> writes.add(encode(encodedKey, write))));
+
+        synchronized (flushLock) {
+            if (generation != startGeneration) {
+                // 変換中にまとめて削除されたエントリを書き戻さない
+                writes.replaceAll(write -> new MappedFileStore.Write(write.key(), null, 0, 0));
+            }
+            store.writeAll(writes);
+        }
+        // 反映中に新しく保留された書き込みは次回に反映する
+        batch.forEach(pending::remove);
+    }
+
+    /**
+     * 書き込みを停止し、保留中の書き込みを反映します
+     */
+    void shutdown() {
+        flushScheduler.shutdown();
+        flush();
+    }
+
+    private MappedFileStore.Write encode(byte[] encodedKey, Pending write) {
+        if (write.value() == null) {
+            return new MappedFileStore.Write(encodedKey, null, 0, 0);
+        }
+        try {
+            // L2に保存できない値で古い値が残らないよう、変換できない場合は削除する
+            byte[] value = codec.encodeValue(write.value()).orElse(null);
+            return new MappedFileStore.Write(encodedKey, value, write.writtenAtMillis(), write.expiresAtMillis(),
+                write.retainUntilMillis());
+        } catch (IOException e) {
+            log.debug("Failed to write L2 entry in cache {}: {}", cacheName, e.getMessage());
+            return new MappedFileStore.Write(encodedKey, null, 0, 0);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush L2 entries in cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * 保留中の書き込み（値がnullの場合は削除）
+     */
+    record Pending(Object value, long writtenAtMillis, long expiresAtMillis, long retainUntilMillis) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * テナントスコープ付きキャッシュキー.
+ *
+ * <p>同じBoxアイテムIDでもテナント（APIキー）が異なれば別エントリとして扱うため、
+ * テナントスコープとアイテムIDの組み合わせをキーとします。</p>
+ *
+ * @since 1.1.0
+ */
+@Value(staticConstructor = "of")
+public class TenantCacheKey implements TenantScoped, Serializable {
+
+    String scope;
+
+    String id;
+
+    @Override
+    public String toString() {
+        return scope + ":" + id;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.boxwrapper.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * テナントごとのキャッシュ統計.
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class TenantCacheStats {
+
+    String cacheName;
+
+    String scope;
+
+    /**
+     * テナントに保証された容量（重みで制限する場合はバイト数、それ以外はエントリ数）
+     */
+    long guaranteedCapacity;
+
+    /**
+     * 保証領域と共有領域にあるエントリ数の合計
+     */
+    long size;
+
+    /**
+     * 保証領域と共有領域にあるエントリの重み（バイト数）の合計。重みで制限しない場合は0
+     */
+    long weightedSize;
+
+    /**
+     * ヒープ使用量の概算（バイト数）。重みで制限しない場合は一部のエントリの平均から概算する
+     */
+    long estimatedBytes;
+
+    long hitCount;
+
+    long missCount;
+
+    /**
+     * 容量超過によって追い出されたエントリ数（期限切れは含まない）
+     */
+    long evictionCount;
+
+    /**
+     * キャッシュミスでBoxから読み込んだ数（{@code @Cacheable(sync = true)}の読み込みのみ）
+     */
+    long loadCount;
+
+    /**
+     * 読み込みの所要時間の合計（ナノ秒）
+     */
+    long totalLoadNanos;
+
+    /**
+     * ヒット率を返します.
+     *
+     * @return ヒット数 / 参照数。参照がない場合は1.0
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * ミス率を返します.
+     *
+     * @return ミス数 / 参照数。参照がない場合は0.0
+     */
+    public double getMissRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) missCount / requests;
+    }
+
+    /**
+     * 読み込み1回あたりの平均所要時間を返します.
+     *
+     * @return 平均所要時間（ミリ秒）。読み込んでいない場合は0
+     */
+    public double getAverageLoadMillis() {
+        return loadCount == 0 ? 0 : totalLoadNanos / 1_000_000.0 / loadCount;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.client.BoxClientManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * テナントスコープ付きキャッシュキーの生成.
+ *
+ * <p>第1引数がAPIキー、第2引数がBoxアイテムIDのメソッドに対して
+ * {@link TenantCacheKey}を生成します。{@code @Cacheable(keyGenerator = "tenantKeyGenerator")}
+ * のように指定して使用します。</p>
+ *
+ * @since 1.1.0
+ */
+@Component("tenantKeyGenerator")
+public class TenantKeyGenerator implements KeyGenerator {
+
+    private final BoxClientManager clientManager;
+
+    public TenantKeyGenerator(BoxClientManager clientManager) {
+        this.clientManager = clientManager;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        if (params.length < 2 || !(params[0] instanceof String apiKey)) {
+            throw new IllegalArgumentException(
+                "tenantKeyGenerator requires (apiKey, itemId, ...) parameters: " + method.getName());
+        }
+        return TenantCacheKey.of(clientManager.getTenantScope(apiKey), String.valueOf(params[1]));
+    }
+}
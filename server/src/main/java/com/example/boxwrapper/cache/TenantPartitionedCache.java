@@ -0,0 +1,1055 @@
+package com.example.boxwrapper.cache;
+
+import com.example.boxwrapper.utils.SingleFlight;
+import com.example.boxwrapper.utils.SingleFlightStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * テナントごとに容量を分割したキャッシュ.
+ *
+ * <p>全体の容量（{@code maximumSize}）のうち{@code overflowRatio}を全テナント共有の領域とし、
+ * 残りを重み（{@code api.keys[].cache-weight}）に応じてテナントごとの保証領域に分割します。
+ * 保証領域は他のテナントの書き込みでは追い出されないため、1つのテナントが大量の
+ * エントリを書き込んでも、他のテナントのよく使うエントリは保持されます。</p>
+ *
+ * <p>保証領域から容量超過で追い出されたエントリは共有領域に移り、共有領域からも
+ * 追い出された時点で破棄されます。共有領域のエントリが参照された場合は保証領域に戻します。
+ * 有効期限は最初に書き込まれた時刻から数えます。</p>
+ *
+ * <p>キーは{@link TenantScoped}を実装している必要があります。実装していないキーは
+ * 1つの共通テナントとして扱います。テナントごとのヒット数・ミス数・追い出し数は
+ * {@link #getTenantStats()}で取得できます。</p>
+ *
+ * <p>{@link #enableSecondTier(MappedFileStore, ObjectMapper)}を呼び出すと、書き込んだエントリを
+ * メモリマップドファイルの2次領域（L2）にも保存します。ヒープ上の領域（L1）にないエントリは
+ * L2から読み込んでL1に戻すため、L1より多くのエントリを保持でき、再起動後も利用できます。
+ * L2に保存するのは{@link TenantCacheKey}をキーとするエントリのみです。L2への書き込みは
+ * 呼び出し元のスレッドでは行わず、専用のスレッドが一定間隔でまとめて行います（{@link SecondTierWriter}）。</p>
+ *
+ * <p>{@code @Cacheable(sync = true)}による読み込み（{@link #get(Object, Callable)}）は、
+ * 同じキーの同時の読み込みを1回にまとめます（{@link SingleFlight}）。エントリの期限切れや
+ * 再起動の直後に同じアイテムへの要求が集中しても、Boxの呼び出しは1回です。</p>
+ *
+ * <p>容量はエントリ数、または値のヒープ使用量の概算（{@link ObjectSizeEstimator}）の合計で制限します
+ * （{@link CacheSettings}）。容量・有効期間などは{@link #reconfigure(CacheSettings)}で実行中に変更できます。</p>
+ *
+ * <p>{@link #hottestEntries(int)}は参照頻度の高いエントリを返します。再起動前に保存し、
+ * 起動時に{@link #restoreEntry(CacheWarmupEntry)}で戻すことで、起動直後のキャッシュミスを抑えます。</p>
+ *
+ * <p>ファイル情報・フォルダ情報は省メモリ表現（{@link CompactValues}）で保持し、参照時にDTOに戻します。</p>
+ *
+ * <p>{@link #enableRefreshAhead(Duration, Consumer)}を呼び出すと、書き込みから一定時間が
+ * 経過したエントリが参照された時点で更新要求を通知します。更新が完了するまでは
+ * 古いエントリを返します。</p>
+ *
+ * <p>{@link FreshnessContext}が設定されたスレッドからの参照では、リクエストが許容するより古い
+ * エントリをキャッシュミスとして扱います。{@code stale-while-revalidate}で許容された古いエントリは返しつつ、
+ * {@link #enableRevalidation(Consumer)}で設定した処理に更新を要求します。</p>
+ *
+ * <p>{@link #enableConditionalReload(Duration, ConditionalLoader)}を呼び出すと、有効期限を過ぎたエントリを
+ * 一定時間保持し、次の読み込みでは変更の有無だけを確認して、変更がなければ有効期間を延長します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public class TenantPartitionedCache extends AbstractValueAdaptingCache {
+
+    private static final String UNSCOPED = "-";
+    private static final EntryExpiry EXPIRY = new EntryExpiry();
+    private static final int ESTIMATE_SAMPLE_SIZE = 32;
+    private static final Duration SECOND_TIER_FLUSH_INTERVAL = Duration.ofMillis(100);
+
+    private final String name;
+    private final Map<String, Integer> weights;
+    private final int totalWeight;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final Cache<Object, Entry> overflow;
+    private final SingleFlight<Object, Object> loads;
+    private final LongAdder secondTierHits = new LongAdder();
+    private volatile CacheSettings settings;
+    private volatile long partitionedCapacity;
+    private volatile SecondTierWriter secondTier;
+    private volatile CacheEntryCodec codec;
+    private volatile long refreshAfterNanos = Long.MAX_VALUE;
+    private volatile Consumer<Object> refreshHandler;
+    private volatile Consumer<Object> revalidationHandler;
+    private volatile ConditionalLoader conditionalLoader;
+    private volatile long retentionNanos;
+    private final LongAdder notModifiedReloads = new LongAdder();
+    private final LongAdder modifiedReloads = new LongAdder();
+    private final LongAdder failedReloads = new LongAdder();
+
+    /**
+     * キャッシュを生成します.
+     *
+     * @param name キャッシュ名
+     * @param maximumSize 全テナント合計の最大エントリ数
+     * @param overflowRatio 全体の容量のうち共有領域に割り当てる割合（0.0〜1.0）
+     * @param ttl 書き込みからの有効期間
+     * @param weights テナントスコープごとの重み（含まれないテナントの重みは1）
+     */
+    public TenantPartitionedCache(String name, long maximumSize, double overflowRatio, Duration ttl,
+                                  Map<String, Integer> weights) {
+        this(name, maximumSize, overflowRatio, ttl, weights, SingleFlight.DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * 読み込みの待機時間を指定してキャッシュを生成します.
+     *
+     * @param name キャッシュ名
+     * @param maximumSize 全テナント合計の最大エントリ数
+     * @param overflowRatio 全体の容量のうち共有領域に割り当てる割合（0.0〜1.0）
+     * @param ttl 書き込みからの有効期間
+     * @param weights テナントスコープごとの重み（含まれないテナントの重みは1）
+     * @param loadWait 同じキーの読み込みが実行中の場合に完了を待つ時間の上限
+     */
+    public TenantPartitionedCache(String name, long maximumSize, double overflowRatio, Duration ttl,
+                                  Map<String, Integer> weights, Duration loadWait) {
+        this(name, CacheSettings.builder()
+            .maximumSize(maximumSize)
+            .ttl(ttl)
+            .overflowRatio(overflowRatio)
+            .build(), weights, loadWait);
+    }
+
+    /**
+     * 設定を指定してキャッシュを生成します.
+     *
+     * @param name キャッシュ名
+     * @param settings 容量・有効期間などの設定
+     * @param weights テナントスコープごとの重み（含まれないテナントの重みは1）
+     * @param loadWait 同じキーの読み込みが実行中の場合に完了を待つ時間の上限
+     */
+    public TenantPartitionedCache(String name, CacheSettings settings, Map<String, Integer> weights,
+                                  Duration loadWait) {
+        super(true);
+        this.loads = new SingleFlight<>(loadWait);
+        this.name = name;
+        this.settings = settings;
+        this.weights = Map.copyOf(weights);
+        this.totalWeight = Math.max(1, weights.values().stream().mapToInt(Integer::intValue).sum());
+
+        long overflowCapacity = overflowCapacity(settings);
+        this.partitionedCapacity = settings.getCapacity() - overflowCapacity;
+        this.overflow = buildStore(overflowCapacity, (Object key, Entry entry, RemovalCause cause) -> {
+            if (cause == RemovalCause.SIZE) {
+                partition(key).evictions.increment();
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Partition partition = partition(key);
+        Entry entry = partition.entries.getIfPresent(key);
+        if (entry == null) {
+            entry = overflow.getIfPresent(key);
+            if (entry != null && !entry.isExpired()) {
+                // 共有領域で参照されたエントリは保証領域に戻す
+                entry = promote(partition, key, entry);
+            } else {
+                // L1になければL2から読み込み、L1に戻す
+                long version = secondTierVersion(key);
+                entry = version >= 0 ? readSecondTier(key) : null;
+                if (entry != null) {
+                    entry = promoteSecondTier(partition, key, entry, version);
+                }
+            }
+        }
+
+        if (entry != null && entry.isExpired()) {
+            // 再検証のために保持している期限切れのエントリは応答に使わない
+            entry = null;
+        }
+
+        FreshnessContext context = FreshnessContext.current().orElse(null);
+        CacheFreshness.Verdict verdict = entry != null && context != null
+            ? context.getFreshness().evaluate(entry.age())
+            : CacheFreshness.Verdict.FRESH;
+        if (entry == null || verdict == CacheFreshness.Verdict.EXPIRED) {
+            // リクエストが許容するより古いエントリは使わず、読み込み直させる
+            partition.misses.increment();
+            if (context != null) {
+                context.record(Duration.ZERO, settings.getTtl());
+            }
+            return null;
+        }
+        partition.hits.increment();
+        if (context != null) {
+            context.record(entry.age(), entry.remainingTtl());
+        }
+        if (verdict == CacheFreshness.Verdict.STALE_WHILE_REVALIDATE && revalidationHandler != null) {
+            revalidationHandler.accept(key);
+        } else if (entry.isStale(refreshAfterNanos) && refreshHandler != null) {
+            refreshHandler.accept(key);
+        }
+        return entry.value();
+    }
+
+    /**
+     * 共有領域のエントリを保証領域に移す（並行する書き込み・削除より古いエントリで上書きしない）
+     */
+    private Entry promote(Partition partition, Object key, Entry spilled) {
+        Entry current = partition.entries.asMap().putIfAbsent(key, spilled);
+        if (current != null) {
+            // 参照の間に書き込まれた新しいエントリを優先する
+            overflow.asMap().remove(key, spilled);
+            return current;
+        }
+        if (!overflow.asMap().remove(key, spilled)) {
+            // 参照の間に共有領域から削除・置換されたエントリは戻さない（evictは共有領域を先に削除する）
+            partition.entries.asMap().remove(key, spilled);
+            return partition.entries.getIfPresent(key);
+        }
+        return spilled;
+    }
+
+    /**
+     * L2から読み込んだエントリをL1に戻す（並行する書き込み・削除より古いエントリで上書きしない）
+     */
+    private Entry promoteSecondTier(Partition partition, Object key, Entry restored, long version) {
+        Entry current = partition.entries.asMap().putIfAbsent(key, restored);
+        if (current != null) {
+            // 読み込みの間に書き込まれた新しいエントリを優先する
+            return current;
+        }
+        if (secondTierVersion(key) != version) {
+            // 読み込みの間にL2から削除・置換されたエントリは戻さない（削除はL2をL1より先に削除する）
+            partition.entries.asMap().remove(key, restored);
+            return partition.entries.getIfPresent(key);
+        }
+        secondTierHits.increment();
+        return restored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        // 同じキーの読み込みが実行中であれば、その結果を共有する
+        Object loaded = loads.execute(key, () -> {
+            // 先行する読み込みが直前に完了していればその値を使う
+            Partition partition = partition(key);
+            Entry entry = partition.entries.getIfPresent(key);
+            if (entry != null && !entry.isExpired() && isAcceptable(entry)) {
+                return entry.value();
+            }
+            // 期限切れのエントリは、変更がなければ全体を読み込まずに有効期間を延長する
+            if (entry != null) {
+                Object reloaded = reload(key, entry);
+                if (reloaded != null) {
+                    return reloaded;
+                }
+            }
+
+            Object value;
+            long start = System.nanoTime();
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            } finally {
+                partition.loads.increment();
+                partition.loadNanos.add(System.nanoTime() - start);
+            }
+            put(key, value);
+            return toStoreValue(value);
+        });
+        return (T) fromStoreValue(loaded);
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(CompactValues.compact(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        return CompactValues.inflate(super.fromStoreValue(storeValue));
+    }
+
+    /**
+     * 有効期限内のエントリがあるかを確認します.
+     *
+     * <p>{@link #get(Object)}と異なり、ヒット・ミスの統計、リクエストの鮮度情報（{@link FreshnessContext}）、
+     * 追い出しの順序、L2からL1への移動、期限前の更新に影響しません。先読みの要否の判定など、
+     * リクエストへの応答に使わない確認に使用します。</p>
+     *
+     * @param key キャッシュキー
+     * @return L1またはL2に有効期限内のエントリがある場合true
+     */
+    public boolean containsKey(Object key) {
+        Partition partition = partitions.get(scopeOf(key));
+        Entry entry = partition != null ? partition.entries.policy().getIfPresentQuietly(key) : null;
+        if (entry == null) {
+            entry = overflow.policy().getIfPresentQuietly(key);
+        }
+        if (entry != null) {
+            return !entry.isExpired();
+        }
+        return secondTierStamp(key)
+            .map(stamp -> stamp.expiresAtMillis() > System.currentTimeMillis())
+            .orElse(false);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Entry entry = Entry.of(toStoreValue(value), settings, retentionNanos);
+        partition(key).entries.put(key, entry);
+        overflow.invalidate(key);
+        writeSecondTier(key, entry);
+    }
+
+    @Override
+    public void evict(Object key) {
+        // 共有領域から保証領域への移動と競合しても削除したエントリが戻らないよう、共有領域を先に削除する
+        // L2から戻す読み込みと競合しても削除したエントリが戻らないよう、L2もL1より先に削除する
+        overflow.invalidate(key);
+        SecondTierWriter writer = secondTier;
+        if (writer != null) {
+            writer.remove(key);
+        }
+        partition(key).entries.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        overflow.invalidateAll();
+        SecondTierWriter writer = secondTier;
+        if (writer != null) {
+            writer.clear();
+        }
+        partitions.values().forEach(partition -> partition.entries.invalidateAll());
+    }
+
+    /**
+     * テナントのエントリを全て削除します.
+     *
+     * <p>保証領域・共有領域・2次領域（L2）から、指定したテナントスコープのエントリを削除します。
+     * 統計はそのまま残します。</p>
+     *
+     * @param scope テナントスコープ
+     */
+    public void evictScope(String scope) {
+        overflow.asMap().keySet().removeIf(key -> scopeOf(key).equals(scope));
+        SecondTierWriter writer = secondTier;
+        if (writer != null) {
+            writer.removeIf(key -> scopeOf(key).equals(scope), codec.scopeMatcher(scope));
+        }
+        Partition partition = partitions.get(scope);
+        if (partition != null) {
+            partition.entries.invalidateAll();
+        }
+    }
+
+    /**
+     * テナントのエントリのうち、キーの識別部分が条件に一致するエントリを削除します.
+     *
+     * <p>識別部分は{@link TenantCacheKey}ではアイテムID、{@link SearchCacheKey}では検索クエリです。
+     * 保証領域・共有領域・2次領域（L2）から削除します。</p>
+     *
+     * @param scope テナントスコープ
+     * @param idFilter 識別部分を受け取り、削除する場合にtrueを返す条件
+     * @return 削除したエントリ数（L1とL2にある同じキーは1件と数える）
+     */
+    public int evictMatching(String scope, Predicate<String> idFilter) {
+        Set<String> removed = new HashSet<>();
+        Predicate<Object> matcher = key -> scopeOf(key).equals(scope) && idFilter.test(idOf(key));
+
+        // 共有領域・L2・保証領域の順に削除する（evictと同じ順序）
+        invalidateMatching(overflow, matcher, removed);
+        SecondTierWriter writer = secondTier;
+        if (writer != null) {
+            String prefix = scope + ":";
+            writer.removeIf(matcher, encodedKey -> {
+                String key = new String(encodedKey, StandardCharsets.UTF_8);
+                if (key.startsWith(prefix) && idFilter.test(key.substring(prefix.length()))) {
+                    removed.add(key);
+                    return true;
+                }
+                return false;
+            });
+        }
+        Partition partition = partitions.get(scope);
+        if (partition != null) {
+            invalidateMatching(partition.entries, matcher, removed);
+        }
+        return removed.size();
+    }
+
+    private static void invalidateMatching(Cache<Object, Entry> store, Predicate<Object> matcher, Set<String> removed) {
+        List<Object> keys = store.asMap().keySet().stream().filter(matcher).toList();
+        store.invalidateAll(keys);
+        keys.forEach(key -> removed.add(key.toString()));
+    }
+
+    /**
+     * 設定を変更します.
+     *
+     * <p>容量の変更は各テナントの保証領域と共有領域に反映され、超過分はすぐに追い出されます。
+     * 有効期間の変更は以降に書き込まれるエントリに適用されます。更新の割合の変更は、
+     * {@link #enableRefreshAhead(Duration, Consumer)}で更新を有効にしたキャッシュにのみ反映されます。</p>
+     *
+     * @param updated 新しい設定
+     * @throws IllegalArgumentException 容量の単位（エントリ数か重みか）やソフト参照の有無を変更しようとした場合
+     */
+    public synchronized void reconfigure(CacheSettings updated) {
+        if (updated.isWeighted() != settings.isWeighted() || updated.isSoftValues() != settings.isSoftValues()) {
+            throw new IllegalArgumentException(
+                "容量の単位とソフト参照の有無は実行中に変更できません: " + name);
+        }
+        this.settings = updated;
+
+        long overflowCapacity = overflowCapacity(updated);
+        this.partitionedCapacity = updated.getCapacity() - overflowCapacity;
+        resize(overflow, overflowCapacity);
+        for (Partition partition : partitions.values()) {
+            partition.capacity = guaranteedCapacity(partition.scope);
+            resize(partition.entries, partition.capacity);
+        }
+        if (refreshHandler != null) {
+            this.refreshAfterNanos = refreshAfterNanos(updated);
+        }
+        log.info("Cache {} reconfigured: capacity={}{}, ttl={}", name, updated.getCapacity(),
+            updated.isWeighted() ? " bytes" : " entries", updated.getTtl());
+    }
+
+    /**
+     * 現在の設定を返します.
+     *
+     * @return 容量・有効期間などの設定
+     */
+    public CacheSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * 参照頻度の高いエントリを返します.
+     *
+     * <p>各テナントの保証領域から、保証領域の容量の割合に応じた件数を参照頻度の高い順に返します。
+     * 期限切れのエントリと、{@link TenantCacheKey}以外のキーのエントリは含みません。</p>
+     *
+     * @param limit 全テナント合計の最大件数
+     * @return 参照頻度の高いエントリ
+     */
+    public List<CacheWarmupEntry> hottestEntries(int limit) {
+        long nowNanos = System.nanoTime();
+        long nowMillis = System.currentTimeMillis();
+        long capacity = Math.max(1, partitionedCapacity);
+
+        List<CacheWarmupEntry> hottest = new ArrayList<>();
+        for (Partition partition : partitions.values()) {
+            int share = (int) Math.max(1, limit * partition.capacity / capacity);
+            Map<Object, Entry> entries = partition.entries.policy().eviction()
+                .map(eviction -> eviction.hottest(share))
+                .orElse(Map.of());
+            entries.forEach((key, entry) -> {
+                if (key instanceof TenantCacheKey tenantKey && !entry.isExpired()) {
+                    hottest.add(CacheWarmupEntry.builder()
+                        .key(tenantKey)
+                        .value(entry.value())
+                        .writtenAtMillis(nowMillis - TimeUnit.NANOSECONDS.toMillis(nowNanos - entry.writtenAtNanos()))
+                        .expiresAtMillis(nowMillis + TimeUnit.NANOSECONDS.toMillis(entry.expiresAtNanos() - nowNanos))
+                        .build());
+                }
+            });
+        }
+        return hottest.size() > limit ? hottest.subList(0, limit) : hottest;
+    }
+
+    /**
+     * スナップショットのエントリを元の有効期限で戻します.
+     *
+     * <p>期限切れのエントリと、起動後に既に書き込まれたキーのエントリは戻しません。</p>
+     *
+     * @param warmupEntry 戻すエントリ
+     * @return 戻した場合true
+     */
+    public boolean restoreEntry(CacheWarmupEntry warmupEntry) {
+        if (warmupEntry.isExpired(System.currentTimeMillis())) {
+            return false;
+        }
+        TenantCacheKey key = warmupEntry.getKey();
+        Entry entry = Entry.restore(CompactValues.compact(warmupEntry.getValue()), warmupEntry.getWrittenAtMillis(),
+            warmupEntry.getExpiresAtMillis(),
+            warmupEntry.getExpiresAtMillis() + TimeUnit.NANOSECONDS.toMillis(retentionNanos), settings.isWeighted());
+        return partition(key).entries.asMap().putIfAbsent(key, entry) == null;
+    }
+
+    /**
+     * 2次領域（L2）を有効にします.
+     *
+     * @param store エントリを保存するストア（このキャッシュ専用）
+     * @param objectMapper 値のシリアライズに使用するObjectMapper
+     */
+    public void enableSecondTier(MappedFileStore store, ObjectMapper objectMapper) {
+        this.codec = new CacheEntryCodec(objectMapper);
+        this.secondTier = new SecondTierWriter(name, store, codec, SECOND_TIER_FLUSH_INTERVAL);
+    }
+
+    /**
+     * 保留中の2次領域（L2）への書き込みを反映します.
+     *
+     * <p>L2への書き込みは一定間隔でまとめて反映されます。L2が無効な場合は何もしません。</p>
+     */
+    public void flushSecondTier() {
+        SecondTierWriter writer = secondTier;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * 2次領域（L2）への書き込みを停止し、保留中の書き込みを反映します.
+     *
+     * <p>ストアを閉じる前に呼び出してください。ストアは閉じません。</p>
+     */
+    public void shutdownSecondTier() {
+        SecondTierWriter writer = secondTier;
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * 階層ごとの統計を取得します.
+     *
+     * <p>L1の参照はテナントごとの統計の合計から、L2から読み込んだ参照をミスとして数えます。
+     * L2が無効な場合はL1のみを返します。</p>
+     *
+     * @return L1（とL2）の統計
+     */
+    public List<CacheTierStats> getTierStats() {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        long size = overflow.estimatedSize();
+        long weightedSize = weightedSize(overflow);
+        for (Partition partition : partitions.values()) {
+            hits += partition.hits.sum();
+            misses += partition.misses.sum();
+            evictions += partition.evictions.sum();
+            size += partition.entries.estimatedSize();
+            weightedSize += weightedSize(partition.entries);
+        }
+        CacheSettings current = settings;
+        long promoted = secondTierHits.sum();
+
+        List<CacheTierStats> stats = new ArrayList<>(2);
+        stats.add(CacheTierStats.builder()
+            .cacheName(name)
+            .tier("L1")
+            .size(size)
+            .hitCount(hits - promoted)
+            .missCount(misses + promoted)
+            .evictionCount(evictions)
+            .usedBytes(weightedSize)
+            .capacityBytes(current.getMaximumWeightBytes())
+            .build());
+
+        SecondTierWriter writer = secondTier;
+        if (writer != null) {
+            MappedFileStore.Stats storeStats = writer.store().getStats();
+            stats.add(CacheTierStats.builder()
+                .cacheName(name)
+                .tier("L2")
+                .size(storeStats.entryCount())
+                .hitCount(storeStats.hitCount())
+                .missCount(storeStats.missCount())
+                .evictionCount(storeStats.evictionCount())
+                .usedBytes(storeStats.usedBytes())
+                .capacityBytes(storeStats.capacityBytes())
+                .build());
+        }
+        return stats;
+    }
+
+    /**
+     * 書き込みからの有効期間を返します.
+     *
+     * @return 有効期間
+     */
+    public Duration getTtl() {
+        return settings.getTtl();
+    }
+
+    /**
+     * 有効期限前の更新（refresh-ahead）を有効にします.
+     *
+     * <p>書き込みから{@code refreshAfter}が経過したエントリが参照されるたびに
+     * {@code handler}にキーを渡します。ハンドラは参照したスレッドで呼び出されるため、
+     * 更新処理は非同期で行い、同じキーの重複した要求を無視する必要があります。</p>
+     *
+     * @param refreshAfter 書き込みから更新を要求するまでの時間
+     * @param handler キーを受け取り、非同期で更新する処理
+     */
+    public synchronized void enableRefreshAhead(Duration refreshAfter, Consumer<Object> handler) {
+        long ttlNanos = Math.max(1, settings.getTtl().toNanos());
+        this.settings = settings.toBuilder()
+            .refreshAheadRatio((double) refreshAfter.toNanos() / ttlNanos)
+            .build();
+        this.refreshHandler = handler;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+    }
+
+    /**
+     * {@code stale-while-revalidate}で古いエントリを返した場合の更新処理を設定します.
+     *
+     * <p>{@link FreshnessContext}で許容された古いエントリが参照されるたびに{@code handler}にキーを渡します。
+     * {@link #enableRefreshAhead(Duration, Consumer)}のハンドラと同様に、更新処理は非同期で行う必要があります。
+     * 設定しない場合、古いエントリは更新されずに返されます。</p>
+     *
+     * @param handler キーを受け取り、非同期で更新する処理
+     */
+    public void enableRevalidation(Consumer<Object> handler) {
+        this.revalidationHandler = handler;
+    }
+
+    /**
+     * 条件付きの読み込み（etagによる再検証）を有効にします.
+     *
+     * <p>有効期限を過ぎたエントリを{@code retention}の間は破棄せずに保持し、次に読み込む際
+     * （{@link #get(Object, Callable)}）に{@code loader}で変更の有無を確認します。変更がなければ値はそのままで
+     * 有効期間を延長し、変更されていれば新しい値に置き換えます。確認できない場合や失敗した場合は通常どおり読み込みます。
+     * 保持中のエントリは応答に使わず、容量には含めます。</p>
+     *
+     * @param retention 有効期限を過ぎたエントリを保持する時間（0の場合は保持しない）
+     * @param loader 変更の有無を確認する処理
+     */
+    public void enableConditionalReload(Duration retention, ConditionalLoader loader) {
+        this.retentionNanos = Math.max(0, retention.toNanos());
+        this.conditionalLoader = loader;
+    }
+
+    /**
+     * エントリを条件付きで読み込み直します.
+     *
+     * <p>{@link #enableConditionalReload(Duration, ConditionalLoader)}で設定した処理で変更の有無を確認します。
+     * refresh-aheadなどで有効期限前のエントリを更新する際に、値の全体を取得し直す代わりに使用します。</p>
+     *
+     * @param key キー
+     * @return 読み込み直した場合true（エントリがない場合、条件付きの読み込みが無効な場合、確認できなかった場合はfalse）
+     */
+    public boolean reloadConditionally(Object key) {
+        Entry entry = partition(key).entries.getIfPresent(key);
+        return entry != null && reload(key, entry) != null;
+    }
+
+    /**
+     * 条件付きの読み込みの統計を取得します.
+     *
+     * @return 変更がなかった数、変更されていた数、確認に失敗した数
+     */
+    public ConditionalReloadStats getConditionalReloadStats() {
+        return ConditionalReloadStats.builder()
+            .notModifiedCount(notModifiedReloads.sum())
+            .modifiedCount(modifiedReloads.sum())
+            .failedCount(failedReloads.sum())
+            .build();
+    }
+
+    /**
+     * 読み込みの統計を取得します.
+     *
+     * @return Boxから読み込んだ数、同時の読み込みをまとめた数、待機が上限を超えた数
+     */
+    public SingleFlightStats getLoadStats() {
+        return loads.getStats();
+    }
+
+    /**
+     * テナントごとの統計を取得します.
+     *
+     * @return このキャッシュを参照したテナントごとの統計
+     */
+    public List<TenantCacheStats> getTenantStats() {
+        Map<String, Long> overflowSizes = new ConcurrentHashMap<>();
+        Map<String, Long> overflowWeights = new ConcurrentHashMap<>();
+        overflow.asMap().forEach((key, entry) -> {
+            overflowSizes.merge(scopeOf(key), 1L, Long::sum);
+            overflowWeights.merge(scopeOf(key), (long) entry.weight(), Long::sum);
+        });
+        boolean weighted = settings.isWeighted();
+
+        List<TenantCacheStats> stats = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions.values()) {
+            stats.add(TenantCacheStats.builder()
+                .cacheName(name)
+                .scope(partition.scope)
+                .guaranteedCapacity(partition.capacity)
+                .size(partition.entries.estimatedSize() + overflowSizes.getOrDefault(partition.scope, 0L))
+                .weightedSize(weighted
+                    ? weightedSize(partition.entries) + overflowWeights.getOrDefault(partition.scope, 0L)
+                    : 0)
+                .estimatedBytes(weighted
+                    ? weightedSize(partition.entries) + overflowWeights.getOrDefault(partition.scope, 0L)
+                    : estimateBytes(partition, overflowSizes.getOrDefault(partition.scope, 0L)))
+                .hitCount(partition.hits.sum())
+                .missCount(partition.misses.sum())
+                .evictionCount(partition.evictions.sum())
+                .loadCount(partition.loads.sum())
+                .totalLoadNanos(partition.loadNanos.sum())
+                .build());
+        }
+        return stats;
+    }
+
+    /**
+     * テナントに保証される容量を返します.
+     *
+     * @param scope テナントスコープ
+     * @return 保証領域の容量（重みで制限する場合はバイト数、それ以外はエントリ数）
+     */
+    public long guaranteedCapacity(String scope) {
+        int weight = weights.getOrDefault(scope, 1);
+        return Math.max(1, partitionedCapacity * weight / totalWeight);
+    }
+
+    private Entry readSecondTier(Object key) {
+        SecondTierWriter writer = secondTier;
+        if (writer == null) {
+            return null;
+        }
+        byte[] encodedKey = codec.encodeKey(key).orElse(null);
+        if (encodedKey == null) {
+            return null;
+        }
+
+        SecondTierWriter.Pending pending = writer.pending(key).orElse(null);
+        if (pending != null) {
+            // ファイルに反映される前の書き込み・削除を優先する
+            return pending.value() != null && pending.retainUntilMillis() > System.currentTimeMillis()
+                ? Entry.restore(pending.value(), pending.writtenAtMillis(), pending.expiresAtMillis(),
+                    pending.retainUntilMillis(), settings.isWeighted())
+                : null;
+        }
+
+        MappedFileStore.Record record = writer.store().get(encodedKey).orElse(null);
+        if (record == null) {
+            return null;
+        }
+        try {
+            // 省メモリ表現の導入前に保存されたDTOも変換してL1に戻す
+            return Entry.restore(CompactValues.compact(codec.decodeValue(record.value())), record.writtenAtMillis(),
+                record.expiresAtMillis(), record.retainUntilMillis(), settings.isWeighted());
+        } catch (IOException e) {
+            log.debug("Discarding unreadable L2 entry in cache {}: {}", name, e.getMessage());
+            writer.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * L2にある有効なエントリの書き込み時刻を返す（ない場合・削除が保留中の場合は-1）
+     */
+    private long secondTierVersion(Object key) {
+        return secondTierStamp(key).map(SecondTierStamp::writtenAtMillis).orElse(-1L);
+    }
+
+    /**
+     * L2にある有効なエントリの書き込み時刻と有効期限を、値を変換せずに返す
+     */
+    private Optional<SecondTierStamp> secondTierStamp(Object key) {
+        SecondTierWriter writer = secondTier;
+        if (writer == null) {
+            return Optional.empty();
+        }
+        byte[] encodedKey = codec.encodeKey(key).orElse(null);
+        if (encodedKey == null) {
+            return Optional.empty();
+        }
+        // 保留中の書き込みはファイルへの反映後に保留を外すため、保留を先に確認する
+        SecondTierWriter.Pending pending = writer.pending(key).orElse(null);
+        if (pending != null) {
+            return pending.value() != null
+                ? Optional.of(new SecondTierStamp(pending.writtenAtMillis(), pending.expiresAtMillis()))
+                : Optional.empty();
+        }
+        return writer.store().get(encodedKey)
+            .map(record -> new SecondTierStamp(record.writtenAtMillis(), record.expiresAtMillis()));
+    }
+
+    /**
+     * L2のエントリの書き込み時刻と有効期限
+     */
+    private record SecondTierStamp(long writtenAtMillis, long expiresAtMillis) {
+    }
+
+    private void writeSecondTier(Object key, Entry entry) {
+        SecondTierWriter writer = secondTier;
+        if (writer == null || codec.encodeKey(key).isEmpty()) {
+            return;
+        }
+        // 値の変換とファイルへの書き込みは専用のスレッドでまとめて行う
+        // （再検証のために有効期限後も保持する期間も保存し、再起動後も条件付きで再取得できるようにする）
+        long nowMillis = System.currentTimeMillis();
+        long nowNanos = System.nanoTime();
+        writer.put(key, entry.value(),
+            nowMillis - TimeUnit.NANOSECONDS.toMillis(nowNanos - entry.writtenAtNanos()),
+            nowMillis + TimeUnit.NANOSECONDS.toMillis(entry.expiresAtNanos() - nowNanos),
+            nowMillis + TimeUnit.NANOSECONDS.toMillis(entry.retainUntilNanos() - nowNanos));
+    }
+
+    /**
+     * 保証領域・共有領域のストアを生成（設定に応じてエントリ数か重みで制限）
+     */
+    private Cache<Object, Entry> buildStore(long capacity, RemovalListener<Object, Entry> evictionListener) {
+        Caffeine<Object, Entry> builder = Caffeine.newBuilder()
+            .expireAfter(EXPIRY)
+            .executor(Runnable::run)
+            .evictionListener(evictionListener);
+        if (settings.isWeighted()) {
+            builder = builder.maximumWeight(capacity).weigher((Object key, Entry entry) -> entry.weight());
+        } else {
+            builder = builder.maximumSize(capacity);
+        }
+        if (settings.isSoftValues()) {
+            builder = builder.softValues();
+        }
+        return builder.build();
+    }
+
+    private static void resize(Cache<Object, Entry> store, long capacity) {
+        store.policy().eviction().ifPresent(eviction -> eviction.setMaximum(capacity));
+    }
+
+    private static long weightedSize(Cache<Object, Entry> store) {
+        return store.policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(0))
+            .orElse(0L);
+    }
+
+    private static long overflowCapacity(CacheSettings settings) {
+        return Math.round(settings.getCapacity() * Math.min(1.0, Math.max(0.0, settings.getOverflowRatio())));
+    }
+
+    private static long refreshAfterNanos(CacheSettings settings) {
+        if (settings.getRefreshAheadRatio() <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return (long) (settings.getTtl().toNanos() * Math.min(1.0, settings.getRefreshAheadRatio()));
+    }
+
+    /**
+     * 重みで制限しないキャッシュのテナントのヒープ使用量を、一部のエントリの平均から概算
+     */
+    private static long estimateBytes(Partition partition, long overflowSize) {
+        long sampled = 0;
+        long bytes = 0;
+        for (Entry entry : partition.entries.asMap().values()) {
+            if (sampled == ESTIMATE_SAMPLE_SIZE) {
+                break;
+            }
+            bytes += ObjectSizeEstimator.estimate(entry.value());
+            sampled++;
+        }
+        if (sampled == 0) {
+            return 0;
+        }
+        return bytes * (partition.entries.estimatedSize() + overflowSize) / sampled;
+    }
+
+    /**
+     * キーの識別部分（アイテムIDまたは検索クエリ）
+     */
+    private static String idOf(Object key) {
+        if (key instanceof TenantCacheKey tenantKey) {
+            return tenantKey.getId();
+        }
+        if (key instanceof SearchCacheKey searchKey) {
+            return searchKey.getQuery();
+        }
+        return String.valueOf(key);
+    }
+
+    /**
+     * 変更の有無を確認し、変更がなければ有効期間を延長、変更されていれば置き換える
+     * （条件付きの読み込みが無効な場合、確認できない場合、失敗した場合はnull）
+     */
+    private Object reload(Object key, Entry entry) {
+        ConditionalLoader loader = conditionalLoader;
+        if (loader == null) {
+            return null;
+        }
+
+        Object reloaded;
+        try {
+            reloaded = loader.reload(key, fromStoreValue(entry.value()));
+        } catch (Exception e) {
+            failedReloads.increment();
+            log.debug("Conditional reload failed in cache {}: {}", name, e.getMessage());
+            return null;
+        }
+        if (reloaded == null) {
+            return null;
+        }
+        if (reloaded == ConditionalLoader.NOT_MODIFIED) {
+            notModifiedReloads.increment();
+            Entry renewed = entry.renewed(settings, retentionNanos);
+            partition(key).entries.put(key, renewed);
+            overflow.invalidate(key);
+            writeSecondTier(key, renewed);
+            return renewed.value();
+        }
+        modifiedReloads.increment();
+        put(key, reloaded);
+        return toStoreValue(reloaded);
+    }
+
+    /**
+     * 処理中のリクエストが許容する古さのエントリかどうか
+     */
+    private static boolean isAcceptable(Entry entry) {
+        return FreshnessContext.current()
+            .map(context -> context.getFreshness().evaluate(entry.age()) != CacheFreshness.Verdict.EXPIRED)
+            .orElse(true);
+    }
+
+    private Partition partition(Object key) {
+        return partitions.computeIfAbsent(scopeOf(key), Partition::new);
+    }
+
+    private static String scopeOf(Object key) {
+        return key instanceof TenantScoped scoped && scoped.getScope() != null ? scoped.getScope() : UNSCOPED;
+    }
+
+    /**
+     * テナントごとの保証領域と統計
+     */
+    private final class Partition {
+
+        private final String scope;
+        private volatile long capacity;
+        private final Cache<Object, Entry> entries;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder loadNanos = new LongAdder();
+
+        Partition(String scope) {
+            this.scope = scope;
+            this.capacity = guaranteedCapacity(scope);
+            this.entries = buildStore(capacity, (Object key, Entry entry, RemovalCause cause) -> {
+                if (cause == RemovalCause.SIZE && key != null && entry != null) {
+                    overflow.put(key, entry);
+                }
+            });
+        }
+    }
+
+    /**
+     * 有効期限と重み（重みで制限しない場合は1）付きのエントリ
+     */
+    private record Entry(Object value, long writtenAtNanos, long expiresAtNanos, long retainUntilNanos, int weight) {
+
+        static Entry of(Object value, CacheSettings settings, long retentionNanos) {
+            long now = System.nanoTime();
+            long expiresAt = now + settings.getTtl().toNanos();
+            return new Entry(value, now, expiresAt, expiresAt + retentionNanos, weigh(value, settings.isWeighted()));
+        }
+
+        /**
+         * L2に保存された時刻（エポックミリ秒）からエントリを復元
+         */
+        static Entry restore(Object value, long writtenAtMillis, long expiresAtMillis, long retainUntilMillis,
+                             boolean weighted) {
+            long nanos = System.nanoTime();
+            long millis = System.currentTimeMillis();
+            long expiresAt = nanos + TimeUnit.MILLISECONDS.toNanos(expiresAtMillis - millis);
+            return new Entry(value,
+                nanos - TimeUnit.MILLISECONDS.toNanos(millis - writtenAtMillis),
+                expiresAt,
+                Math.max(expiresAt, nanos + TimeUnit.MILLISECONDS.toNanos(retainUntilMillis - millis)),
+                weigh(value, weighted));
+        }
+
+        /**
+         * 値はそのままで、書き込みからの有効期間を数え直したエントリ
+         */
+        Entry renewed(CacheSettings settings, long retentionNanos) {
+            long now = System.nanoTime();
+            long expiresAt = now + settings.getTtl().toNanos();
+            return new Entry(value, now, expiresAt, expiresAt + retentionNanos, weight);
+        }
+
+        private static int weigh(Object value, boolean weighted) {
+            return weighted ? (int) Math.min(Integer.MAX_VALUE, ObjectSizeEstimator.estimate(value)) : 1;
+        }
+
+        Duration age() {
+            return Duration.ofNanos(Math.max(0, System.nanoTime() - writtenAtNanos));
+        }
+
+        Duration remainingTtl() {
+            return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+        }
+
+        boolean isExpired() {
+            return expiresAtNanos - System.nanoTime() <= 0;
+        }
+
+        boolean isStale(long refreshAfterNanos) {
+            return refreshAfterNanos != Long.MAX_VALUE && System.nanoTime() - writtenAtNanos >= refreshAfterNanos;
+        }
+    }
+
+    /**
+     * 最初の書き込み時刻から有効期限を数える（共有領域への移動・保証領域への復帰で延長しない）.
+     * 再検証のために保持するエントリは、有効期限を過ぎても保持期間の終わりまで残す
+     */
+    private static final class EntryExpiry implements Expiry<Object, Entry> {
+
+        @Override
+        public long expireAfterCreate(Object key, Entry entry, long currentTime) {
+            return Math.max(0, entry.retainUntilNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Entry entry, long currentTime, long currentDuration) {
+            return Math.max(0, entry.retainUntilNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
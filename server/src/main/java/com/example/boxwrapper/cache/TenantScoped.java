@@ -0,0 +1,19 @@
+package com.example.boxwrapper.cache;
+
+/**
+ * テナントスコープを持つキャッシュキー.
+ *
+ * <p>{@link TenantPartitionedCache}はこのインターフェースを実装したキーから
+ * テナントを判別し、テナントごとの領域にエントリを格納します。</p>
+ *
+ * @since 1.1.0
+ */
+public interface TenantScoped {
+
+    /**
+     * キーが属するテナントスコープを返します.
+     *
+     * @return テナントスコープ識別子
+     */
+    String getScope();
+}
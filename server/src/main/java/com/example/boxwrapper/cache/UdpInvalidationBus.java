@@ -0,0 +1,381 @@
+package com.example.boxwrapper.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * UDPで他のノードに通知するキャッシュ無効化バス.
+ *
+ * <p>{@code box.cluster.peers}に指定した全ノードに同じデータグラムを送信します。
+ * 外部のメッセージブローカーは不要ですが、UDPのため到達は保証されません。</p>
+ *
+ * <p>1つのデータグラムには複数のメッセージを格納し、{@link #MAX_DATAGRAM_BYTES}を超える場合は
+ * 分割します。形式はマジックナンバー{@code BOXI}、バージョン、送信元ノードID、送信時刻、
+ * シーケンス番号、メッセージ数、各メッセージの順で、末尾に{@code box.cluster.secret}による
+ * HMAC-SHA256を付けます。署名が一致しないデータグラムと、自身が送信したデータグラムは破棄します。</p>
+ *
+ * <p>送信時刻と受信時刻の差が{@code maxAge}を超えるデータグラムと、送信元ごとに受信済みの
+ * シーケンス番号（最新から{@link #REPLAY_WINDOW}件の範囲を記録し、それより古い番号は全て拒否）の
+ * データグラムは再送（リプレイ）として破棄します。シーケンス番号は起動時刻から始めるため、
+ * 再起動したノードの番号は再起動前より大きくなります。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public class UdpInvalidationBus implements CacheInvalidationBus {
+
+    /**
+     * 1つのデータグラムの最大サイズ（UDPの上限65507バイトより小さくする）
+     */
+    public static final int MAX_DATAGRAM_BYTES = 60_000;
+
+    private static final int MAGIC = 0x424F5849;  // "BOXI"
+    private static final byte VERSION = 3;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 32;
+    private static final int SEQUENCE_SHIFT = 20;  // 起動時刻（ミリ秒）あたり約100万データグラムまで
+    private static final int HEADER_RESERVE = 512;  // マジックナンバー・ノードID・送信時刻・シーケンス番号・メッセージ数
+
+    /**
+     * 送信元ごとに受信済みを記録するシーケンス番号の数
+     */
+    public static final int REPLAY_WINDOW = 64;
+
+    private final String nodeId;
+    private final List<InetSocketAddress> peers;
+    private final SecretKeySpec secretKey;
+    private final long maxAgeMillis;
+    private final AtomicLong sequence;
+    private final Map<String, ReplayWindow> replayWindows = new HashMap<>();
+    private final DatagramSocket socket;
+    private final Thread receiver;
+    private final List<Consumer<List<CacheInvalidationMessage>>> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder sentDatagrams = new LongAdder();
+    private final LongAdder receivedDatagrams = new LongAdder();
+    private final LongAdder rejectedDatagrams = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * バスを作成し、受信を開始します.
+     *
+     * @param nodeId このノードのID（自身が送信したデータグラムの判別に使用）
+     * @param bindAddress 受信するアドレスとポート（ポートが0の場合は空いているポート）
+     * @param peers 送信先のノード
+     * @param secret 署名の鍵（全ノードで同じ値）
+     * @param maxAge 受け付ける送信時刻と受信時刻の差の上限（ノード間の時刻のずれを含む）
+     * @throws IllegalArgumentException 署名の鍵を指定しない場合
+     * @throws SocketException アドレスまたはポートを使用できない場合
+     */
+    public UdpInvalidationBus(String nodeId, InetSocketAddress bindAddress, List<InetSocketAddress> peers,
+                              String secret, Duration maxAge) throws SocketException {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("A shared secret is required for the UDP invalidation bus");
+        }
+        this.nodeId = nodeId;
+        this.peers = List.copyOf(peers);
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+        this.maxAgeMillis = maxAge.toMillis();
+        this.sequence = new AtomicLong(System.currentTimeMillis() << SEQUENCE_SHIFT);
+        this.socket = new DatagramSocket(bindAddress);
+
+        this.receiver = new Thread(this::receiveLoop, "invalidation-receiver");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+        log.info("UDP invalidation bus listening on {}: nodeId={}, peers={}",
+            socket.getLocalSocketAddress(), nodeId, this.peers);
+    }
+
+    @Override
+    public void publish(List<CacheInvalidationMessage> messages) {
+        if (messages.isEmpty() || peers.isEmpty() || closed) {
+            return;
+        }
+
+        for (byte[] datagram : encode(messages)) {
+            for (InetSocketAddress peer : peers) {
+                try {
+                    socket.send(new DatagramPacket(datagram, datagram.length, peer));
+                    sentDatagrams.increment();
+                } catch (IOException e) {
+                    // 届かなかったエントリは有効期間が過ぎると再取得される
+                    log.warn("Failed to send cache invalidations to {}: {}", peer, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<CacheInvalidationMessage>> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        socket.close();
+    }
+
+    /**
+     * 受信ポートを返します.
+     *
+     * @return 受信ポート
+     */
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * 送信したデータグラムの数を返します.
+     *
+     * @return 送信先ごとに数えたデータグラムの数
+     */
+    public long getSentDatagrams() {
+        return sentDatagrams.sum();
+    }
+
+    /**
+     * 受信したデータグラムの数を返します.
+     *
+     * @return 他のノードから受信し、リスナーに配信したデータグラムの数
+     */
+    public long getReceivedDatagrams() {
+        return receivedDatagrams.sum();
+    }
+
+    /**
+     * 破棄したデータグラムの数を返します.
+     *
+     * @return 形式や署名が不正なデータグラムと、古い・再送されたデータグラムの数
+     */
+    public long getRejectedDatagrams() {
+        return rejectedDatagrams.sum();
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[65_535];
+        while (!closed) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("Failed to receive cache invalidations: {}", e.getMessage());
+                }
+                continue;
+            }
+
+            byte[] datagram = Arrays.copyOfRange(packet.getData(), packet.getOffset(),
+                packet.getOffset() + packet.getLength());
+            try {
+                List<CacheInvalidationMessage> messages = decode(datagram);
+                if (messages == null) {
+                    continue;
+                }
+                receivedDatagrams.increment();
+                listeners.forEach(listener -> listener.accept(messages));
+            } catch (IOException e) {
+                rejectedDatagrams.increment();
+                log.warn("Rejected cache invalidation datagram from {}: {}", packet.getSocketAddress(), e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply cache invalidations from {}: {}", packet.getSocketAddress(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * メッセージをデータグラムに変換（大きい場合は分割）
+     */
+    private List<byte[]> encode(List<CacheInvalidationMessage> messages) {
+        int limit = MAX_DATAGRAM_BYTES - HEADER_RESERVE - MAC_BYTES;
+        List<byte[]> datagrams = new ArrayList<>();
+        List<byte[]> chunk = new ArrayList<>();
+        int chunkBytes = 0;
+        for (CacheInvalidationMessage message : messages) {
+            byte[] encoded = encodeMessage(message);
+            if (!chunk.isEmpty() && chunkBytes + encoded.length > limit) {
+                datagrams.add(seal(chunk));
+                chunk = new ArrayList<>();
+                chunkBytes = 0;
+            }
+            chunk.add(encoded);
+            chunkBytes += encoded.length;
+        }
+        if (!chunk.isEmpty()) {
+            datagrams.add(seal(chunk));
+        }
+        return datagrams;
+    }
+
+    private byte[] seal(List<byte[]> encodedMessages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(nodeId);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(sequence.incrementAndGet());
+            out.writeInt(encodedMessages.size());
+            for (byte[] encoded : encodedMessages) {
+                out.write(encoded);
+            }
+            out.flush();
+            out.write(sign(bytes.toByteArray()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeMessage(CacheInvalidationMessage message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(message.getOperation().ordinal());
+            if (message.getOperation() != CacheInvalidationMessage.Operation.ITEM) {
+                writeNullable(out, message.getCacheName());
+                writeNullable(out, message.getScope());
+                writeNullable(out, message.getKey());
+                return bytes.toByteArray();
+            }
+            out.writeUTF(message.getScope());
+            out.writeByte(message.getItemType().ordinal());
+            out.writeUTF(message.getItemId());
+            writeNullable(out, message.getParentId());
+            writeNullable(out, message.getPreviousParentId());
+            out.writeBoolean(message.isDeleted());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * データグラムを復元（自身が送信したデータグラムの場合はnull）
+     */
+    private List<CacheInvalidationMessage> decode(byte[] datagram) throws IOException {
+        int length = datagram.length;
+        if (length <= MAC_BYTES) {
+            throw new IOException("Missing signature");
+        }
+        length -= MAC_BYTES;
+        byte[] expected = sign(Arrays.copyOf(datagram, length));
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(datagram, length, datagram.length))) {
+            throw new IOException("Signature mismatch");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(datagram, 0, length));
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("Unsupported format");
+        }
+        String sender = in.readUTF();
+        if (nodeId.equals(sender)) {
+            return null;
+        }
+        long sentAt = in.readLong();
+        if (Math.abs(System.currentTimeMillis() - sentAt) > maxAgeMillis) {
+            throw new IOException("Stale datagram from " + sender);
+        }
+        if (!replayWindows.computeIfAbsent(sender, key -> new ReplayWindow()).accept(in.readLong())) {
+            throw new IOException("Replayed datagram from " + sender);
+        }
+
+        int count = in.readInt();
+        CacheInvalidationMessage.Operation[] operations = CacheInvalidationMessage.Operation.values();
+        BoxItemChangedEvent.ItemType[] itemTypes = BoxItemChangedEvent.ItemType.values();
+        List<CacheInvalidationMessage> messages = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            int operation = in.readByte();
+            if (operation < 0 || operation >= operations.length) {
+                throw new IOException("Unknown operation: " + operation);
+            }
+            if (operations[operation] != CacheInvalidationMessage.Operation.ITEM) {
+                messages.add(CacheInvalidationMessage.admin(operations[operation],
+                    readNullable(in), readNullable(in), readNullable(in)));
+                continue;
+            }
+            String scope = in.readUTF();
+            int itemType = in.readByte();
+            if (itemType < 0 || itemType >= itemTypes.length) {
+                throw new IOException("Unknown item type: " + itemType);
+            }
+            messages.add(CacheInvalidationMessage.builder()
+                .scope(scope)
+                .itemType(itemTypes[itemType])
+                .itemId(in.readUTF())
+                .parentId(readNullable(in))
+                .previousParentId(readNullable(in))
+                .deleted(in.readBoolean())
+                .build());
+        }
+        return messages;
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secretKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * 送信元ごとの受信済みシーケンス番号（受信スレッドのみが使用する）
+     */
+    private static final class ReplayWindow {
+
+        private long highest = Long.MIN_VALUE;
+        private long seen;  // highestからの差ごとに受信済みなら1
+
+        boolean accept(long sequence) {
+            if (highest == Long.MIN_VALUE || sequence > highest) {
+                long shift = highest == Long.MIN_VALUE ? REPLAY_WINDOW : sequence - highest;
+                seen = shift >= REPLAY_WINDOW ? 1L : (seen << shift) | 1L;
+                highest = sequence;
+                return true;
+            }
+            long offset = highest - sequence;
+            if (offset >= REPLAY_WINDOW || (seen & (1L << offset)) != 0) {
+                return false;
+            }
+            seen |= 1L << offset;
+            return true;
+        }
+    }
+}
@@ -16,8 +16,15 @@ import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -41,6 +48,8 @@ public class BoxClientManager {
 
     private final Map<String, List<BoxAPIConnection>> apiKeyToConnections = new ConcurrentHashMap<>();
     private final Map<String, AtomicInteger> roundRobinCounters = new ConcurrentHashMap<>();
+    private final Map<String, String> tenantScopes = new ConcurrentHashMap<>();
+    private final Set<String> adminApiKeys = ConcurrentHashMap.newKeySet();
 
     public BoxClientManager(BoxProperties boxProperties,
                            ApiProperties apiProperties,
@@ -76,6 +85,9 @@ public class BoxClientManager {
 
         apiKeyToConnections.put(keyConfig.getKey(), connections);
         roundRobinCounters.put(keyConfig.getKey(), new AtomicInteger(0));
+        if (keyConfig.isAdmin()) {
+            adminApiKeys.add(keyConfig.getKey());
+        }
 
         log.info("Initialized API key {} with {} Box connections",
             maskApiKey(keyConfig.getKey()), connections.size());
@@ -133,6 +145,66 @@ public class BoxClientManager {
         return connections.get(index);
     }
 
+    /**
+     * APIキーに対応する全てのBox接続を取得します.
+     *
+     * <p>複数のBoxアカウントを横断して処理する場合に使用します。
+     * 接続の順序は設定ファイル（{@code box-configs}）の記載順です。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @return Box接続のリスト（変更不可）
+     * @throws AuthenticationException APIキーが無効な場合
+     */
+    public List<BoxAPIConnection> getConnections(String apiKey) {
+        List<BoxAPIConnection> connections = apiKeyToConnections.get(apiKey);
+
+        if (connections == null || connections.isEmpty()) {
+            throw new AuthenticationException("Invalid API key or no Box connections configured");
+        }
+        return Collections.unmodifiableList(connections);
+    }
+
+    /**
+     * APIキーに対応するテナントスコープを取得します.
+     *
+     * <p>キャッシュキーなどでテナントを区別するための識別子です。
+     * APIキーそのものを保持しないよう、SHA-256ハッシュの先頭16桁を使用します。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @return テナントスコープ識別子
+     */
+    public String getTenantScope(String apiKey) {
+        return tenantScopes.computeIfAbsent(apiKey, BoxClientManager::hashApiKey);
+    }
+
+    /**
+     * テナントスコープに対応するAPIキーを取得します.
+     *
+     * <p>キャッシュエントリのバックグラウンド更新など、テナントスコープしか持たない処理から
+     * Boxを呼び出す場合に使用します。</p>
+     *
+     * @param scope テナントスコープ識別子
+     * @return APIキー。設定されたAPIキーに該当しない場合は空
+     */
+    public Optional<String> findApiKey(String scope) {
+        return apiKeyToConnections.keySet().stream()
+            .filter(apiKey -> getTenantScope(apiKey).equals(scope))
+            .findFirst();
+    }
+
+    /**
+     * APIキーのハッシュ値を計算
+     */
+    private static String hashApiKey(String apiKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     /**
      * APIキーの検証
      */
@@ -140,6 +212,16 @@ public class BoxClientManager {
         return apiKeyToConnections.containsKey(apiKey);
     }
 
+    /**
+     * 管理API（{@code /api/v1/admin/}）の呼び出しを許可されたAPIキーかを判定します.
+     *
+     * @param apiKey 認証用のAPIキー
+     * @return {@code api.keys[].admin}がtrueの場合true
+     */
+    public boolean isAdminApiKey(String apiKey) {
+        return adminApiKeys.contains(apiKey);
+    }
+
     /**
      * APIキーをマスク
      */
@@ -0,0 +1,121 @@
+package com.example.boxwrapper.client;
+
+import com.box.sdk.BoxAPIConnection;
+import com.box.sdk.BoxAPIException;
+import com.box.sdk.BoxJSONRequest;
+import com.box.sdk.BoxJSONResponse;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Box REST APIへの直接アクセスクライアント.
+ *
+ * <p>Box SDKの高レベルAPIでは指定できないクエリパラメータ（例: フォルダ情報取得時の
+ * {@code limit}）を使う場合に、SDKの認証済み接続を利用してJSONを直接取得します。</p>
+ *
+ * <p>HTTPエラー時はSDKと同様に{@link com.box.sdk.BoxAPIException}がスローされます。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoxJsonApiClient {
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * GETリクエストを実行し、レスポンスJSONを返します.
+     *
+     * @param api Box API接続
+     * @param path ベースURLからの相対パス（クエリ文字列を含む、例: "folders/0?fields=id"）
+     * @return レスポンスJSON
+     * @throws BoxApiException レスポンスの解析に失敗した場合
+     */
+    public JsonNode get(BoxAPIConnection api, String path) {
+        return send(api, api.getBaseURL() + path, "GET");
+    }
+
+    /**
+     * etagを指定した条件付きGETリクエストを実行し、変更されている場合のみレスポンスJSONを返します.
+     *
+     * <p>{@code If-None-Match}ヘッダーにetagを指定します。アイテムが変更されていない場合、
+     * Boxは本文のない304 Not Modifiedを返します。</p>
+     *
+     * @param api Box API接続
+     * @param path ベースURLからの相対パス（クエリ文字列を含む、例: "files/123?fields=id,etag"）
+     * @param etag キャッシュしているアイテムのetag
+     * @return レスポンスJSON（変更されていない場合はempty）
+     * @throws BoxApiException レスポンスの解析に失敗した場合
+     */
+    public Optional<JsonNode> getIfNoneMatch(BoxAPIConnection api, String path, String etag) {
+        try {
+            BoxJSONRequest request = new BoxJSONRequest(api, URI.create(api.getBaseURL() + path).toURL(), "GET");
+            request.addHeader("If-None-Match", etag);
+
+            try (BoxJSONResponse response = request.send()) {
+                if (response.getResponseCode() == NOT_MODIFIED) {
+                    return Optional.empty();
+                }
+                return Optional.of(objectMapper.readTree(response.getJSON()));
+            }
+        } catch (BoxAPIException e) {
+            // SDKのバージョンによっては304も例外として扱われる
+            if (e.getResponseCode() == NOT_MODIFIED) {
+                return Optional.empty();
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new BoxApiException("Box APIレスポンスの解析に失敗しました: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 絶対URLにGETリクエストを実行し、レスポンスJSONを返します.
+     *
+     * <p>イベントのロングポーリングなど、APIが返したURL（ベースURL以外のホスト）を
+     * 呼び出す場合に使用します。</p>
+     *
+     * @param api Box API接続
+     * @param url 呼び出すURL
+     * @return レスポンスJSON
+     * @throws BoxApiException レスポンスの解析に失敗した場合
+     */
+    public JsonNode getUrl(BoxAPIConnection api, String url) {
+        return send(api, url, "GET");
+    }
+
+    /**
+     * OPTIONSリクエストを実行し、レスポンスJSONを返します.
+     *
+     * @param api Box API接続
+     * @param path ベースURLからの相対パス（例: "events"）
+     * @return レスポンスJSON
+     * @throws BoxApiException レスポンスの解析に失敗した場合
+     */
+    public JsonNode options(BoxAPIConnection api, String path) {
+        return send(api, api.getBaseURL() + path, "OPTIONS");
+    }
+
+    private JsonNode send(BoxAPIConnection api, String url, String method) {
+        try {
+            BoxJSONRequest request = new BoxJSONRequest(api, URI.create(url).toURL(), method);
+
+            try (BoxJSONResponse response = request.send()) {
+                return objectMapper.readTree(response.getJSON());
+            }
+        } catch (IOException e) {
+            throw new BoxApiException("Box APIレスポンスの解析に失敗しました: " + e.getMessage(), e);
+        }
+    }
+}
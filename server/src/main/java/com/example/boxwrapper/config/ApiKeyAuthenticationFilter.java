@@ -24,6 +24,7 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String API_KEY_HEADER = "X-API-Key";
     private static final String REQUEST_ID_ATTRIBUTE = "requestId";
+    private static final String ADMIN_PATH_PREFIX = "/api/v1/admin/";
 
     private final BoxClientManager clientManager;
 
@@ -60,6 +61,13 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        if (path.startsWith(ADMIN_PATH_PREFIX) && !clientManager.isAdminApiKey(apiKey)) {
+            log.warn("Non-admin API key attempted admin endpoint: {}", path);
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            response.getWriter().write("{\"error\":\"管理APIを呼び出す権限がありません\"}");
+            return;
+        }
+
         // Store API key in request for later use
         request.setAttribute("apiKey", apiKey);
 
@@ -74,6 +82,7 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
         return path.startsWith("/swagger-ui") ||
                path.startsWith("/v3/api-docs") ||
                path.startsWith("/api-docs") ||
-               path.startsWith("/actuator");
+               path.startsWith("/actuator") ||
+               path.startsWith("/api/v1/webhooks/");  // Webhookは署名で検証する
     }
 }
@@ -22,5 +22,9 @@ public class ApiProperties {
         private String key;
         private List<String> boxConfigs = new ArrayList<>();
         private String loadBalance = "round-robin";  // round-robin or random
+        private int cacheWeight = 1;  // キャッシュの保証領域を分割する際の重み
+        private boolean admin = false;  // 管理API（/api/v1/admin/）の呼び出しを許可する
+        private String webhookPrimarySignatureKey;  // このテナント宛てのWebhookの署名キー（省略時はbox.webhooksの共通キー）
+        private String webhookSecondarySignatureKey;
     }
 }
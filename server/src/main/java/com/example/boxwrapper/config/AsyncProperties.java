@@ -20,6 +20,8 @@ public class AsyncProperties {
         private int maxConcurrentUploads = 5;
         private int maxConcurrentDownloads = 5;
         private int semaphoreTimeoutSeconds = 30;
+        private int maxConcurrentCrawls = 4;
+        private int maxConcurrentTransfers = 5;
     }
 
     @Data
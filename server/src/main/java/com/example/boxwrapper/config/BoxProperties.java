@@ -1,10 +1,15 @@
 package com.example.boxwrapper.config;
 
+import com.example.boxwrapper.cache.CacheSettings;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Box SDK設定プロパティ
@@ -17,6 +22,15 @@ public class BoxProperties {
     private Auth auth = new Auth();
     private RateLimit rateLimit = new RateLimit();
     private Retry retry = new Retry();
+    private Usage usage = new Usage();
+    private Snapshot snapshot = new Snapshot();
+    private Cache cache = new Cache();
+    private Search search = new Search();
+    private SearchIndex searchIndex = new SearchIndex();
+    private Events events = new Events();
+    private Webhooks webhooks = new Webhooks();
+    private Warmup warmup = new Warmup();
+    private Cluster cluster = new Cluster();
 
     @Data
     public static class Auth {
@@ -38,4 +52,133 @@ public class BoxProperties {
         private int maxAttempts = 5;
         private boolean respectRetryAfter = true;
     }
+
+    @Data
+    public static class Usage {
+        private int maxAgeMinutes = 60;  // refresh時にこれより古い集計を再取得
+        private int maxFolders = 100000;
+    }
+
+    @Data
+    public static class Snapshot {
+        private String directory = "data/snapshots";
+        private int maxEvents = 5000;  // これを超える場合は差分検出に全件クロールを使用
+        private int retainedPerFolder = 5;  // フォルダごとに保持するスナップショット数（古いものから削除）
+    }
+
+    @Data
+    public static class Cache {
+        private long maximumSize = 1000;  // キャッシュごとの全テナント合計の最大エントリ数
+        private int expireAfterWriteSeconds = 300;
+        private double overflowRatio = 0.2;  // テナント間で共有する領域の割合（残りを重みに応じて分割）
+        private long loadWaitMillis = 5000;  // 同じキーの読み込みが実行中の場合に完了を待つ時間の上限
+        private int negativeTtlSeconds = 30;  // 存在しない（404）アイテムを記録する期間
+        private boolean negativeCacheForbidden = true;  // アクセス拒否（403）も記録する
+        private double refreshAheadRatio = 0.8;  // 有効期間のこの割合を過ぎて参照されたエントリを非同期で更新（0で無効）
+        private int revalidationWindowSeconds = 300;  // 有効期限切れ後もエントリを保持し、etagで再検証する時間（0で保持しない）
+        private boolean l2Enabled = false;  // メモリマップドファイルの2次領域を使用する
+        private String l2Directory = "data/cache";
+        private int l2MaxMegabytes = 256;  // キャッシュごとのファイルサイズ（上限2047）
+        private List<String> l2Caches = List.of("folderInfo", "fileMetadata");
+        private Map<String, CacheSpec> caches = new LinkedHashMap<>();  // キャッシュ名ごとの上書き設定
+
+        /**
+         * キャッシュの設定を返します.
+         *
+         * <p>{@code caches}に指定された項目を優先し、指定のない項目は上記の値を使用します。</p>
+         *
+         * @param name キャッシュ名
+         * @return 容量・有効期間などの設定
+         */
+        public CacheSettings settingsFor(String name) {
+            CacheSpec spec = caches.getOrDefault(name, new CacheSpec());
+            return CacheSettings.builder()
+                .maximumSize(spec.getMaximumSize() != null ? spec.getMaximumSize() : maximumSize)
+                .maximumWeightBytes(spec.getMaximumWeight() != null ? spec.getMaximumWeight().toBytes() : 0)
+                .ttl(Duration.ofSeconds(spec.getExpireAfterWriteSeconds() != null
+                    ? spec.getExpireAfterWriteSeconds() : expireAfterWriteSeconds))
+                .refreshAheadRatio(spec.getRefreshAheadRatio() != null ? spec.getRefreshAheadRatio() : refreshAheadRatio)
+                .softValues(spec.getSoftValues() != null && spec.getSoftValues())
+                .overflowRatio(spec.getOverflowRatio() != null ? spec.getOverflowRatio() : overflowRatio)
+                .build();
+        }
+    }
+
+    @Data
+    public static class CacheSpec {
+        private Long maximumSize;
+        private DataSize maximumWeight;  // 指定した場合はエントリ数ではなく値のヒープ使用量の概算で制限（例: 32MB）
+        private Integer expireAfterWriteSeconds;
+        private Double refreshAheadRatio;
+        private Boolean softValues;  // trueの場合、ヒープが不足するとGCで値が回収される
+        private Double overflowRatio;
+    }
+
+    @Data
+    public static class Search {
+        private long debounceMillis = 0;  // 0の場合、入力補完のデバウンスを行わない
+        private boolean fanOut = false;  // trueの場合、複数アカウントのAPIキーでは全アカウントを検索
+        private long fanOutBudgetMillis = 3000;  // 全アカウントの応答を待つ最大時間
+        private int fanOutConcurrency = 8;
+        private int fanOutMaxDepth = 1000;  // 横断検索で扱えるoffset + limitの上限（超える要求は400）
+    }
+
+    @Data
+    public static class SearchIndex {
+        private boolean enabled = false;
+        private String directory = "data/search-index";
+        private int maxPrefixLength = 10;
+        private int maxItemsPerTenant = 200000;
+        private int maxAgeMinutes = 1440;  // 再構築からこれ以上経過した索引では検索に応答しない
+    }
+
+    @Data
+    public static class Events {
+        private boolean enabled = false;  // Boxのイベントストリームを購読して外部の変更でキャッシュを無効化する
+        private String checkpointFile = "data/events/positions.properties";
+        private int pageSize = 500;
+        private long reconnectBackoffMillis = 1000;  // 接続失敗時の待機時間（失敗が続くと倍増）
+        private long maxBackoffMillis = 60000;
+    }
+
+    @Data
+    public static class Webhooks {
+        private boolean enabled = false;  // Webhookの受信（/api/v1/webhooks/box/{scope}）を有効にする
+        private String primarySignatureKey;
+        private String secondarySignatureKey;
+        private int maxAgeSeconds = 600;  // これより古い配信時刻のWebhookは拒否する
+        private long batchIntervalMillis = 1000;  // この間隔でまとめてキャッシュを無効化（同じアイテムは1回にまとめる）
+        private boolean autoRegister = false;  // 頻繁に再取得されるフォルダにWebhookを自動登録する
+        private String address;  // Webhookの送信先のベースURL（例: https://example.com/api/v1/webhooks/box）
+        private int hotFolderThreshold = 5;  // 期間内にBoxから一覧を取得した回数がこれに達したフォルダに登録
+        private int hotFolderWindowMinutes = 10;
+        private int maxWebhooksPerTenant = 100;
+        private String registrationsFile = "data/webhooks/registrations.properties";  // 自動登録したWebhook（再起動後も保持）
+    }
+
+    @Data
+    public static class Warmup {
+        private boolean enabled = false;  // 参照頻度の高いエントリを定期的に保存し、起動時に読み込む
+        private String file = "data/cache/warmup.snap";
+        private int intervalSeconds = 300;  // 保存の間隔（停止時にも保存する）
+        private int entriesPerCache = 1000;
+        private List<String> caches = List.of("folderInfo", "fileMetadata");
+        private boolean revalidate = false;  // 読み込んだエントリをBoxから再取得する
+        private int revalidatePerSecond = 5;  // 再取得の上限（APIキーのトークンに余裕がない場合は見送る）
+        private int maxWaitSeconds = 60;  // 起動完了（readiness）をこの時間まで遅らせて読み込みを待つ
+    }
+
+    @Data
+    public static class Cluster {
+        private boolean enabled = false;  // このノードでの変更によるキャッシュの無効化を他のノードに通知する
+        private String transport = "in-process";  // in-process or udp
+        private String nodeId;  // 省略時は起動ごとに生成
+        private String bindAddress = "0.0.0.0";  // UDPで受信するアドレス（ノード間のネットワークのアドレスを指定する）
+        private int port = 7600;  // UDPの受信ポート
+        private List<String> peers = List.of();  // 他のノードのhost:port
+        private String secret;  // HMAC-SHA256の署名の鍵（udpでは必須、一致しない通知を破棄する）
+        private long maxAgeSeconds = 30;  // これより古い（時刻のずれを含む）通知はリプレイとして破棄する
+        private long batchIntervalMillis = 200;  // この間隔でまとめて送信（同じアイテムは1件にまとめる）
+        private int maxBatchSize = 500;  // 1回の送信に含めるメッセージ数の上限
+    }
 }
@@ -1,36 +1,156 @@
 package com.example.boxwrapper.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.example.boxwrapper.cache.CacheInvalidationBus;
+import com.example.boxwrapper.cache.InProcessInvalidationBus;
+import com.example.boxwrapper.cache.MappedFileStore;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.cache.UdpInvalidationBus;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * キャッシュ設定
+ * キャッシュ設定.
+ *
+ * <p>各キャッシュはテナント（APIキー）ごとに容量を分割した{@link TenantPartitionedCache}です。
+ * 容量と有効期間は{@code box.cache}（キャッシュごとの上書きは{@code box.cache.caches.<キャッシュ名>}）、
+ * テナントごとの重みは{@code api.keys[].cache-weight}で設定します。</p>
+ *
+ * <p>{@code box.cache.l2-enabled}がtrueの場合、{@code box.cache.l2-caches}のキャッシュには
+ * {@code box.cache.l2-directory}配下のメモリマップドファイル（{@code <キャッシュ名>.l2}）を
+ * 2次領域として設定します。</p>
+ *
+ * <p>ノード間のキャッシュ無効化の通知には、{@code box.cluster.transport}が{@code udp}の場合は
+ * {@link UdpInvalidationBus}、それ以外は{@link InProcessInvalidationBus}を使用します。{@code udp}では
+ * {@code box.cluster.secret}が必須で、未設定の場合や受信アドレスを使用できない場合は起動に失敗します。</p>
  */
 @Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final List<String> CACHE_NAMES =
+        List.of("folderInfo", "fileMetadata", "searchResults", "folderListing");
+
+    private final List<TenantPartitionedCache> secondTierCaches = new CopyOnWriteArrayList<>();
+    private final List<MappedFileStore> secondTierStores = new CopyOnWriteArrayList<>();
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-            "folderInfo", "fileMetadata", "searchResults"
-        );
+    public CacheManager cacheManager(BoxProperties boxProperties,
+                                     ApiProperties apiProperties,
+                                     BoxClientManager clientManager,
+                                     ObjectMapper objectMapper) {
+        BoxProperties.Cache properties = boxProperties.getCache();
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (ApiProperties.ApiKeyConfig keyConfig : apiProperties.getKeys()) {
+            if (keyConfig.getKey() == null) {
+                continue;
+            }
+            weights.merge(clientManager.getTenantScope(keyConfig.getKey()),
+                Math.max(1, keyConfig.getCacheWeight()), Integer::sum);
+        }
+
+        List<TenantPartitionedCache> caches = CACHE_NAMES.stream()
+            .map(name -> new TenantPartitionedCache(name, properties.settingsFor(name), weights,
+                Duration.ofMillis(properties.getLoadWaitMillis())))
+            .toList();
+        if (properties.isL2Enabled()) {
+            caches.stream()
+                .filter(cache -> properties.getL2Caches().contains(cache.getName()))
+                .forEach(cache -> enableSecondTier(cache, properties, objectMapper));
+        }
 
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .recordStats());
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
 
-        log.info("Cache manager configured with Caffeine");
+        caches.forEach(cache -> log.info("Cache {} configured: capacity={}{}, ttl={}, softValues={}",
+            cache.getName(), cache.getSettings().getCapacity(), cache.getSettings().isWeighted() ? " bytes" : " entries",
+            cache.getSettings().getTtl(), cache.getSettings().isSoftValues()));
+        log.info("Cache manager configured with tenant-partitioned Caffeine caches: {} tenants", weights.size());
 
         return cacheManager;
     }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(BoxProperties boxProperties) {
+        BoxProperties.Cluster properties = boxProperties.getCluster();
+        if (!properties.isEnabled() || !"udp".equalsIgnoreCase(properties.getTransport())) {
+            return new InProcessInvalidationBus();
+        }
+
+        if (properties.getSecret() == null || properties.getSecret().isEmpty()) {
+            // 署名しない通知は同じネットワークの誰でも偽造でき、キャッシュを任意に無効化できてしまう
+            throw new IllegalStateException("box.cluster.secret is required when box.cluster.transport is udp");
+        }
+        String nodeId = properties.getNodeId() != null ? properties.getNodeId() : UUID.randomUUID().toString();
+        List<InetSocketAddress> peers = properties.getPeers().stream()
+            .map(CacheConfiguration::parsePeer)
+            .toList();
+        InetSocketAddress bindAddress = new InetSocketAddress(properties.getBindAddress(), properties.getPort());
+        try {
+            return new UdpInvalidationBus(nodeId, bindAddress, peers, properties.getSecret(),
+                Duration.ofSeconds(Math.max(1, properties.getMaxAgeSeconds())));
+        } catch (SocketException e) {
+            throw new IllegalStateException("Failed to open " + bindAddress + " for cache invalidations", e);
+        }
+    }
+
+    @PreDestroy
+    public void closeSecondTierStores() {
+        // 保留中の書き込みを反映してから閉じる
+        secondTierCaches.forEach(TenantPartitionedCache::shutdownSecondTier);
+        for (MappedFileStore store : secondTierStores) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                log.warn("Failed to close L2 cache file: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void enableSecondTier(TenantPartitionedCache cache, BoxProperties.Cache properties,
+                                  ObjectMapper objectMapper) {
+        Path file = Path.of(properties.getL2Directory(), cache.getName() + ".l2");
+        long capacity = Math.min(2047, Math.max(1, properties.getL2MaxMegabytes())) * 1024L * 1024L;
+        try {
+            MappedFileStore store = new MappedFileStore(file, capacity);
+            secondTierStores.add(store);
+            cache.enableSecondTier(store, objectMapper);
+            secondTierCaches.add(cache);
+            log.info("L2 cache enabled: cache={}, file={}, entries={}", cache.getName(), file,
+                store.getStats().entryCount());
+        } catch (IOException e) {
+            // L2が使えなくてもL1のみで動作を継続する
+            log.warn("Failed to open L2 cache file {}, continuing without L2: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * host:port形式のノードを解析
+     */
+    private static InetSocketAddress parsePeer(String peer) {
+        int separator = peer.lastIndexOf(':');
+        if (separator <= 0 || separator == peer.length() - 1) {
+            throw new IllegalArgumentException("box.cluster.peers must be host:port: " + peer);
+        }
+        return new InetSocketAddress(peer.substring(0, separator), Integer.parseInt(peer.substring(separator + 1)));
+    }
 }
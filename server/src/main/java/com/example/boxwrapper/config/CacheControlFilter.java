@@ -0,0 +1,54 @@
+package com.example.boxwrapper.config;
+
+import com.example.boxwrapper.cache.CacheFreshness;
+import com.example.boxwrapper.cache.FreshnessContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * リクエストの{@code Cache-Control}ヘッダーをキャッシュの参照に反映するフィルター.
+ *
+ * <p>ファイル情報・フォルダ情報・フォルダ一覧・検索のGETリクエストで、ヘッダーの指定
+ * （{@link CacheFreshness}）を{@link FreshnessContext}に設定してから処理します。
+ * 応答の{@code Age}・{@code Cache-Control}ヘッダーは{@link CacheControlResponseAdvice}が付与します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Component
+public class CacheControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern CACHEABLE_PATHS = Pattern.compile(
+        "/api/v1/(files/[^/]+|folders/[^/]+(/items)?|search)/?");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+            || !CACHEABLE_PATHS.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        CacheFreshness freshness = CacheFreshness.parse(request.getHeader(HttpHeaders.CACHE_CONTROL));
+        if (freshness != CacheFreshness.DEFAULT) {
+            log.debug("Request cache freshness for {}: {}", request.getRequestURI(), freshness);
+        }
+
+        try (FreshnessContext.Scope ignored = FreshnessContext.open(freshness)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
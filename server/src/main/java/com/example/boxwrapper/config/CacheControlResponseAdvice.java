@@ -0,0 +1,61 @@
+package com.example.boxwrapper.config;
+
+import com.example.boxwrapper.cache.FreshnessContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+
+/**
+ * キャッシュから応答したレスポンスに{@code Age}・{@code Cache-Control}ヘッダーを付与するアドバイス.
+ *
+ * <p>{@link CacheControlFilter}が対象としたリクエストで、応答に使ったキャッシュエントリの
+ * 書き込みからの経過時間を{@code Age}に、残りの有効期間を{@code Cache-Control: private, max-age}に設定します。
+ * 応答はテナント（APIキー）ごとに異なるため、共有キャッシュ（CDN・プロキシ）に保存されないよう
+ * {@code private}を指定し、{@code Vary: X-API-Key}も付与します。
+ * エラーレスポンスと、コントローラーが{@code Cache-Control}を設定したレスポンスには付与しません。</p>
+ *
+ * @since 1.1.0
+ */
+@RestControllerAdvice
+public class CacheControlResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+
+        FreshnessContext context = FreshnessContext.current().orElse(null);
+        if (context == null || context.getAge().isEmpty()) {
+            return body;
+        }
+        if (response instanceof ServletServerHttpResponse servletResponse
+                && servletResponse.getServletResponse().getStatus() >= 300) {
+            return body;
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        if (headers.containsKey(HttpHeaders.CACHE_CONTROL)) {
+            return body;
+        }
+        Duration remainingTtl = context.getRemainingTtl().orElse(Duration.ZERO);
+        headers.set(HttpHeaders.AGE, String.valueOf(context.getAge().get().toSeconds()));
+        headers.setCacheControl("private, max-age=" + remainingTtl.toSeconds());
+        headers.add(HttpHeaders.VARY, API_KEY_HEADER);
+        return body;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.boxwrapper.controller;
+
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.exception.ValidationException;
+import com.example.boxwrapper.model.request.CacheSettingsRequest;
+import com.example.boxwrapper.model.response.CacheInvalidationResponse;
+import com.example.boxwrapper.model.response.CacheSettingsResponse;
+import com.example.boxwrapper.model.response.CacheStatsResponse;
+import com.example.boxwrapper.service.CacheAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * キャッシュ管理コントローラー.
+ *
+ * <p>キャッシュごとの容量・有効期間などの設定の参照・変更、統計の参照、
+ * エントリの無効化を行うREST APIエンドポイントを提供します。</p>
+ *
+ * <p>全てのエンドポイントは管理用のAPIキー（{@code api.keys[].admin: true}）が必要です。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/caches")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Cache Administration", description = "キャッシュ管理 API")
+@SecurityRequirement(name = "API Key")
+public class CacheAdminController {
+
+    private final CacheAdminService cacheAdminService;
+
+    /**
+     * キャッシュの設定を取得します.
+     *
+     * @param name キャッシュ名
+     * @return 設定と現在の使用量
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     */
+    @GetMapping("/{name}/settings")
+    @Operation(summary = "キャッシュ設定取得", description = "キャッシュの容量・有効期間と現在の使用量を取得")
+    public ResponseEntity<CacheSettingsResponse> getSettings(
+            @Parameter(description = "キャッシュ名", required = true)
+            @PathVariable String name) {
+
+        return ResponseEntity.ok(cacheAdminService.getSettings(name));
+    }
+
+    /**
+     * キャッシュの設定を変更します.
+     *
+     * <p>変更は即座に反映されますが、再起動すると設定ファイルの値に戻ります。</p>
+     *
+     * @param name キャッシュ名
+     * @param request 変更する項目（指定のない項目は現在の値を維持）
+     * @return 変更後の設定と現在の使用量
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     */
+    @PutMapping("/{name}/settings")
+    @Operation(summary = "キャッシュ設定変更", description = "キャッシュの容量・有効期間・更新の割合を実行中に変更")
+    public ResponseEntity<CacheSettingsResponse> updateSettings(
+            @Parameter(description = "キャッシュ名", required = true)
+            @PathVariable String name,
+            @Valid @RequestBody CacheSettingsRequest request) {
+
+        log.info("Updating cache settings: cache={}, request={}", name, request);
+        return ResponseEntity.ok(cacheAdminService.updateSettings(name, request));
+    }
+
+    /**
+     * 全キャッシュの統計を取得します.
+     *
+     * @return キャッシュごとの統計
+     */
+    @GetMapping
+    @Operation(summary = "キャッシュ統計一覧取得", description = "全キャッシュのヒット率・読み込み時間・エントリ数などを取得")
+    public ResponseEntity<List<CacheStatsResponse>> getAllStats() {
+        return ResponseEntity.ok(cacheAdminService.getAllStats());
+    }
+
+    /**
+     * キャッシュの統計を取得します.
+     *
+     * @param name キャッシュ名
+     * @return キャッシュ全体・階層ごと・テナントごとの統計
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     */
+    @GetMapping("/{name}")
+    @Operation(summary = "キャッシュ統計取得", description = "キャッシュ全体・階層ごと・テナントごとの統計を取得")
+    public ResponseEntity<CacheStatsResponse> getStats(
+            @Parameter(description = "キャッシュ名", required = true)
+            @PathVariable String name) {
+
+        return ResponseEntity.ok(cacheAdminService.getStats(name));
+    }
+
+    /**
+     * キーまたはキーの前方一致を指定してエントリを無効化します.
+     *
+     * @param name キャッシュ名
+     * @param scope テナントスコープ
+     * @param key キーの識別部分（アイテムID、検索結果の場合は検索クエリ）
+     * @param prefix キーの識別部分の先頭
+     * @return 無効化したエントリ数
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     * @throws ValidationException keyとprefixのどちらか一方を指定していない場合
+     */
+    @DeleteMapping("/{name}/entries")
+    @Operation(summary = "キャッシュエントリ無効化", description = "キーまたはキーの前方一致でエントリを無効化")
+    public ResponseEntity<CacheInvalidationResponse> invalidateEntries(
+            @Parameter(description = "キャッシュ名", required = true)
+            @PathVariable String name,
+            @Parameter(description = "テナントスコープ", required = true)
+            @RequestParam @NotBlank String scope,
+            @Parameter(description = "キー（アイテムIDまたは検索クエリ）")
+            @RequestParam(required = false) String key,
+            @Parameter(description = "キーの前方一致")
+            @RequestParam(required = false) String prefix) {
+
+        if ((key == null) == (prefix == null)) {
+            ValidationException e = new ValidationException("keyとprefixのどちらか一方を指定してください");
+            e.addFieldError(key == null ? "key" : "prefix", "keyとprefixのどちらか一方を指定してください");
+            throw e;
+        }
+
+        log.info("Invalidating cache entries: cache={}, scope={}, key={}, prefix={}", name, scope, key, prefix);
+        CacheInvalidationResponse response = key != null
+            ? cacheAdminService.invalidateKey(name, scope, key)
+            : cacheAdminService.invalidatePrefix(name, scope, prefix);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * フォルダと配下のアイテムのエントリを無効化します.
+     *
+     * @param folderId フォルダID
+     * @param scope テナントスコープ
+     * @return 無効化したエントリ数
+     */
+    @DeleteMapping("/subtrees/{folderId}")
+    @Operation(summary = "フォルダ配下の無効化", description = "フォルダと配下のアイテムのエントリを全キャッシュから無効化")
+    public ResponseEntity<CacheInvalidationResponse> invalidateSubtree(
+            @Parameter(description = "フォルダID", required = true)
+            @PathVariable String folderId,
+            @Parameter(description = "テナントスコープ", required = true)
+            @RequestParam @NotBlank String scope) {
+
+        log.info("Invalidating folder subtree: scope={}, folderId={}", scope, folderId);
+        return ResponseEntity.ok(cacheAdminService.invalidateSubtree(scope, folderId));
+    }
+
+    /**
+     * キャッシュのエントリを全て削除します.
+     *
+     * @param name キャッシュ名
+     * @param scope テナントスコープ（指定しない場合は全テナント）
+     * @return 削除前のエントリ数
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     */
+    @DeleteMapping("/{name}")
+    @Operation(summary = "キャッシュ全削除", description = "キャッシュのエントリを全て削除")
+    public ResponseEntity<CacheInvalidationResponse> flush(
+            @Parameter(description = "キャッシュ名", required = true)
+            @PathVariable String name,
+            @Parameter(description = "テナントスコープ（指定しない場合は全テナント）")
+            @RequestParam(required = false) String scope) {
+
+        log.info("Flushing cache: cache={}, scope={}", name, scope);
+        return ResponseEntity.ok(cacheAdminService.flush(name, scope));
+    }
+
+    /**
+     * 全キャッシュのエントリを全て削除します.
+     *
+     * @param scope テナントスコープ（指定しない場合は全テナント）
+     * @return 削除前のエントリ数
+     */
+    @DeleteMapping
+    @Operation(summary = "全キャッシュ全削除", description = "全キャッシュと記録済みのエラーを全て削除")
+    public ResponseEntity<CacheInvalidationResponse> flushAll(
+            @Parameter(description = "テナントスコープ（指定しない場合は全テナント）")
+            @RequestParam(required = false) String scope) {
+
+        log.info("Flushing all caches: scope={}", scope);
+        return ResponseEntity.ok(cacheAdminService.flush(null, scope));
+    }
+}
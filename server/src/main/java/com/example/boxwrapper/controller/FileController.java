@@ -70,6 +70,9 @@ public class FileController {
     /**
      * ファイルのメタデータ情報を取得します.
      *
+     * <p>{@code Cache-Control}ヘッダーで許容するキャッシュの古さを指定できます
+     * （{@link com.example.boxwrapper.config.CacheControlFilter}）。</p>
+     *
      * @param fileId 対象ファイルのID
      * @param request HTTPリクエスト（APIキーの取得に使用）
      * @return ファイル情報（名前、サイズ、作成日時など）
@@ -1,8 +1,13 @@
 package com.example.boxwrapper.controller;
 
 import com.example.boxwrapper.model.request.FolderCreateRequest;
+import com.example.boxwrapper.model.response.FolderChangesResponse;
 import com.example.boxwrapper.model.response.FolderInfoResponse;
+import com.example.boxwrapper.model.response.FolderSnapshotResponse;
+import com.example.boxwrapper.model.response.FolderUsageResponse;
 import com.example.boxwrapper.service.BoxFolderService;
+import com.example.boxwrapper.service.FolderSnapshotService;
+import com.example.boxwrapper.service.FolderUsageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -38,6 +43,8 @@ import java.util.List;
 public class FolderController {
 
     private final BoxFolderService folderService;
+    private final FolderUsageService folderUsageService;
+    private final FolderSnapshotService folderSnapshotService;
 
     /**
      * 新しいフォルダを作成します.
@@ -65,6 +72,9 @@ public class FolderController {
     /**
      * フォルダのメタデータ情報を取得します.
      *
+     * <p>{@code Cache-Control}ヘッダーで許容するキャッシュの古さを指定できます
+     * （{@link com.example.boxwrapper.config.CacheControlFilter}）。</p>
+     *
      * @param folderId 対象フォルダのID
      * @param request HTTPリクエスト（APIキーの取得に使用）
      * @return フォルダ情報（名前、親フォルダID、アイテム数など）
@@ -85,7 +95,14 @@ public class FolderController {
     /**
      * フォルダ内のアイテム一覧を取得します.
      *
+     * <p>offsetとlimitを省略した場合は全件を返します。</p>
+     *
+     * <p>{@code Cache-Control}ヘッダーで許容するキャッシュの古さを指定できます
+     * （{@link com.example.boxwrapper.config.CacheControlFilter}）。</p>
+     *
      * @param folderId 対象フォルダのID
+     * @param offset 取得開始位置（オプション）
+     * @param limit 取得件数の上限（オプション）
      * @param request HTTPリクエスト（APIキーの取得に使用）
      * @return フォルダ内アイテムの名前リスト
      */
@@ -94,14 +111,96 @@ public class FolderController {
     public ResponseEntity<List<String>> listFolderItems(
             @Parameter(description = "フォルダID", required = true)
             @PathVariable String folderId,
+
+            @Parameter(description = "取得開始位置")
+            @RequestParam(required = false) Integer offset,
+
+            @Parameter(description = "取得件数の上限")
+            @RequestParam(required = false) Integer limit,
+
             HttpServletRequest request) {
 
         String apiKey = (String) request.getAttribute("apiKey");
-        List<String> items = folderService.listFolderItems(apiKey, folderId);
+        List<String> items = folderService.listFolderItems(apiKey, folderId, offset, limit);
 
         return ResponseEntity.ok(items);
     }
 
+    /**
+     * フォルダ配下の使用量を取得します.
+     *
+     * <p>集計済みのサブツリーはキャッシュから返し、変更のあったフォルダのみ再取得します。</p>
+     *
+     * @param folderId 対象フォルダのID
+     * @param refresh trueの場合、一定時間以上経過した集計も再取得
+     * @param request HTTPリクエスト（APIキーの取得に使用）
+     * @return 合計バイト数、ファイル数、フォルダ数
+     */
+    @GetMapping("/{folderId}/usage")
+    @Operation(summary = "フォルダ使用量取得", description = "フォルダ配下の合計サイズとアイテム数を取得")
+    public ResponseEntity<FolderUsageResponse> getFolderUsage(
+            @Parameter(description = "フォルダID", required = true)
+            @PathVariable String folderId,
+
+            @Parameter(description = "古い集計を再取得")
+            @RequestParam(defaultValue = "false") boolean refresh,
+
+            HttpServletRequest request) {
+
+        String apiKey = (String) request.getAttribute("apiKey");
+        FolderUsageResponse response = folderUsageService.getUsage(apiKey, folderId, refresh);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * フォルダ配下のスナップショットを作成します.
+     *
+     * @param folderId 対象フォルダのID
+     * @param request HTTPリクエスト（APIキーの取得に使用）
+     * @return 作成されたスナップショットの情報
+     */
+    @PostMapping("/{folderId}/snapshots")
+    @Operation(summary = "スナップショット作成", description = "フォルダ配下のアイテムの状態を保存")
+    public ResponseEntity<FolderSnapshotResponse> createSnapshot(
+            @Parameter(description = "フォルダID", required = true)
+            @PathVariable String folderId,
+            HttpServletRequest request) {
+
+        String apiKey = (String) request.getAttribute("apiKey");
+        FolderSnapshotResponse response = folderSnapshotService.createSnapshot(apiKey, folderId);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * スナップショット以降の変更を取得します.
+     *
+     * <p>レスポンスの{@code snapshotId}を次回の{@code since}に指定することで、
+     * 継続的に差分のみを取得できます。</p>
+     *
+     * @param folderId 対象フォルダのID
+     * @param since 比較元のスナップショットID
+     * @param request HTTPリクエスト（APIキーの取得に使用）
+     * @return 追加・削除・変更・移動されたアイテム
+     */
+    @GetMapping("/{folderId}/changes")
+    @Operation(summary = "フォルダ差分取得", description = "スナップショット以降に追加・削除・変更・移動されたアイテムを取得")
+    public ResponseEntity<FolderChangesResponse> getChanges(
+            @Parameter(description = "フォルダID", required = true)
+            @PathVariable String folderId,
+
+            @Parameter(description = "比較元のスナップショットID", required = true)
+            @RequestParam String since,
+
+            HttpServletRequest request) {
+
+        String apiKey = (String) request.getAttribute("apiKey");
+        FolderChangesResponse response = folderSnapshotService.getChanges(apiKey, folderId, since);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * フォルダを削除します.
      *
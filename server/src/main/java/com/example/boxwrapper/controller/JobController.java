@@ -1,22 +1,29 @@
 package com.example.boxwrapper.controller;
 
 import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.request.BulkTransferRequest;
 import com.example.boxwrapper.model.response.JobStatusResponse;
+import com.example.boxwrapper.service.BulkTransferService;
 import com.example.boxwrapper.utils.JobProgressTracker;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 /**
  * ジョブ管理コントローラー.
  *
  * <p>非同期処理ジョブの進捗確認と管理を行うREST APIエンドポイントを提供します。
- * バッチアップロード/ダウンロードなどの長時間実行タスクの状態を確認できます。</p>
+ * バッチアップロード/ダウンロードなどの長時間実行タスクの状態を確認できます。
+ * 一括コピー/移動ジョブの開始もここで受け付けます。</p>
  *
  * <p>全てのエンドポイントはAPIキー認証（X-API-Keyヘッダー）が必要です。</p>
  *
@@ -26,11 +33,34 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/v1/jobs")
 @RequiredArgsConstructor
+@Validated
 @Tag(name = "Job Management", description = "非同期ジョブ管理 API")
 @SecurityRequirement(name = "API Key")
 public class JobController {
 
     private final JobProgressTracker progressTracker;
+    private final BulkTransferService bulkTransferService;
+
+    /**
+     * 一括コピー/移動ジョブを開始します.
+     *
+     * <p>ジョブは非同期に実行されます。返されたジョブIDで進捗を確認してください。</p>
+     *
+     * @param request 操作種別（COPY/MOVE）と対象アイテムのリスト
+     * @param httpRequest HTTPリクエスト（APIキーの取得に使用）
+     * @return 開始されたジョブのステータス（202 Accepted）
+     */
+    @PostMapping("/transfers")
+    @Operation(summary = "一括コピー/移動", description = "複数アイテムのコピーまたは移動をジョブとして開始")
+    public ResponseEntity<JobStatusResponse> startTransfer(
+            @Valid @RequestBody BulkTransferRequest request,
+            HttpServletRequest httpRequest) {
+
+        String apiKey = (String) httpRequest.getAttribute("apiKey");
+        String jobId = bulkTransferService.startTransfer(apiKey, request);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(progressTracker.getJobStatus(jobId));
+    }
 
     /**
      * ジョブの進捗状況を取得します.
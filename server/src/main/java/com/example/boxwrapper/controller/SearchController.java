@@ -1,18 +1,30 @@
 package com.example.boxwrapper.controller;
 
+import com.example.boxwrapper.cache.SearchResultPage;
 import com.example.boxwrapper.model.request.SearchRequest;
+import com.example.boxwrapper.model.response.SearchIndexStatusResponse;
+import com.example.boxwrapper.model.response.SearchResultItem;
 import com.example.boxwrapper.service.BoxSearchService;
+import com.example.boxwrapper.service.SearchIndexService;
+import com.example.boxwrapper.service.SearchResultStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 検索コントローラー.
@@ -34,23 +46,35 @@ import java.util.List;
 public class SearchController {
 
     private final BoxSearchService searchService;
+    private final SearchIndexService searchIndexService;
+    private final ObjectMapper objectMapper;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String PARTIAL_HEADER = "X-Search-Partial";
 
     /**
      * ファイルおよびフォルダを検索します.
      *
      * <p>クエリパラメータで検索条件を指定します。</p>
      *
+     * <p>複数アカウントの横断検索（{@code box.search.fan-out}）で、時間内に応答しなかった
+     * アカウントなどの結果が含まれていない場合は{@code X-Search-Partial: true}ヘッダーを付与します。</p>
+     *
+     * <p>{@code Cache-Control}ヘッダーで許容するキャッシュの古さを指定できます（{@code max-age}、
+     * {@code max-stale}、{@code no-cache}、{@code stale-while-revalidate}）。キャッシュから応答した場合は
+     * {@code Age}と{@code Cache-Control: max-age}ヘッダーを付与します。</p>
+     *
      * @param query 検索キーワード（必須）
      * @param type フィルタタイプ（"file"または"folder"、オプション）
      * @param offset ページネーションのオフセット（オプション）
      * @param limit 取得件数の上限（オプション）
      * @param fileExtension ファイル拡張子フィルタ（オプション）
      * @param request HTTPリクエスト（APIキーの取得に使用）
-     * @return 検索結果のアイテム名リスト
+     * @return 検索結果のアイテムリスト（ID、種類、名前、サイズ、親フォルダID、SHA1、更新日時）
      */
     @GetMapping
     @Operation(summary = "ファイル/フォルダ検索", description = "キーワードでファイル・フォルダを検索")
-    public ResponseEntity<List<String>> search(
+    public ResponseEntity<List<SearchResultItem>> search(
             @RequestParam String query,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) Integer offset,
@@ -68,8 +92,145 @@ public class SearchController {
             .fileExtension(fileExtension)
             .build();
 
-        List<String> results = searchService.search(apiKey, searchRequest);
+        SearchResultPage page = searchService.searchPage(apiKey, searchRequest);
+
+        if (page.isPartial()) {
+            // 一部の結果が欠けたページはキャッシュされないため、プロキシにもキャッシュさせない
+            return ResponseEntity.ok()
+                .header(PARTIAL_HEADER, "true")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(page.getResults());
+        }
+        return ResponseEntity.ok(page.getResults());
+    }
+
+    /**
+     * 検索にマッチした全アイテムをNDJSON形式でストリーム出力します.
+     *
+     * <p>サーバー側でページを順に取得しながら、1行に1アイテムの情報（JSON）を書き出します。
+     * 出力開始前のエラーは通常のエラーレスポンスとして返されます。
+     * 出力開始後にエラーが発生した場合はレスポンスが途中で切断されます。</p>
+     *
+     * <p>Box検索APIで取得できる上限（10,000件）を超えるマッチがあった場合は、上限までのアイテムの後に
+     * {@code {"truncated":true,"returned":10000}}の1行を書き出して終了します。</p>
+     *
+     * @param query 検索キーワード（必須）
+     * @param type フィルタタイプ（"file"または"folder"、オプション）
+     * @param fileExtension ファイル拡張子フィルタ（オプション）
+     * @param request HTTPリクエスト（APIキーの取得に使用）
+     * @return 検索結果アイテムのNDJSONストリーム
+     */
+    @GetMapping("/stream")
+    @Operation(summary = "検索結果の全件ストリーム出力", description = "マッチした全アイテムをNDJSON形式で出力")
+    public ResponseEntity<StreamingResponseBody> streamSearch(
+            @RequestParam String query,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String fileExtension,
+            HttpServletRequest request) {
+
+        String apiKey = (String) request.getAttribute("apiKey");
+
+        SearchRequest searchRequest = SearchRequest.builder()
+            .query(query)
+            .type(type)
+            .fileExtension(fileExtension)
+            .build();
+
+        SearchResultStream results = searchService.streamSearch(apiKey, searchRequest);
+
+        StreamingResponseBody body = outputStream -> {
+            try (results) {
+                Iterator<SearchResultItem> iterator = results.items().iterator();
+                long returned = 0;
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                    outputStream.flush();
+                    returned++;
+                }
+                if (results.isTruncated()) {
+                    // 結果が上限で打ち切られたことを最終行で通知する
+                    outputStream.write(objectMapper.writeValueAsBytes(new StreamTrailer(true, returned)));
+                    outputStream.write('\n');
+                    outputStream.flush();
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(NDJSON)
+            .body(body);
+    }
+
+    /**
+     * 入力途中の文字列から候補のアイテム名を取得します.
+     *
+     * <p>ローカル検索索引が有効で構築済みの場合は索引から応答し、
+     * それ以外の場合はBoxの検索APIで処理します。</p>
+     *
+     * <p>{@code X-Session-Id}ヘッダーを指定し、サーバーでデバウンスが有効な場合、
+     * 同じセッションの次の入力に置き換えられたリクエストには204 No Contentを返します。</p>
+     *
+     * @param prefix 入力途中の文字列（必須）
+     * @param limit 最大件数（デフォルト: 10）
+     * @param sessionId 入力元のセッションID（オプション）
+     * @param request HTTPリクエスト（APIキーの取得に使用）
+     * @return 候補のアイテム名リスト
+     */
+    @GetMapping("/typeahead")
+    @Operation(summary = "入力補完", description = "入力途中の文字列に前方一致するアイテム名を取得")
+    public CompletableFuture<ResponseEntity<List<String>>> typeahead(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader(value = "X-Session-Id", required = false) String sessionId,
+            HttpServletRequest request) {
+
+        String apiKey = (String) request.getAttribute("apiKey");
+
+        return searchService.typeahead(apiKey, sessionId, prefix, limit)
+            .thenApply(names -> names
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * ローカル検索索引の状態を取得します.
+     *
+     * @param request HTTPリクエスト（APIキーの取得に使用）
+     * @return 索引の状態
+     */
+    @GetMapping("/index")
+    @Operation(summary = "検索索引の状態取得", description = "ローカル検索索引の構築状態と件数を取得")
+    public ResponseEntity<SearchIndexStatusResponse> getIndexStatus(HttpServletRequest request) {
+        String apiKey = (String) request.getAttribute("apiKey");
+
+        SearchIndexStatusResponse response = searchIndexService.getStatus(apiKey);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * ローカル検索索引の再構築を開始します.
+     *
+     * <p>ルートフォルダから全フォルダを巡回して索引を作り直します。
+     * 再構築はバックグラウンドで実行され、202 Acceptedを返します。</p>
+     *
+     * @param request HTTPリクエスト（APIキーの取得に使用）
+     * @return 索引の状態
+     */
+    @PostMapping("/index/rebuild")
+    @Operation(summary = "検索索引の再構築", description = "ルートフォルダから巡回してローカル検索索引を再構築")
+    public ResponseEntity<SearchIndexStatusResponse> rebuildIndex(HttpServletRequest request) {
+        String apiKey = (String) request.getAttribute("apiKey");
+
+        SearchIndexStatusResponse response = searchIndexService.rebuild(apiKey);
 
-        return ResponseEntity.ok(results);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * ストリーム出力の最終行（結果を打ち切った場合のみ出力）
+     */
+    private record StreamTrailer(boolean truncated, long returned) {
     }
 }
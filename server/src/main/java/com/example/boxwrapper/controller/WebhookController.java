@@ -0,0 +1,54 @@
+package com.example.boxwrapper.controller;
+
+import com.example.boxwrapper.exception.AuthenticationException;
+import com.example.boxwrapper.service.BoxWebhookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Box Webhook受信コントローラー.
+ *
+ * <p>Boxから送信されたWebhookを受け取り、外部の変更によるキャッシュの無効化を予約します。
+ * 送信先URLにはテナントスコープを含めます（{@code /api/v1/webhooks/box/{scope}}）。</p>
+ *
+ * <p>BoxはAPIキーを送信しないため、このエンドポイントはAPIキー認証の対象外です。
+ * 代わりにWebhookの署名（{@code BOX-SIGNATURE-PRIMARY}/{@code BOX-SIGNATURE-SECONDARY}）を検証します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/webhooks")
+@RequiredArgsConstructor
+@Tag(name = "Webhooks", description = "Box Webhook受信 API")
+public class WebhookController {
+
+    private final BoxWebhookService webhookService;
+
+    /**
+     * Box Webhookを受信します.
+     *
+     * @param scope テナントスコープ
+     * @param payload リクエストボディ
+     * @param headers リクエストヘッダー（署名と配信時刻）
+     * @return 200 OK（空のボディ）
+     * @throws AuthenticationException 署名が一致しない場合
+     */
+    @PostMapping("/box/{scope}")
+    @Operation(summary = "Box Webhook受信", description = "署名を検証し、変更されたアイテムのキャッシュを無効化")
+    public ResponseEntity<Void> receive(
+            @Parameter(description = "テナントスコープ", required = true)
+            @PathVariable String scope,
+            @RequestBody String payload,
+            @RequestHeader HttpHeaders headers) {
+
+        webhookService.receive(scope, payload, headers);
+        return ResponseEntity.ok().build();
+    }
+}
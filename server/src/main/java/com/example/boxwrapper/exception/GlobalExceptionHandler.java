@@ -63,7 +63,8 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
             ResourceNotFoundException ex, WebRequest request) {
 
-        log.error("Resource not found exception occurred: {}", ex.getMessage(), ex);
+        // 存在しないアイテムのポーリングなど頻繁に発生するため、スタックトレースは出力しない
+        log.warn("Resource not found: {}", ex.getMessage());
 
         ErrorResponse errorResponse = buildErrorResponse(
             HttpStatus.NOT_FOUND,
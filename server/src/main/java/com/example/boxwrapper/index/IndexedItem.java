@@ -0,0 +1,49 @@
+package com.example.boxwrapper.index;
+
+import com.example.boxwrapper.cache.FolderItem;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 名前索引に登録されるアイテム.
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class IndexedItem {
+
+    String id;
+
+    String type;  // file, folder or web_link
+
+    String name;
+
+    String parentId;
+
+    Long size;
+
+    String sha1;
+
+    public boolean isFolder() {
+        return "folder".equals(type);
+    }
+
+    /**
+     * フォルダ一覧のアイテムから索引用のアイテムを生成します.
+     *
+     * @param item フォルダ一覧のアイテム
+     * @param parentId 親フォルダID
+     * @return 索引用のアイテム
+     */
+    public static IndexedItem from(FolderItem item, String parentId) {
+        return IndexedItem.builder()
+            .id(item.getId())
+            .type(item.getType())
+            .name(item.getName())
+            .parentId(parentId)
+            .size(item.getSize())
+            .sha1(item.getSha1())
+            .build();
+    }
+}
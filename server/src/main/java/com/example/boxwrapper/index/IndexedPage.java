@@ -0,0 +1,21 @@
+package com.example.boxwrapper.index;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * 名前索引から取得した検索結果の1ページ.
+ *
+ * @since 1.1.0
+ */
+@Value
+public class IndexedPage {
+
+    List<IndexedItem> items;
+
+    /**
+     * 検索条件に一致する全件数（ページングの前の件数）
+     */
+    long totalCount;
+}
@@ -0,0 +1,586 @@
+package com.example.boxwrapper.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * アイテム名の転置索引.
+ *
+ * <p>1テナント分のアイテム名を正規化（NFKC、小文字化）して英数字・文字単位のトークンに分割し、
+ * トークンの前方一致（先頭{@code maxPrefixLength}文字まで）とトークン内の3-gramの
+ * 2種類のポスティングリストで保持します。
+ * 3文字以上の検索語は3-gramの積集合で候補を絞り込んだ後に部分一致を確認し、
+ * 2文字以下の検索語はトークンの前方一致で検索します。複数の検索語はAND条件になります。</p>
+ *
+ * <p>アイテムの更新・削除ではポスティングリストを書き換えず、文書を無効化するだけにとどめます。
+ * 無効な文書が有効な文書より多くなった時点でポスティングリストを再構築します。</p>
+ *
+ * <p>索引はファイルに保存でき、読み込み時はファイルをメモリマップして復元します。
+ * 全メソッドはスレッドセーフです。</p>
+ *
+ * @since 1.1.0
+ */
+public class NameIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private static final int MAGIC = 0x424F5849;  // "BOXI"
+    private static final int VERSION = 2;
+    private static final int MIN_COMPACTION_SIZE = 1024;
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int maxPrefixLength;
+    private final int maxItems;
+
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final Map<String, Set<String>> children = new HashMap<>();
+    private final Map<String, PostingList> prefixes = new HashMap<>();
+    private final Map<String, PostingList> grams = new HashMap<>();
+
+    private int deadCount;
+    private boolean complete;
+    private boolean truncated;
+    private Instant builtAt;
+    private Instant updatedAt;
+
+    public NameIndex(int maxPrefixLength, int maxItems) {
+        this.maxPrefixLength = Math.max(maxPrefixLength, GRAM_LENGTH - 1);
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * アイテムを登録または更新します.
+     *
+     * <p>登録件数が上限に達している場合、新しいアイテムは登録されず、
+     * 索引は不完全な状態になります。</p>
+     *
+     * @param item 登録するアイテム
+     */
+    public synchronized void upsert(IndexedItem item) {
+        Integer existing = docIds.get(item.getId());
+        if (existing != null) {
+            IndexedItem current = docs.get(existing).item();
+            if (current.equals(item)) {
+                return;
+            }
+            unlinkParent(current);
+            if (current.getName().equals(item.getName())) {
+                // 名前が同じならポスティングリストはそのまま使える
+                docs.set(existing, docs.get(existing).withItem(item));
+                linkParent(item);
+                touch();
+                return;
+            }
+            docs.set(existing, null);
+            deadCount++;
+        } else if (docIds.size() >= maxItems) {
+            truncated = true;
+            complete = false;
+            return;
+        }
+
+        addDoc(item);
+        linkParent(item);
+        touch();
+        compactIfNeeded();
+    }
+
+    /**
+     * アイテムを削除します.
+     *
+     * <p>フォルダの場合は配下のアイテムも削除します。</p>
+     *
+     * @param itemId 削除するアイテムID
+     */
+    public synchronized void remove(String itemId) {
+        List<String> pending = new ArrayList<>();
+        pending.add(itemId);
+        while (!pending.isEmpty()) {
+            String id = pending.remove(pending.size() - 1);
+            Integer docId = docIds.remove(id);
+            IndexedItem item = docId != null ? docs.get(docId).item() : null;
+            if (item != null) {
+                unlinkParent(item);
+                docs.set(docId, null);
+                deadCount++;
+            }
+            // 未登録のIDはフォルダとみなし、配下に登録済みのアイテムがあれば削除する
+            if (item == null || item.isFolder()) {
+                Set<String> descendants = children.remove(id);
+                if (descendants != null) {
+                    pending.addAll(descendants);
+                }
+            }
+        }
+        touch();
+        compactIfNeeded();
+    }
+
+    /**
+     * フォルダ直下のアイテムを全件一覧で置き換えます.
+     *
+     * <p>一覧に含まれないアイテム（フォルダの場合は配下も含む）は削除されます。</p>
+     *
+     * @param parentId 親フォルダID
+     * @param items フォルダ直下の全アイテム
+     */
+    public synchronized void replaceChildren(String parentId, Collection<IndexedItem> items) {
+        Set<String> stale = new HashSet<>(children.getOrDefault(parentId, Set.of()));
+        for (IndexedItem item : items) {
+            upsert(item);
+            stale.remove(item.getId());
+        }
+        for (String id : stale) {
+            remove(id);
+        }
+    }
+
+    /**
+     * 全ての検索語を名前に含むアイテムを検索します.
+     *
+     * <p>結果はトークン完全一致、前方一致、部分一致の順に並び、同順位は名前の短い順になります。</p>
+     *
+     * @param query 検索語（空白・記号区切り）
+     * @return マッチしたアイテム
+     */
+    public synchronized List<IndexedItem> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        int[] candidates = null;
+        for (String term : terms) {
+            int[] postings = term.length() < GRAM_LENGTH ? postings(prefixes, term) : gramPostings(term);
+            candidates = candidates == null ? postings : intersect(candidates, postings);
+            if (candidates.length == 0) {
+                return List.of();
+            }
+        }
+
+        List<ScoredItem> matches = new ArrayList<>();
+        for (int docId : candidates) {
+            Doc doc = docs.get(docId);
+            if (doc == null) {
+                continue;
+            }
+            int score = score(doc.tokens(), terms, false);
+            if (score > 0) {
+                matches.add(new ScoredItem(doc.item(), score));
+            }
+        }
+        return sorted(matches, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 入力途中の文字列に前方一致するアイテムを返します.
+     *
+     * <p>各検索語がいずれかのトークンの先頭に一致するアイテムが対象です。
+     * 名前全体が入力文字列で始まるアイテムが優先されます。</p>
+     *
+     * @param prefix 入力途中の文字列
+     * @param limit 最大件数
+     * @return マッチしたアイテム
+     */
+    public synchronized List<IndexedItem> prefix(String prefix, int limit) {
+        List<String> terms = tokenize(prefix);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int[] candidates = null;
+        for (String term : terms) {
+            String key = term.length() > maxPrefixLength ? term.substring(0, maxPrefixLength) : term;
+            int[] postings = postings(prefixes, key);
+            candidates = candidates == null ? postings : intersect(candidates, postings);
+            if (candidates.length == 0) {
+                return List.of();
+            }
+        }
+
+        String normalizedPrefix = normalize(prefix).trim();
+        List<ScoredItem> matches = new ArrayList<>();
+        for (int docId : candidates) {
+            Doc doc = docs.get(docId);
+            if (doc == null) {
+                continue;
+            }
+            int score = score(doc.tokens(), terms, true);
+            if (score > 0) {
+                if (doc.normalizedName().startsWith(normalizedPrefix)) {
+                    score += terms.size() * 3;
+                }
+                matches.add(new ScoredItem(doc.item(), score));
+            }
+        }
+        return sorted(matches, limit);
+    }
+
+    /**
+     * 全アイテムを削除し、未構築の状態に戻します.
+     */
+    public synchronized void clear() {
+        docs.clear();
+        docIds.clear();
+        children.clear();
+        prefixes.clear();
+        grams.clear();
+        deadCount = 0;
+        complete = false;
+        truncated = false;
+        builtAt = null;
+        touch();
+    }
+
+    /**
+     * 全件の構築が完了したことを記録します.
+     *
+     * @param time 構築完了時刻
+     */
+    public synchronized void markComplete(Instant time) {
+        complete = !truncated;
+        builtAt = time;
+    }
+
+    public synchronized int size() {
+        return docIds.size();
+    }
+
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    public synchronized Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public synchronized Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * 索引をファイルに保存します.
+     *
+     * <p>一時ファイルに書き込んでから置き換えるため、書き込み途中のファイルが読まれることはありません。</p>
+     *
+     * @param file 保存先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void save(Path file) throws IOException {
+        List<IndexedItem> items;
+        boolean savedComplete;
+        Instant savedBuiltAt;
+        synchronized (this) {
+            items = new ArrayList<>(docIds.size());
+            for (Doc doc : docs) {
+                if (doc != null) {
+                    items.add(doc.item());
+                }
+            }
+            savedComplete = complete;
+            savedBuiltAt = builtAt;
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "index", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeBoolean(savedComplete);
+            out.writeLong(savedBuiltAt != null ? savedBuiltAt.toEpochMilli() : -1);
+            out.writeInt(items.size());
+            for (IndexedItem item : items) {
+                writeString(out, item.getId());
+                writeString(out, item.getType());
+                writeString(out, item.getName());
+                writeString(out, item.getParentId());
+                out.writeLong(item.getSize() != null ? item.getSize() : -1);
+                writeString(out, item.getSha1());
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 保存された索引を読み込みます.
+     *
+     * @param file 保存ファイル
+     * @param maxPrefixLength 前方一致索引に登録する最大文字数
+     * @param maxItems 最大登録件数
+     * @return 復元した索引
+     * @throws IOException 読み込みに失敗した場合、またはファイル形式が不正な場合
+     */
+    public static NameIndex load(Path file, int maxPrefixLength, int maxItems) throws IOException {
+        NameIndex index = new NameIndex(maxPrefixLength, maxItems);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported search index file: " + file);
+            }
+            boolean complete = buffer.get() != 0;
+            long builtAt = buffer.getLong();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                IndexedItem.IndexedItemBuilder item = IndexedItem.builder()
+                    .id(readString(buffer))
+                    .type(readString(buffer))
+                    .name(readString(buffer))
+                    .parentId(readString(buffer));
+                long size = buffer.getLong();
+                index.upsert(item.size(size >= 0 ? size : null).sha1(readString(buffer)).build());
+            }
+            if (complete) {
+                index.markComplete(builtAt >= 0 ? Instant.ofEpochMilli(builtAt) : null);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated search index file: " + file, e);
+        }
+        return index;
+    }
+
+    /**
+     * 名前を正規化してトークンに分割します.
+     *
+     * @param text 名前または検索語
+     * @return 重複を除いたトークン
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String token : SEPARATOR.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                result.add(token);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private void addDoc(IndexedItem item) {
+        int docId = docs.size();
+        String normalizedName = normalize(item.getName());
+        String[] nameTokens = tokenize(item.getName()).toArray(new String[0]);
+        docs.add(new Doc(item, normalizedName, nameTokens));
+        docIds.put(item.getId(), docId);
+        for (String token : nameTokens) {
+            int prefixLength = Math.min(token.length(), maxPrefixLength);
+            for (int i = 1; i <= prefixLength; i++) {
+                prefixes.computeIfAbsent(token.substring(0, i), k -> new PostingList()).add(docId);
+            }
+            for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+                grams.computeIfAbsent(token.substring(i, i + GRAM_LENGTH), k -> new PostingList()).add(docId);
+            }
+        }
+    }
+
+    private int[] gramPostings(String term) {
+        int[] result = null;
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            int[] postings = postings(grams, term.substring(i, i + GRAM_LENGTH));
+            result = result == null ? postings : intersect(result, postings);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static int[] postings(Map<String, PostingList> map, String key) {
+        PostingList list = map.get(key);
+        return list != null ? list.toArray() : new int[0];
+    }
+
+    /**
+     * 各検索語の一致度を合計（完全一致3、前方一致2、部分一致1、いずれかが不一致なら0）
+     */
+    private static int score(String[] nameTokens, List<String> terms, boolean prefixOnly) {
+        int total = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (String token : nameTokens) {
+                if (token.equals(term)) {
+                    best = 3;
+                    break;
+                }
+                if (token.startsWith(term)) {
+                    best = Math.max(best, 2);
+                } else if (!prefixOnly && term.length() >= GRAM_LENGTH && token.contains(term)) {
+                    best = Math.max(best, 1);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static List<IndexedItem> sorted(List<ScoredItem> matches, int limit) {
+        return matches.stream()
+            .sorted(Comparator.comparingInt(ScoredItem::score).reversed()
+                .thenComparingInt(scored -> scored.item().getName().length())
+                .thenComparing(scored -> scored.item().getName()))
+            .limit(limit)
+            .map(ScoredItem::item)
+            .toList();
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private void linkParent(IndexedItem item) {
+        if (item.getParentId() != null) {
+            children.computeIfAbsent(item.getParentId(), k -> new HashSet<>()).add(item.getId());
+        }
+    }
+
+    private void unlinkParent(IndexedItem item) {
+        if (item.getParentId() == null) {
+            return;
+        }
+        Set<String> siblings = children.get(item.getParentId());
+        if (siblings != null) {
+            siblings.remove(item.getId());
+            if (siblings.isEmpty()) {
+                children.remove(item.getParentId());
+            }
+        }
+    }
+
+    /**
+     * 無効な文書が多くなった場合、有効な文書だけでポスティングリストを再構築
+     */
+    private void compactIfNeeded() {
+        if (deadCount < MIN_COMPACTION_SIZE || deadCount < docIds.size()) {
+            return;
+        }
+        List<IndexedItem> live = new ArrayList<>(docIds.size());
+        for (Doc doc : docs) {
+            if (doc != null) {
+                live.add(doc.item());
+            }
+        }
+        docs.clear();
+        docIds.clear();
+        prefixes.clear();
+        grams.clear();
+        deadCount = 0;
+        live.forEach(this::addDoc);
+    }
+
+    private void touch() {
+        updatedAt = Instant.now();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new IOException("Corrupted search index file");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record ScoredItem(IndexedItem item, int score) {
+    }
+
+    /**
+     * 登録済みのアイテムと、検索時の照合に使う正規化済みの名前・トークン
+     */
+    private record Doc(IndexedItem item, String normalizedName, String[] tokens) {
+
+        Doc withItem(IndexedItem newItem) {
+            return new Doc(newItem, normalizedName, tokens);
+        }
+    }
+
+    /**
+     * 文書IDの昇順リスト（文書IDは単調増加で採番されるため追加のみで整列が保たれる）
+     */
+    private static final class PostingList {
+
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int docId) {
+            if (size > 0 && ids[size - 1] == docId) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = docId;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
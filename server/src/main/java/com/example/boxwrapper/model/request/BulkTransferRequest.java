@@ -0,0 +1,51 @@
+package com.example.boxwrapper.model.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 一括コピー/移動リクエスト
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferRequest {
+
+    public enum Operation {
+        COPY,
+        MOVE
+    }
+
+    @NotNull(message = "操作種別は必須です")
+    private Operation operation;
+
+    @Valid
+    @NotEmpty(message = "対象アイテムは1件以上必要です")
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotBlank(message = "アイテムIDは必須です")
+        private String itemId;
+
+        private String itemType;  // file (default) or folder
+
+        @NotBlank(message = "コピー/移動先フォルダIDは必須です")
+        private String destFolderId;
+
+        private String newName;  // 省略時は元の名前
+    }
+}
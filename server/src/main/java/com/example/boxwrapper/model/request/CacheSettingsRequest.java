@@ -0,0 +1,36 @@
+package com.example.boxwrapper.model.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * キャッシュ設定の変更リクエスト（指定のない項目は現在の値を維持）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheSettingsRequest {
+
+    @Positive(message = "最大エントリ数は1以上を指定してください")
+    private Long maximumSize;  // エントリ数で制限するキャッシュのみ
+
+    @Positive(message = "最大重みは1以上を指定してください")
+    private Long maximumWeightBytes;  // 重みで制限するキャッシュのみ
+
+    @Positive(message = "有効期間は1秒以上を指定してください")
+    private Integer expireAfterWriteSeconds;
+
+    @DecimalMin(value = "0.0", message = "更新の割合は0.0〜1.0で指定してください")
+    @DecimalMax(value = "1.0", message = "更新の割合は0.0〜1.0で指定してください")
+    private Double refreshAheadRatio;
+
+    @DecimalMin(value = "0.0", message = "共有領域の割合は0.0〜1.0で指定してください")
+    @DecimalMax(value = "1.0", message = "共有領域の割合は0.0〜1.0で指定してください")
+    private Double overflowRatio;
+}
@@ -0,0 +1,26 @@
+package com.example.boxwrapper.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * キャッシュ無効化レスポンス
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationResponse {
+
+    @Builder.Default
+    private List<String> cacheNames = new ArrayList<>();
+
+    private String scope;  // 全テナントの場合はnull
+
+    private long invalidatedCount;  // 削除したエントリ数（全削除の場合は削除前のエントリ数の概算）
+}
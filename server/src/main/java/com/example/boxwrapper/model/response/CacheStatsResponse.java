@@ -0,0 +1,88 @@
+package com.example.boxwrapper.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * キャッシュ統計レスポンス
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private String cacheName;
+
+    private boolean weighted;
+
+    private long size;  // L1のエントリ数
+
+    private long estimatedBytes;  // L1のヒープ使用量の概算
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    private double missRate;
+
+    private long evictionCount;  // 容量超過による追い出し（期限切れは含まない）
+
+    private long loadCount;  // Boxから読み込んだ数
+
+    private long collapsedLoadCount;  // 同時の同じ読み込みをまとめた数
+
+    private double averageLoadMillis;
+
+    private long notModifiedCount;  // etagの再検証で変更がなく（304）、有効期間を延長した数
+
+    private long modifiedCount;  // etagの再検証で変更されており、全体を取得し直した数
+
+    private double notModifiedRate;
+
+    @Builder.Default
+    private List<TierStats> tiers = new ArrayList<>();
+
+    @Builder.Default
+    private List<TenantStats> tenants = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TierStats {
+        private String tier;  // L1 or L2
+        private long size;
+        private long hitCount;
+        private long missCount;
+        private double hitRate;
+        private long evictionCount;
+        private long usedBytes;
+        private long capacityBytes;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TenantStats {
+        private String scope;
+        private long guaranteedCapacity;
+        private long size;
+        private long estimatedBytes;
+        private long hitCount;
+        private long missCount;
+        private double hitRate;
+        private double missRate;
+        private long evictionCount;
+        private long loadCount;
+        private double averageLoadMillis;
+    }
+}
@@ -34,4 +34,6 @@ public class FileInfoResponse {
     private String sha1;
 
     private String downloadUrl;
+
+    private String etag;  // Boxのバージョン識別子（変更の有無の確認に使用）
 }
@@ -0,0 +1,36 @@
+package com.example.boxwrapper.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 検索索引の状態レスポンス
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexStatusResponse {
+
+    private boolean enabled;
+
+    /**
+     * 索引が検索に応答できる状態（再構築済みかつ有効期間内）の場合true
+     */
+    private boolean complete;
+
+    private boolean rebuilding;
+
+    private int itemCount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime builtAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime updatedAt;
+}
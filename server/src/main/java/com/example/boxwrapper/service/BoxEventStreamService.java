@@ -0,0 +1,350 @@
+package com.example.boxwrapper.service;
+
+import com.box.sdk.BoxAPIConnection;
+import com.box.sdk.BoxAPIException;
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.client.BoxJsonApiClient;
+import com.example.boxwrapper.config.ApiProperties;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Boxイベントストリーム購読サービス.
+ *
+ * <p>{@code box.events.enabled}がtrueの場合、APIキーに設定された各Boxアカウントの
+ * イベントストリーム（{@code stream_type=changes}）をロングポーリングで購読し、
+ * このサーバーを経由せずに行われた変更を{@link BoxItemInvalidatedEvent}として発行します。
+ * 各キャッシュはこのイベントを受け取り、該当するエントリを無効化します。
+ * 外部の変更がキャッシュの有効期間内に反映されるため、有効期間を長くできます。</p>
+ *
+ * <p>アカウントごとに専用スレッドで次の処理を繰り返します。</p>
+ * <ol>
+ *   <li>{@code OPTIONS /events}でロングポーリング用のURLを取得</li>
+ *   <li>処理済みのストリーム位置以降のイベントを読み込み、キャッシュを無効化</li>
+ *   <li>ロングポーリングで変更の通知（{@code new_change}）を待ち、2.に戻る。
+ *       再接続の要求（{@code reconnect}）やURLの再試行回数の上限で1.に戻る</li>
+ * </ol>
+ *
+ * <p>処理済みのストリーム位置はページごとに{@code box.events.checkpoint-file}へ保存し、
+ * 再起動後はその位置から再開します（停止中の変更も取りこぼしません）。保存された位置がない場合は
+ * 現在位置から開始します。接続やAPI呼び出しに失敗した場合は{@code box.events.reconnect-backoff-millis}
+ * から倍増する間隔で再接続します。</p>
+ *
+ * <p>このサーバー経由の変更もイベントとして通知されるため、その場合は
+ * {@link BoxItemChangedEvent}で更新したエントリも無効化され、次回の参照で再取得されます。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class BoxEventStreamService {
+
+    private static final String CURRENT_POSITION = "now";
+    private static final int DEFAULT_MAX_RETRIES = 10;
+    private static final Duration RATE_LIMIT_WAIT = Duration.ofSeconds(30);
+    private static final Set<String> DELETE_EVENT_TYPES = Set.of("ITEM_TRASH", "ITEM_DELETE");
+
+    private final BoxClientManager clientManager;
+    private final ApiProperties apiProperties;
+    private final BoxJsonApiClient jsonApiClient;
+    private final RateLimiterManager rateLimiterManager;
+    private final FolderListingCache folderListingCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoxProperties.Events properties;
+    private final Path checkpointFile;
+    private final Properties checkpoints = new Properties();
+    private final LongAdder processedEvents = new LongAdder();
+    private volatile boolean running;
+    private ThreadPoolTaskExecutor streamExecutor;
+
+    public BoxEventStreamService(BoxClientManager clientManager,
+                                 ApiProperties apiProperties,
+                                 BoxJsonApiClient jsonApiClient,
+                                 RateLimiterManager rateLimiterManager,
+                                 FolderListingCache folderListingCache,
+                                 ApplicationEventPublisher eventPublisher,
+                                 BoxProperties boxProperties) {
+        this.clientManager = clientManager;
+        this.apiProperties = apiProperties;
+        this.jsonApiClient = jsonApiClient;
+        this.rateLimiterManager = rateLimiterManager;
+        this.folderListingCache = folderListingCache;
+        this.eventPublisher = eventPublisher;
+        this.properties = boxProperties.getEvents();
+        this.checkpointFile = Path.of(properties.getCheckpointFile());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Box events stream is disabled");
+            return;
+        }
+        loadCheckpoints();
+
+        List<Account> accounts = new ArrayList<>();
+        for (ApiProperties.ApiKeyConfig keyConfig : apiProperties.getKeys()) {
+            String apiKey = keyConfig.getKey();
+            List<BoxAPIConnection> connections;
+            try {
+                connections = clientManager.getConnections(apiKey);
+            } catch (RuntimeException e) {
+                log.warn("Skipping events stream for an API key without Box connections: {}", e.getMessage());
+                continue;
+            }
+            String scope = clientManager.getTenantScope(apiKey);
+            for (int i = 0; i < connections.size(); i++) {
+                accounts.add(new Account(apiKey, scope, scope + "#" + i, connections.get(i)));
+            }
+        }
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        running = true;
+        streamExecutor = new ThreadPoolTaskExecutor();
+        streamExecutor.setCorePoolSize(accounts.size());
+        streamExecutor.setMaxPoolSize(accounts.size());
+        streamExecutor.setDaemon(true);
+        streamExecutor.setThreadNamePrefix("events-box-");
+        streamExecutor.initialize();
+        accounts.forEach(account -> streamExecutor.execute(() -> consume(account)));
+        log.info("Box events stream started for {} accounts", accounts.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (streamExecutor != null) {
+            // ロングポーリング中のスレッドは割り込みで終了させる
+            streamExecutor.shutdown();
+        }
+    }
+
+    /**
+     * キャッシュの無効化に使用したイベントの数を返します.
+     *
+     * @return 処理したイベント数
+     */
+    public long getProcessedEventCount() {
+        return processedEvents.sum();
+    }
+
+    /**
+     * 停止されるまでアカウントのイベントを購読
+     */
+    private void consume(Account account) {
+        long backoff = properties.getReconnectBackoffMillis();
+        while (running) {
+            try {
+                if (account.position == null) {
+                    account.position = readCurrentPosition(account);
+                    saveCheckpoint(account);
+                }
+                JsonNode server = fetch(account, () -> jsonApiClient.options(account.api, "events"))
+                    .path("entries").path(0);
+                String url = server.path("url").asText(null);
+                if (url == null) {
+                    throw new BoxApiException("ロングポーリング用のURLを取得できませんでした");
+                }
+                int maxRetries = server.path("max_retries").asInt(DEFAULT_MAX_RETRIES);
+
+                // 接続までに発生した変更を先に反映する
+                drain(account);
+                backoff = properties.getReconnectBackoffMillis();
+
+                for (int i = 0; i < maxRetries && running; i++) {
+                    String message = jsonApiClient.getUrl(account.api, withPosition(url, account.position))
+                        .path("message").asText();
+                    if ("new_change".equals(message)) {
+                        drain(account);
+                    } else if ("reconnect".equals(message)) {
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Box events stream failed for account {}, reconnecting in {} ms: {}",
+                    account.id, backoff, e.getMessage());
+                if (!sleep(backoff)) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, properties.getMaxBackoffMillis());
+            }
+        }
+    }
+
+    /**
+     * 処理済みの位置以降のイベントを全て読み込み、キャッシュを無効化
+     */
+    private void drain(Account account) {
+        while (running) {
+            String position = account.position;
+            JsonNode page = fetch(account, () -> jsonApiClient.get(account.api,
+                "events?stream_type=changes&limit=" + properties.getPageSize() + "&stream_position=" + position));
+            JsonNode events = page.path("entries");
+            String next = page.path("next_stream_position").asText(position);
+
+            apply(account.scope, events);
+            account.position = next;
+            if (!next.equals(position)) {
+                saveCheckpoint(account);
+            }
+            if (events.isEmpty() || next.equals(position)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * イベントをアイテムごとにまとめ、外部変更イベントとして発行
+     */
+    private void apply(String scope, JsonNode events) {
+        // 同じアイテムのイベントは重複して通知されることがあるため、最後のイベントのみ使う
+        Map<String, BoxItemInvalidatedEvent> latest = new LinkedHashMap<>();
+        for (JsonNode event : events) {
+            boolean deleted = DELETE_EVENT_TYPES.contains(event.path("event_type").asText());
+            BoxItemSourceMapper.toInvalidatedEvent(scope, event.path("source"), deleted, folderListingCache)
+                .ifPresent(invalidated -> {
+                    latest.remove(invalidated.getItemId());
+                    latest.put(invalidated.getItemId(), invalidated);
+                });
+        }
+        latest.values().forEach(eventPublisher::publishEvent);
+        processedEvents.add(latest.size());
+        if (!latest.isEmpty()) {
+            log.debug("Invalidated caches for {} externally changed items in tenant {}", latest.size(), scope);
+        }
+    }
+
+    private String readCurrentPosition(Account account) {
+        JsonNode page = fetch(account, () -> jsonApiClient.get(account.api,
+            "events?stream_position=" + CURRENT_POSITION));
+        String position = page.path("next_stream_position").asText(null);
+        if (position == null) {
+            throw new BoxApiException("イベントストリームの現在位置を取得できませんでした");
+        }
+        return position;
+    }
+
+    /**
+     * レート制限内でBox APIを呼び出す
+     */
+    private JsonNode fetch(Account account, Supplier<JsonNode> call) {
+        try {
+            if (!rateLimiterManager.tryConsume(account.apiKey, RATE_LIMIT_WAIT)) {
+                throw new BoxApiException("レート制限に達しました", 429);
+            }
+            JsonNode json = call.get();
+            rateLimiterManager.handleSuccess(account.apiKey);
+            return json;
+
+        } catch (BoxAPIException e) {
+            if (e.getResponseCode() == 429) {
+                rateLimiterManager.handleRateLimitExceeded(account.apiKey);
+            }
+            throw new BoxApiException("イベント取得に失敗しました: " + e.getMessage(),
+                e.getResponseCode(), e);
+        }
+    }
+
+    private void loadCheckpoints() {
+        if (!Files.exists(checkpointFile)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(checkpointFile)) {
+            synchronized (checkpoints) {
+                checkpoints.load(in);
+            }
+            log.info("Loaded Box events stream positions for {} accounts", checkpoints.size());
+        } catch (IOException e) {
+            log.warn("Failed to load Box events stream positions, starting from now: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 処理済みの位置を保存（一時ファイルに書き込んでから置き換える）
+     */
+    private void saveCheckpoint(Account account) {
+        synchronized (checkpoints) {
+            checkpoints.setProperty(account.id, account.position);
+            try {
+                Path directory = checkpointFile.toAbsolutePath().getParent();
+                Files.createDirectories(directory);
+                Path temp = Files.createTempFile(directory, "positions", ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    checkpoints.store(out, "Box events stream positions");
+                }
+                Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // 保存できなくても購読は継続する（再起動時は古い位置から再処理される）
+                log.warn("Failed to save Box events stream position: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static String withPosition(String url, String position) {
+        return url + (url.contains("?") ? "&" : "?") + "stream_position=" + position;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 購読するBoxアカウント
+     */
+    private final class Account {
+
+        private final String apiKey;
+        private final String scope;
+        private final String id;
+        private final BoxAPIConnection api;
+        private volatile String position;
+
+        Account(String apiKey, String scope, String id, BoxAPIConnection api) {
+            this.apiKey = apiKey;
+            this.scope = scope;
+            this.id = id;
+            this.api = api;
+            synchronized (checkpoints) {
+                this.position = checkpoints.getProperty(id);
+            }
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.example.boxwrapper.service;
 
 import com.box.sdk.*;
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.cache.NegativeResultCache;
 import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.client.BoxJsonApiClient;
 import com.example.boxwrapper.exception.BoxApiException;
 import com.example.boxwrapper.exception.ResourceNotFoundException;
 import com.example.boxwrapper.model.response.FileInfoResponse;
 import com.example.boxwrapper.model.response.FileUploadResponse;
 import com.example.boxwrapper.utils.RateLimiterManager;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,6 +29,7 @@ import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Optional;
 
 /**
  * Box ファイル操作サービス.
@@ -38,8 +47,17 @@ import java.time.ZoneId;
 @RequiredArgsConstructor
 public class BoxFileService {
 
+    /**
+     * etagでの再検証で取得するファイル情報のフィールド（変更されている場合の応答を必要な分に絞る）
+     */
+    private static final String FILE_INFO_FIELDS = "id,name,size,parent,created_at,modified_at,sha1,etag";
+
     private final BoxClientManager clientManager;
     private final RateLimiterManager rateLimiterManager;
+    private final FolderListingCache folderListingCache;
+    private final NegativeResultCache negativeResultCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoxJsonApiClient jsonApiClient;
 
     /**
      * ファイルをBoxにアップロードします.
@@ -74,6 +92,15 @@ public class BoxFileService {
                 log.info("File uploaded successfully: {} (ID: {})",
                     fileInfo.getName(), fileInfo.getID());
 
+                eventPublisher.publishEvent(BoxItemChangedEvent.builder()
+                    .scope(clientManager.getTenantScope(apiKey))
+                    .changeType(BoxItemChangedEvent.ChangeType.CREATED)
+                    .itemType(BoxItemChangedEvent.ItemType.FILE)
+                    .itemId(fileInfo.getID())
+                    .parentId(folderId)
+                    .item(FolderItem.from(fileInfo))
+                    .build());
+
                 return mapToUploadResponse(fileInfo);
             }
 
@@ -94,6 +121,8 @@ public class BoxFileService {
      * <p>ファイルID、名前、サイズ、親フォルダID、作成日時、更新日時、SHA1ハッシュなどの
      * 詳細情報を取得します。結果は5分間キャッシュされます。</p>
      *
+     * <p>存在しないファイルは短時間記録され、その間はBoxを呼ばずに404を返します。</p>
+     *
      * @param apiKey 認証用のAPIキー
      * @param fileId 情報を取得するファイルのID
      * @return ファイルのメタデータ情報
@@ -101,8 +130,11 @@ public class BoxFileService {
      * @throws ResourceNotFoundException ファイルが存在しない場合（404）
      */
     @Retry(name = "boxApi")
-    @Cacheable(value = "fileMetadata", key = "#fileId")
+    @Cacheable(value = "fileMetadata", keyGenerator = "tenantKeyGenerator", sync = true)
     public FileInfoResponse getFileInfo(String apiKey, String fileId) {
+        String scope = clientManager.getTenantScope(apiKey);
+        negativeResultCache.throwIfRecorded(scope, BoxItemChangedEvent.ItemType.FILE, fileId);
+
         try {
             if (!rateLimiterManager.tryConsume(apiKey)) {
                 throw new BoxApiException("レート制限に達しました", 429);
@@ -118,6 +150,7 @@ public class BoxFileService {
             return mapToFileInfoResponse(info);
 
         } catch (BoxAPIException e) {
+            negativeResultCache.record(scope, BoxItemChangedEvent.ItemType.FILE, fileId, e.getResponseCode());
             if (e.getResponseCode() == 404) {
                 throw new ResourceNotFoundException("File", fileId);
             }
@@ -131,6 +164,72 @@ public class BoxFileService {
         }
     }
 
+    /**
+     * ファイルのメタデータ情報をBoxから再取得し、キャッシュを更新します.
+     *
+     * <p>キャッシュの有効期限が近いエントリをバックグラウンドで更新するために使用します。
+     * 更新中も古いエントリが応答に使われます。自動リトライは行いません。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param fileId 情報を取得するファイルのID
+     * @return ファイルのメタデータ情報
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     * @throws ResourceNotFoundException ファイルが存在しない場合（404）
+     */
+    @CachePut(value = "fileMetadata", keyGenerator = "tenantKeyGenerator")
+    public FileInfoResponse refreshFileInfo(String apiKey, String fileId) {
+        // 内部呼び出しのため@Cacheableは適用されず、常にBoxから取得する
+        return getFileInfo(apiKey, fileId);
+    }
+
+    /**
+     * キャッシュしたファイル情報が変更されていないかをetagで確認します.
+     *
+     * <p>{@code If-None-Match}にetagを指定してBoxに問い合わせます。変更されていない場合（304）は
+     * 本文が転送されないため、{@link #getFileInfo}で取得し直すより軽量です。自動リトライは行いません。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param fileId 確認するファイルのID
+     * @param etag キャッシュしているファイル情報のetag
+     * @return 変更されていない場合はempty、変更されている場合は新しいファイル情報
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     * @throws ResourceNotFoundException ファイルが存在しない場合（404）
+     */
+    public Optional<FileInfoResponse> revalidateFileInfo(String apiKey, String fileId, String etag) {
+        String scope = clientManager.getTenantScope(apiKey);
+
+        try {
+            if (!rateLimiterManager.tryConsume(apiKey)) {
+                throw new BoxApiException("レート制限に達しました", 429);
+            }
+
+            BoxAPIConnection api = clientManager.getConnection(apiKey);
+            Optional<JsonNode> json = jsonApiClient.getIfNoneMatch(
+                api, "files/" + fileId + "?fields=" + FILE_INFO_FIELDS, etag);
+
+            rateLimiterManager.handleSuccess(apiKey);
+            log.debug("Revalidated file info: {} (modified: {})", fileId, json.isPresent());
+
+            return json.map(node -> mapToFileInfoResponse(new BoxFile(api, fileId).new Info(node.toString())));
+
+        } catch (BoxAPIException e) {
+            negativeResultCache.record(scope, BoxItemChangedEvent.ItemType.FILE, fileId, e.getResponseCode());
+            if (e.getResponseCode() == 404) {
+                throw new ResourceNotFoundException("File", fileId);
+            }
+            if (e.getResponseCode() == 429) {
+                rateLimiterManager.handleRateLimitExceeded(apiKey);
+            }
+            throw new BoxApiException("ファイル情報の再検証に失敗しました: " + e.getMessage(),
+                e.getResponseCode(), e);
+        } catch (BoxApiException e) {
+            // レート制限（429）を呼び出し元が判別できるようそのままスロー
+            throw e;
+        } catch (Exception e) {
+            throw new BoxApiException("ファイル情報の再検証に失敗しました: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * ファイルの内容をダウンロードします.
      *
@@ -145,6 +244,9 @@ public class BoxFileService {
      */
     @Retry(name = "boxApi")
     public byte[] downloadFile(String apiKey, String fileId) {
+        String scope = clientManager.getTenantScope(apiKey);
+        negativeResultCache.throwIfRecorded(scope, BoxItemChangedEvent.ItemType.FILE, fileId);
+
         try {
             if (!rateLimiterManager.tryConsume(apiKey)) {
                 throw new BoxApiException("レート制限に達しました", 429);
@@ -162,6 +264,7 @@ public class BoxFileService {
             return outputStream.toByteArray();
 
         } catch (BoxAPIException e) {
+            negativeResultCache.record(scope, BoxItemChangedEvent.ItemType.FILE, fileId, e.getResponseCode());
             if (e.getResponseCode() == 404) {
                 throw new ResourceNotFoundException("File", fileId);
             }
@@ -181,7 +284,8 @@ public class BoxFileService {
      * <p>指定されたファイルをBoxから完全に削除します。
      * 削除されたファイルはゴミ箱に移動され、一定期間後に完全削除されます。</p>
      *
-     * <p>削除成功時、キャッシュされていたファイルメタデータも自動的にクリアされます。</p>
+     * <p>削除成功時、キャッシュされていたファイルメタデータも自動的にクリアされ、
+     * 親フォルダのキャッシュ済み一覧からも除外されます。</p>
      *
      * @param apiKey 認証用のAPIキー
      * @param fileId 削除するファイルのID
@@ -189,7 +293,7 @@ public class BoxFileService {
      * @throws ResourceNotFoundException ファイルが存在しない場合（404）
      */
     @Retry(name = "boxApi")
-    @CacheEvict(value = "fileMetadata", key = "#fileId")
+    @CacheEvict(value = "fileMetadata", keyGenerator = "tenantKeyGenerator")
     public void deleteFile(String apiKey, String fileId) {
         try {
             if (!rateLimiterManager.tryConsume(apiKey)) {
@@ -203,6 +307,15 @@ public class BoxFileService {
             rateLimiterManager.handleSuccess(apiKey);
             log.info("File deleted successfully: {}", fileId);
 
+            String scope = clientManager.getTenantScope(apiKey);
+            eventPublisher.publishEvent(BoxItemChangedEvent.builder()
+                .scope(scope)
+                .changeType(BoxItemChangedEvent.ChangeType.DELETED)
+                .itemType(BoxItemChangedEvent.ItemType.FILE)
+                .itemId(fileId)
+                .parentId(folderListingCache.findParentId(scope, fileId).orElse(null))
+                .build());
+
         } catch (BoxAPIException e) {
             if (e.getResponseCode() == 404) {
                 throw new ResourceNotFoundException("File", fileId);
@@ -241,6 +354,7 @@ public class BoxFileService {
             .createdAt(toLocalDateTime(info.getCreatedAt()))
             .modifiedAt(toLocalDateTime(info.getModifiedAt()))
             .sha1(info.getSha1())
+            .etag(info.getEtag())
             .build();
     }
 
@@ -1,23 +1,37 @@
 package com.example.boxwrapper.service;
 
 import com.box.sdk.*;
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListedEvent;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.cache.NegativeResultCache;
+import com.example.boxwrapper.cache.TenantCacheKey;
 import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.client.BoxJsonApiClient;
 import com.example.boxwrapper.exception.BoxApiException;
 import com.example.boxwrapper.exception.ResourceNotFoundException;
 import com.example.boxwrapper.model.response.FolderInfoResponse;
 import com.example.boxwrapper.utils.RateLimiterManager;
+import com.example.boxwrapper.utils.SingleFlight;
+import com.example.boxwrapper.utils.SingleFlightStats;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Box フォルダ操作サービス.
@@ -28,6 +42,9 @@ import java.util.List;
  * <p>フォルダ情報はCaffeineキャッシュで5分間保持され、
  * 頻繁なアクセスに対するパフォーマンスを向上させます。</p>
  *
+ * <p>フォルダ一覧は{@link FolderListingCache}に保持され、このサーバー経由の
+ * 作成・削除は{@link BoxItemChangedEvent}を通じて即座に反映されます。</p>
+ *
  * @since 1.0.0
  */
 @Slf4j
@@ -35,8 +52,21 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BoxFolderService {
 
+    private static final int DEFAULT_PAGE_LIMIT = 100;
+
+    /**
+     * フォルダ情報取得時にBoxへ要求するフィールド
+     */
+    private static final String FOLDER_INFO_FIELDS = "id,name,parent,created_at,modified_at,etag";
+
     private final BoxClientManager clientManager;
     private final RateLimiterManager rateLimiterManager;
+    private final FolderListingCache folderListingCache;
+    private final NegativeResultCache negativeResultCache;
+    private final BoxJsonApiClient jsonApiClient;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final SingleFlight<TenantCacheKey, List<FolderItem>> listingLoads = new SingleFlight<>();
 
     /**
      * 新しいフォルダを作成します.
@@ -65,6 +95,15 @@ public class BoxFolderService {
             rateLimiterManager.handleSuccess(apiKey);
             log.info("Folder created successfully: {} (ID: {})", folderName, folderInfo.getID());
 
+            eventPublisher.publishEvent(BoxItemChangedEvent.builder()
+                .scope(clientManager.getTenantScope(apiKey))
+                .changeType(BoxItemChangedEvent.ChangeType.CREATED)
+                .itemType(BoxItemChangedEvent.ItemType.FOLDER)
+                .itemId(folderInfo.getID())
+                .parentId(parentFolderId)
+                .item(FolderItem.from(folderInfo))
+                .build());
+
             return mapToFolderInfoResponse(folderInfo);
 
         } catch (BoxAPIException e) {
@@ -87,6 +126,12 @@ public class BoxFolderService {
      * <p>フォルダID、名前、親フォルダID、アイテム数、作成日時、更新日時などの
      * 詳細情報を取得します。結果は5分間キャッシュされます。</p>
      *
+     * <p>アイテム数はキャッシュ済みのフォルダ一覧があればその総数を使用し、
+     * なければ{@code item_collection}を{@code limit=0}で要求して総数のみを取得します。
+     * いずれの場合もBoxへの呼び出しは1回です。</p>
+     *
+     * <p>存在しないフォルダは短時間記録され、その間はBoxを呼ばずに404を返します。</p>
+     *
      * @param apiKey 認証用のAPIキー
      * @param folderId 情報を取得するフォルダのID
      * @return フォルダのメタデータ情報
@@ -94,23 +139,28 @@ public class BoxFolderService {
      * @throws ResourceNotFoundException フォルダが存在しない場合（404）
      */
     @Retry(name = "boxApi")
-    @Cacheable(value = "folderInfo", key = "#folderId")
+    @Cacheable(value = "folderInfo", keyGenerator = "tenantKeyGenerator", sync = true)
     public FolderInfoResponse getFolderInfo(String apiKey, String folderId) {
+        String scope = clientManager.getTenantScope(apiKey);
+        negativeResultCache.throwIfRecorded(scope, BoxItemChangedEvent.ItemType.FOLDER, folderId);
+
         try {
             if (!rateLimiterManager.tryConsume(apiKey)) {
                 throw new BoxApiException("レート制限に達しました", 429);
             }
 
+            Long cachedCount = folderListingCache.getTotalCount(scope, folderId).orElse(null);
+
             BoxAPIConnection api = clientManager.getConnection(apiKey);
-            BoxFolder folder = new BoxFolder(api, folderId);
-            BoxFolder.Info info = folder.getInfo();
+            JsonNode json = jsonApiClient.get(api, folderInfoPath(folderId, cachedCount));
 
             rateLimiterManager.handleSuccess(apiKey);
             log.debug("Retrieved folder info: {}", folderId);
 
-            return mapToFolderInfoResponse(info);
+            return mapToFolderInfoResponse(json, cachedCount);
 
         } catch (BoxAPIException e) {
+            negativeResultCache.record(scope, BoxItemChangedEvent.ItemType.FOLDER, folderId, e.getResponseCode());
             if (e.getResponseCode() == 404) {
                 throw new ResourceNotFoundException("Folder", folderId);
             }
@@ -124,6 +174,83 @@ public class BoxFolderService {
         }
     }
 
+    /**
+     * フォルダのメタデータ情報をBoxから再取得し、キャッシュを更新します.
+     *
+     * <p>キャッシュの有効期限が近いエントリをバックグラウンドで更新するために使用します。
+     * 更新中も古いエントリが応答に使われます。自動リトライは行いません。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param folderId 情報を取得するフォルダのID
+     * @return フォルダのメタデータ情報
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     * @throws ResourceNotFoundException フォルダが存在しない場合（404）
+     */
+    @CachePut(value = "folderInfo", keyGenerator = "tenantKeyGenerator")
+    public FolderInfoResponse refreshFolderInfo(String apiKey, String folderId) {
+        // 内部呼び出しのため@Cacheableは適用されず、常にBoxから取得する
+        return getFolderInfo(apiKey, folderId);
+    }
+
+    /**
+     * キャッシュしたフォルダ情報が変更されていないかをetagで確認します.
+     *
+     * <p>{@code If-None-Match}にetagを指定してBoxに問い合わせます。変更されていない場合（304）は
+     * 本文が転送されないため、{@link #getFolderInfo}で取得し直すより軽量です。
+     * フォルダのetagは配下のアイテムの追加・削除では変わらないため、アイテム数はキャッシュ済みの
+     * フォルダ一覧の件数で更新します。一覧の件数がない場合は304ではアイテム数を確認できないため、
+     * 有効期間を延長せずにフォルダ情報全体を取得し直します。自動リトライは行いません。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param folderId 確認するフォルダのID
+     * @param cached キャッシュしているフォルダ情報
+     * @return 変更されていない場合はempty、変更されている場合は新しいフォルダ情報
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     * @throws ResourceNotFoundException フォルダが存在しない場合（404）
+     */
+    public Optional<FolderInfoResponse> revalidateFolderInfo(String apiKey, String folderId,
+                                                             FolderInfoResponse cached) {
+        String scope = clientManager.getTenantScope(apiKey);
+        Long cachedCount = folderListingCache.getTotalCount(scope, folderId).orElse(null);
+        if (cachedCount == null) {
+            return Optional.of(refreshFolderInfo(apiKey, folderId));
+        }
+
+        try {
+            if (!rateLimiterManager.tryConsume(apiKey)) {
+                throw new BoxApiException("レート制限に達しました", 429);
+            }
+
+            BoxAPIConnection api = clientManager.getConnection(apiKey);
+            Optional<JsonNode> json = jsonApiClient.getIfNoneMatch(api, folderInfoPath(folderId, cachedCount),
+                cached.getEtag());
+
+            rateLimiterManager.handleSuccess(apiKey);
+            log.debug("Revalidated folder info: {} (modified: {})", folderId, json.isPresent());
+
+            if (json.isEmpty()) {
+                return withItemCount(cached, cachedCount.intValue());
+            }
+            return json.map(node -> mapToFolderInfoResponse(node, cachedCount));
+
+        } catch (BoxAPIException e) {
+            negativeResultCache.record(scope, BoxItemChangedEvent.ItemType.FOLDER, folderId, e.getResponseCode());
+            if (e.getResponseCode() == 404) {
+                throw new ResourceNotFoundException("Folder", folderId);
+            }
+            if (e.getResponseCode() == 429) {
+                rateLimiterManager.handleRateLimitExceeded(apiKey);
+            }
+            throw new BoxApiException("フォルダ情報の再検証に失敗しました: " + e.getMessage(),
+                e.getResponseCode(), e);
+        } catch (BoxApiException e) {
+            // レート制限（429）を呼び出し元が判別できるようそのままスロー
+            throw e;
+        } catch (Exception e) {
+            throw new BoxApiException("フォルダ情報の再検証に失敗しました: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * フォルダ内のアイテム一覧を取得します.
      *
@@ -138,25 +265,120 @@ public class BoxFolderService {
      */
     @Retry(name = "boxApi")
     public List<String> listFolderItems(String apiKey, String folderId) {
+        return listFolderItems(apiKey, folderId, null, null);
+    }
+
+    /**
+     * フォルダ内のアイテム一覧をページ指定で取得します.
+     *
+     * <p>offsetとlimitが共にnullの場合は全件を返します。
+     * 結果はテナント・フォルダ・ページ条件ごとにキャッシュされ、
+     * このサーバー経由の作成・削除は即座にキャッシュへ反映されます。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param folderId 一覧を取得するフォルダのID
+     * @param offset 取得開始位置（nullの場合は0）
+     * @param limit 取得件数の上限（nullの場合は全件）
+     * @return フォルダ内アイテムの名前リスト
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     * @throws ResourceNotFoundException フォルダが存在しない場合（404）
+     */
+    @Retry(name = "boxApi")
+    public List<String> listFolderItems(String apiKey, String folderId, Integer offset, Integer limit) {
+        return toNames(loadFolderItems(apiKey, folderId, offset, limit));
+    }
+
+    /**
+     * フォルダ内の全アイテムの詳細情報を取得します.
+     *
+     * <p>{@link #listFolderItems}と同じキャッシュを使用し、アイテムID、種類、サイズ、
+     * etag、SHA1を含む情報を返します。フォルダ配下のクロールなどに使用します。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param folderId 一覧を取得するフォルダのID
+     * @return フォルダ内アイテムの詳細リスト
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     * @throws ResourceNotFoundException フォルダが存在しない場合（404）
+     */
+    @Retry(name = "boxApi")
+    public List<FolderItem> listFolderItemDetails(String apiKey, String folderId) {
+        return loadFolderItems(apiKey, folderId, null, null);
+    }
+
+    /**
+     * キャッシュまたはBoxからフォルダ内アイテムを取得
+     */
+    private List<FolderItem> loadFolderItems(String apiKey, String folderId, Integer offset, Integer limit) {
+        String scope = clientManager.getTenantScope(apiKey);
+
+        List<FolderItem> cached = folderListingCache.get(scope, folderId, offset, limit).orElse(null);
+        if (cached != null) {
+            log.debug("Folder listing cache hit: {}", folderId);
+            return cached;
+        }
+        negativeResultCache.throwIfRecorded(scope, BoxItemChangedEvent.ItemType.FOLDER, folderId);
+
+        // 同じフォルダ・ページの取得が実行中であれば、Boxを呼ばずにその結果を共有する
+        TenantCacheKey loadKey = TenantCacheKey.of(scope, folderId + "@" + offset + "," + limit);
+        return listingLoads.execute(loadKey, () -> fetchFolderItems(apiKey, scope, folderId, offset, limit));
+    }
+
+    /**
+     * フォルダ一覧取得の統計を返します.
+     *
+     * @return Boxから取得した数、同時の取得をまとめた数、待機が上限を超えた数
+     */
+    public SingleFlightStats getListingLoadStats() {
+        return listingLoads.getStats();
+    }
+
+    /**
+     * Boxからフォルダ内アイテムを取得してキャッシュ
+     */
+    private List<FolderItem> fetchFolderItems(String apiKey, String scope, String folderId,
+                                              Integer offset, Integer limit) {
+        // 先行する同じ取得が直前に完了していればその結果を使う
+        List<FolderItem> cached = folderListingCache.get(scope, folderId, offset, limit).orElse(null);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
             if (!rateLimiterManager.tryConsume(apiKey)) {
                 throw new BoxApiException("レート制限に達しました", 429);
             }
 
+            long generation = folderListingCache.currentGeneration(scope, folderId);
             BoxAPIConnection api = clientManager.getConnection(apiKey);
             BoxFolder folder = new BoxFolder(api, folderId);
 
-            List<String> items = new ArrayList<>();
-            for (BoxItem.Info itemInfo : folder) {
-                items.add(itemInfo.getName());
+            List<FolderItem> items = new ArrayList<>();
+            Long fullSize = null;
+            if (offset == null && limit == null) {
+                for (BoxItem.Info itemInfo : folder.getChildren(FolderItem.FIELDS)) {
+                    items.add(FolderItem.from(itemInfo));
+                }
+            } else {
+                PartialCollection<BoxItem.Info> page = folder.getChildrenRange(
+                    offset != null ? offset : 0,
+                    limit != null ? limit : DEFAULT_PAGE_LIMIT,
+                    FolderItem.FIELDS
+                );
+                for (BoxItem.Info itemInfo : page) {
+                    items.add(FolderItem.from(itemInfo));
+                }
+                fullSize = page.fullSize();
             }
 
             rateLimiterManager.handleSuccess(apiKey);
             log.debug("Retrieved {} items from folder: {}", items.size(), folderId);
 
+            folderListingCache.put(scope, folderId, offset, limit, items, fullSize, generation);
+            eventPublisher.publishEvent(new FolderListedEvent(scope, folderId, items, fullSize == null));
             return items;
 
         } catch (BoxAPIException e) {
+            negativeResultCache.record(scope, BoxItemChangedEvent.ItemType.FOLDER, folderId, e.getResponseCode());
             if (e.getResponseCode() == 404) {
                 throw new ResourceNotFoundException("Folder", folderId);
             }
@@ -165,6 +387,9 @@ public class BoxFolderService {
             }
             throw new BoxApiException("フォルダアイテム取得に失敗しました: " + e.getMessage(),
                 e.getResponseCode(), e);
+        } catch (BoxApiException e) {
+            // レート制限（429）を呼び出し元が判別できるようそのままスロー
+            throw e;
         } catch (Exception e) {
             throw new BoxApiException("フォルダアイテム取得に失敗しました: " + e.getMessage(), e);
         }
@@ -185,7 +410,7 @@ public class BoxFolderService {
      * @throws ResourceNotFoundException フォルダが存在しない場合（404）
      */
     @Retry(name = "boxApi")
-    @CacheEvict(value = "folderInfo", key = "#folderId")
+    @CacheEvict(value = "folderInfo", keyGenerator = "tenantKeyGenerator")
     public void deleteFolder(String apiKey, String folderId, boolean recursive) {
         try {
             if (!rateLimiterManager.tryConsume(apiKey)) {
@@ -199,6 +424,13 @@ public class BoxFolderService {
             rateLimiterManager.handleSuccess(apiKey);
             log.info("Folder deleted successfully: {}", folderId);
 
+            eventPublisher.publishEvent(BoxItemChangedEvent.builder()
+                .scope(clientManager.getTenantScope(apiKey))
+                .changeType(BoxItemChangedEvent.ChangeType.DELETED)
+                .itemType(BoxItemChangedEvent.ItemType.FOLDER)
+                .itemId(folderId)
+                .build());
+
         } catch (BoxAPIException e) {
             if (e.getResponseCode() == 404) {
                 throw new ResourceNotFoundException("Folder", folderId);
@@ -213,6 +445,26 @@ public class BoxFolderService {
         }
     }
 
+    /**
+     * アイテムの名前リストに変換
+     */
+    private List<String> toNames(List<FolderItem> items) {
+        List<String> names = new ArrayList<>(items.size());
+        for (FolderItem item : items) {
+            names.add(item.getName());
+        }
+        return names;
+    }
+
+    /**
+     * フォルダ情報取得のパス（アイテム数が分からない場合は総数のみを要求）
+     */
+    private static String folderInfoPath(String folderId, Long cachedCount) {
+        return cachedCount != null
+            ? "folders/" + folderId + "?fields=" + FOLDER_INFO_FIELDS
+            : "folders/" + folderId + "?fields=" + FOLDER_INFO_FIELDS + ",item_collection&limit=0";
+    }
+
     /**
      * BoxFolder.InfoをFolderInfoResponseにマッピング
      */
@@ -221,9 +473,49 @@ public class BoxFolderService {
             .folderId(info.getID())
             .folderName(info.getName())
             .parentFolderId(info.getParent() != null ? info.getParent().getID() : null)
-            .itemCount(0) // Box SDK API変更により一時的に0を設定
+            .itemCount(0) // 作成直後のフォルダは空
             .createdAt(toLocalDateTime(info.getCreatedAt()))
             .modifiedAt(toLocalDateTime(info.getModifiedAt()))
+            .etag(info.getEtag())
+            .build();
+    }
+
+    /**
+     * 変更のないフォルダ情報のアイテム数を一覧の件数に合わせる（同じ場合はempty）
+     */
+    private static Optional<FolderInfoResponse> withItemCount(FolderInfoResponse cached, int itemCount) {
+        if (cached.getItemCount() != null && cached.getItemCount() == itemCount) {
+            return Optional.empty();
+        }
+        return Optional.of(FolderInfoResponse.builder()
+            .folderId(cached.getFolderId())
+            .folderName(cached.getFolderName())
+            .parentFolderId(cached.getParentFolderId())
+            .itemCount(itemCount)
+            .createdAt(cached.getCreatedAt())
+            .modifiedAt(cached.getModifiedAt())
+            .etag(cached.getEtag())
+            .build());
+    }
+
+    /**
+     * フォルダ情報のJSONをFolderInfoResponseにマッピング
+     */
+    private FolderInfoResponse mapToFolderInfoResponse(JsonNode json, Long cachedCount) {
+        JsonNode parent = json.path("parent");
+        Long itemCount = cachedCount;
+        if (itemCount == null && json.path("item_collection").has("total_count")) {
+            itemCount = json.path("item_collection").path("total_count").asLong();
+        }
+
+        return FolderInfoResponse.builder()
+            .folderId(json.path("id").asText())
+            .folderName(json.path("name").asText(null))
+            .parentFolderId(parent.isObject() ? parent.path("id").asText() : null)
+            .itemCount(itemCount != null ? itemCount.intValue() : null)
+            .createdAt(toLocalDateTime(json.path("created_at").asText(null)))
+            .modifiedAt(toLocalDateTime(json.path("modified_at").asText(null)))
+            .etag(json.path("etag").asText(null))
             .build();
     }
 
@@ -236,4 +528,14 @@ public class BoxFolderService {
             .atZone(ZoneId.systemDefault())
             .toLocalDateTime();
     }
+
+    /**
+     * ISO-8601形式の日時文字列をLocalDateTimeに変換
+     */
+    private LocalDateTime toLocalDateTime(String dateTime) {
+        if (dateTime == null) return null;
+        return OffsetDateTime.parse(dateTime)
+            .atZoneSameInstant(ZoneId.systemDefault())
+            .toLocalDateTime();
+    }
 }
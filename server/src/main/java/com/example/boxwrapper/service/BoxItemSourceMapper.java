@@ -0,0 +1,60 @@
+package com.example.boxwrapper.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Boxのイベント・Webhookの{@code source}から外部変更イベントへの変換.
+ *
+ * <p>イベントストリーム（{@link BoxEventStreamService}）とWebhook（{@link BoxWebhookService}）で
+ * 共通に使用します。変更前の親フォルダは一覧キャッシュの逆引きから求めます。</p>
+ *
+ * @since 1.1.0
+ */
+final class BoxItemSourceMapper {
+
+    private static final Set<String> ITEM_TYPES = Set.of("file", "folder", "web_link");
+
+    private BoxItemSourceMapper() {
+    }
+
+    /**
+     * アイテムの{@code source}を外部変更イベントに変換します（アイテム以外の場合は空）
+     */
+    static Optional<BoxItemInvalidatedEvent> toInvalidatedEvent(String scope, JsonNode source, boolean deleted,
+                                                                FolderListingCache folderListingCache) {
+        String type = source.path("type").asText();
+        if (!ITEM_TYPES.contains(type) || !source.hasNonNull("id")) {
+            return Optional.empty();
+        }
+
+        String itemId = source.path("id").asText();
+        String parentId = source.path("parent").path("id").asText(null);
+        boolean removed = deleted || !"active".equals(source.path("item_status").asText("active"));
+        String knownParentId = folderListingCache.findParentId(scope, itemId).orElse(null);
+
+        return Optional.of(BoxItemInvalidatedEvent.builder()
+            .scope(scope)
+            .itemType("folder".equals(type) ? BoxItemChangedEvent.ItemType.FOLDER : BoxItemChangedEvent.ItemType.FILE)
+            .itemId(itemId)
+            .parentId(parentId)
+            .previousParentId(Objects.equals(knownParentId, parentId) ? null : knownParentId)
+            .deleted(removed)
+            .item(removed ? null : FolderItem.builder()
+                .id(itemId)
+                .type(type)
+                .name(source.path("name").asText(null))
+                .size(source.hasNonNull("size") ? source.path("size").asLong() : null)
+                .etag(source.path("etag").asText(null))
+                .sha1(source.path("sha1").asText(null))
+                .build())
+            .build());
+    }
+}
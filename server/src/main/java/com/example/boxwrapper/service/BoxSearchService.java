@@ -1,18 +1,49 @@
 package com.example.boxwrapper.service;
 
 import com.box.sdk.*;
+import com.example.boxwrapper.cache.MetadataCacheUpdater;
+import com.example.boxwrapper.cache.SearchCacheKey;
+import com.example.boxwrapper.cache.SearchResultCache;
+import com.example.boxwrapper.cache.SearchResultPage;
 import com.example.boxwrapper.client.BoxClientManager;
 import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ValidationException;
+import com.example.boxwrapper.index.IndexedItem;
+import com.example.boxwrapper.index.IndexedPage;
 import com.example.boxwrapper.model.request.SearchRequest;
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import com.example.boxwrapper.model.response.SearchResultItem;
 import com.example.boxwrapper.utils.RateLimiterManager;
+import com.example.boxwrapper.utils.RequestDebouncer;
+import com.example.boxwrapper.utils.SingleFlight;
+import com.example.boxwrapper.utils.SingleFlightStats;
 import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Box 検索サービス.
@@ -20,8 +51,26 @@ import java.util.List;
  * <p>Box SDKを使用した検索機能を提供します。
  * キーワード検索、ファイルタイプフィルタ、ページネーションに対応しています。</p>
  *
- * <p>検索結果はCaffeineキャッシュで5分間保持され、
- * 同じクエリに対する繰り返しアクセスのパフォーマンスを向上させます。</p>
+ * <p>検索結果はテナントと全検索条件を正規化したキー（{@link SearchCacheKey}）で
+ * ページ単位にキャッシュされます。ページNを返す際、続きの結果がある場合は
+ * ページN+1をバックグラウンドで先読みし、次のページ送りをキャッシュから応答します。
+ * 先読みはレート制限のトークンに空きがある場合のみ行います。</p>
+ *
+ * <p>キャッシュにない同じ条件の検索が同時に届いた場合、Boxへの問い合わせは1回にまとめられ、
+ * 後続のリクエストは先行するリクエストの結果を共有します。</p>
+ *
+ * <p>複数のBoxアカウントが設定されたAPIキーでは、{@code box.search.fan-out}がtrueの場合、
+ * 全アカウントを並列に検索して結果をまとめます（{@link FanOutSearchService}）。
+ * 無効な場合はラウンドロビンで選ばれた1アカウントのみを検索します。</p>
+ *
+ * <p>ローカル検索索引（{@link SearchIndexService}）が有効で、テナントの全アイテムを
+ * 網羅している場合は、Boxを呼ばずに索引から名前検索の結果を返します。</p>
+ *
+ * <p>全件エクスポート用のストリーム検索では、サーバー側でページを順に取得しながら
+ * 次のページを先読みし、結果を1件ずつ呼び出し元に渡します。保持するのは高々2ページ分のため、
+ * マッチ件数に関係なくメモリ使用量は一定です。Box検索APIで取得できる上限
+ * （{@link SearchCacheKey#MAX_RESULT_WINDOW}件）に達した場合はそこで打ち切ります。
+ * 先読みは検索結果ページの先読みとは別の専用スレッドで行います。</p>
  *
  * @since 1.0.0
  */
@@ -32,12 +81,45 @@ public class BoxSearchService {
 
     private final BoxClientManager clientManager;
     private final RateLimiterManager rateLimiterManager;
+    private final SearchResultCache searchResultCache;
+    private final SearchIndexService searchIndexService;
+    private final MetadataCacheUpdater metadataCacheUpdater;
+    private final RequestDebouncer requestDebouncer;
+    private final FanOutSearchService fanOutSearchService;
+
+    private final SingleFlight<SearchCacheKey, SearchResultPage> inFlight = new SingleFlight<>();
+
+    /**
+     * ストリーム検索で1回に取得する件数（Box検索APIの上限）
+     */
+    private static final int STREAM_PAGE_SIZE = 200;
+    private static final Duration STREAM_TOKEN_WAIT = Duration.ofSeconds(30);
+    private static final int MAX_STREAM_RETRIES = 3;
+    private static final long STREAM_RETRY_BACKOFF_MILLIS = 1000;
+    /**
+     * 検索時にBoxへ要求するフィールド（created_atとetagはファイル情報キャッシュへの登録用）
+     */
+    private static final List<String> RESULT_FIELDS =
+        List.of("type", "id", "name", "size", "parent", "sha1", "modified_at", "created_at", "etag");
+
+    private final ThreadPoolTaskExecutor prefetchExecutor = createPrefetchExecutor();
+    private final ThreadPoolTaskExecutor streamExecutor = createStreamExecutor();
+    private final ThreadPoolTaskExecutor typeaheadExecutor = createTypeaheadExecutor();
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdown();
+        streamExecutor.shutdown();
+        typeaheadExecutor.shutdown();
+    }
 
     /**
      * ファイルおよびフォルダを検索します.
      *
      * <p>指定されたキーワードでBoxのコンテンツを検索し、
-     * マッチしたアイテムの名前をリストで返します。</p>
+     * マッチしたアイテムのID、種類、名前、サイズ、親フォルダID、SHA1、更新日時をリストで返します。
+     * Boxにはこれらの項目のみを要求します。結果に含まれるファイルの情報は
+     * ファイル情報キャッシュにも登録され、後続のファイル情報取得はBoxを呼ばずに応答されます。</p>
      *
      * <p>検索オプション：
      * <ul>
@@ -47,60 +129,124 @@ public class BoxSearchService {
      * </ul>
      * </p>
      *
-     * <p>検索結果はクエリとタイプの組み合わせでキャッシュされます。</p>
+     * <p>検索結果はテナントと全検索条件の組み合わせでキャッシュされます。</p>
      *
      * @param apiKey 認証用のAPIキー
      * @param request 検索条件（クエリ、タイプ、ページネーション等）
-     * @return 検索結果のアイテム名リスト
+     * @return 検索結果のアイテムリスト
      * @throws BoxApiException Box API呼び出しに失敗した場合
      */
     @Retry(name = "boxApi")
-    @Cacheable(value = "searchResults", key = "#request.query + '_' + #request.type")
-    public List<String> search(String apiKey, SearchRequest request) {
-        try {
-            if (!rateLimiterManager.tryConsume(apiKey)) {
-                throw new BoxApiException("レート制限に達しました", 429);
-            }
+    public List<SearchResultItem> search(String apiKey, SearchRequest request) {
+        return searchPage(apiKey, request).getResults();
+    }
 
-            BoxAPIConnection api = clientManager.getConnection(apiKey);
+    /**
+     * ファイルおよびフォルダを検索し、結果をページとして返します.
+     *
+     * <p>{@link #search(String, SearchRequest)}と同じ検索を行い、全件数と、
+     * 複数アカウントの横断検索で一部のアカウントの結果が含まれていないかどうかも返します。
+     * 一部のアカウントの結果が欠けたページはキャッシュされません。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param request 検索条件（クエリ、タイプ、ページネーション等）
+     * @return 検索結果のページ
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     */
+    @Retry(name = "boxApi")
+    public SearchResultPage searchPage(String apiKey, SearchRequest request) {
+        SearchCacheKey key = SearchCacheKey.of(clientManager.getTenantScope(apiKey), request);
 
-            BoxSearch boxSearch = new BoxSearch(api);
-            BoxSearchParameters searchParams = new BoxSearchParameters();
-            searchParams.setQuery(request.getQuery());
+        Optional<IndexedPage> indexed = searchIndexService.search(key);
+        if (indexed.isPresent()) {
+            log.debug("Search served from local index: query '{}' offset {}", key.getQuery(), key.getOffset());
+            List<SearchResultItem> results = indexed.get().getItems().stream()
+                .map(BoxSearchService::toResultItem)
+                .toList();
+            return new SearchResultPage(results, indexed.get().getTotalCount());
+        }
 
-            // Type filter
-            if (request.getType() != null && !request.getType().isEmpty()) {
-                if ("file".equalsIgnoreCase(request.getType())) {
-                    searchParams.setType("file");
-                } else if ("folder".equalsIgnoreCase(request.getType())) {
-                    searchParams.setType("folder");
-                }
-            }
+        Optional<SearchResultPage> cached = searchResultCache.get(key);
+        if (cached.isPresent()) {
+            log.debug("Search cache hit: query '{}' offset {}", key.getQuery(), key.getOffset());
+            prefetchNextPage(apiKey, key, cached.get());
+            return cached.get();
+        }
 
-            // File extension filter
-            if (request.getFileExtension() != null && !request.getFileExtension().isEmpty()) {
-                List<String> extensions = List.of(request.getFileExtension());
-                searchParams.setFileExtensions(extensions);
-            }
+        // 同じ条件の検索が実行中であれば、Boxを呼ばずにその結果を共有する
+        SearchResultPage page = inFlight.execute(key, () -> loadPage(apiKey, key));
+        prefetchNextPage(apiKey, key, page);
+        return page;
+    }
 
-            // Pagination
-            // Box SDK API変更により、offset/limitはsearchRangeメソッドで直接指定
+    /**
+     * 検索の統計を返します.
+     *
+     * @return Boxで検索した数、同時の同じ検索をまとめた数、待機が上限を超えた数
+     */
+    public SingleFlightStats getLoadStats() {
+        return inFlight.getStats();
+    }
 
-            PartialCollection<BoxItem.Info> searchResults = boxSearch.searchRange(
-                request.getOffset() != null ? request.getOffset() : 0,
-                request.getLimit() != null ? request.getLimit() : 100,
-                searchParams
-            );
+    /**
+     * 入力途中の文字列から候補のアイテム名を取得します.
+     *
+     * <p>ローカル検索索引で応答できる場合は、名前のトークンが入力文字列で始まるアイテムを返します。
+     * 応答できない場合は入力文字列をクエリとしてBoxを検索します。</p>
+     *
+     * <p>{@code box.search.debounce-millis}が設定されている場合、Boxを検索する前に
+     * テナントとセッションごとに待機し、その間に同じセッションから次の入力が届いた
+     * リクエストはBoxを呼ばずに破棄します。待機は呼び出し元のスレッドをブロックせずに行い、
+     * 待機後の検索は専用のスレッドで実行します。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param sessionId 入力元のセッションID（nullの場合はデバウンスしない）
+     * @param prefix 入力途中の文字列
+     * @param limit 最大件数
+     * @return 候補のアイテム名リストで完了するFuture。新しい入力に置き換えられた場合は空
+     * @throws BoxApiException Box API呼び出しに失敗した場合（デバウンスした場合はFutureが例外で完了）
+     */
+    public CompletableFuture<Optional<List<String>>> typeahead(String apiKey, String sessionId, String prefix, int limit) {
+        Optional<List<IndexedItem>> indexed = searchIndexService.typeahead(apiKey, prefix, limit);
+        if (indexed.isPresent()) {
+            return CompletableFuture.completedFuture(
+                Optional.of(indexed.get().stream().map(IndexedItem::getName).toList()));
+        }
 
-            List<String> results = new ArrayList<>();
-            for (BoxItem.Info itemInfo : searchResults) {
-                results.add(itemInfo.getName());
-            }
+        if (sessionId == null || !requestDebouncer.isEnabled()) {
+            return CompletableFuture.completedFuture(Optional.of(searchNames(apiKey, prefix, limit)));
+        }
+        return requestDebouncer.debounce(clientManager.getTenantScope(apiKey) + ":" + sessionId)
+            .thenApplyAsync(superseded -> superseded
+                ? Optional.<List<String>>empty()
+                : Optional.of(searchNames(apiKey, prefix, limit)), typeaheadExecutor);
+    }
 
-            rateLimiterManager.handleSuccess(apiKey);
-            log.info("Search completed: {} results for query '{}'", results.size(), request.getQuery());
+    private List<String> searchNames(String apiKey, String prefix, int limit) {
+        return search(apiKey, SearchRequest.builder().query(prefix).limit(limit).build()).stream()
+            .map(SearchResultItem::getName)
+            .toList();
+    }
 
-            return results;
+    /**
+     * キャッシュまたはBoxから検索結果の1ページを取得してキャッシュ
+     */
+    private SearchResultPage loadPage(String apiKey, SearchCacheKey key) {
+        // 先行する同じ検索が直前に完了していればその結果を使う
+        Optional<SearchResultPage> cached = searchResultCache.get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        try {
+            SearchResultPage page = fetchPage(apiKey, key);
+            if (!page.isPartial()) {
+                searchResultCache.put(key, page);
+            }
+
+            log.info("Search completed: {} results for query '{}'{}", page.getResults().size(), key.getQuery(),
+                page.isPartial() ? " (partial)" : "");
+            return page;
 
         } catch (BoxAPIException e) {
             if (e.getResponseCode() == 429) {
@@ -108,8 +254,392 @@ public class BoxSearchService {
             }
             throw new BoxApiException("検索に失敗しました: " + e.getMessage(),
                 e.getResponseCode(), e);
+        } catch (BoxApiException | ValidationException e) {
+            // レート制限（429）や横断検索の範囲外（400）を呼び出し元が判別できるようそのままスロー
+            throw e;
         } catch (Exception e) {
             throw new BoxApiException("検索に失敗しました: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * 検索にマッチした全アイテムをストリームで取得します.
+     *
+     * <p>最初のページはこのメソッド内で取得するため、認証エラーやレート制限などは
+     * 結果の書き出しを始める前に例外として通知されます。2ページ目以降はストリームの読み進めに
+     * 合わせて取得され、現在のページを返している間に次のページを先読みします。</p>
+     *
+     * <p>各ページの取得はレート制限のトークンが補充されるまで待機してから行い、
+     * Boxから429が返った場合はバックオフして再試行します。ページ境界で結果がずれた場合に
+     * 同じアイテムを二重に返さないよう、直前のページに含まれたアイテムは除外します。</p>
+     *
+     * <p>Box検索APIはoffsetが{@link SearchCacheKey#MAX_RESULT_WINDOW}件を超える範囲を返さないため、
+     * それ以上のマッチがある場合は上限までの結果で打ち切り、{@link SearchResultStream#isTruncated()}で
+     * 通知します。</p>
+     *
+     * <p>返されたストリームは使用後に必ずクローズしてください。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param request 検索条件（offset/limitは無視され、全件が対象になります）
+     * @return 検索結果アイテムのストリーム
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     */
+    public SearchResultStream streamSearch(String apiKey, SearchRequest request) {
+        SearchCacheKey key = SearchCacheKey.of(clientManager.getTenantScope(apiKey), SearchRequest.builder()
+            .query(request.getQuery())
+            .type(request.getType())
+            .fileExtension(request.getFileExtension())
+            .offset(0)
+            .limit(STREAM_PAGE_SIZE)
+            .build());
+
+        ResultStream pager = new ResultStream(apiKey, key);
+        Stream<SearchResultItem> items = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(pager, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(pager::close);
+        return new SearchResultStream(items, pager::isTruncated);
+    }
+
+    /**
+     * Boxから検索結果の1ページを取得（横断検索が有効な場合は全アカウントを検索）
+     */
+    private SearchResultPage fetchPage(String apiKey, SearchCacheKey key) {
+        if (fanOutSearchService.appliesTo(apiKey)) {
+            return fanOutSearchService.search(apiKey, key, this::fetchAccountPage);
+        }
+
+        if (!rateLimiterManager.tryConsume(apiKey)) {
+            throw new BoxApiException("レート制限に達しました", 429);
+        }
+        SearchResultPage page = fetchAccountPage(clientManager.getConnection(apiKey), key);
+        rateLimiterManager.handleSuccess(apiKey);
+        return page;
+    }
+
+    /**
+     * 1つのBoxアカウントから検索結果の1ページを取得
+     */
+    private SearchResultPage fetchAccountPage(BoxAPIConnection api, SearchCacheKey key) {
+        // Box SDK API変更により、offset/limitはsearchRangeメソッドで直接指定
+        BoxSearchParameters searchParams = searchParameters(key);
+        searchParams.setFields(RESULT_FIELDS);
+        PartialCollection<BoxItem.Info> searchResults = new BoxSearch(api).searchRange(
+            key.getOffset(), key.getLimit(), searchParams);
+
+        List<SearchResultItem> results = new ArrayList<>(searchResults.size());
+        for (BoxItem.Info itemInfo : searchResults) {
+            results.add(toResultItem(itemInfo));
+            if (itemInfo instanceof BoxFile.Info fileInfo) {
+                metadataCacheUpdater.putFileInfo(key.getScope(), toFileInfo(fileInfo));
+            }
+        }
+
+        return new SearchResultPage(results, searchResults.fullSize());
+    }
+
+    /**
+     * ストリーム検索の1ページを取得（トークンの補充を待機し、429はバックオフして再試行）
+     */
+    private StreamPage fetchStreamPage(String apiKey, Supplier<BoxAPIConnection> connection, SearchCacheKey key) {
+        for (int attempt = 1; ; attempt++) {
+            if (!rateLimiterManager.tryConsume(apiKey, STREAM_TOKEN_WAIT)) {
+                throw new BoxApiException("レート制限に達しました", 429);
+            }
+
+            try {
+                BoxSearchParameters searchParams = searchParameters(key);
+                searchParams.setFields(RESULT_FIELDS);
+                PartialCollection<BoxItem.Info> searchResults = new BoxSearch(connection.get())
+                    .searchRange(key.getOffset(), key.getLimit(), searchParams);
+
+                List<SearchResultItem> items = new ArrayList<>(searchResults.size());
+                for (BoxItem.Info itemInfo : searchResults) {
+                    items.add(toResultItem(itemInfo));
+                }
+                rateLimiterManager.handleSuccess(apiKey);
+                return new StreamPage(items, searchResults.fullSize());
+
+            } catch (BoxAPIException e) {
+                if (e.getResponseCode() != 429) {
+                    throw new BoxApiException("検索に失敗しました: " + e.getMessage(), e.getResponseCode(), e);
+                }
+                rateLimiterManager.handleRateLimitExceeded(apiKey);
+                if (attempt >= MAX_STREAM_RETRIES) {
+                    throw new BoxApiException("検索に失敗しました: " + e.getMessage(), 429, e);
+                }
+                try {
+                    Thread.sleep(STREAM_RETRY_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new BoxApiException("検索が中断されました", ie);
+                }
+            }
+        }
+    }
+
+    /**
+     * 検索条件からBoxの検索パラメータを生成
+     */
+    private static BoxSearchParameters searchParameters(SearchCacheKey key) {
+        BoxSearchParameters searchParams = new BoxSearchParameters();
+        searchParams.setQuery(key.getOriginalQuery());
+
+        // Type filter
+        if (key.getType() != null) {
+            searchParams.setType(key.getType());
+        }
+
+        // File extension filter
+        if (key.getFileExtension() != null) {
+            searchParams.setFileExtensions(List.of(key.getFileExtension()));
+        }
+        return searchParams;
+    }
+
+    private static SearchResultItem toResultItem(BoxItem.Info info) {
+        String type;
+        String sha1 = null;
+        if (info instanceof BoxFile.Info fileInfo) {
+            type = "file";
+            sha1 = fileInfo.getSha1();
+        } else if (info instanceof BoxFolder.Info) {
+            type = "folder";
+        } else {
+            type = "web_link";
+        }
+
+        return SearchResultItem.builder()
+            .id(info.getID())
+            .type(type)
+            .name(info.getName())
+            .size(info.getSize())
+            .parentId(info.getParent() != null ? info.getParent().getID() : null)
+            .sha1(sha1)
+            .modifiedAt(toLocalDateTime(info.getModifiedAt()))
+            .build();
+    }
+
+    private static SearchResultItem toResultItem(IndexedItem item) {
+        return SearchResultItem.builder()
+            .id(item.getId())
+            .type(item.getType())
+            .name(item.getName())
+            .size(item.getSize())
+            .parentId(item.getParentId())
+            .sha1(item.getSha1())
+            .build();
+    }
+
+    private static FileInfoResponse toFileInfo(BoxFile.Info info) {
+        return FileInfoResponse.builder()
+            .fileId(info.getID())
+            .fileName(info.getName())
+            .size(info.getSize())
+            .parentFolderId(info.getParent() != null ? info.getParent().getID() : null)
+            .createdAt(toLocalDateTime(info.getCreatedAt()))
+            .modifiedAt(toLocalDateTime(info.getModifiedAt()))
+            .sha1(info.getSha1())
+            .etag(info.getEtag())
+            .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date != null ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+
+    /**
+     * 続きの結果がある場合、次のページをバックグラウンドで先読み
+     */
+    private void prefetchNextPage(String apiKey, SearchCacheKey key, SearchResultPage page) {
+        if (page.getResults().size() < key.getLimit()
+                || key.getOffset() + key.getLimit() >= page.getTotalCount()) {
+            return;
+        }
+
+        SearchCacheKey next = key.nextPage();
+        if (!searchResultCache.tryBeginPrefetch(next)) {
+            return;
+        }
+
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    // ユーザーのリクエストを待たせないよう、トークンが無ければ先読みしない（fetchPageが429をスロー）
+                    SearchResultPage page = fetchPage(apiKey, next);
+                    if (!page.isPartial()) {
+                        searchResultCache.put(next, page);
+                    }
+                    log.debug("Prefetched search page: query '{}' offset {}", next.getQuery(), next.getOffset());
+                } catch (BoxAPIException e) {
+                    if (e.getResponseCode() == 429) {
+                        rateLimiterManager.handleRateLimitExceeded(apiKey);
+                    }
+                    log.debug("Search prefetch failed: {}", e.getMessage());
+                } catch (Exception e) {
+                    log.debug("Search prefetch failed: {}", e.getMessage());
+                } finally {
+                    searchResultCache.endPrefetch(next);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            searchResultCache.endPrefetch(next);
+        }
+    }
+
+    private record StreamPage(List<SearchResultItem> items, long totalCount) {
+    }
+
+    /**
+     * ページを先読みしながら検索結果を1件ずつ返すイテレータ
+     */
+    private final class ResultStream implements Iterator<SearchResultItem> {
+
+        private final String apiKey;
+        /**
+         * ページごとに別のアカウントを検索しないよう、ストリームの間は同じ接続を使う
+         */
+        private BoxAPIConnection api;
+        private SearchCacheKey key;
+        private Iterator<SearchResultItem> current;
+        private Set<String> previousIds = Set.of();
+        private Set<String> currentIds;
+        private boolean hasMorePages;
+        private boolean truncated;
+        private boolean lookAheadRequested;
+        private CompletableFuture<StreamPage> lookAhead;
+        private SearchResultItem nextItem;
+        private volatile boolean closed;
+
+        ResultStream(String apiKey, SearchCacheKey firstPage) {
+            this.apiKey = apiKey;
+            this.key = firstPage;
+            accept(fetchStreamPage(apiKey, this::connection, firstPage));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextItem == null && !closed) {
+                if (hasMorePages && !lookAheadRequested) {
+                    lookAheadRequested = true;
+                    startLookAhead();
+                }
+                if (current.hasNext()) {
+                    SearchResultItem item = current.next();
+                    if (!previousIds.contains(item.getId())) {
+                        nextItem = item;
+                    }
+                } else if (hasMorePages) {
+                    key = key.nextPage();
+                    accept(awaitLookAhead());
+                } else {
+                    return false;
+                }
+            }
+            return nextItem != null;
+        }
+
+        @Override
+        public SearchResultItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SearchResultItem item = nextItem;
+            nextItem = null;
+            return item;
+        }
+
+        void close() {
+            closed = true;
+            if (lookAhead != null) {
+                lookAhead.cancel(false);
+            }
+        }
+
+        private synchronized BoxAPIConnection connection() {
+            if (api == null) {
+                api = clientManager.getConnection(apiKey);
+            }
+            return api;
+        }
+
+        private void accept(StreamPage page) {
+            previousIds = currentIds != null ? currentIds : Set.of();
+            currentIds = new HashSet<>();
+            page.items().forEach(item -> currentIds.add(item.getId()));
+            current = page.items().iterator();
+            // Boxは権限などにより1ページの件数が上限未満になる場合があるため、総件数で終端を判定
+            boolean remaining = !page.items().isEmpty()
+                && key.getOffset() + key.getLimit() < page.totalCount();
+            // Boxが返せる範囲を超えるページは要求しない
+            hasMorePages = remaining && key.getOffset() + 2 * key.getLimit() <= SearchCacheKey.MAX_RESULT_WINDOW;
+            truncated = remaining && !hasMorePages;
+            lookAheadRequested = false;
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        private void startLookAhead() {
+            SearchCacheKey nextKey = key.nextPage();
+            try {
+                lookAhead = CompletableFuture.supplyAsync(() -> fetchStreamPage(apiKey, this::connection, nextKey), streamExecutor);
+            } catch (RejectedExecutionException e) {
+                // 先読み用スレッドに空きがない場合は読み進めた時点で同期的に取得する
+                lookAhead = null;
+            }
+        }
+
+        private StreamPage awaitLookAhead() {
+            CompletableFuture<StreamPage> future = lookAhead;
+            lookAhead = null;
+            if (future == null) {
+                return fetchStreamPage(apiKey, this::connection, key);
+            }
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static ThreadPoolTaskExecutor createPrefetchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("prefetch-box-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * ストリーム検索の先読み用（検索結果ページの先読みとスレッドを共有しない）
+     */
+    private static ThreadPoolTaskExecutor createStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(16);
+        executor.setThreadNamePrefix("stream-box-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * デバウンス後の入力補完の検索用
+     */
+    private static ThreadPoolTaskExecutor createTypeaheadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("typeahead-box-");
+        executor.initialize();
+        return executor;
+    }
 }
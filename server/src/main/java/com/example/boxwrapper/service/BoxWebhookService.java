@@ -0,0 +1,253 @@
+package com.example.boxwrapper.service;
+
+import com.box.sdk.BoxWebHookSignatureVerifier;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.ApiProperties;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.AuthenticationException;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Box Webhook受信サービス.
+ *
+ * <p>{@code box.webhooks.enabled}がtrueの場合、Boxから送信されたWebhookの署名と配信時刻を検証し、
+ * {@code FILE.UPLOADED}、{@code FILE.TRASHED}、{@code FOLDER.RENAMED}などのアイテムの変更を
+ * {@link BoxItemInvalidatedEvent}として発行します。全アカウントのイベントストリームを購読する
+ * {@link BoxEventStreamService}と異なり、Webhookを登録したフォルダの変更のみが通知されます。</p>
+ *
+ * <p>受信したWebhookはすぐには反映せず、{@code box.webhooks.batch-interval-millis}ごとにまとめて
+ * 発行します。同じアイテムへの連続した通知（一括アップロードや名前の変更の繰り返しなど）は
+ * 最後の1件にまとめられるため、キャッシュの無効化と再取得が繰り返されません。</p>
+ *
+ * <p>署名キーはBoxアプリごとに異なるため、送信先URLのテナントスコープに対応するAPIキーの
+ * {@code api.keys[].webhook-primary-signature-key}/{@code webhook-secondary-signature-key}で検証します。
+ * テナントに署名キーが設定されていない場合は共通の
+ * {@code box.webhooks.primary-signature-key}/{@code secondary-signature-key}で検証します。</p>
+ *
+ * <p>プレビューやダウンロードなど、アイテムの情報が変わらないトリガーは無視します。</p>
+ *
+ * <p>Webhookは1つのノードにのみ届くため、反映した変更は{@link ClusterInvalidationService}で
+ * 他のノードにも通知します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class BoxWebhookService {
+
+    private static final String DELIVERY_TIMESTAMP = "BOX-DELIVERY-TIMESTAMP";
+    private static final String SIGNATURE_PRIMARY = "BOX-SIGNATURE-PRIMARY";
+    private static final String SIGNATURE_SECONDARY = "BOX-SIGNATURE-SECONDARY";
+    private static final String SIGNATURE_VERSION = "BOX-SIGNATURE-VERSION";
+    private static final String SIGNATURE_ALGORITHM = "BOX-SIGNATURE-ALGORITHM";
+
+    private static final List<String> ITEM_TRIGGER_PREFIXES = List.of("FILE.", "FOLDER.", "WEB_LINK.");
+    private static final Set<String> IGNORED_TRIGGERS =
+        Set.of("FILE.PREVIEWED", "FILE.DOWNLOADED", "FOLDER.DOWNLOADED", "FILE.LOCKED", "FILE.UNLOCKED");
+
+    private final BoxClientManager clientManager;
+    private final FolderListingCache folderListingCache;
+    private final ClusterInvalidationService clusterInvalidationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final BoxProperties.Webhooks properties;
+    /**
+     * テナントスコープごとの署名の検証（署名キーを設定したテナントのみ）
+     */
+    private final Map<String, BoxWebHookSignatureVerifier> tenantVerifiers;
+    private final BoxWebHookSignatureVerifier defaultVerifier;
+    private final Map<String, BoxItemInvalidatedEvent> pending = new ConcurrentHashMap<>();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final ThreadPoolTaskScheduler flushScheduler;
+
+    public BoxWebhookService(BoxClientManager clientManager,
+                             FolderListingCache folderListingCache,
+                             ClusterInvalidationService clusterInvalidationService,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             ApiProperties apiProperties,
+                             BoxProperties boxProperties) {
+        this.clientManager = clientManager;
+        this.folderListingCache = folderListingCache;
+        this.clusterInvalidationService = clusterInvalidationService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.properties = boxProperties.getWebhooks();
+        this.defaultVerifier = verifier(properties.getPrimarySignatureKey(), properties.getSecondarySignatureKey());
+
+        Map<String, BoxWebHookSignatureVerifier> verifiers = new HashMap<>();
+        for (ApiProperties.ApiKeyConfig keyConfig : apiProperties.getKeys()) {
+            BoxWebHookSignatureVerifier verifier = verifier(
+                keyConfig.getWebhookPrimarySignatureKey(), keyConfig.getWebhookSecondarySignatureKey());
+            if (keyConfig.getKey() != null && verifier != null) {
+                verifiers.put(clientManager.getTenantScope(keyConfig.getKey()), verifier);
+            }
+        }
+        this.tenantVerifiers = Map.copyOf(verifiers);
+
+        this.flushScheduler = new ThreadPoolTaskScheduler();
+        this.flushScheduler.setPoolSize(1);
+        this.flushScheduler.setThreadNamePrefix("webhook-flush-");
+        this.flushScheduler.initialize();
+        if (properties.isEnabled()) {
+            flushScheduler.scheduleAtFixedRate(this::flush,
+                Duration.ofMillis(Math.max(1, properties.getBatchIntervalMillis())));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * 受信したWebhookを検証し、キャッシュの無効化を予約します.
+     *
+     * @param scope 送信先URLに含まれるテナントスコープ
+     * @param payload リクエストボディ（署名の検証に使用するため、受信したままの文字列）
+     * @param headers リクエストヘッダー（署名と配信時刻）
+     * @throws ResourceNotFoundException Webhookの受信が無効な場合
+     * @throws AuthenticationException 署名が一致しない場合、または配信時刻が古い場合
+     * @throws ValidationException ボディがJSONでない場合
+     */
+    public void receive(String scope, String payload, HttpHeaders headers) {
+        if (!properties.isEnabled()) {
+            throw new ResourceNotFoundException("Webhook endpoint", scope);
+        }
+        verify(scope, payload, headers);
+
+        if (clientManager.findApiKey(scope).isEmpty()) {
+            // 署名は正しいため、Boxが再送しないよう正常に応答する
+            log.warn("Ignoring webhook for unknown tenant scope: {}", scope);
+            return;
+        }
+
+        JsonNode body;
+        try {
+            body = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Webhookのボディを解析できません: " + e.getOriginalMessage());
+        }
+        String trigger = body.path("trigger").asText();
+        received.increment();
+        if (IGNORED_TRIGGERS.contains(trigger) || ITEM_TRIGGER_PREFIXES.stream().noneMatch(trigger::startsWith)) {
+            log.debug("Ignoring webhook trigger: {}", trigger);
+            return;
+        }
+
+        boolean deleted = trigger.endsWith(".TRASHED") || trigger.endsWith(".DELETED");
+        BoxItemSourceMapper.toInvalidatedEvent(scope, body.path("source"), deleted, folderListingCache)
+            .ifPresent(event -> pending.merge(event.getScope() + ":" + event.getItemId(), event, (previous, next) -> {
+                coalesced.increment();
+                return next;
+            }));
+    }
+
+    /**
+     * 予約されたキャッシュの無効化をまとめて発行します.
+     *
+     * <p>{@code box.webhooks.batch-interval-millis}ごとに呼び出されます。</p>
+     */
+    public void flush() {
+        int published = 0;
+        for (String key : pending.keySet()) {
+            BoxItemInvalidatedEvent event = pending.remove(key);
+            if (event == null) {
+                continue;
+            }
+            try {
+                eventPublisher.publishEvent(event);
+                clusterInvalidationService.broadcast(event);
+                published++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to invalidate caches for item {}: {}", event.getItemId(), e.getMessage());
+            }
+        }
+        if (published > 0) {
+            log.debug("Invalidated caches for {} items changed via webhooks", published);
+        }
+    }
+
+    /**
+     * 受信したWebhookの数を返します.
+     *
+     * @return 署名の検証に成功したWebhookの数
+     */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    /**
+     * 同じアイテムへの通知としてまとめたWebhookの数を返します.
+     *
+     * @return キャッシュの無効化を省略したWebhookの数
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 署名と配信時刻を検証（テナントの署名キー、なければ共通の署名キーを使用）
+     */
+    private void verify(String scope, String payload, HttpHeaders headers) {
+        BoxWebHookSignatureVerifier signatureVerifier = tenantVerifiers.getOrDefault(scope, defaultVerifier);
+        if (signatureVerifier == null) {
+            throw new AuthenticationException("Webhookの署名キーが設定されていません");
+        }
+
+        String timestamp = headers.getFirst(DELIVERY_TIMESTAMP);
+        if (timestamp == null) {
+            throw new AuthenticationException("Webhookの配信時刻がありません");
+        }
+        try {
+            Duration age = Duration.between(OffsetDateTime.parse(timestamp).toInstant(), Instant.now());
+            if (age.abs().getSeconds() > properties.getMaxAgeSeconds()) {
+                throw new AuthenticationException("Webhookの配信時刻が古すぎます: " + timestamp);
+            }
+        } catch (DateTimeParseException e) {
+            throw new AuthenticationException("Webhookの配信時刻が不正です: " + timestamp);
+        }
+
+        boolean valid = signatureVerifier.verify(
+            headers.getFirst(SIGNATURE_VERSION),
+            headers.getFirst(SIGNATURE_ALGORITHM),
+            headers.getFirst(SIGNATURE_PRIMARY),
+            headers.getFirst(SIGNATURE_SECONDARY),
+            payload,
+            timestamp);
+        if (!valid) {
+            throw new AuthenticationException("Webhookの署名が一致しません");
+        }
+    }
+
+    private static BoxWebHookSignatureVerifier verifier(String primaryKey, String secondaryKey) {
+        return primaryKey != null && !primaryKey.isEmpty()
+            ? new BoxWebHookSignatureVerifier(primaryKey, secondaryKey)
+            : null;
+    }
+}
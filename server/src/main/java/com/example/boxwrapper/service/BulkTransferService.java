@@ -0,0 +1,257 @@
+package com.example.boxwrapper.service;
+
+import com.box.sdk.*;
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.AsyncProperties;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.request.BulkTransferRequest;
+import com.example.boxwrapper.utils.JobProgressTracker;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 一括コピー/移動サービス.
+ *
+ * <p>複数のファイル・フォルダのコピーまたは移動をジョブとして非同期に実行します。
+ * 進捗は{@link JobProgressTracker}に記録され、ジョブIDで確認できます。</p>
+ *
+ * <p>アイテムごとの処理は専用スレッドプールで並列に実行され、同時実行数は
+ * {@code async.parallel.max-concurrent-transfers}で制御されます。レート制限（429）や
+ * 5xxエラーなどの一時的な失敗はアイテム単位で{@code box.retry.max-attempts}回まで
+ * 指数バックオフでリトライされます。コピーは冪等ではないため、Boxが処理していないことが
+ * 確実なレート制限のみをリトライし、5xxなど結果が不明な失敗はリトライせずに失敗として記録します。
+ * Box APIのエラー以外の例外はリトライしません。</p>
+ *
+ * <p>Boxが404を返した場合は、移動先フォルダの有無を確認して、対象アイテムと移動先フォルダの
+ * どちらが存在しないかを失敗の理由に記録します。</p>
+ *
+ * <p>処理が成功したアイテムは{@link BoxItemChangedEvent}として発行され、
+ * フォルダ一覧・フォルダ情報・ファイル情報のキャッシュに反映されます。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class BulkTransferService {
+
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+
+    private final BoxClientManager clientManager;
+    private final RateLimiterManager rateLimiterManager;
+    private final JobProgressTracker progressTracker;
+    private final FolderListingCache folderListingCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxAttempts;
+    private final ThreadPoolTaskExecutor transferExecutor;
+
+    public BulkTransferService(BoxClientManager clientManager,
+                               RateLimiterManager rateLimiterManager,
+                               JobProgressTracker progressTracker,
+                               FolderListingCache folderListingCache,
+                               ApplicationEventPublisher eventPublisher,
+                               BoxProperties boxProperties,
+                               AsyncProperties asyncProperties) {
+        this.clientManager = clientManager;
+        this.rateLimiterManager = rateLimiterManager;
+        this.progressTracker = progressTracker;
+        this.folderListingCache = folderListingCache;
+        this.eventPublisher = eventPublisher;
+        this.maxAttempts = boxProperties.getRetry().getMaxAttempts();
+
+        int concurrency = asyncProperties.getParallel().getMaxConcurrentTransfers();
+        this.transferExecutor = new ThreadPoolTaskExecutor();
+        this.transferExecutor.setCorePoolSize(concurrency);
+        this.transferExecutor.setMaxPoolSize(concurrency);
+        this.transferExecutor.setThreadNamePrefix("transfer-box-");
+        this.transferExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transferExecutor.shutdown();
+    }
+
+    /**
+     * 一括コピー/移動ジョブを開始します.
+     *
+     * <p>ジョブは即座に登録され、アイテムの処理はバックグラウンドで実行されます。
+     * 一部のアイテムが失敗しても他のアイテムの処理は続行されます。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param request 操作種別と対象アイテムのリスト
+     * @return ジョブID
+     */
+    public String startTransfer(String apiKey, BulkTransferRequest request) {
+        List<BulkTransferRequest.Item> items = request.getItems();
+        String jobId = progressTracker.createJob(items.size());
+
+        log.info("Starting bulk {} of {} items (job {})", request.getOperation(), items.size(), jobId);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(items.size());
+        for (BulkTransferRequest.Item item : items) {
+            futures.add(CompletableFuture.runAsync(
+                () -> transferWithRetry(apiKey, jobId, request.getOperation(), item), transferExecutor));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .whenComplete((v, ex) -> progressTracker.completeJob(jobId));
+
+        return jobId;
+    }
+
+    /**
+     * 一時的な失敗をリトライしながら1アイテムを処理
+     */
+    private void transferWithRetry(String apiKey, String jobId, BulkTransferRequest.Operation operation,
+                                   BulkTransferRequest.Item item) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transfer(apiKey, operation, item);
+                progressTracker.updateSuccess(jobId);
+                return;
+            } catch (BoxApiException e) {
+                if (!isRetryable(operation, e) || attempt >= maxAttempts) {
+                    log.warn("Failed to {} item {} after {} attempts: {}",
+                        operation, item.getItemId(), attempt, e.getMessage());
+                    progressTracker.updateFailure(jobId, item.getItemId() + ": " + e.getMessage());
+                    return;
+                }
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS << (attempt - 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    progressTracker.updateFailure(jobId, item.getItemId() + ": 処理が中断されました");
+                    return;
+                }
+            } catch (ResourceNotFoundException e) {
+                progressTracker.updateFailure(jobId, item.getItemId() + ": " + e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                // Box APIのエラー以外（設定や実装の不具合）はリトライしても解消しない
+                log.error("Unexpected error while trying to {} item {}", operation, item.getItemId(), e);
+                progressTracker.updateFailure(jobId, item.getItemId() + ": " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * リトライ可能な失敗かどうか
+     *
+     * <p>コピーは5xxやタイムアウトの時点でBox側で作成済みの場合があり、再実行すると
+     * 重複したコピーや409（名前の競合）になるため、レート制限（429）のみをリトライします。</p>
+     */
+    private static boolean isRetryable(BulkTransferRequest.Operation operation, BoxApiException e) {
+        if (operation == BulkTransferRequest.Operation.COPY) {
+            return e.getStatusCode() == 429;
+        }
+        return e.isRetryable();
+    }
+
+    /**
+     * 1アイテムをコピーまたは移動
+     */
+    private void transfer(String apiKey, BulkTransferRequest.Operation operation, BulkTransferRequest.Item item) {
+        boolean isFolder = "folder".equalsIgnoreCase(item.getItemType());
+        if (!rateLimiterManager.tryConsume(apiKey)) {
+            throw new BoxApiException("レート制限に達しました", 429);
+        }
+
+        BoxAPIConnection api = clientManager.getConnection(apiKey);
+        try {
+            BoxFolder destination = new BoxFolder(api, item.getDestFolderId());
+
+            BoxItem.Info info;
+            if (isFolder) {
+                BoxFolder folder = new BoxFolder(api, item.getItemId());
+                info = operation == BulkTransferRequest.Operation.COPY
+                    ? folder.copy(destination, item.getNewName())
+                    : folder.move(destination, item.getNewName());
+            } else {
+                BoxFile file = new BoxFile(api, item.getItemId());
+                info = operation == BulkTransferRequest.Operation.COPY
+                    ? file.copy(destination, item.getNewName())
+                    : file.move(destination, item.getNewName());
+            }
+
+            rateLimiterManager.handleSuccess(apiKey);
+            log.debug("{} item {} to folder {} (result ID: {})",
+                operation, item.getItemId(), item.getDestFolderId(), info.getID());
+
+            publishChange(apiKey, operation, item, isFolder, info);
+
+        } catch (BoxAPIException e) {
+            if (e.getResponseCode() == 404) {
+                throw notFound(api, apiKey, item, isFolder);
+            }
+            if (e.getResponseCode() == 429) {
+                rateLimiterManager.handleRateLimitExceeded(apiKey);
+            }
+            throw new BoxApiException("コピー/移動に失敗しました: " + e.getMessage(),
+                e.getResponseCode(), e);
+        }
+    }
+
+    /**
+     * 404の原因が対象アイテムと移動先フォルダのどちらかを確認して例外を生成
+     */
+    private ResourceNotFoundException notFound(BoxAPIConnection api, String apiKey,
+                                               BulkTransferRequest.Item item, boolean isFolder) {
+        if (!rateLimiterManager.tryConsume(apiKey)) {
+            return eitherNotFound(item, isFolder);
+        }
+        try {
+            new BoxFolder(api, item.getDestFolderId()).getInfo("id");
+            rateLimiterManager.handleSuccess(apiKey);
+            return new ResourceNotFoundException(isFolder ? "Folder" : "File", item.getItemId());
+        } catch (BoxAPIException e) {
+            if (e.getResponseCode() == 404) {
+                return new ResourceNotFoundException("Destination folder", item.getDestFolderId());
+            }
+            return eitherNotFound(item, isFolder);
+        }
+    }
+
+    /**
+     * 移動先フォルダの有無を確認できない場合の例外
+     */
+    private static ResourceNotFoundException eitherNotFound(BulkTransferRequest.Item item, boolean isFolder) {
+        return new ResourceNotFoundException(String.format("%s (ID: %s) または移動先フォルダ (ID: %s) が見つかりません",
+            isFolder ? "Folder" : "File", item.getItemId(), item.getDestFolderId()));
+    }
+
+    /**
+     * コピー/移動結果をキャッシュに反映するためのイベントを発行
+     */
+    private void publishChange(String apiKey, BulkTransferRequest.Operation operation,
+                               BulkTransferRequest.Item item, boolean isFolder, BoxItem.Info info) {
+        String scope = clientManager.getTenantScope(apiKey);
+        BoxItemChangedEvent.BoxItemChangedEventBuilder event = BoxItemChangedEvent.builder()
+            .scope(scope)
+            .itemType(isFolder ? BoxItemChangedEvent.ItemType.FOLDER : BoxItemChangedEvent.ItemType.FILE)
+            .itemId(info.getID())
+            .parentId(item.getDestFolderId())
+            .item(FolderItem.from(info));
+
+        if (operation == BulkTransferRequest.Operation.COPY) {
+            event.changeType(BoxItemChangedEvent.ChangeType.CREATED);
+        } else {
+            event.changeType(BoxItemChangedEvent.ChangeType.MOVED)
+                .previousParentId(folderListingCache.findParentId(scope, item.getItemId()).orElse(null));
+        }
+        eventPublisher.publishEvent(event.build());
+    }
+}
@@ -0,0 +1,466 @@
+package com.example.boxwrapper.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.CacheAdminInvalidatedEvent;
+import com.example.boxwrapper.cache.CacheInvalidationMessage;
+import com.example.boxwrapper.cache.CacheSettings;
+import com.example.boxwrapper.cache.CacheTierStats;
+import com.example.boxwrapper.cache.ConditionalReloadStats;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.cache.NegativeResultCache;
+import com.example.boxwrapper.cache.SearchResultCache;
+import com.example.boxwrapper.cache.TenantCacheStats;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.exception.ValidationException;
+import com.example.boxwrapper.model.request.CacheSettingsRequest;
+import com.example.boxwrapper.model.response.CacheInvalidationResponse;
+import com.example.boxwrapper.model.response.CacheSettingsResponse;
+import com.example.boxwrapper.model.response.CacheStatsResponse;
+import com.example.boxwrapper.utils.SingleFlightStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * キャッシュ管理サービス.
+ *
+ * <p>キャッシュごとの容量・有効期間・更新の割合を参照し、再起動せずに変更します。
+ * 変更は{@link TenantPartitionedCache#reconfigure(CacheSettings)}で即座に反映されますが、
+ * {@code application.yml}には保存されないため、再起動すると設定ファイルの値に戻ります。</p>
+ *
+ * <p>キャッシュ全体とテナントごとの統計を集計し、キー・キーの前方一致・フォルダ配下を指定した
+ * 無効化と、キャッシュの全削除を行います。</p>
+ *
+ * <p>無効化と全削除は{@link ClusterInvalidationService}で他のノードにも通知し、他のノードから受信した
+ * 無効化（{@link CacheAdminInvalidatedEvent}）は再送信せずにこのノードのキャッシュに適用します。</p>
+ *
+ * <p>フォルダが削除された場合（このサーバー経由・外部の変更のいずれも）は、配下のアイテムのエントリも
+ * {@link #invalidateSubtree}と同じ範囲で無効化します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheAdminService {
+
+    private final CacheManager cacheManager;
+    private final FolderListingCache folderListingCache;
+    private final NegativeResultCache negativeResultCache;
+    private final BoxFolderService folderService;
+    private final BoxSearchService searchService;
+    private final ClusterInvalidationService clusterInvalidationService;
+
+    /**
+     * キャッシュの現在の設定を取得します.
+     *
+     * @param cacheName キャッシュ名
+     * @return 設定と現在の使用量
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     */
+    public CacheSettingsResponse getSettings(String cacheName) {
+        return toResponse(findCache(cacheName));
+    }
+
+    /**
+     * キャッシュの設定を変更します.
+     *
+     * <p>指定のない項目は現在の値を維持します。容量の単位（エントリ数か重みか）と
+     * ソフト参照の有無は実行中に変更できません。</p>
+     *
+     * @param cacheName キャッシュ名
+     * @param request 変更する項目
+     * @return 変更後の設定と現在の使用量
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     * @throws ValidationException 容量の単位と異なる上限を指定した場合
+     */
+    public CacheSettingsResponse updateSettings(String cacheName, CacheSettingsRequest request) {
+        TenantPartitionedCache cache = findCache(cacheName);
+        CacheSettings current = cache.getSettings();
+
+        if (current.isWeighted() && request.getMaximumSize() != null) {
+            ValidationException e = new ValidationException("重みで制限するキャッシュには最大エントリ数を指定できません");
+            e.addFieldError("maximumSize", "maximumWeightBytesを指定してください");
+            throw e;
+        }
+        if (!current.isWeighted() && request.getMaximumWeightBytes() != null) {
+            ValidationException e = new ValidationException("エントリ数で制限するキャッシュには最大重みを指定できません");
+            e.addFieldError("maximumWeightBytes", "maximumSizeを指定してください");
+            throw e;
+        }
+
+        CacheSettings.CacheSettingsBuilder updated = current.toBuilder();
+        if (request.getMaximumSize() != null) {
+            updated.maximumSize(request.getMaximumSize());
+        }
+        if (request.getMaximumWeightBytes() != null) {
+            updated.maximumWeightBytes(request.getMaximumWeightBytes());
+        }
+        if (request.getExpireAfterWriteSeconds() != null) {
+            updated.ttl(Duration.ofSeconds(request.getExpireAfterWriteSeconds()));
+        }
+        if (request.getRefreshAheadRatio() != null) {
+            updated.refreshAheadRatio(request.getRefreshAheadRatio());
+        }
+        if (request.getOverflowRatio() != null) {
+            updated.overflowRatio(request.getOverflowRatio());
+        }
+        cache.reconfigure(updated.build());
+
+        return toResponse(cache);
+    }
+
+    /**
+     * 全キャッシュの統計を取得します.
+     *
+     * @return キャッシュごとの統計
+     */
+    public List<CacheStatsResponse> getAllStats() {
+        return findAllCaches().stream().map(this::toStatsResponse).toList();
+    }
+
+    /**
+     * キャッシュの統計を取得します.
+     *
+     * @param cacheName キャッシュ名
+     * @return キャッシュ全体・階層ごと・テナントごとの統計
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     */
+    public CacheStatsResponse getStats(String cacheName) {
+        return toStatsResponse(findCache(cacheName));
+    }
+
+    /**
+     * キーを指定してエントリを無効化します.
+     *
+     * @param cacheName キャッシュ名
+     * @param scope テナントスコープ
+     * @param key キーの識別部分（アイテムID、検索結果の場合は検索クエリ）
+     * @return 無効化したエントリ数
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     */
+    public CacheInvalidationResponse invalidateKey(String cacheName, String scope, String key) {
+        CacheInvalidationResponse response = invalidateMatching(cacheName, scope, key::equals, Set.of(key));
+        clusterInvalidationService.broadcastAdmin(CacheInvalidationMessage.Operation.KEY, cacheName, scope, key);
+        return response;
+    }
+
+    /**
+     * キーの前方一致でエントリを無効化します.
+     *
+     * @param cacheName キャッシュ名
+     * @param scope テナントスコープ
+     * @param prefix キーの識別部分の先頭
+     * @return 無効化したエントリ数
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     */
+    public CacheInvalidationResponse invalidatePrefix(String cacheName, String scope, String prefix) {
+        CacheInvalidationResponse response = invalidateMatching(cacheName, scope, id -> id.startsWith(prefix), null);
+        clusterInvalidationService.broadcastAdmin(CacheInvalidationMessage.Operation.PREFIX, cacheName, scope, prefix);
+        return response;
+    }
+
+    /**
+     * フォルダと配下のアイテムのエントリを無効化します.
+     *
+     * <p>フォルダ情報・ファイルメタデータ・フォルダ一覧から、フォルダ自身と配下のアイテムの
+     * エントリを削除します。配下のアイテムはキャッシュ済みのフォルダ一覧から求めるため、
+     * 一覧を取得していないサブフォルダの配下は含みません。検索結果はどのアイテムを含むか
+     * 判定できないため、テナントの検索結果を全て削除します。</p>
+     *
+     * @param scope テナントスコープ
+     * @param folderId フォルダID
+     * @return 無効化したエントリ数
+     */
+    public CacheInvalidationResponse invalidateSubtree(String scope, String folderId) {
+        CacheInvalidationResponse response = evictSubtree(scope, folderId);
+        clusterInvalidationService.broadcastAdmin(CacheInvalidationMessage.Operation.SUBTREE, null, scope, folderId);
+        return response;
+    }
+
+    /**
+     * 他のノードの管理APIによる無効化を、このノードのキャッシュに適用します.
+     *
+     * <p>このノードに存在しないキャッシュの場合は無視します。</p>
+     *
+     * @param event 管理APIの無効化イベント
+     */
+    @EventListener
+    public void onAdminInvalidated(CacheAdminInvalidatedEvent event) {
+        try {
+            switch (event.getOperation()) {
+                case KEY -> invalidateMatching(event.getCacheName(), event.getScope(), event.getKey()::equals,
+                    Set.of(event.getKey()));
+                case PREFIX -> invalidateMatching(event.getCacheName(), event.getScope(),
+                    id -> id.startsWith(event.getKey()), null);
+                case SUBTREE -> evictSubtree(event.getScope(), event.getKey());
+                case FLUSH -> flushLocally(event.getCacheName(), event.getScope());
+                default -> log.debug("Ignoring admin invalidation: {}", event.getOperation());
+            }
+        } catch (ResourceNotFoundException e) {
+            log.warn("Ignoring invalidation from peer node for unknown cache: {}", event.getCacheName());
+        }
+    }
+
+    /**
+     * フォルダと配下のアイテムのエントリを削除
+     */
+    private CacheInvalidationResponse evictSubtree(String scope, String folderId) {
+        Set<String> ids = new LinkedHashSet<>();
+        ids.add(folderId);
+        ids.addAll(folderListingCache.findDescendantIds(scope, folderId));
+
+        List<String> cacheNames = new ArrayList<>();
+        long count = 0;
+        for (TenantPartitionedCache cache : findAllCaches()) {
+            cacheNames.add(cache.getName());
+            if (SearchResultCache.CACHE_NAME.equals(cache.getName())) {
+                count += tenantSize(cache, scope);
+                cache.evictScope(scope);
+            } else {
+                count += evictMatching(cache, scope, ids::contains, ids);
+            }
+        }
+        log.info("Invalidated folder subtree: scope={}, folderId={}, items={}, entries={}",
+            scope, folderId, ids.size(), count);
+
+        return CacheInvalidationResponse.builder()
+            .cacheNames(cacheNames)
+            .scope(scope)
+            .invalidatedCount(count)
+            .build();
+    }
+
+    /**
+     * このサーバー経由で削除されたフォルダの配下のエントリを無効化します.
+     *
+     * @param event アイテム変更イベント
+     */
+    @EventListener
+    public void onItemChanged(BoxItemChangedEvent event) {
+        if (event.getChangeType() == BoxItemChangedEvent.ChangeType.DELETED
+                && event.getItemType() == BoxItemChangedEvent.ItemType.FOLDER) {
+            evictDescendants(event.getScope(), event.getItemId());
+        }
+    }
+
+    /**
+     * 外部（イベントストリーム・Webhook・他のノード）で削除されたフォルダの配下のエントリを無効化します.
+     *
+     * @param event 外部変更イベント
+     */
+    @EventListener
+    public void onItemInvalidated(BoxItemInvalidatedEvent event) {
+        if (event.isDeleted() && event.getItemType() == BoxItemChangedEvent.ItemType.FOLDER) {
+            evictDescendants(event.getScope(), event.getItemId());
+        }
+    }
+
+    /**
+     * キャッシュのエントリを全て削除します.
+     *
+     * <p>キャッシュ名を指定しない場合は全キャッシュと、記録済みの404/403エラーも削除します。</p>
+     *
+     * @param cacheName キャッシュ名（nullの場合は全キャッシュ）
+     * @param scope テナントスコープ（nullの場合は全テナント）
+     * @return 削除前のエントリ数
+     * @throws ResourceNotFoundException キャッシュが存在しない場合
+     */
+    public CacheInvalidationResponse flush(String cacheName, String scope) {
+        CacheInvalidationResponse response = flushLocally(cacheName, scope);
+        clusterInvalidationService.broadcastAdmin(CacheInvalidationMessage.Operation.FLUSH, cacheName, scope, null);
+        return response;
+    }
+
+    /**
+     * キャッシュのエントリを全て削除
+     */
+    private CacheInvalidationResponse flushLocally(String cacheName, String scope) {
+        List<TenantPartitionedCache> caches = cacheName != null ? List.of(findCache(cacheName)) : findAllCaches();
+
+        List<String> cacheNames = new ArrayList<>();
+        long count = 0;
+        for (TenantPartitionedCache cache : caches) {
+            cacheNames.add(cache.getName());
+            if (scope != null) {
+                count += tenantSize(cache, scope);
+                cache.evictScope(scope);
+            } else {
+                count += cache.getTierStats().get(0).getSize();
+                cache.clear();
+            }
+        }
+        if (cacheName == null) {
+            negativeResultCache.clear(scope);
+        }
+        log.info("Flushed caches: caches={}, scope={}, entries={}", cacheNames, scope, count);
+
+        return CacheInvalidationResponse.builder()
+            .cacheNames(cacheNames)
+            .scope(scope)
+            .invalidatedCount(count)
+            .build();
+    }
+
+    /**
+     * 削除されたフォルダの配下のエントリを削除
+     *
+     * <p>フォルダ自身と親フォルダのエントリは各キャッシュのイベントリスナーが更新するため対象外です。
+     * 検索結果は{@link #invalidateSubtree}と異なり削除しません（削除済みのアイテムは取得時に404になる）。</p>
+     */
+    private void evictDescendants(String scope, String folderId) {
+        Set<String> ids = folderListingCache.findDescendantIds(scope, folderId);
+        if (ids.isEmpty()) {
+            return;
+        }
+        long count = 0;
+        for (TenantPartitionedCache cache : findAllCaches()) {
+            if (!SearchResultCache.CACHE_NAME.equals(cache.getName())) {
+                count += evictMatching(cache, scope, ids::contains, ids);
+            }
+        }
+        log.debug("Evicted descendants of deleted folder: scope={}, folderId={}, items={}, entries={}",
+            scope, folderId, ids.size(), count);
+    }
+
+    private CacheInvalidationResponse invalidateMatching(String cacheName, String scope, Predicate<String> idFilter,
+                                                         Set<String> folderIds) {
+        TenantPartitionedCache cache = findCache(cacheName);
+        long count = evictMatching(cache, scope, idFilter, folderIds);
+        log.info("Invalidated cache entries: cache={}, scope={}, entries={}", cacheName, scope, count);
+
+        return CacheInvalidationResponse.builder()
+            .cacheNames(List.of(cacheName))
+            .scope(scope)
+            .invalidatedCount(count)
+            .build();
+    }
+
+    /**
+     * 条件に一致するエントリを削除
+     *
+     * <p>フォルダ一覧は取得中の古い一覧で上書きされないよう、フォルダIDが分かる場合は
+     * {@link FolderListingCache}経由で世代番号も進めます。</p>
+     */
+    private long evictMatching(TenantPartitionedCache cache, String scope, Predicate<String> idFilter,
+                               Set<String> folderIds) {
+        int count = cache.evictMatching(scope, idFilter);
+        if (FolderListingCache.CACHE_NAME.equals(cache.getName()) && folderIds != null) {
+            folderIds.forEach(folderId -> folderListingCache.evict(scope, folderId));
+        }
+        return count;
+    }
+
+    private static long tenantSize(TenantPartitionedCache cache, String scope) {
+        return cache.getTenantStats().stream()
+            .filter(stats -> stats.getScope().equals(scope))
+            .mapToLong(TenantCacheStats::getSize)
+            .sum();
+    }
+
+    private List<TenantPartitionedCache> findAllCaches() {
+        return cacheManager.getCacheNames().stream()
+            .map(cacheManager::getCache)
+            .filter(TenantPartitionedCache.class::isInstance)
+            .map(TenantPartitionedCache.class::cast)
+            .toList();
+    }
+
+    private TenantPartitionedCache findCache(String cacheName) {
+        if (cacheManager.getCache(cacheName) instanceof TenantPartitionedCache cache) {
+            return cache;
+        }
+        throw new ResourceNotFoundException("Cache", cacheName);
+    }
+
+    private static CacheSettingsResponse toResponse(TenantPartitionedCache cache) {
+        CacheSettings settings = cache.getSettings();
+        CacheTierStats firstTier = cache.getTierStats().get(0);
+        return CacheSettingsResponse.builder()
+            .cacheName(cache.getName())
+            .weighted(settings.isWeighted())
+            .maximumSize(settings.getMaximumSize())
+            .maximumWeightBytes(settings.getMaximumWeightBytes())
+            .expireAfterWriteSeconds(settings.getTtl().toSeconds())
+            .refreshAheadRatio(settings.getRefreshAheadRatio())
+            .softValues(settings.isSoftValues())
+            .overflowRatio(settings.getOverflowRatio())
+            .size(firstTier.getSize())
+            .weightedSize(firstTier.getUsedBytes())
+            .build();
+    }
+
+    private CacheStatsResponse toStatsResponse(TenantPartitionedCache cache) {
+        List<CacheTierStats> tierStats = cache.getTierStats();
+        List<TenantCacheStats> tenantStats = cache.getTenantStats();
+        SingleFlightStats loadStats = loadStatsOf(cache);
+        ConditionalReloadStats reloadStats = cache.getConditionalReloadStats();
+
+        long hits = tenantStats.stream().mapToLong(TenantCacheStats::getHitCount).sum();
+        long misses = tenantStats.stream().mapToLong(TenantCacheStats::getMissCount).sum();
+        long requests = hits + misses;
+
+        return CacheStatsResponse.builder()
+            .cacheName(cache.getName())
+            .weighted(cache.getSettings().isWeighted())
+            .size(tierStats.get(0).getSize())
+            .estimatedBytes(tenantStats.stream().mapToLong(TenantCacheStats::getEstimatedBytes).sum())
+            .hitCount(hits)
+            .missCount(misses)
+            .hitRate(requests == 0 ? 1.0 : (double) hits / requests)
+            .missRate(requests == 0 ? 0.0 : (double) misses / requests)
+            .evictionCount(tierStats.get(0).getEvictionCount())
+            .loadCount(loadStats.getExecutionCount())
+            .collapsedLoadCount(loadStats.getCollapsedCount())
+            .averageLoadMillis(loadStats.getAverageExecutionMillis())
+            .notModifiedCount(reloadStats.getNotModifiedCount())
+            .modifiedCount(reloadStats.getModifiedCount())
+            .notModifiedRate(reloadStats.getNotModifiedRate())
+            .tiers(tierStats.stream().map(stats -> CacheStatsResponse.TierStats.builder()
+                .tier(stats.getTier())
+                .size(stats.getSize())
+                .hitCount(stats.getHitCount())
+                .missCount(stats.getMissCount())
+                .hitRate(stats.getHitRate())
+                .evictionCount(stats.getEvictionCount())
+                .usedBytes(stats.getUsedBytes())
+                .capacityBytes(stats.getCapacityBytes())
+                .build()).toList())
+            .tenants(tenantStats.stream().map(stats -> CacheStatsResponse.TenantStats.builder()
+                .scope(stats.getScope())
+                .guaranteedCapacity(stats.getGuaranteedCapacity())
+                .size(stats.getSize())
+                .estimatedBytes(stats.getEstimatedBytes())
+                .hitCount(stats.getHitCount())
+                .missCount(stats.getMissCount())
+                .hitRate(stats.getHitRate())
+                .missRate(stats.getMissRate())
+                .evictionCount(stats.getEvictionCount())
+                .loadCount(stats.getLoadCount())
+                .averageLoadMillis(stats.getAverageLoadMillis())
+                .build()).toList())
+            .build();
+    }
+
+    /**
+     * Boxからの読み込みの統計（フォルダ一覧と検索結果はサービスで読み込みをまとめている）
+     */
+    private SingleFlightStats loadStatsOf(TenantPartitionedCache cache) {
+        return switch (cache.getName()) {
+            case FolderListingCache.CACHE_NAME -> folderService.getListingLoadStats();
+            case SearchResultCache.CACHE_NAME -> searchService.getLoadStats();
+            default -> cache.getLoadStats();
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.boxwrapper.service;
+
+import com.example.boxwrapper.cache.CacheFreshness;
+import com.example.boxwrapper.cache.ConditionalLoader;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.cache.FreshnessContext;
+import com.example.boxwrapper.cache.SearchCacheKey;
+import com.example.boxwrapper.cache.SearchResultCache;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.cache.TenantScoped;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import com.example.boxwrapper.model.response.FolderInfoResponse;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * メタデータキャッシュの有効期限前更新（refresh-ahead）サービス.
+ *
+ * <p>{@code folderInfo}と{@code fileMetadata}のエントリが有効期間の
+ * {@code box.cache.refresh-ahead-ratio}（キャッシュごとの上書きは
+ * {@code box.cache.caches.<キャッシュ名>.refresh-ahead-ratio}）を過ぎて参照されると、優先度の低い専用スレッドで
+ * Boxから再取得してキャッシュを置き換えます。再取得が完了するまでは古いエントリを返すため、
+ * 参照され続けるエントリは最初の取得以降、同期的なキャッシュミスになりません。</p>
+ *
+ * <p>ユーザーのリクエストを優先するため、APIキーのトークンに余裕がない場合
+ * （{@link RateLimiterManager#hasSpareCapacity(String)}）や、キューが満杯の場合は
+ * 更新を見送ります。見送ったエントリは次に参照されたときに再度更新を要求します。
+ * 再取得でアイテムが存在しないことが分かった場合はエントリを削除します。</p>
+ *
+ * <p>リクエストの{@code Cache-Control: stale-while-revalidate}で古いエントリを返した場合も、
+ * 同じ専用スレッドで更新します（{@link TenantPartitionedCache#enableRevalidation}）。
+ * フォルダ一覧（全件）と検索結果はキャッシュを使わずに（{@link CacheFreshness#NO_CACHE}）取得し直して置き換えます。</p>
+ *
+ * <p>{@code folderInfo}と{@code fileMetadata}は、キャッシュしたBoxのetagで変更の有無を確認する
+ * 条件付きの読み込み（{@link TenantPartitionedCache#enableConditionalReload}）も設定します。
+ * 有効期限を過ぎたエントリは{@code box.cache.revalidation-window-seconds}の間保持し、次の参照時に
+ * {@code If-None-Match}で確認して、変更がなければ（304）有効期間を延長します。
+ * 上記の更新も、まずetagで確認してから必要な場合のみ全体を取得し直します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class CacheRefreshService {
+
+    private final BoxFileService fileService;
+    private final BoxFolderService folderService;
+    private final BoxSearchService searchService;
+    private final BoxClientManager clientManager;
+    private final RateLimiterManager rateLimiterManager;
+    private final CacheManager cacheManager;
+    private final BoxProperties.Cache cacheProperties;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolTaskExecutor refreshExecutor;
+
+    public CacheRefreshService(BoxFileService fileService,
+                               BoxFolderService folderService,
+                               BoxSearchService searchService,
+                               BoxClientManager clientManager,
+                               RateLimiterManager rateLimiterManager,
+                               CacheManager cacheManager,
+                               BoxProperties boxProperties) {
+        this.fileService = fileService;
+        this.folderService = folderService;
+        this.searchService = searchService;
+        this.clientManager = clientManager;
+        this.rateLimiterManager = rateLimiterManager;
+        this.cacheManager = cacheManager;
+        this.cacheProperties = boxProperties.getCache();
+
+        this.refreshExecutor = new ThreadPoolTaskExecutor();
+        this.refreshExecutor.setCorePoolSize(2);
+        this.refreshExecutor.setMaxPoolSize(2);
+        this.refreshExecutor.setQueueCapacity(100);
+        this.refreshExecutor.setThreadPriority(Thread.MIN_PRIORITY);
+        this.refreshExecutor.setThreadNamePrefix("refresh-box-");
+        this.refreshExecutor.initialize();
+    }
+
+    @PostConstruct
+    public void registerCaches() {
+        registerConditionalReload("fileMetadata", FileInfoResponse.class, FileInfoResponse::getEtag,
+            (apiKey, fileId, cached) -> fileService.revalidateFileInfo(apiKey, fileId, cached.getEtag()));
+        registerConditionalReload("folderInfo", FolderInfoResponse.class, FolderInfoResponse::getEtag,
+            folderService::revalidateFolderInfo);
+        register("fileMetadata", fileService::refreshFileInfo);
+        register("folderInfo", folderService::refreshFolderInfo);
+        registerRevalidation(FolderListingCache.CACHE_NAME, TenantCacheKey.class, (apiKey, key) ->
+            FreshnessContext.callWith(CacheFreshness.NO_CACHE,
+                () -> folderService.listFolderItems(apiKey, key.getId())));
+        registerRevalidation(SearchResultCache.CACHE_NAME, SearchCacheKey.class, (apiKey, key) ->
+            FreshnessContext.callWith(CacheFreshness.NO_CACHE,
+                () -> searchService.searchPage(apiKey, key.toRequest())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
+    private void register(String cacheName, BiConsumer<String, String> loader) {
+        BiConsumer<String, TenantCacheKey> keyLoader = (apiKey, key) -> {
+            Cache target = cacheManager.getCache(cacheName);
+            if (target instanceof TenantPartitionedCache cache && cache.reloadConditionally(key)) {
+                return;
+            }
+            loader.accept(apiKey, key.getId());
+        };
+        registerRevalidation(cacheName, TenantCacheKey.class, keyLoader);
+
+        double refreshAheadRatio = cacheProperties.settingsFor(cacheName).getRefreshAheadRatio();
+        if (refreshAheadRatio <= 0) {
+            log.info("Cache refresh-ahead is disabled: cache={}", cacheName);
+            return;
+        }
+        if (!(cacheManager.getCache(cacheName) instanceof TenantPartitionedCache cache)) {
+            log.warn("Cache refresh-ahead is not supported for cache: {}", cacheName);
+            return;
+        }
+        Duration refreshAfter = Duration.ofNanos((long) (cache.getTtl().toNanos() * Math.min(1.0, refreshAheadRatio)));
+        cache.enableRefreshAhead(refreshAfter, key -> requestRefresh(cache, key, TenantCacheKey.class, keyLoader));
+        log.info("Cache refresh-ahead enabled: cache={}, refreshAfter={}", cacheName, refreshAfter);
+    }
+
+    /**
+     * etagで変更の有無を確認する条件付きの読み込みを登録
+     */
+    private <T> void registerConditionalReload(String cacheName, Class<T> valueType, Function<T, String> etagOf,
+                                               Revalidation<T> revalidation) {
+        if (!(cacheManager.getCache(cacheName) instanceof TenantPartitionedCache cache)) {
+            return;
+        }
+        Duration retention = Duration.ofSeconds(cacheProperties.getRevalidationWindowSeconds());
+        cache.enableConditionalReload(retention, (key, cachedValue) -> {
+            if (!(key instanceof TenantCacheKey tenantKey) || !valueType.isInstance(cachedValue)) {
+                return null;
+            }
+            T cached = valueType.cast(cachedValue);
+            String apiKey = clientManager.findApiKey(tenantKey.getScope()).orElse(null);
+            if (etagOf.apply(cached) == null || apiKey == null) {
+                return null;
+            }
+            return revalidation.revalidate(apiKey, tenantKey.getId(), cached)
+                .<Object>map(Function.identity())
+                .orElse(ConditionalLoader.NOT_MODIFIED);
+        });
+        log.info("Cache etag revalidation enabled: cache={}, retention={}", cacheName, retention);
+    }
+
+    /**
+     * {@code stale-while-revalidate}で返した古いエントリの更新処理を登録
+     */
+    private <K extends TenantScoped> void registerRevalidation(String cacheName, Class<K> keyType,
+                                                               BiConsumer<String, K> loader) {
+        if (cacheManager.getCache(cacheName) instanceof TenantPartitionedCache cache) {
+            cache.enableRevalidation(key -> requestRefresh(cache, key, keyType, loader));
+        }
+    }
+
+    private <K extends TenantScoped> void requestRefresh(Cache cache, Object key, Class<K> keyType,
+                                                         BiConsumer<String, K> loader) {
+        if (!keyType.isInstance(key)) {
+            return;
+        }
+        K tenantKey = keyType.cast(key);
+        String apiKey = clientManager.findApiKey(tenantKey.getScope()).orElse(null);
+        if (apiKey == null || !rateLimiterManager.hasSpareCapacity(apiKey)) {
+            return;
+        }
+
+        String flightKey = cache.getName() + ":" + tenantKey;
+        if (!inFlight.add(flightKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    loader.accept(apiKey, tenantKey);
+                    log.debug("Refreshed cache entry: cache={}, key={}", cache.getName(), tenantKey);
+                } catch (ResourceNotFoundException e) {
+                    cache.evict(tenantKey);
+                    log.debug("Evicted deleted item from cache: cache={}, key={}", cache.getName(), tenantKey);
+                } catch (Exception e) {
+                    // 古いエントリは有効期限まで返し続け、次の参照で再度更新を要求する
+                    log.debug("Cache refresh failed: cache={}, key={}: {}", cache.getName(), tenantKey,
+                        e.getMessage());
+                } finally {
+                    inFlight.remove(flightKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(flightKey);
+            log.debug("Cache refresh queue is full, skipping: cache={}, key={}", cache.getName(), tenantKey);
+        }
+    }
+
+    /**
+     * キャッシュしている値のetagによる変更の有無の確認（変更がない場合はempty）
+     */
+    @FunctionalInterface
+    private interface Revalidation<T> {
+        Optional<T> revalidate(String apiKey, String id, T cached);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.boxwrapper.service;
+
+import com.example.boxwrapper.cache.CacheWarmupEntry;
+import com.example.boxwrapper.cache.CacheWarmupStore;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * キャッシュのウォームアップサービス.
+ *
+ * <p>{@code box.warmup.caches}のキャッシュから参照頻度の高いエントリを
+ * {@code box.warmup.interval-seconds}ごとと停止時に{@link CacheWarmupStore}へ保存し、
+ * 起動時にバックグラウンドで元の有効期限のままキャッシュに戻します。再起動やローリングデプロイの直後に
+ * キャッシュミスが集中してBoxのレート制限（429）に達するのを防ぎます。</p>
+ *
+ * <p>{@code box.warmup.revalidate}がtrueの場合、戻したエントリを参照頻度の高い順に
+ * {@code box.warmup.revalidate-per-second}以下の頻度でBoxから再取得します。
+ * APIキーのトークンに余裕がない場合（{@link RateLimiterManager#hasSpareCapacity(String)}）は見送り、
+ * 存在しなくなったアイテムはキャッシュから削除します。</p>
+ *
+ * <p>起動処理（{@link ApplicationRunner}）は読み込みと再取得の完了を
+ * {@code box.warmup.max-wait-seconds}まで待つため、その間はアプリケーションの
+ * 準備完了（readiness）が通知されません。超えた場合は残りをバックグラウンドで続けます。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class CacheWarmupService implements ApplicationRunner {
+
+    private final BoxFileService fileService;
+    private final BoxFolderService folderService;
+    private final BoxClientManager clientManager;
+    private final RateLimiterManager rateLimiterManager;
+    private final CacheManager cacheManager;
+    private final CacheWarmupStore warmupStore;
+    private final BoxProperties.Warmup properties;
+    private final AtomicLong restoredCount = new AtomicLong();
+    private final AtomicLong revalidatedCount = new AtomicLong();
+    private final ThreadPoolTaskExecutor warmupExecutor;
+    private final ThreadPoolTaskScheduler snapshotScheduler;
+    private volatile CompletableFuture<Void> warmup;
+    private volatile Instant lastSavedAt;
+
+    public CacheWarmupService(BoxFileService fileService,
+                              BoxFolderService folderService,
+                              BoxClientManager clientManager,
+                              RateLimiterManager rateLimiterManager,
+                              CacheManager cacheManager,
+                              CacheWarmupStore warmupStore,
+                              BoxProperties boxProperties) {
+        this.fileService = fileService;
+        this.folderService = folderService;
+        this.clientManager = clientManager;
+        this.rateLimiterManager = rateLimiterManager;
+        this.cacheManager = cacheManager;
+        this.warmupStore = warmupStore;
+        this.properties = boxProperties.getWarmup();
+
+        this.warmupExecutor = new ThreadPoolTaskExecutor();
+        this.warmupExecutor.setCorePoolSize(1);
+        this.warmupExecutor.setMaxPoolSize(1);
+        this.warmupExecutor.setThreadPriority(Thread.MIN_PRIORITY);
+        this.warmupExecutor.setThreadNamePrefix("warmup-box-");
+        this.warmupExecutor.initialize();
+
+        this.snapshotScheduler = new ThreadPoolTaskScheduler();
+        this.snapshotScheduler.setPoolSize(1);
+        this.snapshotScheduler.setThreadNamePrefix("warmup-snapshot-");
+        this.snapshotScheduler.initialize();
+        if (properties.isEnabled()) {
+            Duration interval = Duration.ofSeconds(Math.max(1, properties.getIntervalSeconds()));
+            snapshotScheduler.scheduleAtFixedRate(this::saveSnapshot, Instant.now().plus(interval), interval);
+        }
+    }
+
+    /**
+     * 保存されたエントリをキャッシュに戻し、完了を待ちます.
+     *
+     * @param args アプリケーション引数
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        CompletableFuture<Void> started = CompletableFuture.runAsync(this::warmUp, warmupExecutor);
+        this.warmup = started;
+        try {
+            started.get(Math.max(0, properties.getMaxWaitSeconds()), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up did not finish within {}s, continuing in background", properties.getMaxWaitSeconds());
+        } catch (ExecutionException e) {
+            log.warn("Cache warm-up failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 参照頻度の高いエントリを保存します.
+     *
+     * <p>起動時の読み込みが完了するまでは、前回のスナップショットを上書きしないよう保存しません。</p>
+     *
+     * @return 保存したエントリ数（保存しなかった場合は0）
+     */
+    public int saveSnapshot() {
+        CompletableFuture<Void> current = warmup;
+        if (current != null && !current.isDone()) {
+            return 0;
+        }
+        Map<String, List<CacheWarmupEntry>> entriesByCache = new LinkedHashMap<>();
+        for (String cacheName : properties.getCaches()) {
+            if (cacheManager.getCache(cacheName) instanceof TenantPartitionedCache cache) {
+                entriesByCache.put(cacheName, cache.hottestEntries(properties.getEntriesPerCache()));
+            }
+        }
+        try {
+            int saved = warmupStore.save(entriesByCache);
+            lastSavedAt = Instant.now();
+            log.info("Saved cache warm-up snapshot: {} entries", saved);
+            return saved;
+        } catch (IOException e) {
+            log.warn("Failed to save cache warm-up snapshot: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotScheduler.shutdown();
+        warmupExecutor.shutdown();
+        if (properties.isEnabled()) {
+            saveSnapshot();
+        }
+    }
+
+    /**
+     * 起動時にキャッシュに戻したエントリ数を返します.
+     *
+     * @return 戻したエントリ数
+     */
+    public long getRestoredCount() {
+        return restoredCount.get();
+    }
+
+    /**
+     * 戻したエントリのうちBoxから再取得したエントリ数を返します.
+     *
+     * @return 再取得したエントリ数
+     */
+    public long getRevalidatedCount() {
+        return revalidatedCount.get();
+    }
+
+    /**
+     * 起動時の読み込み（と再取得）が完了したかを判定します.
+     *
+     * @return 完了した場合、またはウォームアップが無効の場合true
+     */
+    public boolean isWarmupComplete() {
+        CompletableFuture<Void> current = warmup;
+        return current == null || current.isDone();
+    }
+
+    /**
+     * 最後にスナップショットを保存した時刻を返します.
+     *
+     * @return 保存した時刻。起動後に保存していない場合はnull
+     */
+    public Instant getLastSavedAt() {
+        return lastSavedAt;
+    }
+
+    private void warmUp() {
+        Map<String, List<CacheWarmupEntry>> entriesByCache;
+        try {
+            entriesByCache = warmupStore.load();
+        } catch (IOException e) {
+            log.warn("Failed to load cache warm-up snapshot, starting cold: {}", e.getMessage());
+            return;
+        }
+
+        Map<TenantPartitionedCache, List<TenantCacheKey>> restored = new LinkedHashMap<>();
+        for (Map.Entry<String, List<CacheWarmupEntry>> cacheEntries : entriesByCache.entrySet()) {
+            if (!properties.getCaches().contains(cacheEntries.getKey())
+                    || !(cacheManager.getCache(cacheEntries.getKey()) instanceof TenantPartitionedCache cache)) {
+                continue;
+            }
+            List<TenantCacheKey> keys = new ArrayList<>();
+            for (CacheWarmupEntry entry : cacheEntries.getValue()) {
+                if (cache.restoreEntry(entry)) {
+                    keys.add(entry.getKey());
+                }
+            }
+            restoredCount.addAndGet(keys.size());
+            restored.put(cache, keys);
+            log.info("Cache warm-up restored {} of {} entries: cache={}", keys.size(), cacheEntries.getValue().size(),
+                cache.getName());
+        }
+
+        if (properties.isRevalidate()) {
+            restored.forEach(this::revalidate);
+        }
+    }
+
+    /**
+     * 戻したエントリをBoxから再取得（revalidate-per-second以下の頻度）
+     */
+    private void revalidate(TenantPartitionedCache cache, List<TenantCacheKey> keys) {
+        BiConsumer<String, String> loader = switch (cache.getName()) {
+            case "fileMetadata" -> fileService::refreshFileInfo;
+            case "folderInfo" -> folderService::refreshFolderInfo;
+            default -> null;
+        };
+        if (loader == null) {
+            return;
+        }
+
+        long intervalMillis = 1000L / Math.max(1, properties.getRevalidatePerSecond());
+        for (TenantCacheKey key : keys) {
+            String apiKey = clientManager.findApiKey(key.getScope()).orElse(null);
+            if (apiKey == null || !rateLimiterManager.hasSpareCapacity(apiKey)) {
+                continue;
+            }
+            try {
+                loader.accept(apiKey, key.getId());
+                revalidatedCount.incrementAndGet();
+            } catch (ResourceNotFoundException e) {
+                cache.evict(key);
+            } catch (Exception e) {
+                // 戻したエントリは有効期限まで返し、refresh-aheadや期限切れで再取得する
+                log.debug("Cache warm-up revalidation failed: cache={}, id={}: {}", cache.getName(), key.getId(),
+                    e.getMessage());
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
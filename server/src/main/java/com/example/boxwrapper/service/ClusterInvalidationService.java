@@ -0,0 +1,210 @@
+package com.example.boxwrapper.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.CacheAdminInvalidatedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.CacheInvalidationBus;
+import com.example.boxwrapper.cache.CacheInvalidationMessage;
+import com.example.boxwrapper.config.BoxProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ノード間キャッシュ無効化サービス.
+ *
+ * <p>{@code box.cluster.enabled}がtrueの場合、このノードでの作成・削除・移動
+ * （{@link BoxItemChangedEvent}）を{@link CacheInvalidationBus}で他のノードに通知します。
+ * 他のノードから受信した通知は{@link BoxItemInvalidatedEvent}として発行し、各キャッシュが
+ * アイテムと親フォルダのエントリを無効化します。受信した通知は再送信しないため、通知が循環することはありません。</p>
+ *
+ * <p>Webhookはロードバランサーが選んだ1つのノードにのみ届くため、{@link BoxWebhookService}が
+ * 受信した変更も{@link #broadcast(BoxItemInvalidatedEvent)}で通知します。イベントストリームは
+ * 各ノードが購読するため通知しません。</p>
+ *
+ * <p>管理APIによる無効化・全削除も{@link #broadcastAdmin}で通知し、受信したノードでは
+ * {@link CacheAdminInvalidatedEvent}として発行します。</p>
+ *
+ * <p>通知は{@code box.cluster.batch-interval-millis}ごとにまとめて送信します。同じアイテムへの
+ * 連続した変更は1件にまとめ、1回の送信は{@code box.cluster.max-batch-size}件までに分割します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class ClusterInvalidationService {
+
+    private final CacheInvalidationBus bus;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoxProperties.Cluster properties;
+    private final Map<String, CacheInvalidationMessage> pending = new ConcurrentHashMap<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final ThreadPoolTaskScheduler flushScheduler;
+
+    public ClusterInvalidationService(CacheInvalidationBus bus,
+                                      ApplicationEventPublisher eventPublisher,
+                                      BoxProperties boxProperties) {
+        this.bus = bus;
+        this.eventPublisher = eventPublisher;
+        this.properties = boxProperties.getCluster();
+
+        this.flushScheduler = new ThreadPoolTaskScheduler();
+        this.flushScheduler.setPoolSize(1);
+        this.flushScheduler.setThreadNamePrefix("cluster-flush-");
+        this.flushScheduler.initialize();
+        if (properties.isEnabled()) {
+            bus.subscribe(this::onReceived);
+            flushScheduler.scheduleAtFixedRate(this::flush,
+                Duration.ofMillis(Math.max(1, properties.getBatchIntervalMillis())));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * アイテム変更イベントを受け取り、他のノードへの通知を予約します.
+     *
+     * @param event アイテム変更イベント
+     */
+    @EventListener
+    public void onItemChanged(BoxItemChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        enqueue(CacheInvalidationMessage.from(event));
+    }
+
+    /**
+     * このノードが受信した外部の変更を、他のノードに通知するよう予約します.
+     *
+     * @param event 外部変更イベント
+     */
+    public void broadcast(BoxItemInvalidatedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        enqueue(CacheInvalidationMessage.from(event));
+    }
+
+    /**
+     * 管理APIによる無効化を、他のノードに通知するよう予約します.
+     *
+     * @param operation 無効化の種類
+     * @param cacheName キャッシュ名（全キャッシュの場合はnull）
+     * @param scope テナントスコープ（全テナントの場合はnull）
+     * @param key キー・前方一致・フォルダID（全削除の場合はnull）
+     */
+    public void broadcastAdmin(CacheInvalidationMessage.Operation operation, String cacheName, String scope,
+                               String key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        enqueue(CacheInvalidationMessage.admin(operation, cacheName, scope, key));
+    }
+
+    /**
+     * 予約された通知をまとめて送信します.
+     *
+     * <p>{@code box.cluster.batch-interval-millis}ごとに呼び出されます。</p>
+     */
+    public void flush() {
+        List<CacheInvalidationMessage> batch = new ArrayList<>();
+        int batchSize = Math.max(1, properties.getMaxBatchSize());
+        for (String key : pending.keySet()) {
+            CacheInvalidationMessage message = pending.remove(key);
+            if (message == null) {
+                continue;
+            }
+            batch.add(message);
+            if (batch.size() >= batchSize) {
+                send(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        send(batch);
+    }
+
+    /**
+     * 他のノードに通知したメッセージの数を返します.
+     *
+     * @return 送信したメッセージの数（まとめた後の件数）
+     */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * 同じアイテムへの変更を1件にまとめた数を返します.
+     *
+     * @return まとめて送信を省略した数
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 他のノードから受信したメッセージの数を返します.
+     *
+     * @return 受信したメッセージの数
+     */
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    private void enqueue(CacheInvalidationMessage message) {
+        pending.merge(message.coalescingKey(), message, (previous, next) -> {
+            coalesced.increment();
+            return previous.merge(next);
+        });
+    }
+
+    private void send(List<CacheInvalidationMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            bus.publish(batch);
+            published.add(batch.size());
+            log.debug("Sent {} cache invalidations to peer nodes", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to send {} cache invalidations to peer nodes: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 他のノードから受信した通知でキャッシュを無効化
+     */
+    private void onReceived(List<CacheInvalidationMessage> messages) {
+        for (CacheInvalidationMessage message : messages) {
+            received.increment();
+            try {
+                if (message.getOperation() == CacheInvalidationMessage.Operation.ITEM) {
+                    eventPublisher.publishEvent(message.toInvalidatedEvent());
+                } else {
+                    eventPublisher.publishEvent(message.toAdminEvent());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to invalidate caches for {} {}: {}", message.getOperation(),
+                    message.getOperation() == CacheInvalidationMessage.Operation.ITEM ? message.getItemId()
+                        : message.getKey(), e.getMessage());
+            }
+        }
+        log.debug("Applied {} cache invalidations from peer nodes", messages.size());
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.boxwrapper.service;
+
+import com.box.sdk.BoxAPIConnection;
+import com.box.sdk.BoxAPIException;
+import com.example.boxwrapper.cache.SearchCacheKey;
+import com.example.boxwrapper.cache.SearchResultPage;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ValidationException;
+import com.example.boxwrapper.model.response.SearchResultItem;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+
+/**
+ * 複数Boxアカウント横断検索サービス.
+ *
+ * <p>1つのAPIキーに複数のBoxアカウント（{@code box-configs}）が設定されている場合に、
+ * 全アカウントへ同じ検索を並列に実行し、結果を1つのページにまとめます。
+ * {@code box.search.fan-out}がtrueの場合のみ有効です。</p>
+ *
+ * <p>各アカウントからは関連度順に{@code offset + limit}件を取得し、順位ごとに
+ * 設定ファイルの記載順でアカウントを巡回して並べます（1位の結果を各アカウントから、
+ * 次に2位の結果を…）。共有フォルダなどで複数のアカウントに現れるアイテムは、
+ * 最初に現れた位置にのみ含めます。アカウントの順序は固定のため、同じ検索は
+ * 同じ順序の結果を返し、ページ送りでも結果が重複・欠落しません。</p>
+ *
+ * <p>深いページほど各アカウントから取得する件数が増えるため、{@code offset + limit}が
+ * {@code box.search.fan-out-max-depth}を超える検索は{@link ValidationException}で拒否します。</p>
+ *
+ * <p>全アカウントの応答を{@code box.search.fan-out-budget-millis}まで待ち、
+ * それまでに応答しなかったアカウントや失敗したアカウントの結果を除いて返します。
+ * その場合、ページは{@link SearchResultPage#isPartial()}がtrueになります。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class FanOutSearchService {
+
+    /**
+     * Box検索APIで1回に取得できる最大件数
+     */
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final BoxClientManager clientManager;
+    private final RateLimiterManager rateLimiterManager;
+    private final boolean enabled;
+    private final Duration budget;
+    private final int maxDepth;
+    private final ThreadPoolTaskExecutor fanOutExecutor;
+
+    public FanOutSearchService(BoxClientManager clientManager,
+                               RateLimiterManager rateLimiterManager,
+                               BoxProperties boxProperties) {
+        this.clientManager = clientManager;
+        this.rateLimiterManager = rateLimiterManager;
+        this.enabled = boxProperties.getSearch().isFanOut();
+        this.budget = Duration.ofMillis(boxProperties.getSearch().getFanOutBudgetMillis());
+        this.maxDepth = Math.min(boxProperties.getSearch().getFanOutMaxDepth(), SearchCacheKey.MAX_RESULT_WINDOW);
+
+        int concurrency = boxProperties.getSearch().getFanOutConcurrency();
+        this.fanOutExecutor = new ThreadPoolTaskExecutor();
+        this.fanOutExecutor.setCorePoolSize(concurrency);
+        this.fanOutExecutor.setMaxPoolSize(concurrency);
+        this.fanOutExecutor.setQueueCapacity(concurrency * 4);
+        this.fanOutExecutor.setThreadNamePrefix("fanout-box-");
+        this.fanOutExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdown();
+    }
+
+    /**
+     * APIキーの検索を全アカウントに対して行うかどうかを返します.
+     *
+     * @param apiKey 認証用のAPIキー
+     * @return 横断検索が有効で、APIキーに複数のBox接続がある場合true
+     */
+    public boolean appliesTo(String apiKey) {
+        return enabled && clientManager.getConnections(apiKey).size() > 1;
+    }
+
+    /**
+     * 全アカウントを並列に検索し、結果をまとめた1ページを返します.
+     *
+     * <p>各アカウントへの呼び出しごとにレート制限のトークンを消費します。
+     * 全件数は各アカウントの件数の合計です（重複を含みます）。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param key 正規化済みの検索条件
+     * @param fetcher 1アカウントから指定範囲の結果を取得する処理
+     * @return 検索結果のページ
+     * @throws ValidationException {@code offset + limit}が上限を超える場合
+     * @throws BoxApiException 全てのアカウントで検索に失敗した場合
+     */
+    public SearchResultPage search(String apiKey, SearchCacheKey key,
+                                   BiFunction<BoxAPIConnection, SearchCacheKey, SearchResultPage> fetcher) {
+        List<BoxAPIConnection> connections = clientManager.getConnections(apiKey);
+        int depth = key.getOffset() + key.getLimit();
+        if (depth > maxDepth) {
+            ValidationException e = new ValidationException(
+                "複数アカウントの横断検索では offset + limit を " + maxDepth + " 以下にしてください");
+            e.addFieldError("offset", "offset + limit が上限（" + maxDepth + "）を超えています");
+            throw e;
+        }
+
+        List<CompletableFuture<AccountResult>> futures = new ArrayList<>(connections.size());
+        for (BoxAPIConnection api : connections) {
+            try {
+                futures.add(CompletableFuture.supplyAsync(
+                    () -> collect(apiKey, api, key, depth, fetcher), fanOutExecutor));
+            } catch (RejectedExecutionException e) {
+                futures.add(CompletableFuture.failedFuture(
+                    new BoxApiException("検索を開始できませんでした", 503, e)));
+            }
+        }
+        awaitWithinBudget(futures);
+
+        List<List<SearchResultItem>> ranked = new ArrayList<>(futures.size());
+        long totalCount = 0;
+        boolean partial = false;
+        RuntimeException failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<AccountResult> future = futures.get(i);
+            if (!future.isDone()) {
+                future.cancel(false);
+                partial = true;
+                log.warn("Search in Box account #{} exceeded the {}ms budget", i, budget.toMillis());
+                continue;
+            }
+            try {
+                AccountResult result = future.join();
+                ranked.add(result.items());
+                totalCount += result.totalCount();
+            } catch (CompletionException e) {
+                partial = true;
+                failure = e.getCause() instanceof RuntimeException cause
+                    ? cause : new BoxApiException("検索に失敗しました: " + e.getMessage(), e);
+                log.warn("Search in Box account #{} failed: {}", i, failure.getMessage());
+            }
+        }
+
+        if (ranked.isEmpty()) {
+            if (failure != null) {
+                throw failure;
+            }
+            throw new BoxApiException("検索が時間内に完了しませんでした", 504);
+        }
+
+        List<SearchResultItem> merged = merge(ranked);
+        List<SearchResultItem> results = merged.subList(
+            Math.min(key.getOffset(), merged.size()), Math.min(depth, merged.size()));
+        return new SearchResultPage(List.copyOf(results), totalCount, partial);
+    }
+
+    /**
+     * アカウントごとの関連度順の結果を、順位ごとにアカウントを巡回して1つにまとめる（重複はIDで除外）
+     */
+    private static List<SearchResultItem> merge(List<List<SearchResultItem>> ranked) {
+        int maxSize = ranked.stream().mapToInt(List::size).max().orElse(0);
+        Map<String, SearchResultItem> merged = new LinkedHashMap<>();
+        for (int rank = 0; rank < maxSize; rank++) {
+            for (List<SearchResultItem> items : ranked) {
+                if (rank < items.size()) {
+                    merged.putIfAbsent(items.get(rank).getId(), items.get(rank));
+                }
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * 1アカウントから先頭{@code depth}件の結果を取得
+     */
+    private AccountResult collect(String apiKey, BoxAPIConnection api, SearchCacheKey key, int depth,
+                                  BiFunction<BoxAPIConnection, SearchCacheKey, SearchResultPage> fetcher) {
+        List<SearchResultItem> items = new ArrayList<>();
+        long totalCount = 0;
+        int offset = 0;
+        while (offset < depth) {
+            if (!rateLimiterManager.tryConsume(apiKey)) {
+                throw new BoxApiException("レート制限に達しました", 429);
+            }
+
+            int limit = Math.min(MAX_PAGE_SIZE, depth - offset);
+            SearchResultPage page;
+            try {
+                page = fetcher.apply(api, key.withRange(offset, limit));
+            } catch (BoxAPIException e) {
+                if (e.getResponseCode() == 429) {
+                    rateLimiterManager.handleRateLimitExceeded(apiKey);
+                }
+                throw new BoxApiException("検索に失敗しました: " + e.getMessage(), e.getResponseCode(), e);
+            }
+            rateLimiterManager.handleSuccess(apiKey);
+
+            items.addAll(page.getResults());
+            totalCount = page.getTotalCount();
+            offset += limit;
+            if (page.getResults().isEmpty() || offset >= totalCount) {
+                break;
+            }
+        }
+        return new AccountResult(items, totalCount);
+    }
+
+    /**
+     * 全アカウントの応答を待つ（時間切れの場合は応答済みの分だけで続行）
+     */
+    private void awaitWithinBudget(List<CompletableFuture<AccountResult>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .get(budget.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // アカウントごとの結果は呼び出し元で判定する
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record AccountResult(List<SearchResultItem> items, long totalCount) {
+    }
+}
@@ -0,0 +1,406 @@
+package com.example.boxwrapper.service;
+
+import com.box.sdk.BoxAPIConnection;
+import com.box.sdk.BoxAPIException;
+import com.example.boxwrapper.cache.CacheFreshness;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FreshnessContext;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.client.BoxJsonApiClient;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.response.FolderChangesResponse;
+import com.example.boxwrapper.model.response.FolderSnapshotResponse;
+import com.example.boxwrapper.snapshot.FolderSnapshot;
+import com.example.boxwrapper.snapshot.FolderSnapshotStore;
+import com.example.boxwrapper.snapshot.SnapshotEntry;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * フォルダスナップショット・差分検出サービス.
+ *
+ * <p>フォルダ配下のアイテム（ID、etag、SHA1、親フォルダID）をスナップショットとして保存し、
+ * 以降の呼び出しで追加・削除・変更・移動されたアイテムのみを返します。</p>
+ *
+ * <p>スナップショット取得時のBoxイベントストリーム位置を記録しておき、差分検出時は
+ * その位置以降のイベントに現れたフォルダのみを再取得します。ストリーム位置が無い場合や
+ * イベント数が{@code box.snapshot.max-events}を超える場合は、サブツリー全体を再クロールします。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FolderSnapshotService {
+
+    private static final int EVENTS_PAGE_SIZE = 500;
+
+    private final BoxFolderService folderService;
+    private final BoxClientManager clientManager;
+    private final RateLimiterManager rateLimiterManager;
+    private final BoxJsonApiClient jsonApiClient;
+    private final FolderSnapshotStore snapshotStore;
+    private final BoxProperties boxProperties;
+
+    /**
+     * フォルダ配下のスナップショットを作成します.
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param folderId 対象フォルダのID
+     * @return 作成されたスナップショットの情報
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     * @throws ResourceNotFoundException フォルダが存在しない場合（404）
+     */
+    public FolderSnapshotResponse createSnapshot(String apiKey, String folderId) {
+        String scope = clientManager.getTenantScope(apiKey);
+
+        // クロール中の変更を取りこぼさないよう、先にストリーム位置を取得する
+        Long streamPosition = currentStreamPosition(apiKey);
+        Map<String, SnapshotEntry> entries = new LinkedHashMap<>();
+        crawl(apiKey, folderId, List.of(folderId), entries);
+
+        FolderSnapshot snapshot = save(scope, folderId, streamPosition, entries.values());
+        log.info("Created snapshot {} for folder {}: {} items", snapshot.getSnapshotId(), folderId, entries.size());
+
+        return FolderSnapshotResponse.builder()
+            .snapshotId(snapshot.getSnapshotId())
+            .folderId(folderId)
+            .itemCount(snapshot.getEntries().size())
+            .createdAt(LocalDateTime.ofInstant(snapshot.getCreatedAt(), ZoneId.systemDefault()))
+            .build();
+    }
+
+    /**
+     * スナップショット以降の変更を取得します.
+     *
+     * <p>差分検出後の状態を新しいスナップショットとして保存し、そのIDを返します。
+     * 次回は返されたIDを{@code since}に指定してください。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param folderId 対象フォルダのID
+     * @param snapshotId 比較元のスナップショットID
+     * @return 追加・削除・変更・移動されたアイテム
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     * @throws ResourceNotFoundException フォルダまたはスナップショットが存在しない場合
+     * @throws IllegalArgumentException スナップショットが別のフォルダのものである場合
+     */
+    public FolderChangesResponse getChanges(String apiKey, String folderId, String snapshotId) {
+        String scope = clientManager.getTenantScope(apiKey);
+
+        FolderSnapshot previous = snapshotStore.load(scope, snapshotId)
+            .orElseThrow(() -> new ResourceNotFoundException("Snapshot", snapshotId));
+        if (!previous.getFolderId().equals(folderId)) {
+            throw new IllegalArgumentException("スナップショットは別のフォルダのものです: " + snapshotId);
+        }
+
+        Map<String, SnapshotEntry> before = new LinkedHashMap<>();
+        for (SnapshotEntry entry : previous.getEntries()) {
+            before.put(entry.getId(), entry);
+        }
+
+        Map<String, SnapshotEntry> after = new LinkedHashMap<>(before);
+        Long streamPosition;
+        Optional<ChangedFolders> changed = previous.getStreamPosition() != null
+            ? readChangedFolders(apiKey, previous.getStreamPosition(), folderId, before)
+            : Optional.empty();
+
+        if (changed.isPresent()) {
+            streamPosition = changed.get().streamPosition();
+            crawl(apiKey, folderId, changed.get().folderIds(), after);
+            log.debug("Incremental diff for folder {}: re-listed {} folders",
+                folderId, changed.get().folderIds().size());
+        } else {
+            streamPosition = currentStreamPosition(apiKey);
+            after.clear();
+            crawl(apiKey, folderId, List.of(folderId), after);
+            log.debug("Full diff for folder {}: {} items", folderId, after.size());
+        }
+
+        Map<String, SnapshotEntry> current = reachableFrom(folderId, after);
+        FolderSnapshot snapshot = save(scope, folderId, streamPosition, current.values());
+
+        FolderChangesResponse response = diff(before, current);
+        response.setFolderId(folderId);
+        response.setSinceSnapshotId(snapshotId);
+        response.setSnapshotId(snapshot.getSnapshotId());
+        response.setIncremental(changed.isPresent());
+
+        log.info("Changes for folder {} since {}: {} added, {} removed, {} modified, {} moved",
+            folderId, snapshotId, response.getAdded().size(), response.getRemoved().size(),
+            response.getModified().size(), response.getMoved().size());
+        return response;
+    }
+
+    /**
+     * 指定フォルダを再取得し、新たに見つかったサブフォルダを再帰的にクロール
+     */
+    private void crawl(String apiKey, String rootId, Iterable<String> folderIds,
+                       Map<String, SnapshotEntry> entries) {
+        // 再取得するフォルダの既存の子アイテム
+        Set<String> dirty = new HashSet<>();
+        folderIds.forEach(dirty::add);
+        Map<String, List<String>> staleChildren = new HashMap<>();
+        for (SnapshotEntry entry : entries.values()) {
+            if (dirty.contains(entry.getParentId())) {
+                staleChildren.computeIfAbsent(entry.getParentId(), k -> new ArrayList<>()).add(entry.getId());
+            }
+        }
+
+        Deque<String> queue = new ArrayDeque<>(dirty);
+        while (!queue.isEmpty()) {
+            String folderId = queue.poll();
+            for (String childId : staleChildren.getOrDefault(folderId, List.of())) {
+                SnapshotEntry child = entries.get(childId);
+                if (child != null && folderId.equals(child.getParentId())) {
+                    entries.remove(childId);
+                }
+            }
+
+            List<FolderItem> items;
+            try {
+                items = listFolder(apiKey, folderId, dirty.contains(folderId));
+            } catch (ResourceNotFoundException e) {
+                if (folderId.equals(rootId)) {
+                    throw e;
+                }
+                // 削除済みのフォルダは配下ごとスナップショットから外れる
+                continue;
+            }
+
+            for (FolderItem item : items) {
+                SnapshotEntry previous = entries.put(item.getId(), SnapshotEntry.builder()
+                    .id(item.getId())
+                    .type(item.getType())
+                    .name(item.getName())
+                    .etag(item.getEtag())
+                    .sha1(item.getSha1())
+                    .parentId(folderId)
+                    .build());
+                if (item.isFolder() && previous == null && !dirty.contains(item.getId())) {
+                    queue.add(item.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * フォルダ一覧を取得
+     *
+     * <p>変更のあったフォルダは外部での変更を反映するため、キャッシュを使わずに取得してエントリを置き換えます。
+     * 新たに見つかったサブフォルダの一覧は、イベントによる無効化で最新に保たれているキャッシュを使います。</p>
+     */
+    private List<FolderItem> listFolder(String apiKey, String folderId, boolean changed) {
+        if (!changed) {
+            return folderService.listFolderItemDetails(apiKey, folderId);
+        }
+        return FreshnessContext.callWith(CacheFreshness.NO_CACHE,
+            () -> folderService.listFolderItemDetails(apiKey, folderId));
+    }
+
+    /**
+     * イベントストリームから変更のあったフォルダを収集
+     *
+     * @return 変更のあったフォルダと読み込み後のストリーム位置。イベントが多すぎる場合や
+     *         ストリームを読めない場合は空
+     */
+    private Optional<ChangedFolders> readChangedFolders(String apiKey, long fromPosition, String rootId,
+                                                        Map<String, SnapshotEntry> before) {
+        Set<String> knownFolders = new HashSet<>();
+        knownFolders.add(rootId);
+        before.values().stream().filter(SnapshotEntry::isFolder).forEach(e -> knownFolders.add(e.getId()));
+
+        Set<String> changed = new HashSet<>();
+        long position = fromPosition;
+        int read = 0;
+        try {
+            while (true) {
+                JsonNode page = fetchJson(apiKey, "events?stream_type=changes&limit=" + EVENTS_PAGE_SIZE
+                    + "&stream_position=" + position);
+                JsonNode events = page.path("entries");
+                long next = page.path("next_stream_position").asLong(position);
+
+                for (JsonNode event : events) {
+                    JsonNode source = event.path("source");
+                    String type = source.path("type").asText();
+                    if (!"file".equals(type) && !"folder".equals(type) && !"web_link".equals(type)) {
+                        continue;
+                    }
+                    // 移動元・移動先の両方を再取得対象にする
+                    SnapshotEntry known = before.get(source.path("id").asText());
+                    if (known != null) {
+                        changed.add(known.getParentId());
+                    }
+                    String parentId = source.path("parent").path("id").asText(null);
+                    if (parentId != null) {
+                        changed.add(parentId);
+                    }
+                }
+
+                read += events.size();
+                if (read > boxProperties.getSnapshot().getMaxEvents()) {
+                    log.info("Too many events since stream position {} ({}), falling back to full crawl",
+                        fromPosition, read);
+                    return Optional.empty();
+                }
+                if (events.isEmpty() || next == position) {
+                    position = next;
+                    break;
+                }
+                position = next;
+            }
+        } catch (BoxApiException e) {
+            if (e.getStatusCode() == 429) {
+                throw e;
+            }
+            log.warn("Failed to read events stream, falling back to full crawl: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        changed.retainAll(knownFolders);
+        return Optional.of(new ChangedFolders(changed, position));
+    }
+
+    /**
+     * 現在のイベントストリーム位置を取得
+     *
+     * @return ストリーム位置。取得できない場合はnull
+     */
+    private Long currentStreamPosition(String apiKey) {
+        try {
+            JsonNode position = fetchJson(apiKey, "events?stream_position=now").path("next_stream_position");
+            return position.isMissingNode() ? null : position.asLong();
+        } catch (BoxApiException e) {
+            if (e.getStatusCode() == 429) {
+                throw e;
+            }
+            log.warn("Events stream is not available, snapshots will use full crawls: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Box APIからJSONを取得
+     */
+    private JsonNode fetchJson(String apiKey, String path) {
+        try {
+            if (!rateLimiterManager.tryConsume(apiKey)) {
+                throw new BoxApiException("レート制限に達しました", 429);
+            }
+
+            BoxAPIConnection api = clientManager.getConnection(apiKey);
+            JsonNode json = jsonApiClient.get(api, path);
+
+            rateLimiterManager.handleSuccess(apiKey);
+            return json;
+
+        } catch (BoxAPIException e) {
+            if (e.getResponseCode() == 429) {
+                rateLimiterManager.handleRateLimitExceeded(apiKey);
+            }
+            throw new BoxApiException("イベント取得に失敗しました: " + e.getMessage(),
+                e.getResponseCode(), e);
+        }
+    }
+
+    /**
+     * ルートフォルダから辿れるアイテムのみを抽出
+     */
+    private Map<String, SnapshotEntry> reachableFrom(String rootId, Map<String, SnapshotEntry> entries) {
+        Map<String, List<SnapshotEntry>> children = new HashMap<>();
+        for (SnapshotEntry entry : entries.values()) {
+            children.computeIfAbsent(entry.getParentId(), k -> new ArrayList<>()).add(entry);
+        }
+
+        Map<String, SnapshotEntry> reachable = new LinkedHashMap<>();
+        Deque<String> queue = new ArrayDeque<>(List.of(rootId));
+        while (!queue.isEmpty()) {
+            for (SnapshotEntry child : children.getOrDefault(queue.poll(), List.of())) {
+                reachable.put(child.getId(), child);
+                if (child.isFolder()) {
+                    queue.add(child.getId());
+                }
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * 2つのスナップショットの差分を計算
+     */
+    private FolderChangesResponse diff(Map<String, SnapshotEntry> before, Map<String, SnapshotEntry> after) {
+        FolderChangesResponse response = FolderChangesResponse.builder().build();
+
+        for (SnapshotEntry entry : after.values()) {
+            SnapshotEntry old = before.get(entry.getId());
+            if (old == null) {
+                response.getAdded().add(toChangedItem(entry, null));
+            } else if (!Objects.equals(old.getParentId(), entry.getParentId())) {
+                response.getMoved().add(toChangedItem(entry, old.getParentId()));
+            } else if (!Objects.equals(old.getEtag(), entry.getEtag())
+                    || !Objects.equals(old.getSha1(), entry.getSha1())
+                    || !Objects.equals(old.getName(), entry.getName())) {
+                response.getModified().add(toChangedItem(entry, null));
+            }
+        }
+        for (SnapshotEntry entry : before.values()) {
+            if (!after.containsKey(entry.getId())) {
+                response.getRemoved().add(toChangedItem(entry, null));
+            }
+        }
+        return response;
+    }
+
+    private FolderSnapshot save(String scope, String folderId, Long streamPosition, Iterable<SnapshotEntry> entries) {
+        List<SnapshotEntry> list = new ArrayList<>();
+        entries.forEach(list::add);
+
+        FolderSnapshot snapshot = FolderSnapshot.builder()
+            .snapshotId(UUID.randomUUID().toString())
+            .folderId(folderId)
+            .streamPosition(streamPosition)
+            .createdAt(Instant.now())
+            .entries(list)
+            .build();
+        snapshotStore.save(scope, snapshot);
+        return snapshot;
+    }
+
+    private FolderChangesResponse.ChangedItem toChangedItem(SnapshotEntry entry, String previousParentId) {
+        return FolderChangesResponse.ChangedItem.builder()
+            .id(entry.getId())
+            .type(entry.getType())
+            .name(entry.getName())
+            .parentId(entry.getParentId())
+            .previousParentId(previousParentId)
+            .etag(entry.getEtag())
+            .sha1(entry.getSha1())
+            .build();
+    }
+
+    /**
+     * イベントストリームから求めた再取得対象
+     */
+    private record ChangedFolders(Set<String> folderIds, long streamPosition) {
+    }
+}
@@ -0,0 +1,511 @@
+package com.example.boxwrapper.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.AsyncProperties;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.response.FolderUsageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * フォルダ使用量集計サービス.
+ *
+ * <p>フォルダ配下の合計バイト数、ファイル数、フォルダ数を集計します。
+ * 集計結果はフォルダごとの小計（直下の合計と配下全体の合計）として保持され、
+ * 同じツリーへの再問い合わせはBoxを呼ばずに応答します。</p>
+ *
+ * <p>このサーバー経由のアップロード・削除は{@link BoxItemChangedEvent}を通じて
+ * 小計に差分反映されます。差分が分からない変更はそのフォルダを「要再取得」とし、
+ * 次回の集計時にそのフォルダのみを再クロールします。Boxのイベントストリームで通知された
+ * 外部の変更（{@link BoxItemInvalidatedEvent}）は差分が分からないため、親フォルダを「要再取得」とします。</p>
+ *
+ * <p>クロールは専用スレッドプールで並列に実行され、同時実行数は
+ * {@code async.parallel.max-concurrent-crawls}で制御されます。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class FolderUsageService {
+
+    private static final int MAX_RATE_LIMIT_RETRIES = 10;
+    private static final long RATE_LIMIT_BACKOFF_MILLIS = 200;
+
+    private final BoxFolderService folderService;
+    private final BoxClientManager clientManager;
+    private final FolderListingCache folderListingCache;
+    private final Duration maxAge;
+    private final ThreadPoolTaskExecutor crawlExecutor;
+    private final Cache<TenantCacheKey, UsageNode> nodes;
+
+    public FolderUsageService(BoxFolderService folderService,
+                              BoxClientManager clientManager,
+                              FolderListingCache folderListingCache,
+                              BoxProperties boxProperties,
+                              AsyncProperties asyncProperties) {
+        this.folderService = folderService;
+        this.clientManager = clientManager;
+        this.folderListingCache = folderListingCache;
+        this.maxAge = Duration.ofMinutes(boxProperties.getUsage().getMaxAgeMinutes());
+
+        int concurrency = asyncProperties.getParallel().getMaxConcurrentCrawls();
+        this.crawlExecutor = new ThreadPoolTaskExecutor();
+        this.crawlExecutor.setCorePoolSize(concurrency);
+        this.crawlExecutor.setMaxPoolSize(concurrency);
+        this.crawlExecutor.setThreadNamePrefix("crawl-box-");
+        this.crawlExecutor.initialize();
+
+        this.nodes = Caffeine.newBuilder()
+            .maximumSize(boxProperties.getUsage().getMaxFolders())
+            .removalListener((TenantCacheKey key, UsageNode node, RemovalCause cause) -> {
+                if (cause.wasEvicted() && key != null && node != null) {
+                    invalidateAncestors(key.getScope(), node.getParentId());
+                }
+            })
+            .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        crawlExecutor.shutdown();
+    }
+
+    /**
+     * フォルダ配下の使用量を取得します.
+     *
+     * <p>集計済みで変更のないツリーはキャッシュから即座に返します。
+     * 未集計または変更のあったサブツリーのみを並列クロールして小計を更新します。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param folderId 集計対象のフォルダID
+     * @param refresh trueの場合、集計から{@code box.usage.max-age-minutes}以上経過した
+     *                フォルダも再クロールする
+     * @return フォルダ使用量
+     * @throws BoxApiException Box API呼び出しに失敗した場合
+     * @throws ResourceNotFoundException フォルダが存在しない場合（404）
+     */
+    public FolderUsageResponse getUsage(String apiKey, String folderId, boolean refresh) {
+        String scope = clientManager.getTenantScope(apiKey);
+
+        // 小計はイベント処理・クロールのスレッドがロック中に更新するため、ロック中に読み取る
+        String parentId;
+        synchronized (this) {
+            UsageNode cached = nodes.getIfPresent(TenantCacheKey.of(scope, folderId));
+            if (cached != null && cached.isSubtreeValid() && !refresh) {
+                log.debug("Folder usage cache hit: {}", folderId);
+                return toResponse(cached);
+            }
+            parentId = cached != null ? cached.getParentId() : null;
+        }
+
+        Instant staleBefore = refresh ? Instant.now().minus(maxAge) : Instant.MIN;
+
+        try {
+            UsageNode node = refreshNode(apiKey, scope, folderId, parentId, staleBefore).get();
+            synchronized (this) {
+                return toResponse(node);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoxApiException("フォルダ使用量の集計が中断されました", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof ResourceNotFoundException notFound) {
+                throw notFound;
+            }
+            if (cause instanceof BoxApiException boxApiException) {
+                throw boxApiException;
+            }
+            throw new BoxApiException("フォルダ使用量の集計に失敗しました: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * アイテム変更イベントを受け取り、集計済みの小計に差分を反映します.
+     *
+     * <p>削除されたファイルのサイズを一覧キャッシュから取得するため、
+     * 一覧キャッシュより先に実行されます。中身の分からないフォルダの追加や移動は、
+     * 移動先のフォルダを要再取得とします。</p>
+     *
+     * @param event アイテム変更イベント
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void onItemChanged(BoxItemChangedEvent event) {
+        String scope = event.getScope();
+        boolean isFolder = event.getItemType() == BoxItemChangedEvent.ItemType.FOLDER;
+
+        switch (event.getChangeType()) {
+            case CREATED -> {
+                if (isFolder) {
+                    folderAdded(scope, event.getParentId(), event.getItemId(), event.getItem());
+                } else {
+                    fileAdded(scope, event.getParentId(), event.getItem());
+                }
+            }
+            case DELETED -> {
+                if (isFolder) {
+                    folderRemoved(scope, event.getParentId(), event.getItemId());
+                } else {
+                    fileRemoved(scope, event.getParentId(), event.getItemId(), null);
+                }
+            }
+            case MOVED -> {
+                if (isFolder) {
+                    folderRemoved(scope, event.getPreviousParentId(), event.getItemId());
+                    // 移動したフォルダの配下は移動先で再集計する
+                    markDirty(scope, event.getParentId());
+                } else {
+                    Long size = event.getItem() != null ? event.getItem().getSize() : null;
+                    fileRemoved(scope, event.getPreviousParentId(), event.getItemId(), size);
+                    fileAdded(scope, event.getParentId(), event.getItem());
+                }
+            }
+        }
+    }
+
+    /**
+     * 外部変更イベントを受け取り、親フォルダ（移動の場合は移動元も）を要再取得とします.
+     *
+     * @param event 外部変更イベント
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void onItemInvalidated(BoxItemInvalidatedEvent event) {
+        if (event.getParentId() != null) {
+            markDirty(event.getScope(), event.getParentId());
+        }
+        if (event.getPreviousParentId() != null) {
+            markDirty(event.getScope(), event.getPreviousParentId());
+        }
+    }
+
+    /**
+     * ファイルの追加を親フォルダと祖先の小計に反映
+     */
+    private void fileAdded(String scope, String parentId, FolderItem item) {
+        if (parentId == null || nodes.getIfPresent(TenantCacheKey.of(scope, parentId)) == null) {
+            return;
+        }
+        if (item == null || item.getSize() == null) {
+            markDirty(scope, parentId);
+        } else {
+            applyDelta(scope, parentId, item.getSize(), 1, 0, true);
+        }
+    }
+
+    /**
+     * ファイルの削除を親フォルダと祖先の小計に反映
+     */
+    private void fileRemoved(String scope, String parentId, String itemId, Long knownSize) {
+        if (parentId == null || nodes.getIfPresent(TenantCacheKey.of(scope, parentId)) == null) {
+            return;
+        }
+        Long size = knownSize != null ? knownSize : findCachedSize(scope, parentId, itemId);
+        if (size == null) {
+            markDirty(scope, parentId);
+        } else {
+            applyDelta(scope, parentId, -size, -1, 0, true);
+        }
+    }
+
+    /**
+     * フォルダの追加を親フォルダと祖先の小計に反映
+     */
+    private void folderAdded(String scope, String parentId, String folderId, FolderItem item) {
+        UsageNode parent = parentId != null ? nodes.getIfPresent(TenantCacheKey.of(scope, parentId)) : null;
+        if (parent == null) {
+            return;
+        }
+        if (item == null || item.getSize() == null || item.getSize() != 0) {
+            // コピーされたフォルダなど、中身が不明な場合は次回再取得する
+            markDirty(scope, parentId);
+            return;
+        }
+        nodes.put(TenantCacheKey.of(scope, folderId), UsageNode.empty(folderId, parentId));
+        parent.getChildFolderIds().add(folderId);
+        applyDelta(scope, parentId, 0, 0, 1, false);
+    }
+
+    /**
+     * フォルダの削除を親フォルダと祖先の小計に反映
+     */
+    private void folderRemoved(String scope, String parentId, String folderId) {
+        UsageNode removed = nodes.getIfPresent(TenantCacheKey.of(scope, folderId));
+        String resolvedParentId = parentId != null ? parentId
+            : removed != null ? removed.getParentId() : null;
+        removeSubtree(scope, folderId);
+
+        UsageNode parent = resolvedParentId != null
+            ? nodes.getIfPresent(TenantCacheKey.of(scope, resolvedParentId)) : null;
+        if (parent == null) {
+            return;
+        }
+        parent.getChildFolderIds().remove(folderId);
+        if (removed != null && removed.isSubtreeValid()) {
+            applyDelta(scope, resolvedParentId, -removed.getSubtreeBytes(), -removed.getSubtreeFiles(),
+                -(removed.getSubtreeFolders() + 1), false);
+        } else {
+            markDirty(scope, resolvedParentId);
+        }
+    }
+
+    /**
+     * フォルダの集計ノードを必要に応じて再取得
+     */
+    private CompletableFuture<UsageNode> refreshNode(String apiKey, String scope, String folderId,
+                                                     String parentId, Instant staleBefore) {
+        UsageNode existing;
+        synchronized (this) {
+            existing = nodes.getIfPresent(TenantCacheKey.of(scope, folderId));
+            if (existing != null && (existing.isDirty() || !existing.getComputedAt().isAfter(staleBefore))) {
+                existing = null;
+            } else if (existing != null && existing.isSubtreeValid()) {
+                return CompletableFuture.completedFuture(existing);
+            }
+        }
+        if (existing != null) {
+            // 直下の集計は有効なため、変更のあった子フォルダのみ辿る
+            return refreshChildren(apiKey, scope, existing, staleBefore);
+        }
+
+        return CompletableFuture
+            .supplyAsync(() -> crawlFolder(apiKey, scope, folderId, parentId), crawlExecutor)
+            .thenCompose(node -> refreshChildren(apiKey, scope, node, staleBefore));
+    }
+
+    /**
+     * 子フォルダを並列に再取得して配下全体の小計を再計算
+     *
+     * <p>追い出された後にBoxで削除された子フォルダは、親フォルダの集計を失敗させずに一覧から外し、
+     * 親フォルダを要再取得とする。</p>
+     */
+    private CompletableFuture<UsageNode> refreshChildren(String apiKey, String scope, UsageNode node,
+                                                         Instant staleBefore) {
+        List<String> childIds;
+        synchronized (this) {
+            childIds = List.copyOf(node.getChildFolderIds());
+        }
+
+        List<CompletableFuture<UsageNode>> children = new ArrayList<>(childIds.size());
+        for (String childId : childIds) {
+            children.add(refreshNode(apiKey, scope, childId, node.getFolderId(), staleBefore)
+                .exceptionally(e -> {
+                    if (unwrap(e) instanceof ResourceNotFoundException) {
+                        log.debug("Subfolder {} of {} no longer exists", childId, node.getFolderId());
+                        return null;
+                    }
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                }));
+        }
+
+        return CompletableFuture.allOf(children.toArray(new CompletableFuture[0]))
+            .thenApply(v -> {
+                synchronized (this) {
+                    long bytes = node.getDirectBytes();
+                    long files = node.getDirectFiles();
+                    long folders = 0;
+                    for (int i = 0; i < children.size(); i++) {
+                        UsageNode childNode = children.get(i).join();
+                        if (childNode == null) {
+                            node.getChildFolderIds().remove(childIds.get(i));
+                            removeSubtree(scope, childIds.get(i));
+                            node.setDirty(true);
+                            continue;
+                        }
+                        bytes += childNode.getSubtreeBytes();
+                        files += childNode.getSubtreeFiles();
+                        folders += childNode.getSubtreeFolders() + 1;
+                    }
+                    node.setSubtreeBytes(bytes);
+                    node.setSubtreeFiles(files);
+                    node.setSubtreeFolders(folders);
+                    node.setSubtreeValid(!node.isDirty());
+                    node.setComputedAt(Instant.now());
+                    nodes.put(TenantCacheKey.of(scope, node.getFolderId()), node);
+                    return node;
+                }
+            });
+    }
+
+    /**
+     * フォルダ直下の一覧を取得して集計ノードを作成
+     */
+    private UsageNode crawlFolder(String apiKey, String scope, String folderId, String parentId) {
+        long generation = folderListingCache.currentGeneration(scope, folderId);
+        List<FolderItem> items = listWithBackoff(apiKey, folderId);
+
+        UsageNode node = UsageNode.empty(folderId, parentId);
+        long bytes = 0;
+        long files = 0;
+        for (FolderItem item : items) {
+            if (item.isFolder()) {
+                node.getChildFolderIds().add(item.getId());
+            } else if ("file".equals(item.getType())) {
+                bytes += item.getSize() != null ? item.getSize() : 0;
+                files++;
+            }
+        }
+        node.setDirectBytes(bytes);
+        node.setDirectFiles(files);
+        // 一覧取得中にこのフォルダへの変更があった場合は次回再取得する
+        node.setDirty(folderListingCache.currentGeneration(scope, folderId) != generation);
+
+        log.debug("Crawled folder {} for usage: {} files, {} subfolders",
+            folderId, files, node.getChildFolderIds().size());
+        return node;
+    }
+
+    /**
+     * レート制限時は待機して一覧取得をリトライ
+     */
+    private List<FolderItem> listWithBackoff(String apiKey, String folderId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return folderService.listFolderItemDetails(apiKey, folderId);
+            } catch (BoxApiException e) {
+                if (e.getStatusCode() != 429 || attempt >= MAX_RATE_LIMIT_RETRIES) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(RATE_LIMIT_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new BoxApiException("フォルダ使用量の集計が中断されました", ie);
+                }
+            }
+        }
+    }
+
+    /**
+     * 親フォルダのキャッシュ済み一覧から削除されたファイルのサイズを取得
+     */
+    private Long findCachedSize(String scope, String parentId, String itemId) {
+        return folderListingCache.get(scope, parentId, null, null)
+            .flatMap(items -> items.stream().filter(item -> item.getId().equals(itemId)).findFirst())
+            .map(FolderItem::getSize)
+            .orElse(null);
+    }
+
+    /**
+     * フォルダと祖先の小計に差分を加算
+     */
+    private void applyDelta(String scope, String folderId, long bytes, long files, long folders, boolean direct) {
+        UsageNode node = nodes.getIfPresent(TenantCacheKey.of(scope, folderId));
+        if (node != null && direct) {
+            node.setDirectBytes(node.getDirectBytes() + bytes);
+            node.setDirectFiles(node.getDirectFiles() + files);
+        }
+        Instant now = Instant.now();
+        while (node != null) {
+            node.setSubtreeBytes(node.getSubtreeBytes() + bytes);
+            node.setSubtreeFiles(node.getSubtreeFiles() + files);
+            node.setSubtreeFolders(node.getSubtreeFolders() + folders);
+            node.setComputedAt(now);
+            node = node.getParentId() != null ? nodes.getIfPresent(TenantCacheKey.of(scope, node.getParentId())) : null;
+        }
+    }
+
+    /**
+     * フォルダを要再取得とし、祖先の集計を無効化
+     */
+    private void markDirty(String scope, String folderId) {
+        UsageNode node = nodes.getIfPresent(TenantCacheKey.of(scope, folderId));
+        if (node != null) {
+            node.setDirty(true);
+            node.setSubtreeValid(false);
+            invalidateAncestors(scope, node.getParentId());
+        }
+    }
+
+    /**
+     * 祖先フォルダの配下集計を無効化
+     */
+    private synchronized void invalidateAncestors(String scope, String parentId) {
+        String current = parentId;
+        while (current != null) {
+            UsageNode node = nodes.getIfPresent(TenantCacheKey.of(scope, current));
+            if (node == null) {
+                return;
+            }
+            node.setSubtreeValid(false);
+            current = node.getParentId();
+        }
+    }
+
+    /**
+     * フォルダ配下の集計ノードを全て削除
+     */
+    private void removeSubtree(String scope, String folderId) {
+        UsageNode node = nodes.asMap().remove(TenantCacheKey.of(scope, folderId));
+        if (node != null) {
+            for (String childId : List.copyOf(node.getChildFolderIds())) {
+                removeSubtree(scope, childId);
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? unwrap(e.getCause()) : e;
+    }
+
+    private FolderUsageResponse toResponse(UsageNode node) {
+        return FolderUsageResponse.builder()
+            .folderId(node.getFolderId())
+            .totalBytes(node.getSubtreeBytes())
+            .fileCount(node.getSubtreeFiles())
+            .folderCount(node.getSubtreeFolders())
+            .computedAt(LocalDateTime.ofInstant(node.getComputedAt(), ZoneId.systemDefault()))
+            .build();
+    }
+
+    /**
+     * フォルダごとの集計ノード
+     */
+    @Data
+    private static class UsageNode {
+        private final String folderId;
+        private final String parentId;
+        private final List<String> childFolderIds = new ArrayList<>();
+        private Instant computedAt = Instant.now();  // 最後に集計（小計の再計算・差分反映を含む）した時刻
+        private long directBytes;
+        private long directFiles;
+        private long subtreeBytes;
+        private long subtreeFiles;
+        private long subtreeFolders;
+        private boolean dirty;
+        private boolean subtreeValid;
+
+        static UsageNode empty(String folderId, String parentId) {
+            UsageNode node = new UsageNode(folderId, parentId);
+            node.setSubtreeValid(true);
+            return node;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.example.boxwrapper.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListedEvent;
+import com.example.boxwrapper.cache.SearchCacheKey;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.index.IndexedItem;
+import com.example.boxwrapper.index.IndexedPage;
+import com.example.boxwrapper.index.NameIndex;
+import com.example.boxwrapper.model.response.SearchIndexStatusResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ローカル検索索引サービス.
+ *
+ * <p>テナントごとにアイテム名の転置索引（{@link NameIndex}）を保持し、
+ * 名前検索と入力補完（タイプアヘッド）にBoxを呼ばずに応答します。
+ * {@code box.search-index.enabled}がtrueの場合のみ有効です。</p>
+ *
+ * <p>索引はこのサーバーが取得したフォルダ一覧（{@link FolderListedEvent}）と、
+ * アップロード・削除・移動（{@link BoxItemChangedEvent}）、Boxのイベントストリームで通知された
+ * 外部の変更（{@link BoxItemInvalidatedEvent}）から随時更新されます。
+ * ただし索引が全アイテムを網羅していると言えるのは、ルートフォルダからの再構築が完了し、
+ * かつ{@code box.search-index.max-age-minutes}以内の場合のみです。それ以外の場合、
+ * 検索は{@link BoxSearchService}がBoxの検索APIで処理します。</p>
+ *
+ * <p>索引は再構築完了時とシャットダウン時に{@code box.search-index.directory}へ保存され、
+ * 再起動後に読み込まれます。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class SearchIndexService {
+
+    private static final String ROOT_FOLDER_ID = "0";
+    private static final int MAX_RATE_LIMIT_RETRIES = 10;
+    private static final long RATE_LIMIT_BACKOFF_MILLIS = 200;
+
+    private final BoxFolderService folderService;
+    private final BoxClientManager clientManager;
+    private final BoxProperties.SearchIndex properties;
+    private final Path directory;
+    private final Duration maxAge;
+    private final Map<String, NameIndex> indexes = new ConcurrentHashMap<>();
+    private final Set<String> rebuilding = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolTaskExecutor indexExecutor;
+
+    public SearchIndexService(BoxFolderService folderService,
+                              BoxClientManager clientManager,
+                              BoxProperties boxProperties) {
+        this.folderService = folderService;
+        this.clientManager = clientManager;
+        this.properties = boxProperties.getSearchIndex();
+        this.directory = Path.of(properties.getDirectory());
+        this.maxAge = Duration.ofMinutes(properties.getMaxAgeMinutes());
+
+        this.indexExecutor = new ThreadPoolTaskExecutor();
+        this.indexExecutor.setCorePoolSize(1);
+        this.indexExecutor.setMaxPoolSize(1);
+        this.indexExecutor.setThreadNamePrefix("index-box-");
+        this.indexExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexExecutor.shutdown();
+        indexes.forEach(this::persist);
+    }
+
+    /**
+     * 索引から検索結果の1ページを取得します.
+     *
+     * <p>索引が無効、または対象テナントの索引が全アイテムを網羅していない場合は空を返します。
+     * 全件数はBoxの検索APIと同じく、ページングの前の一致件数です。</p>
+     *
+     * @param key 正規化済みの検索条件
+     * @return 検索結果のページ。索引で応答できない場合は空
+     */
+    public Optional<IndexedPage> search(SearchCacheKey key) {
+        NameIndex index = coveringIndex(key.getScope());
+        if (index == null) {
+            return Optional.empty();
+        }
+
+        List<IndexedItem> matches = index.search(key.getQuery()).stream()
+            .filter(item -> key.getType() == null || key.getType().equals(item.getType()))
+            .filter(item -> key.getFileExtension() == null || hasExtension(item, key.getFileExtension()))
+            .toList();
+        List<IndexedItem> results = matches.stream()
+            .skip(key.getOffset())
+            .limit(key.getLimit())
+            .toList();
+        return Optional.of(new IndexedPage(results, matches.size()));
+    }
+
+    /**
+     * 索引から入力途中の文字列に前方一致するアイテムを取得します.
+     *
+     * @param apiKey 認証用のAPIキー
+     * @param prefix 入力途中の文字列
+     * @param limit 最大件数
+     * @return マッチしたアイテム。索引で応答できない場合は空
+     */
+    public Optional<List<IndexedItem>> typeahead(String apiKey, String prefix, int limit) {
+        NameIndex index = coveringIndex(clientManager.getTenantScope(apiKey));
+        if (index == null) {
+            return Optional.empty();
+        }
+        return Optional.of(index.prefix(prefix, limit));
+    }
+
+    /**
+     * ルートフォルダからの索引の再構築を開始します.
+     *
+     * <p>再構築はバックグラウンドで実行され、完了するまで検索はBoxの検索APIで処理されます。
+     * 同じテナントの再構築が実行中の場合は何もしません。</p>
+     *
+     * @param apiKey 認証用のAPIキー
+     * @return 索引の状態
+     * @throws IllegalArgumentException 索引が無効な場合
+     */
+    public SearchIndexStatusResponse rebuild(String apiKey) {
+        requireEnabled();
+        String scope = clientManager.getTenantScope(apiKey);
+
+        if (rebuilding.add(scope)) {
+            try {
+                indexExecutor.execute(() -> {
+                    try {
+                        crawl(apiKey, scope);
+                    } finally {
+                        rebuilding.remove(scope);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                rebuilding.remove(scope);
+                throw new BoxApiException("索引の再構築を開始できませんでした", 503, e);
+            }
+        }
+        return status(scope);
+    }
+
+    /**
+     * 索引の状態を取得します.
+     *
+     * @param apiKey 認証用のAPIキー
+     * @return 索引の状態
+     * @throws IllegalArgumentException 索引が無効な場合
+     */
+    public SearchIndexStatusResponse getStatus(String apiKey) {
+        requireEnabled();
+        return status(clientManager.getTenantScope(apiKey));
+    }
+
+    /**
+     * Boxから取得したフォルダ一覧を索引に反映
+     */
+    @EventListener
+    public void onFolderListed(FolderListedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        NameIndex index = indexFor(event.getScope());
+        List<IndexedItem> items = event.getItems().stream()
+            .map(item -> IndexedItem.from(item, event.getFolderId()))
+            .toList();
+        if (event.isComplete()) {
+            index.replaceChildren(event.getFolderId(), items);
+        } else {
+            items.forEach(index::upsert);
+        }
+    }
+
+    /**
+     * アップロード・削除・移動を索引に反映
+     */
+    @EventListener
+    public void onItemChanged(BoxItemChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        NameIndex index = indexFor(event.getScope());
+        if (event.getChangeType() != BoxItemChangedEvent.ChangeType.DELETED
+                && event.getItem() != null && event.getParentId() != null) {
+            index.upsert(IndexedItem.from(event.getItem(), event.getParentId()));
+        } else {
+            index.remove(event.getItemId());
+        }
+    }
+
+    /**
+     * 外部の変更を索引に反映
+     */
+    @EventListener
+    public void onItemInvalidated(BoxItemInvalidatedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        NameIndex index = indexFor(event.getScope());
+        if (!event.isDeleted() && event.getItem() != null && event.getParentId() != null) {
+            index.upsert(IndexedItem.from(event.getItem(), event.getParentId()));
+        } else {
+            index.remove(event.getItemId());
+        }
+    }
+
+    /**
+     * ルートフォルダから全フォルダを巡回して索引を再構築
+     */
+    private void crawl(String apiKey, String scope) {
+        NameIndex index = indexFor(scope);
+        index.clear();
+        log.info("Rebuilding search index for tenant {}", scope);
+
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(ROOT_FOLDER_ID);
+        int folders = 0;
+        try {
+            while (!pending.isEmpty()) {
+                String folderId = pending.poll();
+                List<FolderItem> items;
+                try {
+                    items = listWithBackoff(apiKey, folderId);
+                } catch (ResourceNotFoundException e) {
+                    // 巡回中に削除されたフォルダ
+                    continue;
+                }
+                index.replaceChildren(folderId, items.stream()
+                    .map(item -> IndexedItem.from(item, folderId))
+                    .toList());
+                items.stream().filter(FolderItem::isFolder).forEach(item -> pending.add(item.getId()));
+                folders++;
+
+                if (index.isTruncated()) {
+                    log.warn("Search index for tenant {} reached {} items, results will be served by Box",
+                        scope, properties.getMaxItemsPerTenant());
+                    return;
+                }
+            }
+            index.markComplete(Instant.now());
+            persist(scope, index);
+            log.info("Rebuilt search index for tenant {}: {} items in {} folders", scope, index.size(), folders);
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild search index for tenant {}: {}", scope, e.getMessage());
+        }
+    }
+
+    /**
+     * レート制限（429）の場合はバックオフしてフォルダ一覧を再取得
+     */
+    private List<FolderItem> listWithBackoff(String apiKey, String folderId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return folderService.listFolderItemDetails(apiKey, folderId);
+            } catch (BoxApiException e) {
+                if (e.getStatusCode() != 429 || attempt >= MAX_RATE_LIMIT_RETRIES) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(RATE_LIMIT_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new BoxApiException("索引の再構築が中断されました", ie);
+                }
+            }
+        }
+    }
+
+    /**
+     * 全アイテムを網羅した索引を返す（応答できない場合はnull）
+     */
+    private NameIndex coveringIndex(String scope) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        NameIndex index = indexFor(scope);
+        Instant builtAt = index.getBuiltAt();
+        if (!index.isComplete() || builtAt == null || builtAt.isBefore(Instant.now().minus(maxAge))) {
+            return null;
+        }
+        return index;
+    }
+
+    private NameIndex indexFor(String scope) {
+        return indexes.computeIfAbsent(scope, this::load);
+    }
+
+    private NameIndex load(String scope) {
+        Path file = directory.resolve(scope + ".idx");
+        if (Files.exists(file)) {
+            try {
+                NameIndex index = NameIndex.load(file, properties.getMaxPrefixLength(),
+                    properties.getMaxItemsPerTenant());
+                log.info("Loaded search index for tenant {}: {} items", scope, index.size());
+                return index;
+            } catch (IOException e) {
+                log.warn("Discarding unreadable search index {}: {}", file, e.getMessage());
+            }
+        }
+        return new NameIndex(properties.getMaxPrefixLength(), properties.getMaxItemsPerTenant());
+    }
+
+    private void persist(String scope, NameIndex index) {
+        try {
+            index.save(directory.resolve(scope + ".idx"));
+        } catch (IOException e) {
+            log.warn("Failed to save search index for tenant {}: {}", scope, e.getMessage());
+        }
+    }
+
+    private SearchIndexStatusResponse status(String scope) {
+        NameIndex index = indexFor(scope);
+        return SearchIndexStatusResponse.builder()
+            .enabled(true)
+            .complete(coveringIndex(scope) != null)
+            .rebuilding(rebuilding.contains(scope))
+            .itemCount(index.size())
+            .builtAt(toLocalDateTime(index.getBuiltAt()))
+            .updatedAt(toLocalDateTime(index.getUpdatedAt()))
+            .build();
+    }
+
+    private void requireEnabled() {
+        if (!properties.isEnabled()) {
+            throw new IllegalArgumentException("検索索引が無効です（box.search-index.enabled）");
+        }
+    }
+
+    private static boolean hasExtension(IndexedItem item, String extension) {
+        return !item.isFolder() && item.getName().toLowerCase(Locale.ROOT).endsWith("." + extension);
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
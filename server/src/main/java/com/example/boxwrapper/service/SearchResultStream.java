@@ -0,0 +1,49 @@
+package com.example.boxwrapper.service;
+
+import com.example.boxwrapper.model.response.SearchResultItem;
+
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * 全件ストリーム検索の結果.
+ *
+ * <p>Box検索APIで取得できる上限（{@link com.example.boxwrapper.cache.SearchCacheKey#MAX_RESULT_WINDOW}件）
+ * を超えるマッチがあった場合、上限までの結果を返して{@link #isTruncated()}がtrueになります。
+ * 打ち切りの有無は結果を最後まで読み進めた後に判定してください。</p>
+ *
+ * @since 1.1.0
+ */
+public final class SearchResultStream implements AutoCloseable {
+
+    private final Stream<SearchResultItem> items;
+    private final BooleanSupplier truncated;
+
+    public SearchResultStream(Stream<SearchResultItem> items, BooleanSupplier truncated) {
+        this.items = items;
+        this.truncated = truncated;
+    }
+
+    /**
+     * 検索結果アイテムのストリームを返します.
+     *
+     * @return 検索結果アイテムのストリーム
+     */
+    public Stream<SearchResultItem> items() {
+        return items;
+    }
+
+    /**
+     * 取得上限に達して結果を打ち切った場合trueを返します.
+     *
+     * @return 結果を打ち切った場合true
+     */
+    public boolean isTruncated() {
+        return truncated.getAsBoolean();
+    }
+
+    @Override
+    public void close() {
+        items.close();
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.boxwrapper.service;
+
+import com.box.sdk.BoxAPIConnection;
+import com.box.sdk.BoxAPIException;
+import com.box.sdk.BoxFolder;
+import com.box.sdk.BoxWebHook;
+import com.example.boxwrapper.cache.FolderListedEvent;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Webhook自動登録サービス.
+ *
+ * <p>{@code box.webhooks.auto-register}がtrueの場合、{@code box.webhooks.hot-folder-window-minutes}の間に
+ * {@code box.webhooks.hot-folder-threshold}回以上Boxから一覧を取得したフォルダ（キャッシュの期限切れや
+ * 無効化で繰り返し再取得されるフォルダ）に、アイテムの変更を通知するWebhookを登録します。
+ * 送信先は{@code box.webhooks.address}にテナントスコープを付けたURLです。</p>
+ *
+ * <p>登録は優先度の低い専用スレッドで行い、テナントごとに{@code box.webhooks.max-webhooks-per-tenant}件までとします。
+ * Webhookはフォルダを参照できるアカウント（テナントのBox設定を順に確認）で登録し、登録前に
+ * そのアカウントのWebhookを一覧して、同じフォルダ・送信先のWebhookがあれば新規作成せずに使用します
+ * （重複したWebhookは削除します）。</p>
+ *
+ * <p>登録済みのフォルダ・アカウント・WebhookのIDは{@code box.webhooks.registrations-file}へ保存し、
+ * 再起動後も上限の判定と重複登録の防止に使用します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Service
+public class WebhookRegistrationService {
+
+    private static final Duration RATE_LIMIT_WAIT = Duration.ofSeconds(30);
+    private static final BoxWebHook.Trigger[] TRIGGERS = {
+        BoxWebHook.Trigger.FILE_UPLOADED,
+        BoxWebHook.Trigger.FILE_COPIED,
+        BoxWebHook.Trigger.FILE_MOVED,
+        BoxWebHook.Trigger.FILE_RENAMED,
+        BoxWebHook.Trigger.FILE_TRASHED,
+        BoxWebHook.Trigger.FILE_DELETED,
+        BoxWebHook.Trigger.FILE_RESTORED,
+        BoxWebHook.Trigger.FOLDER_CREATED,
+        BoxWebHook.Trigger.FOLDER_COPIED,
+        BoxWebHook.Trigger.FOLDER_MOVED,
+        BoxWebHook.Trigger.FOLDER_RENAMED,
+        BoxWebHook.Trigger.FOLDER_TRASHED,
+        BoxWebHook.Trigger.FOLDER_DELETED,
+        BoxWebHook.Trigger.FOLDER_RESTORED
+    };
+
+    private final BoxClientManager clientManager;
+    private final RateLimiterManager rateLimiterManager;
+    private final BoxProperties.Webhooks properties;
+    private final Cache<TenantCacheKey, AtomicInteger> listingCounts;
+    private final Map<String, Set<String>> registeredFolders = new ConcurrentHashMap<>();
+    private final Path registrationsFile;
+    private final Properties registrations = new Properties();
+    private final ThreadPoolTaskExecutor registrationExecutor;
+
+    public WebhookRegistrationService(BoxClientManager clientManager,
+                                      RateLimiterManager rateLimiterManager,
+                                      BoxProperties boxProperties) {
+        this.clientManager = clientManager;
+        this.rateLimiterManager = rateLimiterManager;
+        this.properties = boxProperties.getWebhooks();
+        this.listingCounts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(Math.max(1, properties.getHotFolderWindowMinutes())))
+            .build();
+        this.registrationsFile = Path.of(properties.getRegistrationsFile());
+
+        this.registrationExecutor = new ThreadPoolTaskExecutor();
+        this.registrationExecutor.setCorePoolSize(1);
+        this.registrationExecutor.setMaxPoolSize(1);
+        this.registrationExecutor.setQueueCapacity(100);
+        this.registrationExecutor.setThreadPriority(Thread.MIN_PRIORITY);
+        this.registrationExecutor.setThreadNamePrefix("webhook-box-");
+        this.registrationExecutor.initialize();
+    }
+
+    @PostConstruct
+    public void loadRegistrations() {
+        if (!properties.isEnabled() || !Files.exists(registrationsFile)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(registrationsFile)) {
+            synchronized (registrations) {
+                registrations.load(in);
+                for (String name : registrations.stringPropertyNames()) {
+                    int separator = name.indexOf('/');
+                    if (separator > 0) {
+                        registeredFolders.computeIfAbsent(name.substring(0, separator),
+                            key -> ConcurrentHashMap.newKeySet()).add(name.substring(separator + 1));
+                    }
+                }
+            }
+            log.info("Loaded {} webhook registrations", registrations.size());
+        } catch (IOException e) {
+            log.warn("Failed to load webhook registrations: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        registrationExecutor.shutdown();
+    }
+
+    /**
+     * Boxから一覧を取得したフォルダを数え、しきい値に達したフォルダにWebhookを登録します.
+     *
+     * @param event フォルダ一覧取得イベント
+     */
+    @EventListener
+    public void onFolderListed(FolderListedEvent event) {
+        if (!properties.isEnabled() || !properties.isAutoRegister() || properties.getAddress() == null) {
+            return;
+        }
+        int count = listingCounts.get(TenantCacheKey.of(event.getScope(), event.getFolderId()),
+            key -> new AtomicInteger()).incrementAndGet();
+        if (count == properties.getHotFolderThreshold()) {
+            requestRegistration(event.getScope(), event.getFolderId());
+        }
+    }
+
+    /**
+     * Webhookを登録したフォルダを返します.
+     *
+     * @param scope テナントスコープ
+     * @return このサーバーが登録した（または登録済みを確認した）フォルダのID
+     */
+    public Set<String> getRegisteredFolderIds(String scope) {
+        return Set.copyOf(registeredFolders.getOrDefault(scope, Set.of()));
+    }
+
+    private void requestRegistration(String scope, String folderId) {
+        Set<String> folders = registeredFolders.computeIfAbsent(scope, key -> ConcurrentHashMap.newKeySet());
+        if (folders.size() >= properties.getMaxWebhooksPerTenant()) {
+            log.debug("Webhook limit reached for tenant {}, not registering folder {}", scope, folderId);
+            return;
+        }
+        if (!folders.add(folderId)) {
+            return;
+        }
+        try {
+            registrationExecutor.execute(() -> register(scope, folderId, folders));
+        } catch (RejectedExecutionException e) {
+            folders.remove(folderId);
+            log.debug("Webhook registration queue is full, skipping folder {}", folderId);
+        }
+    }
+
+    /**
+     * フォルダにWebhookを登録（失敗した場合は次にしきい値に達したときに再試行する）
+     */
+    private void register(String scope, String folderId, Set<String> folders) {
+        String apiKey = clientManager.findApiKey(scope).orElse(null);
+        if (apiKey == null) {
+            folders.remove(folderId);
+            return;
+        }
+
+        try {
+            URL address = address(scope);
+            List<BoxAPIConnection> connections = clientManager.getConnections(apiKey);
+            int owner = findOwner(apiKey, connections, folderId);
+            if (owner < 0) {
+                folders.remove(folderId);
+                log.debug("No account of tenant {} can access folder {}", scope, folderId);
+                return;
+            }
+            BoxAPIConnection api = connections.get(owner);
+            if (!rateLimiterManager.tryConsume(apiKey, RATE_LIMIT_WAIT)) {
+                folders.remove(folderId);
+                return;
+            }
+
+            BoxWebHook.Info info = findExisting(api, folderId, address);
+            if (info == null) {
+                try {
+                    info = BoxWebHook.create(new BoxFolder(api, folderId), address, TRIGGERS);
+                    log.info("Registered webhook {} on hot folder {} for tenant {}", info.getID(), folderId, scope);
+                } catch (BoxAPIException e) {
+                    if (e.getResponseCode() != 409) {
+                        throw e;
+                    }
+                    // 一覧と作成の間に別のサーバーが登録した
+                    info = findExisting(api, folderId, address);
+                    if (info == null) {
+                        throw e;
+                    }
+                }
+            } else {
+                log.info("Reusing webhook {} on hot folder {} for tenant {}", info.getID(), folderId, scope);
+            }
+            rateLimiterManager.handleSuccess(apiKey);
+            saveRegistration(scope, folderId, owner, info.getID());
+
+        } catch (BoxAPIException e) {
+            if (e.getResponseCode() == 429) {
+                rateLimiterManager.handleRateLimitExceeded(apiKey);
+            }
+            folders.remove(folderId);
+            log.warn("Failed to register webhook on folder {}: {}", folderId, e.getMessage());
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            folders.remove(folderId);
+            log.warn("Invalid webhook address {}: {}", properties.getAddress(), e.getMessage());
+        }
+    }
+
+    /**
+     * フォルダを参照できるアカウントの位置を返す（見つからない場合は-1）
+     */
+    private int findOwner(String apiKey, List<BoxAPIConnection> connections, String folderId) {
+        if (connections.size() == 1) {
+            return 0;
+        }
+        for (int i = 0; i < connections.size(); i++) {
+            if (!rateLimiterManager.tryConsume(apiKey, RATE_LIMIT_WAIT)) {
+                return -1;
+            }
+            try {
+                new BoxFolder(connections.get(i), folderId).getInfo("id");
+                return i;
+            } catch (BoxAPIException e) {
+                if (e.getResponseCode() != 404 && e.getResponseCode() != 403) {
+                    throw e;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 同じフォルダ・送信先の登録済みWebhookを返す（重複していれば1件を残して削除する）
+     */
+    private BoxWebHook.Info findExisting(BoxAPIConnection api, String folderId, URL address) {
+        BoxWebHook.Info existing = null;
+        for (BoxWebHook.Info summary : BoxWebHook.all(api)) {
+            BoxWebHook.Target target = summary.getTarget();
+            if (target == null || !"folder".equals(target.getType()) || !folderId.equals(target.getId())) {
+                continue;
+            }
+            // 一覧には送信先が含まれないため個別に取得する（他の送信先のWebhookには触れない）
+            BoxWebHook.Info info = summary.getResource().getInfo();
+            if (info.getAddress() == null || !address.toString().equals(info.getAddress().toString())) {
+                continue;
+            }
+            if (existing == null) {
+                existing = info;
+            } else {
+                info.getResource().delete();
+                log.info("Deleted duplicate webhook {} on folder {}", info.getID(), folderId);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * 登録を保存（一時ファイルに書き込んでから置き換える）
+     */
+    private void saveRegistration(String scope, String folderId, int accountIndex, String webhookId) {
+        synchronized (registrations) {
+            registrations.setProperty(scope + "/" + folderId, accountIndex + "," + webhookId);
+            try {
+                Path directory = registrationsFile.toAbsolutePath().getParent();
+                Files.createDirectories(directory);
+                Path temp = Files.createTempFile(directory, "registrations", ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    registrations.store(out, "Box webhook registrations (scope/folderId=accountIndex,webhookId)");
+                }
+                Files.move(temp, registrationsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // 保存できなくても登録は有効（再起動後は一覧で既存のWebhookを見つけて再利用する）
+                log.warn("Failed to save webhook registration: {}", e.getMessage());
+            }
+        }
+    }
+
+    private URL address(String scope) throws MalformedURLException {
+        String base = properties.getAddress().replaceAll("/+$", "");
+        return URI.create(base + "/" + scope).toURL();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.boxwrapper.snapshot;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * フォルダ配下のスナップショット.
+ *
+ * <p>取得時点のサブツリーに含まれる全アイテムと、取得直前のBoxイベントストリーム位置を保持します。
+ * ストリーム位置が記録されている場合、次回の差分検出ではその位置以降のイベントから
+ * 変更のあったフォルダのみを再取得します。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class FolderSnapshot {
+
+    String snapshotId;
+
+    String folderId;
+
+    /**
+     * Boxイベントストリーム位置（取得できなかった場合はnull）
+     */
+    Long streamPosition;
+
+    Instant createdAt;
+
+    List<SnapshotEntry> entries;
+}
@@ -0,0 +1,281 @@
+package com.example.boxwrapper.snapshot;
+
+import com.example.boxwrapper.config.BoxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * スナップショットのファイルストア.
+ *
+ * <p>スナップショットを{@code box.snapshot.directory}配下にバイナリ形式で保存します。
+ * ID・etag・親フォルダIDなどの文字列は文字列テーブルに一度だけ格納し、
+ * 各アイテムはテーブルへのインデックスで表現するため、同じ親を持つ多数のアイテムでも
+ * ファイルサイズが抑えられます。</p>
+ *
+ * <p>ファイル名にはテナントスコープを含め、他テナントのスナップショットは参照できません。</p>
+ *
+ * <p>保存時に、同じテナント・フォルダのスナップショットを作成日時の新しい順に
+ * {@code box.snapshot.retained-per-folder}件まで残し、それより古いものを削除します。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Component
+public class FolderSnapshotStore {
+
+    private static final int MAGIC = 0x424F5853;  // "BOXS"
+    private static final byte FORMAT_VERSION = 1;
+    private static final int NULL_INDEX = -1;
+    private static final String[] TYPES = {"file", "folder", "web_link"};
+    private static final String EXTENSION = ".snap";
+    private static final int UUID_LENGTH = 36;
+
+    private final Path directory;
+    private final int retainedPerFolder;
+
+    public FolderSnapshotStore(BoxProperties boxProperties) {
+        this.directory = Path.of(boxProperties.getSnapshot().getDirectory());
+        this.retainedPerFolder = Math.max(1, boxProperties.getSnapshot().getRetainedPerFolder());
+    }
+
+    /**
+     * スナップショットを保存します.
+     *
+     * @param scope テナントスコープ
+     * @param snapshot 保存するスナップショット
+     * @throws UncheckedIOException 書き込みに失敗した場合
+     */
+    public void save(String scope, FolderSnapshot snapshot) {
+        Path file = resolve(scope, snapshot.getSnapshotId());
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "snapshot", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out, snapshot);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved snapshot {} ({} entries, {} bytes)",
+                snapshot.getSnapshotId(), snapshot.getEntries().size(), Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("スナップショットの保存に失敗しました: " + snapshot.getSnapshotId(), e);
+        }
+        prune(scope, snapshot.getFolderId());
+    }
+
+    /**
+     * スナップショットを読み込みます.
+     *
+     * @param scope テナントスコープ
+     * @param snapshotId スナップショットID
+     * @return スナップショット。存在しない場合は空
+     * @throws IllegalArgumentException スナップショットIDの形式が不正な場合
+     * @throws UncheckedIOException 読み込みに失敗した場合
+     */
+    public Optional<FolderSnapshot> load(String scope, String snapshotId) {
+        Path file = resolve(scope, snapshotId);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            return Optional.of(read(in, snapshotId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("スナップショットの読み込みに失敗しました: " + snapshotId, e);
+        }
+    }
+
+    /**
+     * 同じフォルダの古いスナップショットを削除
+     *
+     * <p>削除に失敗しても保存は成功として扱い、次回の保存時に再度削除します。</p>
+     */
+    private synchronized void prune(String scope, String folderId) {
+        String prefix = scope + "-";
+        List<SnapshotHeader> headers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> isSnapshotOf(file.getFileName().toString(), prefix))
+                .forEach(file -> readHeader(file)
+                    .filter(header -> header.folderId().equals(folderId))
+                    .ifPresent(headers::add));
+        } catch (IOException e) {
+            log.warn("Failed to list snapshots for pruning: {}", e.getMessage());
+            return;
+        }
+        if (headers.size() <= retainedPerFolder) {
+            return;
+        }
+
+        headers.sort(Comparator.comparing(SnapshotHeader::createdAt).reversed());
+        for (SnapshotHeader header : headers.subList(retainedPerFolder, headers.size())) {
+            try {
+                Files.deleteIfExists(header.file());
+                log.debug("Deleted old snapshot {}", header.file().getFileName());
+            } catch (IOException e) {
+                log.warn("Failed to delete old snapshot {}: {}", header.file().getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * テナントのスナップショットファイルかどうか（スコープの後にIDのみが続くもの）
+     */
+    private static boolean isSnapshotOf(String fileName, String prefix) {
+        if (!fileName.startsWith(prefix) || !fileName.endsWith(EXTENSION)
+                || fileName.length() != prefix.length() + UUID_LENGTH + EXTENSION.length()) {
+            return false;
+        }
+        try {
+            UUID.fromString(fileName.substring(prefix.length(), prefix.length() + UUID_LENGTH));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * スナップショットのヘッダー（フォルダIDと作成日時）のみを読み込み
+     */
+    private Optional<SnapshotHeader> readHeader(Path file) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            String folderId = in.readUTF();
+            in.readLong();  // ストリーム位置
+            return Optional.of(new SnapshotHeader(file, folderId, Instant.ofEpochMilli(in.readLong())));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * スナップショットIDを検証してファイルパスを解決
+     */
+    private Path resolve(String scope, String snapshotId) {
+        try {
+            UUID.fromString(snapshotId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("スナップショットIDの形式が不正です: " + snapshotId);
+        }
+        return directory.resolve(scope + "-" + snapshotId + EXTENSION);
+    }
+
+    private void write(DataOutputStream out, FolderSnapshot snapshot) throws IOException {
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> indexes = new HashMap<>();
+        int[][] rows = new int[snapshot.getEntries().size()][];
+        for (int i = 0; i < rows.length; i++) {
+            SnapshotEntry entry = snapshot.getEntries().get(i);
+            rows[i] = new int[] {
+                intern(entry.getId(), strings, indexes),
+                typeIndex(entry.getType()),
+                intern(entry.getName(), strings, indexes),
+                intern(entry.getEtag(), strings, indexes),
+                intern(entry.getSha1(), strings, indexes),
+                intern(entry.getParentId(), strings, indexes)
+            };
+        }
+
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeUTF(snapshot.getFolderId());
+        out.writeLong(snapshot.getStreamPosition() != null ? snapshot.getStreamPosition() : NULL_INDEX);
+        out.writeLong(snapshot.getCreatedAt().toEpochMilli());
+
+        out.writeInt(strings.size());
+        for (String value : strings) {
+            out.writeUTF(value);
+        }
+
+        out.writeInt(rows.length);
+        for (int[] row : rows) {
+            out.writeInt(row[0]);
+            out.writeByte(row[1]);
+            for (int column = 2; column < row.length; column++) {
+                out.writeInt(row[column]);
+            }
+        }
+    }
+
+    private FolderSnapshot read(DataInputStream in, String snapshotId) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+            throw new IOException("未対応のスナップショット形式です");
+        }
+        String folderId = in.readUTF();
+        long streamPosition = in.readLong();
+        Instant createdAt = Instant.ofEpochMilli(in.readLong());
+
+        String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+
+        int entryCount = in.readInt();
+        List<SnapshotEntry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            entries.add(SnapshotEntry.builder()
+                .id(lookup(strings, in.readInt()))
+                .type(TYPES[in.readByte()])
+                .name(lookup(strings, in.readInt()))
+                .etag(lookup(strings, in.readInt()))
+                .sha1(lookup(strings, in.readInt()))
+                .parentId(lookup(strings, in.readInt()))
+                .build());
+        }
+
+        return FolderSnapshot.builder()
+            .snapshotId(snapshotId)
+            .folderId(folderId)
+            .streamPosition(streamPosition != NULL_INDEX ? streamPosition : null)
+            .createdAt(createdAt)
+            .entries(entries)
+            .build();
+    }
+
+    private int intern(String value, List<String> strings, Map<String, Integer> indexes) {
+        if (value == null) {
+            return NULL_INDEX;
+        }
+        return indexes.computeIfAbsent(value, v -> {
+            strings.add(v);
+            return strings.size() - 1;
+        });
+    }
+
+    private String lookup(String[] strings, int index) {
+        return index == NULL_INDEX ? null : strings[index];
+    }
+
+    private int typeIndex(String type) {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i].equals(type)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private record SnapshotHeader(Path file, String folderId, Instant createdAt) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.boxwrapper.snapshot;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * スナップショット内のアイテム.
+ *
+ * <p>差分検出に必要な最小限の属性（ID、種別、名前、etag、SHA1、親フォルダID）のみを保持します。</p>
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder(toBuilder = true)
+public class SnapshotEntry {
+
+    String id;
+
+    String type;  // file, folder or web_link
+
+    String name;
+
+    String etag;
+
+    String sha1;
+
+    String parentId;
+
+    /**
+     * フォルダかどうかを判定します.
+     *
+     * @return フォルダの場合true
+     */
+    public boolean isFolder() {
+        return "folder".equals(type);
+    }
+}
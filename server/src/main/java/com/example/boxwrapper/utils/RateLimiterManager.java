@@ -86,6 +86,50 @@ public class RateLimiterManager {
         return consumed;
     }
 
+    /**
+     * トークンが補充されるまで待機してリクエストの実行を試行します.
+     *
+     * <p>長時間にわたって多数のリクエストを発行する処理で、即座に拒否する代わりに
+     * レート制限内に収まるよう呼び出し元のスレッドを待機させるために使用します。</p>
+     *
+     * @param apiKey リクエストを行うAPIキー
+     * @param maxWait 最大待機時間
+     * @return 待機時間内に許可された場合true、拒否または割り込まれた場合false
+     */
+    public boolean tryConsume(String apiKey, Duration maxWait) {
+        if (!boxProperties.getRateLimit().isEnabled()) {
+            return true;
+        }
+
+        try {
+            boolean consumed = getBucket(apiKey).asBlocking().tryConsume(1, maxWait);
+            if (!consumed) {
+                log.warn("Rate limit wait timed out for API key: {}", maskApiKey(apiKey));
+            }
+            return consumed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * トークンに余裕があるかどうかを判定します.
+     *
+     * <p>ユーザーのリクエストを優先するため、バックグラウンドの低優先度の処理は
+     * 1秒あたりの上限の半分を超えるトークンが残っている場合のみ実行します。
+     * トークンは消費しません。</p>
+     *
+     * @param apiKey リクエストを行うAPIキー
+     * @return 上限の半分を超えるトークンが残っている場合true
+     */
+    public boolean hasSpareCapacity(String apiKey) {
+        if (!boxProperties.getRateLimit().isEnabled()) {
+            return true;
+        }
+        return getBucket(apiKey).getAvailableTokens() > currentRequestsPerSecond / 2;
+    }
+
     /**
      * レート制限に達したときの処理（アダプティブ制御）
      */
@@ -0,0 +1,89 @@
+package com.example.boxwrapper.utils;
+
+import com.example.boxwrapper.config.BoxProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * リクエストのデバウンス.
+ *
+ * <p>同じキー（テナントとセッションなど）で短時間に連続して届くリクエストのうち、
+ * 最後のものだけを処理するために使用します。各リクエストは
+ * {@code box.search.debounce-millis}の経過後に完了する{@link CompletableFuture}を受け取り、
+ * その間に同じキーで新しいリクエストが届いた場合は、その時点で「置き換えられた」として完了します。</p>
+ *
+ * <p>待機はスケジューラで行うため、呼び出し元のスレッドはブロックされません。
+ * 待機時間が0の場合（デフォルト）はデバウンスを行いません。</p>
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+@Component
+public class RequestDebouncer {
+
+    private final Duration window;
+    private final Map<String, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskScheduler scheduler;
+
+    public RequestDebouncer(BoxProperties boxProperties) {
+        this.window = Duration.ofMillis(boxProperties.getSearch().getDebounceMillis());
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setPoolSize(1);
+        this.scheduler.setThreadNamePrefix("debounce-");
+        this.scheduler.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        // 待機中のリクエストは処理せずに終了させる
+        pending.values().forEach(future -> future.complete(true));
+    }
+
+    /**
+     * デバウンスが有効かどうかを返します.
+     *
+     * @return 待機時間が設定されている場合true
+     */
+    public boolean isEnabled() {
+        return !window.isZero() && !window.isNegative();
+    }
+
+    /**
+     * 待機時間の経過後、同じキーの新しいリクエストに置き換えられたかどうかで完了するFutureを返します.
+     *
+     * <p>待機中に同じキーで新しいリクエストが届いた場合、返されたFutureは待機時間の経過を待たずに
+     * trueで完了します。</p>
+     *
+     * @param key リクエストの送信元を識別するキー
+     * @return 新しいリクエストに置き換えられた場合trueで完了するFuture（trueの場合このリクエストは処理しない）
+     */
+    public CompletableFuture<Boolean> debounce(String key) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        CompletableFuture<Boolean> previous = pending.put(key, result);
+        if (previous != null && previous.complete(true)) {
+            log.debug("Request superseded within debounce window: {}", key);
+        }
+
+        ScheduledFuture<?> timer = scheduler.schedule(() -> {
+            if (pending.remove(key, result)) {
+                result.complete(false);
+            }
+        }, Instant.now().plus(window));
+        result.whenComplete((superseded, e) -> timer.cancel(false));
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.boxwrapper.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 同一キーの同時呼び出しを1回にまとめるユーティリティ.
+ *
+ * <p>あるキーの処理が実行中の間に同じキーで呼び出された場合、処理を重複して実行せず、
+ * 実行中の処理の結果（または例外）を共有します。処理の完了後に呼び出された場合は
+ * 新たに実行します。結果は保持しないため、キャッシュと組み合わせて使用します。</p>
+ *
+ * <p>後から呼び出された側（フォロワー）が待つ時間には上限があり、上限を超えた場合は
+ * 実行中の処理を待たずに自身で処理を実行します。実行した処理の数と所要時間、まとめられた呼び出しの数、
+ * 待機が上限を超えた数は{@link #getStats()}で取得できます。</p>
+ *
+ * <p>スレッドセーフな実装です。</p>
+ *
+ * @param <K> キーの型
+ * @param <V> 結果の型
+ * @since 1.1.0
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * フォロワーが実行中の処理を待つ時間のデフォルト
+     */
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(5);
+
+    private final Map<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder waitTimeouts = new LongAdder();
+    private final LongAdder executionNanos = new LongAdder();
+
+    /**
+     * フォロワーの待機時間が{@link #DEFAULT_MAX_WAIT}のインスタンスを生成します.
+     */
+    public SingleFlight() {
+        this(DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * フォロワーの待機時間を指定してインスタンスを生成します.
+     *
+     * @param maxWait フォロワーが実行中の処理を待つ時間の上限
+     */
+    public SingleFlight(Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * キーに対する処理を実行するか、実行中の同じキーの処理の完了を待ちます.
+     *
+     * @param key 呼び出しを識別するキー
+     * @param supplier 実行する処理
+     * @return 処理の結果
+     * @throws RuntimeException 処理が例外をスローした場合（待機していた呼び出し元にも同じ例外がスローされます）
+     */
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = calls.putIfAbsent(key, call);
+        if (existing != null) {
+            try {
+                V value = await(existing);
+                collapsed.increment();
+                return value;
+            } catch (TimeoutException e) {
+                // 実行中の処理が遅い場合は待ち続けず、自身で実行する
+                waitTimeouts.increment();
+                return timed(supplier);
+            }
+        }
+
+        try {
+            V value = timed(supplier);
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * 実行中の処理の数を返します.
+     *
+     * @return 実行中のキーの数
+     */
+    public int inFlightCount() {
+        return calls.size();
+    }
+
+    /**
+     * 呼び出しの統計を返します.
+     *
+     * @return 実行した処理の数と所要時間の合計、まとめられた呼び出しの数、待機が上限を超えた数
+     */
+    public SingleFlightStats getStats() {
+        return SingleFlightStats.builder()
+            .executionCount(executions.sum())
+            .totalExecutionNanos(executionNanos.sum())
+            .collapsedCount(collapsed.sum())
+            .waitTimeoutCount(waitTimeouts.sum())
+            .build();
+    }
+
+    private V timed(Supplier<V> supplier) {
+        executions.increment();
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            executionNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private V await(CompletableFuture<V> call) throws TimeoutException {
+        try {
+            return call.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            collapsed.increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight call", e);
+        }
+    }
+}
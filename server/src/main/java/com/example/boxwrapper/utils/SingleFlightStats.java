@@ -0,0 +1,43 @@
+package com.example.boxwrapper.utils;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * {@link SingleFlight}の呼び出し統計.
+ *
+ * @since 1.1.0
+ */
+@Value
+@Builder
+public class SingleFlightStats {
+
+    /**
+     * 実際に実行した処理の数
+     */
+    long executionCount;
+
+    /**
+     * 実行した処理の所要時間の合計（ナノ秒、例外で終了した処理を含む）
+     */
+    long totalExecutionNanos;
+
+    /**
+     * 実行中の処理の結果を共有し、実行を省略した呼び出しの数
+     */
+    long collapsedCount;
+
+    /**
+     * 待機が上限を超え、自身で処理を実行した呼び出しの数
+     */
+    long waitTimeoutCount;
+
+    /**
+     * 処理1回あたりの平均所要時間を返します.
+     *
+     * @return 平均所要時間（ミリ秒）。実行していない場合は0
+     */
+    public double getAverageExecutionMillis() {
+        return executionCount == 0 ? 0 : totalExecutionNanos / 1_000_000.0 / executionCount;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.CacheFreshness;
+import com.example.boxwrapper.cache.CacheFreshness.Verdict;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CacheFreshnessのユニットテスト.
+ *
+ * <p>リクエストの{@code Cache-Control}ヘッダーの解釈と、エントリの経過時間に応じた判定をテストします。</p>
+ */
+@DisplayName("CacheFreshness Unit Tests")
+class CacheFreshnessTest {
+
+    @Test
+    @DisplayName("parse - 指定がない場合は有効期間内のエントリを全て使うこと")
+    void testParse_Default() {
+        // When
+        CacheFreshness freshness = CacheFreshness.parse(null);
+
+        // Then
+        assertSame(CacheFreshness.DEFAULT, freshness);
+        assertEquals(Verdict.FRESH, freshness.evaluate(Duration.ofDays(1)));
+    }
+
+    @Test
+    @DisplayName("parse - 大文字小文字・空白を区別せず、対象外や不正な指定は無視すること")
+    void testParse_Directives() {
+        // When
+        CacheFreshness freshness = CacheFreshness.parse(
+            " Max-Age=60 , max-stale=\"30\", stale-while-revalidate=abc, no-store");
+
+        // Then
+        assertEquals(Duration.ofSeconds(60), freshness.getMaxAge());
+        assertEquals(Duration.ofSeconds(30), freshness.getMaxStale());
+        assertNull(freshness.getStaleWhileRevalidate());
+        assertFalse(freshness.isNoCache());
+    }
+
+    @Test
+    @DisplayName("evaluate - max-ageとmax-staleの合計までは使い、stale-while-revalidateの範囲は古い値を返しつつ更新すること")
+    void testEvaluate_MaxAgeAndStaleWhileRevalidate() {
+        // Given
+        CacheFreshness freshness = CacheFreshness.parse("max-age=60, max-stale=30, stale-while-revalidate=60");
+
+        // When & Then
+        assertEquals(Verdict.FRESH, freshness.evaluate(Duration.ofSeconds(90)));
+        assertEquals(Verdict.STALE_WHILE_REVALIDATE, freshness.evaluate(Duration.ofSeconds(91)));
+        assertEquals(Verdict.STALE_WHILE_REVALIDATE, freshness.evaluate(Duration.ofSeconds(150)));
+        assertEquals(Verdict.EXPIRED, freshness.evaluate(Duration.ofSeconds(151)));
+    }
+
+    @Test
+    @DisplayName("evaluate - 値のないmax-staleは古さを制限せず、no-cacheは常に再取得すること")
+    void testEvaluate_UnlimitedMaxStaleAndNoCache() {
+        // When & Then
+        assertEquals(Verdict.FRESH, CacheFreshness.parse("max-age=0, max-stale").evaluate(Duration.ofDays(365)));
+        assertEquals(Verdict.EXPIRED, CacheFreshness.parse("no-cache, max-age=600").evaluate(Duration.ZERO));
+        assertEquals(Verdict.EXPIRED, CacheFreshness.parse("max-age=0").evaluate(Duration.ofMillis(1)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.CompactFileInfo;
+import com.example.boxwrapper.cache.CompactFolderInfo;
+import com.example.boxwrapper.cache.CompactValues;
+import com.example.boxwrapper.cache.ObjectSizeEstimator;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import com.example.boxwrapper.model.response.FolderInfoResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompactValuesのユニットテスト.
+ *
+ * <p>DTOとの相互変換で値が変わらないこと、1件あたりのヒープ使用量の削減をテストします。</p>
+ */
+@DisplayName("CompactValues Unit Tests")
+class CompactValuesTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 11, 1, 10, 15, 30, 123_000_000);
+
+    @Test
+    @DisplayName("compact - ファイル情報が省メモリ表現に変換され、同じ値のDTOに戻ること")
+    void testCompact_FileInfoRoundTrip() {
+        // Given
+        FileInfoResponse fileInfo = fileInfo();
+
+        // When
+        Object compact = CompactValues.compact(fileInfo);
+
+        // Then
+        CompactFileInfo compactFileInfo = assertInstanceOf(CompactFileInfo.class, compact);
+        assertEquals(1234567890123L, compactFileInfo.fileId());
+        assertEquals(fileInfo, CompactValues.inflate(compact));
+    }
+
+    @Test
+    @DisplayName("compact - 数値でないIDや16進数でないSHA-1も元の文字列に戻ること")
+    void testCompact_NonNumericValues() {
+        // Given
+        FileInfoResponse fileInfo = FileInfoResponse.builder()
+            .fileId("f_abc")
+            .parentFolderId("0012")
+            .sha1("NOT-A-SHA1")
+            .createdAt(LocalDateTime.of(1960, 1, 1, 0, 0, 0, 5_000_000))
+            .build();
+        FolderInfoResponse folderInfo = FolderInfoResponse.builder().folderId("0").folderName("All Files").build();
+
+        // When & Then
+        assertEquals(fileInfo, CompactValues.inflate(CompactValues.compact(fileInfo)));
+        assertInstanceOf(CompactFolderInfo.class, CompactValues.compact(folderInfo));
+        assertEquals(folderInfo, CompactValues.inflate(CompactValues.compact(folderInfo)));
+    }
+
+    @Test
+    @DisplayName("compact - ミリ秒未満の日時を持つ値は変換されないこと")
+    void testCompact_KeepsValuesThatCannotBeRestored() {
+        // Given
+        FileInfoResponse fileInfo = FileInfoResponse.builder().fileId("1").createdAt(CREATED_AT.plusNanos(1)).build();
+
+        // When & Then
+        assertSame(fileInfo, CompactValues.compact(fileInfo));
+        assertSame(fileInfo, CompactValues.inflate(fileInfo));
+    }
+
+    @Test
+    @DisplayName("compact - 1件あたりのヒープ使用量の概算が半分以下になること")
+    void testCompact_ReducesBytesPerEntry() {
+        // Given
+        FileInfoResponse fileInfo = fileInfo();
+        FolderInfoResponse folderInfo = FolderInfoResponse.builder()
+            .folderId("987654321098")
+            .folderName("Reports")
+            .parentFolderId("0")
+            .itemCount(42)
+            .createdAt(CREATED_AT)
+            .modifiedAt(CREATED_AT)
+            .build();
+
+        // When - 64ビットJVM（圧縮参照）で FileInfoResponse 512 → 200バイト、FolderInfoResponse 304 → 120バイト
+        long fileBytes = ObjectSizeEstimator.estimate(fileInfo);
+        long compactFileBytes = ObjectSizeEstimator.estimate(CompactValues.compact(fileInfo));
+        long folderBytes = ObjectSizeEstimator.estimate(folderInfo);
+        long compactFolderBytes = ObjectSizeEstimator.estimate(CompactValues.compact(folderInfo));
+
+        // Then
+        assertTrue(compactFileBytes * 2 <= fileBytes, compactFileBytes + " / " + fileBytes);
+        assertTrue(compactFolderBytes * 2 <= folderBytes, compactFolderBytes + " / " + folderBytes);
+    }
+
+    @Test
+    @DisplayName("TenantPartitionedCache - 省メモリ表現で保持し、参照ごとに別のDTOを返すこと")
+    void testCache_StoresCompactAndReturnsCopies() {
+        // Given
+        TenantPartitionedCache cache = new TenantPartitionedCache("fileMetadata", 100, 0.2,
+            Duration.ofMinutes(5), Map.of());
+        TenantCacheKey key = TenantCacheKey.of("tenant-a", "1234567890123");
+        cache.put(key, fileInfo());
+
+        // When
+        FileInfoResponse first = cache.get(key, FileInfoResponse.class);
+        first.setFileName("changed.xlsx");
+        FileInfoResponse second = cache.get(key, FileInfoResponse.class);
+
+        // Then
+        assertEquals(fileInfo(), second);
+        assertNotSame(first, second);
+    }
+
+    private static FileInfoResponse fileInfo() {
+        return FileInfoResponse.builder()
+            .fileId("1234567890123")
+            .fileName("quarterly-report-2025.xlsx")
+            .size(123_456L)
+            .parentFolderId("987654321098")
+            .createdAt(CREATED_AT)
+            .modifiedAt(CREATED_AT.plusDays(3))
+            .sha1("85136c79cbf9fe36bb9d05d0639c70c265c18d37")
+            .build();
+    }
+}
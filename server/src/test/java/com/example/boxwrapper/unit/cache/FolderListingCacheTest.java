@@ -0,0 +1,207 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListingCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FolderListingCacheのユニットテスト.
+ *
+ * <p>一覧のキャッシュ、ページの切り出し、変更イベントによるライトスルー更新、
+ * 外部変更イベントによる無効化をテストします。</p>
+ */
+@DisplayName("FolderListingCache Unit Tests")
+class FolderListingCacheTest {
+
+    private static final String SCOPE = "scope-1";
+    private static final String FOLDER_ID = "100";
+
+    private FolderListingCache listingCache;
+
+    @BeforeEach
+    void setUp() {
+        listingCache = new FolderListingCache(new CaffeineCacheManager(FolderListingCache.CACHE_NAME));
+    }
+
+    @Test
+    @DisplayName("put/get - 全件一覧がキャッシュされること")
+    void testPutAndGet_FullListing() {
+        // Given
+        long generation = listingCache.currentGeneration(SCOPE, FOLDER_ID);
+
+        // When
+        listingCache.put(SCOPE, FOLDER_ID, null, null, List.of(file("1", "a.txt"), file("2", "b.txt")), null, generation);
+
+        // Then
+        Optional<List<FolderItem>> cached = listingCache.get(SCOPE, FOLDER_ID, null, null);
+        assertTrue(cached.isPresent());
+        assertEquals(2, cached.get().size());
+        assertEquals(Optional.of(2L), listingCache.getTotalCount(SCOPE, FOLDER_ID));
+    }
+
+    @Test
+    @DisplayName("get - 全件一覧からページが切り出されること")
+    void testGet_PageSlicedFromFullListing() {
+        // Given
+        listingCache.put(SCOPE, FOLDER_ID, null, null,
+            List.of(file("1", "a.txt"), file("2", "b.txt"), file("3", "c.txt")), null, 0L);
+
+        // When
+        Optional<List<FolderItem>> page = listingCache.get(SCOPE, FOLDER_ID, 1, 1);
+
+        // Then
+        assertTrue(page.isPresent());
+        assertEquals("b.txt", page.get().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("get - テナントスコープが異なる場合はヒットしないこと")
+    void testGet_OtherTenantMiss() {
+        // Given
+        listingCache.put(SCOPE, FOLDER_ID, null, null, List.of(file("1", "a.txt")), null, 0L);
+
+        // When & Then
+        assertTrue(listingCache.get("scope-2", FOLDER_ID, null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 作成イベントで全件一覧に追記され、ページは破棄されること")
+    void testOnItemChanged_CreatedUpdatesInPlace() {
+        // Given
+        listingCache.put(SCOPE, FOLDER_ID, null, null, List.of(file("1", "a.txt")), null, 0L);
+        listingCache.put(SCOPE, FOLDER_ID, 0, 10, List.of(file("1", "a.txt")), 1L, 0L);
+
+        // When
+        listingCache.onItemChanged(BoxItemChangedEvent.builder()
+            .scope(SCOPE)
+            .changeType(BoxItemChangedEvent.ChangeType.CREATED)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId("2")
+            .parentId(FOLDER_ID)
+            .item(file("2", "b.txt"))
+            .build());
+
+        // Then
+        List<FolderItem> items = listingCache.get(SCOPE, FOLDER_ID, null, null).orElseThrow();
+        assertEquals(List.of("a.txt", "b.txt"), items.stream().map(FolderItem::getName).toList());
+        assertEquals(Optional.of(2L), listingCache.getTotalCount(SCOPE, FOLDER_ID));
+        // ページは全件一覧から切り出されるため新しいアイテムを含む
+        assertEquals(2, listingCache.get(SCOPE, FOLDER_ID, 0, 10).orElseThrow().size());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 親フォルダ不明の削除イベントでも逆引きで一覧から除外されること")
+    void testOnItemChanged_DeletedWithoutParent() {
+        // Given
+        listingCache.put(SCOPE, FOLDER_ID, null, null, List.of(file("1", "a.txt"), file("2", "b.txt")), null, 0L);
+
+        // When
+        listingCache.onItemChanged(BoxItemChangedEvent.builder()
+            .scope(SCOPE)
+            .changeType(BoxItemChangedEvent.ChangeType.DELETED)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId("1")
+            .build());
+
+        // Then
+        List<FolderItem> items = listingCache.get(SCOPE, FOLDER_ID, null, null).orElseThrow();
+        assertEquals(1, items.size());
+        assertEquals("2", items.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - フォルダ削除イベントで削除フォルダ自身の一覧も無効化されること")
+    void testOnItemChanged_DeletedFolderEvictsOwnListing() {
+        // Given
+        listingCache.put(SCOPE, "200", null, null, List.of(file("9", "z.txt")), null, 0L);
+
+        // When
+        listingCache.onItemChanged(BoxItemChangedEvent.builder()
+            .scope(SCOPE)
+            .changeType(BoxItemChangedEvent.ChangeType.DELETED)
+            .itemType(BoxItemChangedEvent.ItemType.FOLDER)
+            .itemId("200")
+            .parentId(FOLDER_ID)
+            .build());
+
+        // Then
+        assertTrue(listingCache.get(SCOPE, "200", null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 移動イベントで移動元から除外され移動先に追加されること")
+    void testOnItemChanged_MovedBetweenListings() {
+        // Given
+        listingCache.put(SCOPE, FOLDER_ID, null, null, List.of(file("1", "a.txt"), file("2", "b.txt")), null, 0L);
+        listingCache.put(SCOPE, "200", null, null, List.of(), null, 0L);
+
+        // When
+        listingCache.onItemChanged(BoxItemChangedEvent.builder()
+            .scope(SCOPE)
+            .changeType(BoxItemChangedEvent.ChangeType.MOVED)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId("1")
+            .parentId("200")
+            .item(file("1", "a.txt"))
+            .build());
+
+        // Then
+        assertEquals(List.of("2"), listingCache.get(SCOPE, FOLDER_ID, null, null).orElseThrow()
+            .stream().map(FolderItem::getId).toList());
+        assertEquals(List.of("1"), listingCache.get(SCOPE, "200", null, null).orElseThrow()
+            .stream().map(FolderItem::getId).toList());
+        assertEquals(Optional.of("200"), listingCache.findParentId(SCOPE, "1"));
+    }
+
+    @Test
+    @DisplayName("onItemInvalidated - 外部での移動で移動元と移動先の一覧が無効化されること")
+    void testOnItemInvalidated_EvictsBothParents() {
+        // Given
+        listingCache.put(SCOPE, FOLDER_ID, null, null, List.of(file("1", "a.txt")), null, 0L);
+        listingCache.put(SCOPE, "200", null, null, List.of(file("2", "b.txt")), null, 0L);
+        listingCache.put(SCOPE, "300", null, null, List.of(file("3", "c.txt")), null, 0L);
+
+        // When - 変更前の親フォルダは逆引きで求める
+        listingCache.onItemInvalidated(BoxItemInvalidatedEvent.builder()
+            .scope(SCOPE)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId("1")
+            .parentId("200")
+            .item(file("1", "a.txt"))
+            .build());
+
+        // Then
+        assertTrue(listingCache.get(SCOPE, FOLDER_ID, null, null).isEmpty());
+        assertTrue(listingCache.get(SCOPE, "200", null, null).isEmpty());
+        assertTrue(listingCache.get(SCOPE, "300", null, null).isPresent());
+        assertEquals(Optional.of("200"), listingCache.findParentId(SCOPE, "1"));
+    }
+
+    @Test
+    @DisplayName("put - 取得中に変更があった場合は古い一覧を格納しないこと")
+    void testPut_StaleGenerationIgnored() {
+        // Given
+        long generation = listingCache.currentGeneration(SCOPE, FOLDER_ID);
+        listingCache.evict(SCOPE, FOLDER_ID);
+
+        // When
+        listingCache.put(SCOPE, FOLDER_ID, null, null, List.of(file("1", "a.txt")), null, generation);
+
+        // Then
+        assertTrue(listingCache.get(SCOPE, FOLDER_ID, null, null).isEmpty());
+    }
+
+    private FolderItem file(String id, String name) {
+        return FolderItem.builder().id(id).type("file").name(name).size(10L).build();
+    }
+}
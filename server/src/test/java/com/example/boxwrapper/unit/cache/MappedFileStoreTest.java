@@ -0,0 +1,119 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.MappedFileStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MappedFileStoreのユニットテスト.
+ *
+ * <p>再起動後のエントリの復元、容量超過時の古いエントリの追い出し、削除と有効期限をテストします。</p>
+ */
+@DisplayName("MappedFileStore Unit Tests")
+class MappedFileStoreTest {
+
+    private static final long FAR_FUTURE = Long.MAX_VALUE;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("コンストラクタ - 同じファイルを開き直すと書き込んだエントリと削除が復元されること")
+    void testReopen_RestoresEntriesAndRemovals() throws Exception {
+        // Given
+        Path file = tempDir.resolve("fileMetadata.l2");
+        try (MappedFileStore store = new MappedFileStore(file, 64 * 1024)) {
+            store.put(bytes("a"), bytes("value-a1"), 1L, FAR_FUTURE);
+            store.put(bytes("b"), bytes("value-b"), 1L, FAR_FUTURE);
+            store.put(bytes("a"), bytes("value-a2"), 2L, FAR_FUTURE);
+            store.remove(bytes("b"));
+        }
+
+        // When
+        try (MappedFileStore reopened = new MappedFileStore(file, 64 * 1024)) {
+            // Then
+            MappedFileStore.Record record = reopened.get(bytes("a")).orElseThrow();
+            assertEquals("value-a2", new String(record.value(), StandardCharsets.UTF_8));
+            assertEquals(2L, record.writtenAtMillis());
+            assertTrue(reopened.get(bytes("b")).isEmpty());
+            assertEquals(1, reopened.getStats().entryCount());
+        }
+    }
+
+    @Test
+    @DisplayName("put - 容量を超えた場合は古いエントリから追い出され、再起動後も新しいエントリが残ること")
+    void testPut_EvictsOldestWhenFull() throws Exception {
+        // Given
+        Path file = tempDir.resolve("folderInfo.l2");
+        try (MappedFileStore store = new MappedFileStore(file, 2048)) {
+            // When
+            for (int i = 0; i < 200; i++) {
+                store.put(bytes("key-" + i), bytes("value-" + i), 1L, FAR_FUTURE);
+            }
+
+            // Then
+            assertTrue(store.get(bytes("key-0")).isEmpty());
+            assertTrue(store.get(bytes("key-199")).isPresent());
+            MappedFileStore.Stats stats = store.getStats();
+            assertTrue(stats.evictionCount() > 0);
+            assertTrue(stats.usedBytes() <= stats.capacityBytes());
+            assertEquals(200, stats.entryCount() + stats.evictionCount());
+        }
+
+        try (MappedFileStore reopened = new MappedFileStore(file, 2048)) {
+            assertEquals("value-199", new String(reopened.get(bytes("key-199")).orElseThrow().value(),
+                StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("writeAll - 書き込みと削除が順に反映され、再起動後も復元されること")
+    void testWriteAll_AppliesBatchInOrder() throws Exception {
+        // Given
+        Path file = tempDir.resolve("batch.l2");
+        try (MappedFileStore store = new MappedFileStore(file, 64 * 1024)) {
+            store.put(bytes("c"), bytes("value-c"), 1L, FAR_FUTURE);
+
+            // When
+            int written = store.writeAll(List.of(
+                new MappedFileStore.Write(bytes("a"), bytes("value-a1"), 1L, FAR_FUTURE),
+                new MappedFileStore.Write(bytes("b"), bytes("value-b"), 1L, FAR_FUTURE),
+                new MappedFileStore.Write(bytes("a"), bytes("value-a2"), 2L, FAR_FUTURE),
+                new MappedFileStore.Write(bytes("c"), null, 0L, 0L)));
+
+            // Then
+            assertEquals(3, written);
+            assertEquals(4, store.getStats().writeCount());
+        }
+
+        try (MappedFileStore reopened = new MappedFileStore(file, 64 * 1024)) {
+            assertEquals("value-a2", new String(reopened.get(bytes("a")).orElseThrow().value(), StandardCharsets.UTF_8));
+            assertTrue(reopened.get(bytes("b")).isPresent());
+            assertTrue(reopened.get(bytes("c")).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("get - 有効期限を過ぎたエントリは返さないこと")
+    void testGet_SkipsExpiredEntries() throws Exception {
+        // Given
+        try (MappedFileStore store = new MappedFileStore(tempDir.resolve("expired.l2"), 4096)) {
+            store.put(bytes("old"), bytes("value"), 1L, System.currentTimeMillis() - 1);
+
+            // When & Then
+            assertTrue(store.get(bytes("old")).isEmpty());
+            assertEquals(1, store.getStats().missCount());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.MetadataCacheUpdater;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import com.example.boxwrapper.model.response.FolderInfoResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MetadataCacheUpdaterのユニットテスト.
+ */
+@DisplayName("MetadataCacheUpdater Unit Tests")
+class MetadataCacheUpdaterTest {
+
+    private Cache folderInfoCache;
+    private Cache fileMetadataCache;
+    private MetadataCacheUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("folderInfo", "fileMetadata");
+        folderInfoCache = cacheManager.getCache("folderInfo");
+        fileMetadataCache = cacheManager.getCache("fileMetadata");
+        updater = new MetadataCacheUpdater(cacheManager);
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 作成イベントで親フォルダのアイテム数が増えること")
+    void testOnItemChanged_CreatedIncrementsItemCount() {
+        // Given
+        folderInfoCache.put(key("100"), FolderInfoResponse.builder().folderId("100").itemCount(3).etag("1").build());
+
+        // When
+        updater.onItemChanged(event(BoxItemChangedEvent.ChangeType.CREATED, "100"));
+
+        // Then
+        FolderInfoResponse updated = folderInfoCache.get(key("100"), FolderInfoResponse.class);
+        assertEquals(4, updated.getItemCount());
+        assertEquals("1", updated.getEtag());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 削除イベントで親フォルダのアイテム数が減ること")
+    void testOnItemChanged_DeletedDecrementsItemCount() {
+        // Given
+        folderInfoCache.put(key("100"), FolderInfoResponse.builder().folderId("100").itemCount(3).build());
+
+        // When
+        updater.onItemChanged(event(BoxItemChangedEvent.ChangeType.DELETED, "100"));
+
+        // Then
+        assertEquals(2, folderInfoCache.get(key("100"), FolderInfoResponse.class).getItemCount());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 別テナントのキャッシュ済みフォルダ情報は更新しないこと")
+    void testOnItemChanged_OtherTenantUntouched() {
+        // Given
+        folderInfoCache.put(TenantCacheKey.of("scope-2", "100"),
+            FolderInfoResponse.builder().folderId("100").itemCount(3).build());
+
+        // When
+        updater.onItemChanged(event(BoxItemChangedEvent.ChangeType.CREATED, "100"));
+
+        // Then
+        assertEquals(3, folderInfoCache.get(TenantCacheKey.of("scope-2", "100"), FolderInfoResponse.class)
+            .getItemCount());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 親フォルダが不明な場合は何もしないこと")
+    void testOnItemChanged_UnknownParent() {
+        // When
+        updater.onItemChanged(event(BoxItemChangedEvent.ChangeType.DELETED, null));
+
+        // Then
+        assertNull(folderInfoCache.get(key("100")));
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 移動イベントで移動元・移動先のアイテム数とファイルの親フォルダIDが更新されること")
+    void testOnItemChanged_MovedUpdatesCountsAndParent() {
+        // Given
+        folderInfoCache.put(key("100"), FolderInfoResponse.builder().folderId("100").itemCount(3).build());
+        folderInfoCache.put(key("200"), FolderInfoResponse.builder().folderId("200").itemCount(0).build());
+        fileMetadataCache.put(key("1"),
+            FileInfoResponse.builder().fileId("1").fileName("a.txt").parentFolderId("100").etag("5").build());
+
+        // When
+        updater.onItemChanged(BoxItemChangedEvent.builder()
+            .scope("scope-1")
+            .changeType(BoxItemChangedEvent.ChangeType.MOVED)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId("1")
+            .parentId("200")
+            .previousParentId("100")
+            .item(FolderItem.builder().id("1").type("file").name("b.txt").build())
+            .build());
+
+        // Then
+        assertEquals(2, folderInfoCache.get(key("100"), FolderInfoResponse.class).getItemCount());
+        assertEquals(1, folderInfoCache.get(key("200"), FolderInfoResponse.class).getItemCount());
+        FileInfoResponse moved = fileMetadataCache.get(key("1"), FileInfoResponse.class);
+        assertEquals("200", moved.getParentFolderId());
+        assertEquals("b.txt", moved.getFileName());
+        assertEquals("5", moved.getEtag());
+    }
+
+    private static TenantCacheKey key(String id) {
+        return TenantCacheKey.of("scope-1", id);
+    }
+
+    private BoxItemChangedEvent event(BoxItemChangedEvent.ChangeType changeType, String parentId) {
+        return BoxItemChangedEvent.builder()
+            .scope("scope-1")
+            .changeType(changeType)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId("1")
+            .parentId(parentId)
+            .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.NegativeResultCache;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NegativeResultCacheのユニットテスト.
+ *
+ * <p>404/403の記録と再現、アイテム作成・削除イベントによる記録の更新をテストします。</p>
+ */
+@DisplayName("NegativeResultCache Unit Tests")
+class NegativeResultCacheTest {
+
+    private static final BoxItemChangedEvent.ItemType FILE = BoxItemChangedEvent.ItemType.FILE;
+    private static final BoxItemChangedEvent.ItemType FOLDER = BoxItemChangedEvent.ItemType.FOLDER;
+
+    private NegativeResultCache negativeResultCache;
+
+    @BeforeEach
+    void setUp() {
+        negativeResultCache = new NegativeResultCache(new BoxProperties());
+    }
+
+    @Test
+    @DisplayName("throwIfRecorded - 記録された404と403が同じエラーとして再現されること")
+    void testThrowIfRecorded_ReplaysRecordedErrors() {
+        // Given
+        negativeResultCache.record("tenant-a", FILE, "100", 404);
+        negativeResultCache.record("tenant-a", FOLDER, "200", 403);
+        negativeResultCache.record("tenant-a", FILE, "300", 500);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class,
+            () -> negativeResultCache.throwIfRecorded("tenant-a", FILE, "100"));
+        BoxApiException forbidden = assertThrows(BoxApiException.class,
+            () -> negativeResultCache.throwIfRecorded("tenant-a", FOLDER, "200"));
+        assertEquals(403, forbidden.getStatusCode());
+        assertDoesNotThrow(() -> negativeResultCache.throwIfRecorded("tenant-a", FILE, "300"));
+        assertDoesNotThrow(() -> negativeResultCache.throwIfRecorded("tenant-b", FILE, "100"));
+        assertEquals(2, negativeResultCache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 作成されたアイテムと親フォルダの記録が削除されること")
+    void testOnItemChanged_CreatedInvalidatesItemAndParent() {
+        // Given
+        negativeResultCache.record("tenant-a", FILE, "100", 404);
+        negativeResultCache.record("tenant-a", FOLDER, "0", 404);
+
+        // When
+        negativeResultCache.onItemChanged(BoxItemChangedEvent.builder()
+            .scope("tenant-a")
+            .changeType(BoxItemChangedEvent.ChangeType.CREATED)
+            .itemType(FILE)
+            .itemId("100")
+            .parentId("0")
+            .build());
+
+        // Then
+        assertDoesNotThrow(() -> negativeResultCache.throwIfRecorded("tenant-a", FILE, "100"));
+        assertDoesNotThrow(() -> negativeResultCache.throwIfRecorded("tenant-a", FOLDER, "0"));
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 削除されたアイテムが404として記録されること")
+    void testOnItemChanged_DeletedRecordsNotFound() {
+        // When
+        negativeResultCache.onItemChanged(BoxItemChangedEvent.builder()
+            .scope("tenant-a")
+            .changeType(BoxItemChangedEvent.ChangeType.DELETED)
+            .itemType(FOLDER)
+            .itemId("200")
+            .build());
+
+        // Then
+        assertThrows(ResourceNotFoundException.class,
+            () -> negativeResultCache.throwIfRecorded("tenant-a", FOLDER, "200"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.ObjectSizeEstimator;
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ObjectSizeEstimatorのユニットテスト.
+ */
+@DisplayName("ObjectSizeEstimator Unit Tests")
+class ObjectSizeEstimatorTest {
+
+    @Test
+    @DisplayName("estimate - 文字列は長さと文字の種類に応じたサイズになること")
+    void testEstimate_String() {
+        // When & Then - String本体32バイト + byte[]（16バイト + 文字数 × 1または2、8バイト境界）
+        assertEquals(0, ObjectSizeEstimator.estimate(null));
+        assertEquals(32 + 24, ObjectSizeEstimator.estimate("hello"));
+        assertEquals(32 + 32, ObjectSizeEstimator.estimate("こんにちは"));
+    }
+
+    @Test
+    @DisplayName("estimate - 同じオブジェクトへの複数の参照は1回のみ数えること")
+    void testEstimate_SharedReferencesCountedOnce() {
+        // Given
+        String shared = "x".repeat(1000);
+        List<String> same = new ArrayList<>(Collections.nCopies(100, shared));
+        List<String> distinct = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            distinct.add(new String(shared));
+        }
+
+        // When
+        long sameSize = ObjectSizeEstimator.estimate(same);
+        long distinctSize = ObjectSizeEstimator.estimate(distinct);
+
+        // Then
+        assertTrue(sameSize < 2 * ObjectSizeEstimator.estimate(shared));
+        assertTrue(distinctSize > 100 * 1000);
+    }
+
+    @Test
+    @DisplayName("estimate - DTOはフィールドの参照先を含めたサイズになること")
+    void testEstimate_IncludesReferencedFields() {
+        // Given
+        FileInfoResponse small = FileInfoResponse.builder().fileId("1").fileName("a.txt").build();
+        FileInfoResponse large = FileInfoResponse.builder().fileId("1").fileName("a".repeat(10_000)).build();
+
+        // When & Then
+        assertTrue(ObjectSizeEstimator.estimate(small) > ObjectSizeEstimator.estimate("a.txt"));
+        assertTrue(ObjectSizeEstimator.estimate(large) - ObjectSizeEstimator.estimate(small) >= 10_000 - 8);
+    }
+}
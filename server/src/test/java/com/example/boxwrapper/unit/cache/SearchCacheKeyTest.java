@@ -0,0 +1,72 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.SearchCacheKey;
+import com.example.boxwrapper.model.request.SearchRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchCacheKeyのユニットテスト.
+ */
+@DisplayName("SearchCacheKey Unit Tests")
+class SearchCacheKeyTest {
+
+    @Test
+    @DisplayName("of - 表記ゆれと既定値が正規化されること")
+    void testOf_Normalized() {
+        // Given
+        SearchRequest request1 = SearchRequest.builder().query("  Annual Report ").type("FILE").fileExtension(".PDF").build();
+        SearchRequest request2 = SearchRequest.builder().query("annual report").type("file").fileExtension("pdf")
+            .offset(0).limit(SearchCacheKey.DEFAULT_LIMIT).build();
+
+        // When & Then
+        assertEquals(SearchCacheKey.of("scope-1", request1), SearchCacheKey.of("scope-1", request2));
+    }
+
+    @Test
+    @DisplayName("of - ページ、拡張子、テナントが異なる場合は別のキーになること")
+    void testOf_DistinctKeys() {
+        // Given
+        SearchRequest page1 = SearchRequest.builder().query("test").offset(0).limit(10).build();
+        SearchRequest page2 = SearchRequest.builder().query("test").offset(10).limit(10).build();
+        SearchRequest pdf = SearchRequest.builder().query("test").offset(0).limit(10).fileExtension("pdf").build();
+
+        // When & Then
+        assertNotEquals(SearchCacheKey.of("scope-1", page1), SearchCacheKey.of("scope-1", page2));
+        assertNotEquals(SearchCacheKey.of("scope-1", page1), SearchCacheKey.of("scope-1", pdf));
+        assertNotEquals(SearchCacheKey.of("scope-1", page1), SearchCacheKey.of("scope-2", page1));
+    }
+
+    @Test
+    @DisplayName("nextPage - オフセットが件数分進むこと")
+    void testNextPage() {
+        // Given
+        SearchCacheKey key = SearchCacheKey.of("scope-1", SearchRequest.builder().query("test").offset(20).limit(10).build());
+
+        // When
+        SearchCacheKey next = key.nextPage();
+
+        // Then
+        assertEquals(30, next.getOffset());
+        assertEquals(10, next.getLimit());
+        assertEquals(key.getQuery(), next.getQuery());
+    }
+
+    @Test
+    @DisplayName("toRequest - 大文字小文字はキーの比較にのみ使い、Boxには元のクエリを送ること")
+    void testToRequest_KeepsOriginalQuery() {
+        // Given
+        SearchCacheKey key = SearchCacheKey.of("scope-1",
+            SearchRequest.builder().query(" \"Q3 Plan\" AND budget ").build());
+
+        // When
+        SearchRequest request = key.nextPage().toRequest();
+
+        // Then
+        assertEquals("\"q3 plan\" and budget", key.getQuery());
+        assertEquals("\"Q3 Plan\" AND budget", request.getQuery());
+        assertEquals(SearchCacheKey.DEFAULT_LIMIT, request.getOffset());
+    }
+}
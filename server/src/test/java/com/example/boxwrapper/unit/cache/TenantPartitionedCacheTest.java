@@ -0,0 +1,665 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.CacheFreshness;
+import com.example.boxwrapper.cache.CacheSettings;
+import com.example.boxwrapper.cache.CacheTierStats;
+import com.example.boxwrapper.cache.CacheWarmupEntry;
+import com.example.boxwrapper.cache.ConditionalLoader;
+import com.example.boxwrapper.cache.ConditionalReloadStats;
+import com.example.boxwrapper.cache.FreshnessContext;
+import com.example.boxwrapper.cache.MappedFileStore;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.cache.TenantCacheStats;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TenantPartitionedCacheのユニットテスト.
+ *
+ * <p>重みに応じた保証領域の分割、共有領域への退避、テナントごとの統計をテストします。</p>
+ */
+@DisplayName("TenantPartitionedCache Unit Tests")
+class TenantPartitionedCacheTest {
+
+    private TenantPartitionedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // 全体100件のうち20件が共有領域、残り80件を重み3:1で分割
+        cache = new TenantPartitionedCache("fileMetadata", 100, 0.2, Duration.ofMinutes(5),
+            Map.of("tenant-a", 3, "tenant-b", 1));
+    }
+
+    @Test
+    @DisplayName("guaranteedCapacity - 重みに応じて保証領域が分割されること")
+    void testGuaranteedCapacity_Weighted() {
+        // When & Then
+        assertEquals(60, cache.guaranteedCapacity("tenant-a"));
+        assertEquals(20, cache.guaranteedCapacity("tenant-b"));
+    }
+
+    @Test
+    @DisplayName("put - 1つのテナントが大量に書き込んでも、他のテナントのエントリは追い出されないこと")
+    void testPut_BusyTenantDoesNotEvictOthers() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            cache.put(TenantCacheKey.of("tenant-b", "b" + i), "value-b" + i);
+        }
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            cache.put(TenantCacheKey.of("tenant-a", "a" + i), "value-a" + i);
+        }
+
+        // Then
+        for (int i = 0; i < 10; i++) {
+            assertEquals("value-b" + i, cache.get(TenantCacheKey.of("tenant-b", "b" + i), String.class));
+        }
+        assertEquals(0, stats("tenant-b").getEvictionCount());
+        assertEquals(10, stats("tenant-b").getHitCount());
+        assertTrue(stats("tenant-a").getEvictionCount() > 0);
+        assertTrue(stats("tenant-a").getSize() <= 80);
+    }
+
+    @Test
+    @DisplayName("get - 保証領域を超えたエントリは共有領域から取得できること")
+    void testGet_OverflowEntriesAreServed() {
+        // Given - 保証領域60件 + 共有領域20件に収まる件数
+        for (int i = 0; i < 70; i++) {
+            cache.put(TenantCacheKey.of("tenant-a", "a" + i), "value-a" + i);
+        }
+
+        // When & Then
+        for (int i = 0; i < 70; i++) {
+            assertEquals("value-a" + i, cache.get(TenantCacheKey.of("tenant-a", "a" + i), String.class));
+        }
+        assertEquals(70, stats("tenant-a").getHitCount());
+        assertEquals(0, stats("tenant-a").getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("get - テナントごとにヒット数・ミス数・ヒット率が記録されること")
+    void testGet_RecordsPerTenantHitRate() {
+        // Given
+        cache.put(TenantCacheKey.of("tenant-a", "1"), "value");
+
+        // When
+        cache.get(TenantCacheKey.of("tenant-a", "1"));
+        cache.get(TenantCacheKey.of("tenant-a", "2"));
+        cache.get(TenantCacheKey.of("tenant-b", "1"));
+
+        // Then
+        assertEquals(1, stats("tenant-a").getHitCount());
+        assertEquals(1, stats("tenant-a").getMissCount());
+        assertEquals(0.5, stats("tenant-a").getHitRate());
+        assertEquals(0, stats("tenant-b").getHitCount());
+        assertEquals(1, stats("tenant-b").getMissCount());
+    }
+
+    @Test
+    @DisplayName("evict - 保証領域と共有領域の両方から削除されること")
+    void testEvict_RemovesFromBothTiers() {
+        // Given
+        for (int i = 0; i < 70; i++) {
+            cache.put(TenantCacheKey.of("tenant-a", "a" + i), "value-a" + i);
+        }
+
+        // When
+        for (int i = 0; i < 70; i++) {
+            cache.evict(TenantCacheKey.of("tenant-a", "a" + i));
+        }
+
+        // Then
+        assertEquals(0, stats("tenant-a").getSize());
+        assertNull(cache.get(TenantCacheKey.of("tenant-a", "a0")));
+    }
+
+    @Test
+    @DisplayName("get - 共有領域から保証領域へ戻す参照と同時に書き込まれた新しい値が、古い値で上書きされないこと")
+    void testGet_PromotionDoesNotOverwriteConcurrentPut() throws Exception {
+        // Given - 保証領域60件を超えた分は共有領域に退避される
+        for (int i = 0; i < 70; i++) {
+            cache.put(TenantCacheKey.of("tenant-a", "a" + i), "old-" + i);
+        }
+        CountDownLatch writerDone = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        try {
+            // When - 参照で共有領域のエントリを保証領域に戻し続けながら、全キーを新しい値に書き換える
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                readers.add(executor.submit(() -> {
+                    while (writerDone.getCount() > 0) {
+                        for (int i = 0; i < 70; i++) {
+                            cache.get(TenantCacheKey.of("tenant-a", "a" + i));
+                        }
+                    }
+                }));
+            }
+            executor.submit(() -> {
+                for (int i = 0; i < 70; i++) {
+                    cache.put(TenantCacheKey.of("tenant-a", "a" + i), "new-" + i);
+                }
+                writerDone.countDown();
+            }).get(5, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(5, TimeUnit.SECONDS);
+            }
+
+            // Then
+            for (int i = 0; i < 70; i++) {
+                assertEquals("new-" + i, cache.get(TenantCacheKey.of("tenant-a", "a" + i), String.class));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("get(key, loader) - 同じキーの同時の読み込みは1回にまとめられること")
+    void testGetWithLoader_CollapsesConcurrentLoads() throws Exception {
+        // Given
+        TenantCacheKey key = TenantCacheKey.of("tenant-a", "1");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // When
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await(5, TimeUnit.SECONDS);
+                    return cache.get(key, () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "value";
+                    });
+                }));
+            }
+
+            // Then
+            for (Future<String> future : futures) {
+                assertEquals("value", future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, cache.getLoadStats().getExecutionCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("enableRefreshAhead - 更新時刻を過ぎたエントリの参照で更新が要求され、値はそのまま返ること")
+    void testRefreshAhead_RequestsRefreshForStaleEntry() {
+        // Given
+        List<Object> requested = new CopyOnWriteArrayList<>();
+        cache.enableRefreshAhead(Duration.ZERO, requested::add);
+        cache.put(TenantCacheKey.of("tenant-a", "1"), "value");
+
+        // When
+        String value = cache.get(TenantCacheKey.of("tenant-a", "1"), String.class);
+
+        // Then
+        assertEquals("value", value);
+        assertEquals(List.of(TenantCacheKey.of("tenant-a", "1")), requested);
+    }
+
+    @Test
+    @DisplayName("enableRefreshAhead - 更新時刻前のエントリやミスでは更新が要求されないこと")
+    void testRefreshAhead_DoesNotRequestRefreshForFreshEntry() {
+        // Given
+        List<Object> requested = new CopyOnWriteArrayList<>();
+        cache.enableRefreshAhead(Duration.ofMinutes(4), requested::add);
+        cache.put(TenantCacheKey.of("tenant-a", "1"), "value");
+
+        // When
+        cache.get(TenantCacheKey.of("tenant-a", "1"));
+        cache.get(TenantCacheKey.of("tenant-a", "2"));
+
+        // Then
+        assertTrue(requested.isEmpty());
+    }
+
+    @Test
+    @DisplayName("enableSecondTier - L1から追い出されたエントリと再起動前のエントリがL2から読み込まれること")
+    void testSecondTier_ServesEvictedAndRestartedEntries(@TempDir Path tempDir) throws Exception {
+        // Given - L1は10件（保証領域8件 + 共有領域2件）
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        Path file = tempDir.resolve("fileMetadata.l2");
+        try (MappedFileStore store = new MappedFileStore(file, 1024 * 1024)) {
+            TenantPartitionedCache small = new TenantPartitionedCache("fileMetadata", 10, 0.2,
+                Duration.ofMinutes(5), Map.of());
+            small.enableSecondTier(store, objectMapper);
+            for (int i = 0; i < 50; i++) {
+                small.put(TenantCacheKey.of("tenant-a", "f" + i), file("f" + i));
+            }
+            small.shutdownSecondTier();
+
+            // When
+            FileInfoResponse promoted = small.get(TenantCacheKey.of("tenant-a", "f0"), FileInfoResponse.class);
+
+            // Then
+            assertEquals("f0", promoted.getFileId());
+            List<CacheTierStats> tiers = small.getTierStats();
+            assertEquals(1, tiers.get(0).getMissCount());
+            assertEquals(1, tiers.get(1).getHitCount());
+            assertEquals(50, tiers.get(1).getSize());
+        }
+
+        // 再起動後の新しいキャッシュでもL2から読み込めること
+        try (MappedFileStore reopened = new MappedFileStore(file, 1024 * 1024)) {
+            TenantPartitionedCache restarted = new TenantPartitionedCache("fileMetadata", 10, 0.2,
+                Duration.ofMinutes(5), Map.of());
+            restarted.enableSecondTier(reopened, objectMapper);
+
+            assertEquals("file-f42.txt",
+                restarted.get(TenantCacheKey.of("tenant-a", "f42"), FileInfoResponse.class).getFileName());
+            assertNull(restarted.get(TenantCacheKey.of("tenant-b", "f42")));
+        }
+    }
+
+    @Test
+    @DisplayName("enableSecondTier - 再検証のために保持中の期限切れエントリが再起動後もL2から条件付きで再取得されること")
+    void testSecondTier_KeepsRetainedEntriesAcrossRestart(@TempDir Path tempDir) throws Exception {
+        // Given - 有効期間50ミリ秒、期限切れ後も1分間保持する
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        Path file = tempDir.resolve("fileMetadata.l2");
+        TenantCacheKey key = TenantCacheKey.of("tenant-a", "1");
+        try (MappedFileStore store = new MappedFileStore(file, 1024 * 1024)) {
+            TenantPartitionedCache cache = new TenantPartitionedCache("fileMetadata", 100, 0.2,
+                Duration.ofMillis(50), Map.of());
+            cache.enableConditionalReload(Duration.ofMinutes(1), (k, cached) -> ConditionalLoader.NOT_MODIFIED);
+            cache.enableSecondTier(store, objectMapper);
+            cache.put(key, file("1"));
+            cache.shutdownSecondTier();
+        }
+        Thread.sleep(100);
+
+        // When - 再起動後、有効期限を過ぎたエントリを参照する
+        try (MappedFileStore reopened = new MappedFileStore(file, 1024 * 1024)) {
+            TenantPartitionedCache restarted = new TenantPartitionedCache("fileMetadata", 100, 0.2,
+                Duration.ofMillis(50), Map.of());
+            restarted.enableConditionalReload(Duration.ofMinutes(1), (k, cached) -> ConditionalLoader.NOT_MODIFIED);
+            restarted.enableSecondTier(reopened, objectMapper);
+            AtomicInteger loads = new AtomicInteger();
+            FileInfoResponse value = restarted.get(key, () -> {
+                loads.incrementAndGet();
+                return file("2");
+            });
+
+            // Then - 全体を読み込まずに有効期間を延長する
+            assertEquals(file("1"), value);
+            assertEquals(0, loads.get());
+            assertEquals(1, restarted.getConditionalReloadStats().getNotModifiedCount());
+            restarted.shutdownSecondTier();
+        }
+    }
+
+    @Test
+    @DisplayName("enableSecondTier - L2への反映前でも、L1から追い出されたエントリの最新の値と削除が参照に反映されること")
+    void testSecondTier_PendingWritesAreVisible(@TempDir Path tempDir) throws Exception {
+        // Given - L1は10件（保証領域8件 + 共有領域2件）
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        try (MappedFileStore store = new MappedFileStore(tempDir.resolve("fileMetadata.l2"), 1024 * 1024)) {
+            TenantPartitionedCache small = new TenantPartitionedCache("fileMetadata", 10, 0.2,
+                Duration.ofMinutes(5), Map.of());
+            small.enableSecondTier(store, objectMapper);
+            small.put(TenantCacheKey.of("tenant-a", "f0"), file("f0"));
+            small.flushSecondTier();
+
+            // When - 反映前に書き換え・削除し、L1から追い出す
+            small.put(TenantCacheKey.of("tenant-a", "f0"), file("f0-renamed"));
+            small.put(TenantCacheKey.of("tenant-a", "f1"), file("f1"));
+            small.evict(TenantCacheKey.of("tenant-a", "f1"));
+            for (int i = 2; i < 50; i++) {
+                small.put(TenantCacheKey.of("tenant-a", "f" + i), file("f" + i));
+            }
+
+            // Then
+            assertEquals("file-f0-renamed.txt",
+                small.get(TenantCacheKey.of("tenant-a", "f0"), FileInfoResponse.class).getFileName());
+            assertNull(small.get(TenantCacheKey.of("tenant-a", "f1")));
+            small.shutdownSecondTier();
+            String stored = new String(store.get("tenant-a:f0".getBytes(StandardCharsets.UTF_8)).orElseThrow().value(),
+                StandardCharsets.UTF_8);
+            assertTrue(stored.contains("file-f0-renamed.txt"));
+            assertTrue(store.get("tenant-a:f1".getBytes(StandardCharsets.UTF_8)).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("enableSecondTier - L2からL1へ戻す参照と同時に削除されたエントリが、L1に戻されないこと")
+    void testSecondTier_PromotionDoesNotRestoreConcurrentEvict(@TempDir Path tempDir) throws Exception {
+        // Given - L1は10件のため、大半のエントリはL2からの読み込みでL1に戻される
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        try (MappedFileStore store = new MappedFileStore(tempDir.resolve("fileMetadata.l2"), 1024 * 1024)) {
+            TenantPartitionedCache small = new TenantPartitionedCache("fileMetadata", 10, 0.2,
+                Duration.ofMinutes(5), Map.of());
+            small.enableSecondTier(store, objectMapper);
+            for (int i = 0; i < 50; i++) {
+                small.put(TenantCacheKey.of("tenant-a", "f" + i), file("f" + i));
+            }
+            small.flushSecondTier();
+            CountDownLatch evictorDone = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(5);
+
+            try {
+                // When - 参照でL2のエントリをL1に戻し続けながら、全キーを削除する
+                List<Future<?>> readers = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    readers.add(executor.submit(() -> {
+                        while (evictorDone.getCount() > 0) {
+                            for (int i = 0; i < 50; i++) {
+                                small.get(TenantCacheKey.of("tenant-a", "f" + i));
+                            }
+                        }
+                    }));
+                }
+                executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        small.evict(TenantCacheKey.of("tenant-a", "f" + i));
+                        if (i % 10 == 0) {
+                            small.flushSecondTier();
+                        }
+                    }
+                    evictorDone.countDown();
+                }).get(5, TimeUnit.SECONDS);
+                for (Future<?> reader : readers) {
+                    reader.get(5, TimeUnit.SECONDS);
+                }
+
+                // Then
+                for (int i = 0; i < 50; i++) {
+                    assertNull(small.get(TenantCacheKey.of("tenant-a", "f" + i)), "f" + i);
+                }
+            } finally {
+                executor.shutdownNow();
+                small.shutdownSecondTier();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("maximumWeightBytes - 値のサイズの合計が上限を超えないよう追い出されること")
+    void testWeighted_EvictsByEstimatedBytes() {
+        // Given - 全体64KB（共有領域20%）
+        TenantPartitionedCache weighted = new TenantPartitionedCache("folderListing", CacheSettings.builder()
+            .maximumWeightBytes(64 * 1024)
+            .ttl(Duration.ofMinutes(5))
+            .overflowRatio(0.2)
+            .build(), Map.of(), Duration.ofSeconds(5));
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            weighted.put(TenantCacheKey.of("tenant-a", "f" + i), file("f" + i));
+        }
+
+        // Then
+        CacheTierStats tier = weighted.getTierStats().get(0);
+        assertTrue(tier.getSize() < 1000);
+        assertTrue(tier.getUsedBytes() > 0);
+        assertTrue(tier.getUsedBytes() <= 64 * 1024);
+        assertEquals(64 * 1024, tier.getCapacityBytes());
+        assertTrue(weighted.getTenantStats().get(0).getEvictionCount() > 0);
+    }
+
+    @Test
+    @DisplayName("evictMatching - 保証領域と共有領域から、指定したテナントの条件に一致するキーのみ削除されること")
+    void testEvictMatching_RemovesFromBothRegions() {
+        // Given - tenant-bの保証領域は20件のため、残りは共有領域に移る
+        for (int i = 0; i < 30; i++) {
+            cache.put(TenantCacheKey.of("tenant-b", "doc-" + i), "value-" + i);
+        }
+        cache.put(TenantCacheKey.of("tenant-b", "other"), "value");
+        cache.put(TenantCacheKey.of("tenant-a", "doc-1"), "value");
+
+        // When
+        int removed = cache.evictMatching("tenant-b", id -> id.startsWith("doc-"));
+
+        // Then
+        assertEquals(30, removed);
+        assertEquals(1, stats("tenant-b").getSize());
+        assertNotNull(cache.get(TenantCacheKey.of("tenant-b", "other")));
+        assertNotNull(cache.get(TenantCacheKey.of("tenant-a", "doc-1")));
+    }
+
+    @Test
+    @DisplayName("reconfigure - 容量を縮小すると保証領域が再分割され、超過分が追い出されること")
+    void testReconfigure_ShrinksCapacity() {
+        // Given
+        for (int i = 0; i < 70; i++) {
+            cache.put(TenantCacheKey.of("tenant-a", "a" + i), "value-a" + i);
+        }
+
+        // When - 全体10件（共有領域2件 + 保証領域8件を3:1で分割）、有効期間1分
+        cache.reconfigure(cache.getSettings().toBuilder().maximumSize(10).ttl(Duration.ofMinutes(1)).build());
+
+        // Then
+        assertEquals(6, cache.guaranteedCapacity("tenant-a"));
+        assertEquals(2, cache.guaranteedCapacity("tenant-b"));
+        assertEquals(6, stats("tenant-a").getGuaranteedCapacity());
+        assertTrue(stats("tenant-a").getSize() <= 8);
+        assertEquals(Duration.ofMinutes(1), cache.getTtl());
+    }
+
+    @Test
+    @DisplayName("reconfigure - 容量の単位を変更しようとした場合、IllegalArgumentExceptionがスローされること")
+    void testReconfigure_RejectsModeChange() {
+        // Given
+        CacheSettings weighted = cache.getSettings().toBuilder().maximumWeightBytes(1024 * 1024).build();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> cache.reconfigure(weighted));
+        assertFalse(cache.getSettings().isWeighted());
+    }
+
+    @Test
+    @DisplayName("restoreEntry - 期限切れのエントリと起動後に書き込まれたキーは戻さないこと")
+    void testRestoreEntry_SkipsExpiredAndNewerEntries() {
+        // Given
+        long now = System.currentTimeMillis();
+        TenantCacheKey newer = TenantCacheKey.of("tenant-a", "newer");
+        cache.put(newer, "fresh");
+
+        // When
+        boolean restored = cache.restoreEntry(warmupEntry(TenantCacheKey.of("tenant-a", "1"), now + 60_000));
+        boolean expired = cache.restoreEntry(warmupEntry(TenantCacheKey.of("tenant-a", "2"), now - 1));
+        boolean overwritten = cache.restoreEntry(warmupEntry(newer, now + 60_000));
+
+        // Then
+        assertTrue(restored);
+        assertFalse(expired);
+        assertFalse(overwritten);
+        assertEquals("saved", cache.get(TenantCacheKey.of("tenant-a", "1"), String.class));
+        assertNull(cache.get(TenantCacheKey.of("tenant-a", "2")));
+        assertEquals("fresh", cache.get(newer, String.class));
+        assertEquals(2, cache.hottestEntries(10).size());
+    }
+
+    @Test
+    @DisplayName("lookup - リクエストのmax-ageより古いエントリはキャッシュミスとして扱い、新しいエントリの経過時間を記録すること")
+    void testLookup_HonorsRequestMaxAge() {
+        // Given: 60秒前に書き込まれ、残り240秒のエントリ
+        TenantCacheKey key = TenantCacheKey.of("tenant-a", "1");
+        cache.restoreEntry(warmupEntry(key, System.currentTimeMillis() + 240_000));
+
+        // When
+        Object expired = FreshnessContext.callWith(CacheFreshness.parse("max-age=30"), () -> cache.get(key));
+        FreshnessContext[] context = new FreshnessContext[1];
+        Object fresh = FreshnessContext.callWith(CacheFreshness.parse("max-age=120"), () -> {
+            context[0] = FreshnessContext.current().orElseThrow();
+            return cache.get(key, String.class);
+        });
+
+        // Then
+        assertNull(expired);
+        assertEquals("saved", fresh);
+        long ageSeconds = context[0].getAge().orElseThrow().toSeconds();
+        long remainingSeconds = context[0].getRemainingTtl().orElseThrow().toSeconds();
+        assertTrue(ageSeconds >= 59 && ageSeconds <= 61, "age=" + ageSeconds);
+        assertTrue(remainingSeconds >= 238 && remainingSeconds <= 240, "remaining=" + remainingSeconds);
+        assertEquals(1, stats("tenant-a").getMissCount());
+        assertEquals(1, stats("tenant-a").getHitCount());
+    }
+
+    @Test
+    @DisplayName("containsKey - 統計とリクエストの鮮度情報に影響せずにエントリの有無を返すこと")
+    void testContainsKey_HasNoSideEffects() {
+        // Given
+        TenantCacheKey key = TenantCacheKey.of("tenant-a", "1");
+        cache.put(key, "value");
+
+        // When
+        FreshnessContext[] context = new FreshnessContext[1];
+        boolean[] found = new boolean[2];
+        FreshnessContext.callWith(CacheFreshness.parse("max-age=120"), () -> {
+            context[0] = FreshnessContext.current().orElseThrow();
+            found[0] = cache.containsKey(key);
+            found[1] = cache.containsKey(TenantCacheKey.of("tenant-a", "2"));
+            return null;
+        });
+
+        // Then
+        assertTrue(found[0]);
+        assertFalse(found[1]);
+        assertTrue(context[0].getAge().isEmpty());
+        assertEquals(0, stats("tenant-a").getHitCount());
+        assertEquals(0, stats("tenant-a").getMissCount());
+    }
+
+    @Test
+    @DisplayName("lookup - stale-while-revalidateの範囲内の古いエントリは返しつつ更新を要求すること")
+    void testLookup_StaleWhileRevalidate() {
+        // Given
+        TenantCacheKey key = TenantCacheKey.of("tenant-a", "1");
+        cache.restoreEntry(warmupEntry(key, System.currentTimeMillis() + 240_000));
+        List<Object> revalidated = new CopyOnWriteArrayList<>();
+        cache.enableRevalidation(revalidated::add);
+
+        // When
+        Object value = FreshnessContext.callWith(CacheFreshness.parse("max-age=30, stale-while-revalidate=60"),
+            () -> cache.get(key, String.class));
+
+        // Then
+        assertEquals("saved", value);
+        assertEquals(List.of(key), revalidated);
+    }
+
+    @Test
+    @DisplayName("get(key, loader) - no-cacheの場合は有効期間内のエントリがあっても読み込み直すこと")
+    void testGetWithLoader_NoCacheReloads() {
+        // Given
+        TenantCacheKey key = TenantCacheKey.of("tenant-a", "1");
+        cache.put(key, "cached");
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        String reloaded = FreshnessContext.callWith(CacheFreshness.NO_CACHE, () -> cache.get(key, () -> {
+            loads.incrementAndGet();
+            return "reloaded";
+        }));
+
+        // Then
+        assertEquals("reloaded", reloaded);
+        assertEquals(1, loads.get());
+        assertEquals("reloaded", cache.get(key, String.class));
+    }
+
+    @Test
+    @DisplayName("get(key, loader) - 保持中の期限切れエントリは変更がなければ読み込まずに有効期間を延長すること")
+    void testGetWithLoader_ConditionalReloadNotModified() throws Exception {
+        // Given
+        TenantPartitionedCache shortLived = new TenantPartitionedCache("fileMetadata", 100, 0.2,
+            Duration.ofMillis(50), Map.of());
+        shortLived.enableConditionalReload(Duration.ofMinutes(1), (key, cached) -> ConditionalLoader.NOT_MODIFIED);
+        TenantCacheKey key = TenantCacheKey.of("tenant-a", "1");
+        shortLived.put(key, file("1"));
+        Thread.sleep(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        assertNull(shortLived.get(key));
+        FileInfoResponse value = shortLived.get(key, () -> {
+            loads.incrementAndGet();
+            return file("2");
+        });
+
+        // Then
+        assertEquals(file("1"), value);
+        assertEquals(0, loads.get());
+        assertEquals(file("1"), shortLived.get(key, FileInfoResponse.class));
+        ConditionalReloadStats stats = shortLived.getConditionalReloadStats();
+        assertEquals(1, stats.getNotModifiedCount());
+        assertEquals(0, stats.getModifiedCount());
+        assertEquals(1.0, stats.getNotModifiedRate());
+    }
+
+    @Test
+    @DisplayName("get(key, loader) - 変更されていれば新しい値に置き換え、確認できなければ通常どおり読み込むこと")
+    void testGetWithLoader_ConditionalReloadModified() throws Exception {
+        // Given
+        TenantPartitionedCache shortLived = new TenantPartitionedCache("fileMetadata", 100, 0.2,
+            Duration.ofMillis(50), Map.of());
+        shortLived.enableConditionalReload(Duration.ofMinutes(1),
+            (key, cached) -> key.equals(TenantCacheKey.of("tenant-a", "1")) ? file("1-new") : null);
+        TenantCacheKey modified = TenantCacheKey.of("tenant-a", "1");
+        TenantCacheKey unknown = TenantCacheKey.of("tenant-a", "2");
+        shortLived.put(modified, file("1"));
+        shortLived.put(unknown, file("2"));
+        Thread.sleep(100);
+
+        // When
+        FileInfoResponse reloaded = shortLived.get(modified, () -> file("1-loaded"));
+        FileInfoResponse loaded = shortLived.get(unknown, () -> file("2-loaded"));
+
+        // Then
+        assertEquals(file("1-new"), reloaded);
+        assertEquals(file("2-loaded"), loaded);
+        ConditionalReloadStats stats = shortLived.getConditionalReloadStats();
+        assertEquals(0, stats.getNotModifiedCount());
+        assertEquals(1, stats.getModifiedCount());
+    }
+
+    private static CacheWarmupEntry warmupEntry(TenantCacheKey key, long expiresAtMillis) {
+        return CacheWarmupEntry.builder()
+            .key(key)
+            .value("saved")
+            .writtenAtMillis(expiresAtMillis - 300_000)
+            .expiresAtMillis(expiresAtMillis)
+            .build();
+    }
+
+    private static FileInfoResponse file(String fileId) {
+        return FileInfoResponse.builder().fileId(fileId).fileName("file-" + fileId + ".txt").size(100L).build();
+    }
+
+    private TenantCacheStats stats(String scope) {
+        return cache.getTenantStats().stream()
+            .filter(stats -> stats.getScope().equals(scope))
+            .findFirst()
+            .orElseThrow();
+    }
+}
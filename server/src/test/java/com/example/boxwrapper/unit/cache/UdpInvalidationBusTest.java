@@ -0,0 +1,201 @@
+package com.example.boxwrapper.unit.cache;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.CacheInvalidationMessage;
+import com.example.boxwrapper.cache.UdpInvalidationBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UdpInvalidationBusのユニットテスト.
+ *
+ * <p>ループバックアドレスで2つのノードを起動し、分割・署名・自身の通知・古い通知・再送された通知の破棄をテストします。</p>
+ */
+@DisplayName("UdpInvalidationBus Unit Tests")
+class UdpInvalidationBusTest {
+
+    private static final String SECRET = "cluster-secret";
+
+    private final List<UdpInvalidationBus> buses = new ArrayList<>();
+    private final List<CacheInvalidationMessage> received = new CopyOnWriteArrayList<>();
+    private UdpInvalidationBus receiver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        receiver = open("node-a", List.of(), SECRET);
+        receiver.subscribe(received::addAll);
+    }
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(UdpInvalidationBus::close);
+    }
+
+    @Test
+    @DisplayName("publish - 1つのデータグラムに収まらない件数は分割して送信され、全件受信されること")
+    void testPublish_SplitsLargeBatches() throws Exception {
+        // Given
+        UdpInvalidationBus sender = open("node-b", List.of(peer(receiver)), SECRET);
+        List<CacheInvalidationMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            messages.add(message("file-" + i, i % 2 == 0 ? "100" : null));
+        }
+
+        // When
+        sender.publish(messages);
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == messages.size());
+        assertEquals(messages, received);
+        assertTrue(sender.getSentDatagrams() > 1);
+    }
+
+    @Test
+    @DisplayName("publish - 署名が一致しない通知と、自身のノードIDの通知は破棄されること")
+    void testPublish_RejectsUnsignedAndOwnMessages() throws Exception {
+        // Given
+        UdpInvalidationBus wrongSecret = open("node-b", List.of(peer(receiver)), "other-secret");
+        UdpInvalidationBus sameNode = open("node-a", List.of(peer(receiver)), SECRET);
+        UdpInvalidationBus valid = open("node-c", List.of(peer(receiver)), SECRET);
+
+        // When
+        wrongSecret.publish(List.of(message("forged", "100")));
+        sameNode.publish(List.of(message("own", "100")));
+        valid.publish(List.of(message("valid", "100")));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> receiver.getRejectedDatagrams() == 1 && received.size() == 1);
+        assertEquals("valid", received.get(0).getItemId());
+        assertEquals(1, receiver.getReceivedDatagrams());
+    }
+
+    @Test
+    @DisplayName("publish - 管理APIの無効化（テナント・キーの省略を含む）が受信されること")
+    void testPublish_AdminMessages() throws Exception {
+        // Given
+        UdpInvalidationBus sender = open("node-b", List.of(peer(receiver)), SECRET);
+        List<CacheInvalidationMessage> messages = List.of(
+            CacheInvalidationMessage.admin(CacheInvalidationMessage.Operation.PREFIX, "fileMetadata", "scope-1", "f"),
+            CacheInvalidationMessage.admin(CacheInvalidationMessage.Operation.FLUSH, null, null, null),
+            message("file-1", "100"));
+
+        // When
+        sender.publish(messages);
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == messages.size());
+        assertEquals(messages, received);
+    }
+
+    @Test
+    @DisplayName("publish - 同じデータグラムの再送は破棄されること")
+    void testPublish_RejectsReplayedDatagram() throws Exception {
+        // Given - 送信されたデータグラムを取得する
+        byte[] datagram;
+        try (DatagramSocket capture = new DatagramSocket(new InetSocketAddress("127.0.0.1", 0))) {
+            UdpInvalidationBus sender = open("node-b",
+                List.of(new InetSocketAddress("127.0.0.1", capture.getLocalPort())), SECRET);
+            sender.publish(List.of(message("f1", "100")));
+            DatagramPacket packet = new DatagramPacket(new byte[65_535], 65_535);
+            capture.setSoTimeout(5000);
+            capture.receive(packet);
+            datagram = Arrays.copyOf(packet.getData(), packet.getLength());
+        }
+
+        // When - 同じデータグラムを2回送る
+        send(datagram);
+        send(datagram);
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> receiver.getRejectedDatagrams() == 1);
+        assertEquals(1, received.size());
+        assertEquals(1, receiver.getReceivedDatagrams());
+    }
+
+    @Test
+    @DisplayName("publish - 送信時刻が古いデータグラムは署名が正しくても破棄されること")
+    void testPublish_RejectsStaleDatagram() throws Exception {
+        // When
+        send(forge("node-b", System.currentTimeMillis() - Duration.ofMinutes(10).toMillis(), 1));
+        send(forge("node-b", System.currentTimeMillis(), 2));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5))
+            .until(() -> receiver.getRejectedDatagrams() == 1 && receiver.getReceivedDatagrams() == 1);
+    }
+
+    @Test
+    @DisplayName("constructor - 署名の鍵を指定しない場合、IllegalArgumentExceptionがスローされること")
+    void testConstructor_RequiresSecret() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> open("node-b", List.of(), ""));
+        assertThrows(IllegalArgumentException.class, () -> open("node-b", List.of(), null));
+    }
+
+    private UdpInvalidationBus open(String nodeId, List<InetSocketAddress> peers, String secret) throws Exception {
+        UdpInvalidationBus bus = new UdpInvalidationBus(nodeId, new InetSocketAddress("127.0.0.1", 0), peers,
+            secret, Duration.ofSeconds(30));
+        buses.add(bus);
+        return bus;
+    }
+
+    private void send(byte[] datagram) throws Exception {
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.send(new DatagramPacket(datagram, datagram.length, peer(receiver)));
+        }
+    }
+
+    /**
+     * 送信時刻とシーケンス番号を指定し、メッセージを含まないデータグラムを署名付きで作成
+     */
+    private static byte[] forge(String nodeId, long sentAt, long sequence) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x424F5849);
+        out.writeByte(3);
+        out.writeUTF(nodeId);
+        out.writeLong(sentAt);
+        out.writeLong(sequence);
+        out.writeInt(0);
+        out.flush();
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        out.write(mac.doFinal(bytes.toByteArray()));
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static InetSocketAddress peer(UdpInvalidationBus bus) {
+        return new InetSocketAddress("127.0.0.1", bus.getLocalPort());
+    }
+
+    private static CacheInvalidationMessage message(String itemId, String parentId) {
+        return CacheInvalidationMessage.builder()
+            .scope("scope-1")
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId(itemId)
+            .parentId(parentId)
+            .deleted(parentId == null)
+            .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.boxwrapper.unit.client;
+
+import com.box.sdk.BoxAPIConnection;
+import com.box.sdk.BoxAPIException;
+import com.box.sdk.BoxJSONRequest;
+import com.box.sdk.BoxJSONResponse;
+import com.example.boxwrapper.client.BoxJsonApiClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedConstruction;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BoxJsonApiClientのユニットテスト.
+ *
+ * <p>{@link BoxJSONRequest}の生成をモックし、etagを指定した条件付きGETの応答の扱いをテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoxJsonApiClient Unit Tests")
+class BoxJsonApiClientTest {
+
+    @Mock
+    private BoxAPIConnection api;
+
+    private BoxJsonApiClient jsonApiClient;
+
+    private static final String PATH = "files/100?fields=id,etag";
+    private static final String ETAG = "3";
+
+    @BeforeEach
+    void setUp() {
+        when(api.getBaseURL()).thenReturn("https://api.box.com/2.0/");
+        jsonApiClient = new BoxJsonApiClient(new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("getIfNoneMatch - 304がステータスとして返された場合、emptyを返しIf-None-Matchを指定すること")
+    void testGetIfNoneMatch_NotModifiedStatus() {
+        // Given
+        BoxJSONResponse response = mock(BoxJSONResponse.class);
+        when(response.getResponseCode()).thenReturn(304);
+
+        try (MockedConstruction<BoxJSONRequest> requests = mockConstruction(BoxJSONRequest.class,
+                (request, context) -> when(request.send()).thenReturn(response))) {
+            // When
+            Optional<JsonNode> result = jsonApiClient.getIfNoneMatch(api, PATH, ETAG);
+
+            // Then
+            assertTrue(result.isEmpty());
+            verify(requests.constructed().get(0)).addHeader("If-None-Match", ETAG);
+            verify(response, never()).getJSON();
+        }
+    }
+
+    @Test
+    @DisplayName("getIfNoneMatch - 304が例外としてスローされた場合もemptyを返すこと")
+    void testGetIfNoneMatch_NotModifiedException() {
+        // Given
+        try (MockedConstruction<BoxJSONRequest> ignored = mockConstruction(BoxJSONRequest.class,
+                (request, context) -> when(request.send()).thenThrow(new BoxAPIException("Not Modified", 304, "")))) {
+            // When
+            Optional<JsonNode> result = jsonApiClient.getIfNoneMatch(api, PATH, ETAG);
+
+            // Then
+            assertTrue(result.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("getIfNoneMatch - 変更されている場合はレスポンスJSONを返し、304以外の例外はそのままスローされること")
+    void testGetIfNoneMatch_ModifiedAndErrors() {
+        // Given
+        BoxJSONResponse response = mock(BoxJSONResponse.class);
+        when(response.getResponseCode()).thenReturn(200);
+        when(response.getJSON()).thenReturn("{\"id\":\"100\",\"etag\":\"4\"}");
+
+        try (MockedConstruction<BoxJSONRequest> ignored = mockConstruction(BoxJSONRequest.class,
+                (request, context) -> when(request.send()).thenReturn(response))) {
+            // When
+            Optional<JsonNode> result = jsonApiClient.getIfNoneMatch(api, PATH, ETAG);
+
+            // Then
+            assertEquals("4", result.orElseThrow().path("etag").asText());
+        }
+
+        try (MockedConstruction<BoxJSONRequest> ignored = mockConstruction(BoxJSONRequest.class,
+                (request, context) -> when(request.send()).thenThrow(new BoxAPIException("Not Found", 404, "")))) {
+            // When & Then
+            BoxAPIException e = assertThrows(BoxAPIException.class,
+                () -> jsonApiClient.getIfNoneMatch(api, PATH, ETAG));
+            assertEquals(404, e.getResponseCode());
+        }
+    }
+}
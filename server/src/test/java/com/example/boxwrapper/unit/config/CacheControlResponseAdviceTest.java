@@ -0,0 +1,161 @@
+package com.example.boxwrapper.unit.config;
+
+import com.example.boxwrapper.cache.CacheFreshness;
+import com.example.boxwrapper.cache.FreshnessContext;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.config.CacheControlFilter;
+import com.example.boxwrapper.config.CacheControlResponseAdvice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * CacheControlFilterとCacheControlResponseAdviceのユニットテスト.
+ *
+ * <p>実際のキャッシュを参照するテスト用のコントローラーで、リクエストの{@code Cache-Control}の解釈、
+ * 応答の{@code Age}・{@code Cache-Control}ヘッダー、リクエスト後のコンテキストの解除をテストします。</p>
+ */
+@DisplayName("CacheControlResponseAdvice Unit Tests")
+class CacheControlResponseAdviceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private TestFileController controller;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        controller = new TestFileController(new TenantPartitionedCache("fileMetadata", 100, 0.2, TTL, Map.of()));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setControllerAdvice(new CacheControlResponseAdvice())
+            .addFilters(new CacheControlFilter())
+            .build();
+    }
+
+    @Test
+    @DisplayName("beforeBodyWrite - キャッシュから応答した場合、Ageとprivateのmax-ageが付与されること")
+    void testBeforeBodyWrite_SetsAgeAndPrivateMaxAge() throws Exception {
+        // Given - 1回目はBoxから取得してキャッシュに書き込む
+        mockMvc.perform(get("/api/v1/files/f1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.AGE, "0"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, max-age=" + TTL.toSeconds()));
+
+        // When & Then - 2回目はキャッシュから応答する
+        mockMvc.perform(get("/api/v1/files/f1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.AGE, matchesPattern("\\d+")))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, matchesPattern("private, max-age=\\d+")))
+            .andExpect(header().string(HttpHeaders.VARY, "X-API-Key"));
+        assertEquals(1, controller.loads.get());
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - no-cacheを指定した場合、キャッシュを使わずに再取得されること")
+    void testDoFilterInternal_NoCache() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/v1/files/f1")).andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(get("/api/v1/files/f1").header(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(status().isOk());
+
+        // Then
+        assertTrue(controller.freshness.isNoCache());
+        assertEquals(2, controller.loads.get());
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - max-ageとmax-staleが解釈され、許容範囲のエントリのみ使われること")
+    void testDoFilterInternal_MaxAgeAndMaxStale() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/v1/files/f1")).andExpect(status().isOk());
+
+        // When - 書き込み直後のエントリはmax-age=0では古すぎるが、max-staleの範囲内
+        mockMvc.perform(get("/api/v1/files/f1").header(HttpHeaders.CACHE_CONTROL, "max-age=0, max-stale=60"))
+            .andExpect(status().isOk());
+
+        // Then
+        assertEquals(Duration.ZERO, controller.freshness.getMaxAge());
+        assertEquals(Duration.ofSeconds(60), controller.freshness.getMaxStale());
+        assertEquals(1, controller.loads.get());
+
+        // When - max-ageのみの場合は再取得する
+        mockMvc.perform(get("/api/v1/files/f1").header(HttpHeaders.CACHE_CONTROL, "max-age=0"))
+            .andExpect(status().isOk());
+
+        // Then
+        assertNull(controller.freshness.getMaxStale());
+        assertEquals(2, controller.loads.get());
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - リクエストの処理後にコンテキストが解除されること")
+    void testDoFilterInternal_ClearsContext() throws Exception {
+        // When
+        mockMvc.perform(get("/api/v1/files/f1").header(HttpHeaders.CACHE_CONTROL, "max-age=60"))
+            .andExpect(status().isOk());
+
+        // Then - 処理中は設定され、処理後の同じスレッドには残らない
+        assertEquals(Duration.ofSeconds(60), controller.freshness.getMaxAge());
+        assertTrue(FreshnessContext.current().isEmpty());
+    }
+
+    @Test
+    @DisplayName("beforeBodyWrite - 対象外のパスのレスポンスにはヘッダーが付与されないこと")
+    void testBeforeBodyWrite_SkipsUncachedResponses() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/other/f1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.AGE))
+            .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+        assertNull(controller.freshness);
+    }
+
+    /**
+     * キャッシュからファイル情報を返すテスト用のコントローラー
+     */
+    @RestController
+    static class TestFileController {
+
+        private final TenantPartitionedCache cache;
+        private final AtomicInteger loads = new AtomicInteger();
+        private CacheFreshness freshness;
+
+        TestFileController(TenantPartitionedCache cache) {
+            this.cache = cache;
+        }
+
+        @GetMapping("/api/v1/files/{fileId}")
+        Map<String, String> getFile(@PathVariable String fileId) {
+            freshness = FreshnessContext.current().map(FreshnessContext::getFreshness).orElse(null);
+            String name = cache.get(TenantCacheKey.of("tenant-a", fileId), () -> {
+                loads.incrementAndGet();
+                return "file-" + fileId;
+            });
+            return Map.of("id", fileId, "name", name);
+        }
+
+        @GetMapping("/api/v1/other/{fileId}")
+        Map<String, String> getOther(@PathVariable String fileId) {
+            freshness = FreshnessContext.current().map(FreshnessContext::getFreshness).orElse(null);
+            return Map.of("id", fileId);
+        }
+    }
+}
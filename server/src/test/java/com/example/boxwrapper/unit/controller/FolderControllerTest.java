@@ -3,8 +3,12 @@ package com.example.boxwrapper.unit.controller;
 import com.example.boxwrapper.controller.FolderController;
 import com.example.boxwrapper.exception.ResourceNotFoundException;
 import com.example.boxwrapper.model.request.FolderCreateRequest;
+import com.example.boxwrapper.model.response.FolderChangesResponse;
 import com.example.boxwrapper.model.response.FolderInfoResponse;
+import com.example.boxwrapper.model.response.FolderUsageResponse;
 import com.example.boxwrapper.service.BoxFolderService;
+import com.example.boxwrapper.service.FolderSnapshotService;
+import com.example.boxwrapper.service.FolderUsageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +23,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -41,6 +46,12 @@ class FolderControllerTest {
     @MockBean
     private BoxFolderService folderService;
 
+    @MockBean
+    private FolderUsageService folderUsageService;
+
+    @MockBean
+    private FolderSnapshotService folderSnapshotService;
+
     private static final String API_KEY = "test-api-key-123";
     private static final String TEST_FOLDER_ID = "123456";
     private static final String TEST_PARENT_FOLDER_ID = "0";
@@ -159,7 +170,7 @@ class FolderControllerTest {
     void testListFolderItems_Success() throws Exception {
         // Given
         List<String> items = Arrays.asList("file1.txt", "file2.pdf", "subfolder");
-        when(folderService.listFolderItems(anyString(), anyString()))
+        when(folderService.listFolderItems(anyString(), anyString(), any(), any()))
             .thenReturn(items);
 
         // When & Then
@@ -172,14 +183,14 @@ class FolderControllerTest {
             .andExpect(jsonPath("$[1]").value("file2.pdf"))
             .andExpect(jsonPath("$[2]").value("subfolder"));
 
-        verify(folderService, times(1)).listFolderItems(API_KEY, TEST_FOLDER_ID);
+        verify(folderService, times(1)).listFolderItems(API_KEY, TEST_FOLDER_ID, null, null);
     }
 
     @Test
     @DisplayName("GET /api/v1/folders/{folderId}/items - 空のフォルダの場合、空配列が返ること")
     void testListFolderItems_EmptyFolder() throws Exception {
         // Given
-        when(folderService.listFolderItems(anyString(), anyString()))
+        when(folderService.listFolderItems(anyString(), anyString(), any(), any()))
             .thenReturn(Arrays.asList());
 
         // When & Then
@@ -189,7 +200,63 @@ class FolderControllerTest {
             .andExpect(jsonPath("$").isArray())
             .andExpect(jsonPath("$.length()").value(0));
 
-        verify(folderService, times(1)).listFolderItems(API_KEY, TEST_FOLDER_ID);
+        verify(folderService, times(1)).listFolderItems(API_KEY, TEST_FOLDER_ID, null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/folders/{folderId}/usage - フォルダ使用量取得が成功すること")
+    void testGetFolderUsage_Success() throws Exception {
+        // Given
+        FolderUsageResponse usage = FolderUsageResponse.builder()
+            .folderId(TEST_FOLDER_ID)
+            .totalBytes(4096L)
+            .fileCount(3L)
+            .folderCount(1L)
+            .computedAt(LocalDateTime.now())
+            .build();
+        when(folderUsageService.getUsage(anyString(), anyString(), anyBoolean()))
+            .thenReturn(usage);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/folders/{folderId}/usage", TEST_FOLDER_ID)
+                .header("X-API-Key", API_KEY)
+                .param("refresh", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.folderId").value(TEST_FOLDER_ID))
+            .andExpect(jsonPath("$.totalBytes").value(4096))
+            .andExpect(jsonPath("$.fileCount").value(3))
+            .andExpect(jsonPath("$.folderCount").value(1));
+
+        verify(folderUsageService, times(1)).getUsage(API_KEY, TEST_FOLDER_ID, true);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/folders/{folderId}/changes - スナップショット以降の差分が返ること")
+    void testGetChanges_Success() throws Exception {
+        // Given
+        String snapshotId = "8f14e45f-ceea-4b6a-9f3c-2a1b5c7d9e01";
+        FolderChangesResponse changes = FolderChangesResponse.builder()
+            .folderId(TEST_FOLDER_ID)
+            .sinceSnapshotId(snapshotId)
+            .snapshotId("c9f0f895-fb98-4ab5-a1e4-6b3f5a2c8d10")
+            .incremental(true)
+            .added(List.of(FolderChangesResponse.ChangedItem.builder()
+                .id("1").type("file").name("new.txt").parentId(TEST_FOLDER_ID).build()))
+            .build();
+        when(folderSnapshotService.getChanges(anyString(), anyString(), anyString()))
+            .thenReturn(changes);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/folders/{folderId}/changes", TEST_FOLDER_ID)
+                .header("X-API-Key", API_KEY)
+                .param("since", snapshotId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.sinceSnapshotId").value(snapshotId))
+            .andExpect(jsonPath("$.incremental").value(true))
+            .andExpect(jsonPath("$.added[0].name").value("new.txt"))
+            .andExpect(jsonPath("$.removed").isEmpty());
+
+        verify(folderSnapshotService, times(1)).getChanges(API_KEY, TEST_FOLDER_ID, snapshotId);
     }
 
     @Test
@@ -279,7 +346,7 @@ class FolderControllerTest {
         // Verify service was never called
         verify(folderService, never()).createFolder(anyString(), anyString(), anyString());
         verify(folderService, never()).getFolderInfo(anyString(), anyString());
-        verify(folderService, never()).listFolderItems(anyString(), anyString());
+        verify(folderService, never()).listFolderItems(anyString(), anyString(), any(), any());
         verify(folderService, never()).deleteFolder(anyString(), anyString(), anyBoolean());
     }
 }
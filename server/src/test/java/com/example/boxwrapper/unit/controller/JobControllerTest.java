@@ -2,19 +2,26 @@ package com.example.boxwrapper.unit.controller;
 
 import com.example.boxwrapper.controller.JobController;
 import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.request.BulkTransferRequest;
 import com.example.boxwrapper.model.response.JobStatusResponse;
+import com.example.boxwrapper.service.BulkTransferService;
 import com.example.boxwrapper.utils.JobProgressTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,9 +36,15 @@ class JobControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
     private JobProgressTracker progressTracker;
 
+    @MockBean
+    private BulkTransferService bulkTransferService;
+
     private static final String API_KEY = "test-api-key-123";
     private static final String TEST_JOB_ID = "job-123-456-789";
 
@@ -51,6 +64,47 @@ class JobControllerTest {
             .build();
     }
 
+    @Test
+    @DisplayName("POST /api/v1/jobs/transfers - 一括移動ジョブが開始されること")
+    void testStartTransfer_Success() throws Exception {
+        // Given
+        BulkTransferRequest request = BulkTransferRequest.builder()
+            .operation(BulkTransferRequest.Operation.MOVE)
+            .items(List.of(BulkTransferRequest.Item.builder().itemId("1").destFolderId("200").build()))
+            .build();
+        when(bulkTransferService.startTransfer(eq(API_KEY), any())).thenReturn(TEST_JOB_ID);
+        when(progressTracker.getJobStatus(TEST_JOB_ID)).thenReturn(mockJobStatus);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/jobs/transfers")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.jobId").value(TEST_JOB_ID));
+
+        verify(bulkTransferService, times(1)).startTransfer(eq(API_KEY), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/jobs/transfers - 対象アイテムが空の場合、400エラーが返ること")
+    void testStartTransfer_ValidationError() throws Exception {
+        // Given
+        BulkTransferRequest request = BulkTransferRequest.builder()
+            .operation(BulkTransferRequest.Operation.COPY)
+            .items(List.of())
+            .build();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/jobs/transfers")
+                .header("X-API-Key", API_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+
+        verify(bulkTransferService, never()).startTransfer(anyString(), any());
+    }
+
     @Test
     @DisplayName("GET /api/v1/jobs/{jobId}/status - ジョブステータス取得が成功すること")
     void testGetJobStatus_Success() throws Exception {
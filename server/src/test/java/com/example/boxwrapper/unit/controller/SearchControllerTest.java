@@ -1,21 +1,34 @@
 package com.example.boxwrapper.unit.controller;
 
+import com.example.boxwrapper.cache.SearchResultPage;
 import com.example.boxwrapper.controller.SearchController;
 import com.example.boxwrapper.model.request.SearchRequest;
+import com.example.boxwrapper.model.response.SearchResultItem;
 import com.example.boxwrapper.service.BoxSearchService;
+import com.example.boxwrapper.service.SearchIndexService;
+import com.example.boxwrapper.service.SearchResultStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,15 +46,18 @@ class SearchControllerTest {
     @MockBean
     private BoxSearchService searchService;
 
+    @MockBean
+    private SearchIndexService searchIndexService;
+
     private static final String API_KEY = "test-api-key-123";
 
     @Test
     @DisplayName("GET /api/v1/search - 検索が成功すること（最小限のパラメータ）")
     void testSearch_Success_MinimalParams() throws Exception {
         // Given
-        List<String> results = Arrays.asList("document1.pdf", "report.docx", "data.xlsx");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("document1.pdf", "report.docx", "data.xlsx");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -50,9 +66,10 @@ class SearchControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$").isArray())
             .andExpect(jsonPath("$.length()").value(3))
-            .andExpect(jsonPath("$[0]").value("document1.pdf"))
-            .andExpect(jsonPath("$[1]").value("report.docx"))
-            .andExpect(jsonPath("$[2]").value("data.xlsx"));
+            .andExpect(jsonPath("$[0].id").value("id-document1.pdf"))
+            .andExpect(jsonPath("$[0].name").value("document1.pdf"))
+            .andExpect(jsonPath("$[1].name").value("report.docx"))
+            .andExpect(jsonPath("$[2].name").value("data.xlsx"));
 
         verify(searchService, times(1)).search(anyString(), any(SearchRequest.class));
     }
@@ -61,9 +78,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - ファイルタイプフィルタ付き検索が成功すること")
     void testSearch_WithFileTypeFilter() throws Exception {
         // Given
-        List<String> results = Arrays.asList("document1.pdf", "document2.pdf");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("document1.pdf", "document2.pdf");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -81,9 +98,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - フォルダタイプフィルタ付き検索が成功すること")
     void testSearch_WithFolderTypeFilter() throws Exception {
         // Given
-        List<String> results = Arrays.asList("Projects", "Documents", "Archive");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("Projects", "Documents", "Archive");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -93,9 +110,9 @@ class SearchControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$").isArray())
             .andExpect(jsonPath("$.length()").value(3))
-            .andExpect(jsonPath("$[0]").value("Projects"))
-            .andExpect(jsonPath("$[1]").value("Documents"))
-            .andExpect(jsonPath("$[2]").value("Archive"));
+            .andExpect(jsonPath("$[0].name").value("Projects"))
+            .andExpect(jsonPath("$[1].name").value("Documents"))
+            .andExpect(jsonPath("$[2].name").value("Archive"));
 
         verify(searchService, times(1)).search(anyString(), any(SearchRequest.class));
     }
@@ -104,9 +121,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - ファイル拡張子フィルタ付き検索が成功すること")
     void testSearch_WithFileExtensionFilter() throws Exception {
         // Given
-        List<String> results = Arrays.asList("report.pdf", "invoice.pdf");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("report.pdf", "invoice.pdf");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -124,9 +141,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - ページネーション付き検索が成功すること")
     void testSearch_WithPagination() throws Exception {
         // Given
-        List<String> results = Arrays.asList("item21", "item22", "item23", "item24", "item25");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("item21", "item22", "item23", "item24", "item25");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -145,9 +162,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - 全パラメータ指定の検索が成功すること")
     void testSearch_WithAllParameters() throws Exception {
         // Given
-        List<String> results = Arrays.asList("report.xlsx", "data.xlsx");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("report.xlsx", "data.xlsx");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -164,12 +181,28 @@ class SearchControllerTest {
         verify(searchService, times(1)).search(anyString(), any(SearchRequest.class));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/search - 一部のアカウントの結果が欠けている場合、X-Search-Partialヘッダーが付与されること")
+    void testSearch_PartialResults() throws Exception {
+        // Given
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(new SearchResultPage(items("report.pdf"), 1, true));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/search")
+                .header("X-API-Key", API_KEY)
+                .param("query", "report"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Search-Partial", "true"))
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     @DisplayName("GET /api/v1/search - 検索結果が空の場合、空配列が返ること")
     void testSearch_EmptyResults() throws Exception {
         // Given
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(Collections.emptyList());
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(Collections.emptyList()));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -208,9 +241,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - offsetのみ指定の検索が成功すること")
     void testSearch_WithOffsetOnly() throws Exception {
         // Given
-        List<String> results = Arrays.asList("item11", "item12");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("item11", "item12");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -228,9 +261,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - limitのみ指定の検索が成功すること")
     void testSearch_WithLimitOnly() throws Exception {
         // Given
-        List<String> results = Arrays.asList("item1", "item2", "item3");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("item1", "item2", "item3");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -248,12 +281,12 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - 複数の検索クエリが独立して処理されること")
     void testSearch_MultipleQueries() throws Exception {
         // Given
-        List<String> results1 = Arrays.asList("doc1.pdf", "doc2.pdf");
-        List<String> results2 = Arrays.asList("report1.xlsx");
+        List<SearchResultItem> results1 = items("doc1.pdf", "doc2.pdf");
+        List<SearchResultItem> results2 = items("report1.xlsx");
 
-        when(searchService.search(eq(API_KEY), any(SearchRequest.class)))
-            .thenReturn(results1)
-            .thenReturn(results2);
+        when(searchService.searchPage(eq(API_KEY), any(SearchRequest.class)))
+            .thenReturn(page(results1))
+            .thenReturn(page(results2));
 
         // When & Then - First query
         mockMvc.perform(get("/api/v1/search")
@@ -276,9 +309,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - 日本語クエリが正しく処理されること")
     void testSearch_JapaneseQuery() throws Exception {
         // Given
-        List<String> results = Arrays.asList("年次報告書.pdf", "四半期報告.xlsx");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("年次報告書.pdf", "四半期報告.xlsx");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -295,9 +328,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - スペースを含むクエリが正しく処理されること")
     void testSearch_QueryWithSpaces() throws Exception {
         // Given
-        List<String> results = Arrays.asList("Annual Report 2023.pdf");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("Annual Report 2023.pdf");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -314,9 +347,9 @@ class SearchControllerTest {
     @DisplayName("GET /api/v1/search - 数値のoffsetとlimitが正しく処理されること")
     void testSearch_NumericPaginationParameters() throws Exception {
         // Given
-        List<String> results = Arrays.asList("item1", "item2");
-        when(searchService.search(anyString(), any(SearchRequest.class)))
-            .thenReturn(results);
+        List<SearchResultItem> results = items("item1", "item2");
+        when(searchService.searchPage(anyString(), any(SearchRequest.class)))
+            .thenReturn(page(results));
 
         // When & Then
         mockMvc.perform(get("/api/v1/search")
@@ -328,4 +361,119 @@ class SearchControllerTest {
 
         verify(searchService, times(1)).search(anyString(), any(SearchRequest.class));
     }
+
+    @Test
+    @DisplayName("GET /api/v1/search/typeahead - 入力補完の候補が返ること")
+    void testTypeahead_Success() throws Exception {
+        // Given
+        when(searchService.typeahead(anyString(), isNull(), eq("rep"), eq(5)))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(List.of("report.pdf", "reports"))));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/search/typeahead")
+                .header("X-API-Key", API_KEY)
+                .param("prefix", "rep")
+                .param("limit", "5"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0]").value("report.pdf"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/search/typeahead - 同じセッションの新しい入力に置き換えられた場合、204が返ること")
+    void testTypeahead_Superseded() throws Exception {
+        // Given
+        when(searchService.typeahead(anyString(), eq("session-1"), eq("re"), anyInt()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/search/typeahead")
+                .header("X-API-Key", API_KEY)
+                .header("X-Session-Id", "session-1")
+                .param("prefix", "re"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/search/index - 索引が無効な場合、400エラーが返ること")
+    void testGetIndexStatus_Disabled() throws Exception {
+        // Given
+        when(searchIndexService.getStatus(anyString()))
+            .thenThrow(new IllegalArgumentException("検索索引が無効です"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/search/index")
+                .header("X-API-Key", API_KEY))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/search/stream - 検索結果が1行1アイテムのNDJSONで出力されること")
+    void testStreamSearch_WritesNdjson() throws Exception {
+        // Given
+        when(searchService.streamSearch(anyString(), any(SearchRequest.class))).thenReturn(new SearchResultStream(Stream.of(
+            SearchResultItem.builder().id("1").type("file").name("a.pdf").size(10L).parentId("0").build(),
+            SearchResultItem.builder().id("2").type("folder").name("b").parentId("0").build()), () -> false));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/search/stream")
+                .header("X-API-Key", API_KEY)
+                .param("query", "report"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"1\""));
+        assertTrue(lines[1].contains("\"type\":\"folder\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/search/stream - 取得上限で打ち切られた場合、最終行で通知されること")
+    void testStreamSearch_TruncatedTrailer() throws Exception {
+        // Given
+        when(searchService.streamSearch(anyString(), any(SearchRequest.class))).thenReturn(new SearchResultStream(Stream.of(
+            SearchResultItem.builder().id("1").type("file").name("a.pdf").parentId("0").build()), () -> true));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/search/stream")
+                .header("X-API-Key", API_KEY)
+                .param("query", "report"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"1\""));
+        assertEquals("{\"truncated\":true,\"returned\":1}", lines[1]);
+    }
+
+    private static SearchResultPage page(List<SearchResultItem> results) {
+        return new SearchResultPage(results, results.size());
+    }
+
+    private static List<SearchResultItem> items(String... names) {
+        return Arrays.stream(names)
+            .map(name -> SearchResultItem.builder().id("id-" + name).type("file").name(name).build())
+            .toList();
+    }
 }
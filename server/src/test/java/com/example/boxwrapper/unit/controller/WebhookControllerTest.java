@@ -0,0 +1,63 @@
+package com.example.boxwrapper.unit.controller;
+
+import com.example.boxwrapper.controller.WebhookController;
+import com.example.boxwrapper.exception.AuthenticationException;
+import com.example.boxwrapper.service.BoxWebhookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * WebhookControllerのユニットテスト.
+ */
+@WebMvcTest(WebhookController.class)
+@DisplayName("WebhookController Unit Tests")
+class WebhookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BoxWebhookService webhookService;
+
+    private static final String SCOPE = "scope-1";
+    private static final String PAYLOAD = "{\"trigger\":\"FILE.UPLOADED\",\"source\":{\"type\":\"file\",\"id\":\"1\"}}";
+
+    @Test
+    @DisplayName("POST /api/v1/webhooks/box/{scope} - APIキーなしで受信され、ボディがそのまま渡されること")
+    void testReceive_Success() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/webhooks/box/{scope}", SCOPE)
+                .header("BOX-SIGNATURE-PRIMARY", "signature")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(PAYLOAD))
+            .andExpect(status().isOk());
+
+        verify(webhookService, times(1)).receive(eq(SCOPE), eq(PAYLOAD), any(HttpHeaders.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/webhooks/box/{scope} - 署名が一致しない場合、401エラーが返ること")
+    void testReceive_InvalidSignature() throws Exception {
+        // Given
+        doThrow(new AuthenticationException("Webhookの署名が一致しません"))
+            .when(webhookService).receive(eq(SCOPE), any(), any());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/webhooks/box/{scope}", SCOPE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(PAYLOAD))
+            .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.boxwrapper.unit.index;
+
+import com.example.boxwrapper.index.IndexedItem;
+import com.example.boxwrapper.index.NameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NameIndexのユニットテスト.
+ */
+@DisplayName("NameIndex Unit Tests")
+class NameIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private NameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NameIndex(10, 1000);
+    }
+
+    @Test
+    @DisplayName("search - 部分一致・前方一致・完全一致の順に並ぶこと")
+    void testSearch_RankedByMatchQuality() {
+        // Given
+        index.upsert(file("1", "annual_report_2024.pdf", "0"));
+        index.upsert(file("2", "Report.docx", "0"));
+        index.upsert(file("3", "misreported.txt", "0"));
+        index.upsert(file("4", "reporting.xlsx", "0"));
+        index.upsert(file("5", "budget.xlsx", "0"));
+
+        // When
+        List<String> names = names(index.search("REPORT"));
+
+        // Then
+        assertEquals(List.of("Report.docx", "annual_report_2024.pdf", "reporting.xlsx", "misreported.txt"), names);
+    }
+
+    @Test
+    @DisplayName("search - 複数の検索語はAND条件になること")
+    void testSearch_MultipleTermsAreAnded() {
+        // Given
+        index.upsert(file("1", "議事録 2024-04.docx", "0"));
+        index.upsert(file("2", "議事録 2023-04.docx", "0"));
+
+        // When & Then
+        assertEquals(List.of("議事録 2024-04.docx"), names(index.search("議事録 2024")));
+        assertTrue(index.search("議事録 2022").isEmpty());
+    }
+
+    @Test
+    @DisplayName("prefix - 名前全体が入力文字列で始まるアイテムが優先され、件数が制限されること")
+    void testPrefix_LimitAndOrder() {
+        // Given
+        index.upsert(file("1", "old project plan.txt", "0"));
+        index.upsert(file("2", "project plan.txt", "0"));
+        index.upsert(file("3", "projection.csv", "0"));
+
+        // When
+        List<String> names = names(index.prefix("project pl", 5));
+
+        // Then
+        assertEquals(List.of("project plan.txt", "old project plan.txt"), names);
+        assertEquals(1, index.prefix("proj", 1).size());
+    }
+
+    @Test
+    @DisplayName("upsert/remove - 名前変更と削除が検索結果に反映され、フォルダ削除で配下も消えること")
+    void testUpsertAndRemove() {
+        // Given
+        index.upsert(folder("10", "archive", "0"));
+        index.upsert(file("1", "draft.txt", "10"));
+        index.upsert(file("2", "notes.txt", "0"));
+
+        // When
+        index.upsert(file("2", "final.txt", "0"));
+        index.remove("10");
+
+        // Then
+        assertTrue(index.search("draft").isEmpty());
+        assertTrue(index.search("notes").isEmpty());
+        assertEquals(List.of("final.txt"), names(index.search("final")));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("replaceChildren - 一覧に含まれないアイテムが削除されること")
+    void testReplaceChildren_RemovesStaleItems() {
+        // Given
+        index.upsert(file("1", "a.txt", "10"));
+        index.upsert(file("2", "b.txt", "10"));
+
+        // When
+        index.replaceChildren("10", List.of(file("2", "b.txt", "10"), file("3", "c.txt", "10")));
+
+        // Then
+        assertEquals(2, index.size());
+        assertTrue(index.search("a.txt").isEmpty());
+        assertEquals(List.of("c.txt"), names(index.search("c")));
+    }
+
+    @Test
+    @DisplayName("upsert - 上限件数を超えると索引が不完全になること")
+    void testUpsert_TruncatedAtMaxItems() {
+        // Given
+        NameIndex small = new NameIndex(10, 1);
+        small.upsert(file("1", "a.txt", "0"));
+
+        // When
+        small.upsert(file("2", "b.txt", "0"));
+        small.markComplete(Instant.now());
+
+        // Then
+        assertEquals(1, small.size());
+        assertTrue(small.isTruncated());
+        assertFalse(small.isComplete());
+    }
+
+    @Test
+    @DisplayName("save/load - 保存した索引が復元されること")
+    void testSaveAndLoad_RoundTrip() throws Exception {
+        // Given
+        Instant builtAt = Instant.ofEpochMilli(1_700_000_000_000L);
+        index.upsert(folder("10", "設計資料", "0"));
+        index.upsert(IndexedItem.builder().id("1").type("file").name("spec.pdf").parentId("10").size(2048L).build());
+        index.markComplete(builtAt);
+        Path file = tempDir.resolve("scope.idx");
+
+        // When
+        index.save(file);
+        NameIndex loaded = NameIndex.load(file, 10, 1000);
+
+        // Then
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.isComplete());
+        assertEquals(builtAt, loaded.getBuiltAt());
+        assertEquals(2048L, loaded.search("spec").get(0).getSize());
+        assertEquals(List.of("設計資料"), names(loaded.search("設計")));
+
+        // 親子関係も復元されていること
+        loaded.remove("10");
+        assertEquals(0, loaded.size());
+    }
+
+    private static List<String> names(List<IndexedItem> items) {
+        return items.stream().map(IndexedItem::getName).toList();
+    }
+
+    private static IndexedItem file(String id, String name, String parentId) {
+        return IndexedItem.builder().id(id).type("file").name(name).parentId(parentId).build();
+    }
+
+    private static IndexedItem folder(String id, String name, String parentId) {
+        return IndexedItem.builder().id(id).type("folder").name(name).parentId(parentId).build();
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.boxwrapper.unit.service;
+
+import com.box.sdk.BoxAPIConnection;
+import com.box.sdk.BoxAPIException;
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.client.BoxJsonApiClient;
+import com.example.boxwrapper.config.ApiProperties;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.service.BoxEventStreamService;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * BoxEventStreamServiceのユニットテスト.
+ *
+ * <p>Boxのイベントストリーム（OPTIONS、ロングポーリング、イベント取得）をモックで再現し、
+ * 外部変更イベントの発行、処理済み位置の保存と再開、失敗時の再接続をテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoxEventStreamService Unit Tests")
+class BoxEventStreamServiceTest {
+
+    @Mock
+    private BoxClientManager clientManager;
+
+    @Mock
+    private BoxJsonApiClient jsonApiClient;
+
+    @Mock
+    private RateLimiterManager rateLimiterManager;
+
+    @Mock
+    private FolderListingCache folderListingCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BoxAPIConnection api;
+
+    @TempDir
+    Path tempDir;
+
+    private BoxEventStreamService eventStreamService;
+    private Path checkpointFile;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String API_KEY = "test-api-key";
+    private static final String SCOPE = "scope-1";
+    private static final String REALTIME_URL = "https://realtime.example.com/channel?channel=1&stream_type=changes";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        checkpointFile = tempDir.resolve("events/positions.properties");
+        BoxProperties boxProperties = new BoxProperties();
+        boxProperties.getEvents().setEnabled(true);
+        boxProperties.getEvents().setCheckpointFile(checkpointFile.toString());
+        boxProperties.getEvents().setReconnectBackoffMillis(10);
+
+        ApiProperties apiProperties = new ApiProperties();
+        ApiProperties.ApiKeyConfig keyConfig = new ApiProperties.ApiKeyConfig();
+        keyConfig.setKey(API_KEY);
+        apiProperties.getKeys().add(keyConfig);
+
+        eventStreamService = new BoxEventStreamService(clientManager, apiProperties, jsonApiClient,
+            rateLimiterManager, folderListingCache, eventPublisher, boxProperties);
+
+        when(clientManager.getConnections(API_KEY)).thenReturn(List.of(api));
+        when(clientManager.getTenantScope(API_KEY)).thenReturn(SCOPE);
+        when(rateLimiterManager.tryConsume(anyString(), any(Duration.class))).thenReturn(true);
+        lenient().when(jsonApiClient.get(api, "events?stream_position=now"))
+            .thenReturn(json("{\"next_stream_position\":\"100\"}"));
+        // ロングポーリングは再接続を要求する
+        lenient().when(jsonApiClient.getUrl(eq(api), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return json("{\"message\":\"reconnect\"}");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventStreamService.shutdown();
+    }
+
+    @Test
+    @DisplayName("start - 現在位置以降のイベントが外部変更イベントとして発行され、処理済み位置が保存されること")
+    void testStart_PublishesEventsAndSavesCheckpoint() throws Exception {
+        // Given
+        when(jsonApiClient.options(api, "events")).thenReturn(realtimeServer());
+        when(jsonApiClient.get(api, eventsPath("100"))).thenReturn(json("""
+            {"next_stream_position":"101","entries":[
+              {"event_type":"ITEM_MOVE","source":{"type":"file","id":"f1","name":"a.txt","size":10,
+                "etag":"1","item_status":"active","parent":{"id":"200"}}},
+              {"event_type":"ITEM_TRASH","source":{"type":"folder","id":"d1","name":"old",
+                "item_status":"trashed","parent":{"id":"0"}}},
+              {"event_type":"ITEM_RENAME","source":{"type":"file","id":"f1","name":"b.txt","size":10,
+                "etag":"2","item_status":"active","parent":{"id":"200"}}}
+            ]}
+            """));
+        lenient().when(jsonApiClient.get(api, eventsPath("101")))
+            .thenReturn(json("{\"next_stream_position\":\"101\",\"entries\":[]}"));
+        when(folderListingCache.findParentId(SCOPE, "f1")).thenReturn(Optional.of("100"));
+
+        // When
+        eventStreamService.start();
+
+        // Then - 同じアイテムのイベントは最後の1件にまとめられる
+        ArgumentCaptor<BoxItemInvalidatedEvent> captor = ArgumentCaptor.forClass(BoxItemInvalidatedEvent.class);
+        verify(eventPublisher, timeout(2000).times(2)).publishEvent(captor.capture());
+        verify(jsonApiClient, timeout(2000).atLeastOnce()).get(api, eventsPath("101"));
+
+        BoxItemInvalidatedEvent renamed = captor.getAllValues().get(1);
+        assertEquals(SCOPE, renamed.getScope());
+        assertEquals("f1", renamed.getItemId());
+        assertEquals("200", renamed.getParentId());
+        assertEquals("100", renamed.getPreviousParentId());
+        assertEquals("b.txt", renamed.getItem().getName());
+        assertFalse(renamed.isDeleted());
+
+        BoxItemInvalidatedEvent trashed = captor.getAllValues().get(0);
+        assertEquals(BoxItemChangedEvent.ItemType.FOLDER, trashed.getItemType());
+        assertTrue(trashed.isDeleted());
+        assertNull(trashed.getItem());
+
+        assertEquals("101", loadCheckpoints().getProperty(SCOPE + "#0"));
+        assertEquals(2, eventStreamService.getProcessedEventCount());
+    }
+
+    @Test
+    @DisplayName("start - 保存された位置から再開し、現在位置を取得しないこと")
+    void testStart_ResumesFromCheckpoint() throws Exception {
+        // Given
+        Files.createDirectories(checkpointFile.getParent());
+        Files.writeString(checkpointFile, SCOPE + "#0=42\n");
+        when(jsonApiClient.options(api, "events")).thenReturn(realtimeServer());
+        when(jsonApiClient.get(api, eventsPath("42"))).thenReturn(json("""
+            {"next_stream_position":"43","entries":[
+              {"event_type":"ITEM_UPLOAD","source":{"type":"file","id":"f9","name":"new.txt",
+                "item_status":"active","parent":{"id":"0"}}}
+            ]}
+            """));
+        lenient().when(jsonApiClient.get(api, eventsPath("43")))
+            .thenReturn(json("{\"next_stream_position\":\"43\",\"entries\":[]}"));
+
+        // When
+        eventStreamService.start();
+
+        // Then
+        verify(eventPublisher, timeout(2000)).publishEvent(any(BoxItemInvalidatedEvent.class));
+        verify(jsonApiClient, timeout(2000).atLeastOnce()).get(api, eventsPath("43"));
+        verify(jsonApiClient, never()).get(api, "events?stream_position=now");
+        assertEquals("43", loadCheckpoints().getProperty(SCOPE + "#0"));
+    }
+
+    @Test
+    @DisplayName("start - 接続に失敗した場合は待機して再接続すること")
+    void testStart_ReconnectsAfterFailure() throws Exception {
+        // Given
+        when(jsonApiClient.options(api, "events"))
+            .thenThrow(new BoxAPIException("Service Unavailable", 503, "{}"))
+            .thenReturn(realtimeServer());
+        lenient().when(jsonApiClient.get(api, eventsPath("100")))
+            .thenReturn(json("{\"next_stream_position\":\"100\",\"entries\":[]}"));
+
+        // When
+        eventStreamService.start();
+
+        // Then
+        verify(jsonApiClient, timeout(2000).atLeast(2)).options(api, "events");
+        verify(jsonApiClient, timeout(2000).atLeastOnce()).getUrl(api, REALTIME_URL + "&stream_position=100");
+        verify(eventPublisher, never()).publishEvent(any(BoxItemInvalidatedEvent.class));
+    }
+
+    private JsonNode realtimeServer() throws Exception {
+        return json("{\"chunk_size\":1,\"entries\":[{\"type\":\"realtime_server\",\"url\":\""
+            + REALTIME_URL + "\",\"ttl\":\"10\",\"max_retries\":\"10\",\"retry_timeout\":610}]}");
+    }
+
+    private Properties loadCheckpoints() throws Exception {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(checkpointFile)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static String eventsPath(String position) {
+        return "events?stream_type=changes&limit=500&stream_position=" + position;
+    }
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.boxwrapper.unit.service;
 
 import com.box.sdk.*;
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.cache.NegativeResultCache;
 import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.client.BoxJsonApiClient;
 import com.example.boxwrapper.exception.BoxApiException;
 import com.example.boxwrapper.exception.ResourceNotFoundException;
 import com.example.boxwrapper.model.response.FileInfoResponse;
@@ -15,14 +19,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.Date;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,6 +46,18 @@ class BoxFileServiceTest {
     @Mock
     private RateLimiterManager rateLimiterManager;
 
+    @Mock
+    private FolderListingCache folderListingCache;
+
+    @Mock
+    private NegativeResultCache negativeResultCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BoxJsonApiClient jsonApiClient;
+
     @Mock
     private BoxAPIConnection mockConnection;
 
@@ -208,4 +227,43 @@ class BoxFileServiceTest {
         // Box SDK API: new BoxFile(api, fileId) を使用
         // コンストラクタはモックできないため、このテストは統合テストに移動
     }
+
+    @Test
+    @DisplayName("ファイル情報の再検証 - 404の場合、ResourceNotFoundExceptionがスローされ404が記録されること")
+    void revalidateFileInfo_NotFound() {
+        // Given
+        when(jsonApiClient.getIfNoneMatch(eq(mockConnection), anyString(), eq("3")))
+            .thenThrow(new BoxAPIException("Not Found", 404, ""));
+
+        // When & Then
+        assertThatThrownBy(() -> fileService.revalidateFileInfo(API_KEY, "100", "3"))
+            .isInstanceOf(ResourceNotFoundException.class);
+        verify(negativeResultCache).record(any(), eq(BoxItemChangedEvent.ItemType.FILE), eq("100"), eq(404));
+    }
+
+    @Test
+    @DisplayName("ファイル情報の再検証 - 429の場合、レート制限を通知してステータス429のBoxApiExceptionがスローされること")
+    void revalidateFileInfo_RateLimited() {
+        // Given
+        when(jsonApiClient.getIfNoneMatch(eq(mockConnection), anyString(), eq("3")))
+            .thenThrow(new BoxAPIException("Too Many Requests", 429, ""));
+
+        // When & Then
+        assertThatThrownBy(() -> fileService.revalidateFileInfo(API_KEY, "100", "3"))
+            .isInstanceOf(BoxApiException.class)
+            .extracting(e -> ((BoxApiException) e).getStatusCode())
+            .isEqualTo(429);
+        verify(rateLimiterManager).handleRateLimitExceeded(API_KEY);
+    }
+
+    @Test
+    @DisplayName("ファイル情報の再検証 - 変更がない場合、emptyが返ること")
+    void revalidateFileInfo_NotModified() {
+        // Given
+        when(jsonApiClient.getIfNoneMatch(eq(mockConnection), anyString(), eq("3"))).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThat(fileService.revalidateFileInfo(API_KEY, "100", "3")).isEmpty();
+        verify(rateLimiterManager).handleSuccess(API_KEY);
+    }
 }
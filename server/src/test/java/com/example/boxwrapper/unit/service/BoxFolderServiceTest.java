@@ -1,12 +1,18 @@
 package com.example.boxwrapper.unit.service;
 
 import com.box.sdk.*;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.cache.NegativeResultCache;
 import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.client.BoxJsonApiClient;
 import com.example.boxwrapper.exception.BoxApiException;
 import com.example.boxwrapper.exception.ResourceNotFoundException;
 import com.example.boxwrapper.model.response.FolderInfoResponse;
 import com.example.boxwrapper.service.BoxFolderService;
 import com.example.boxwrapper.utils.RateLimiterManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,14 +20,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,6 +46,18 @@ class BoxFolderServiceTest {
     @Mock
     private RateLimiterManager rateLimiterManager;
 
+    @Mock
+    private FolderListingCache folderListingCache;
+
+    @Mock
+    private NegativeResultCache negativeResultCache;
+
+    @Mock
+    private BoxJsonApiClient jsonApiClient;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private BoxAPIConnection mockConnection;
 
@@ -106,6 +127,81 @@ class BoxFolderServiceTest {
         verify(clientManager, never()).getConnection(anyString());
     }
 
+    @Test
+    @DisplayName("getFolderInfo - Boxが404を返した場合、ネガティブキャッシュに記録されること")
+    void testGetFolderInfo_RecordsNotFound() throws Exception {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        when(folderListingCache.getTotalCount("scope-1", TEST_FOLDER_ID)).thenReturn(Optional.empty());
+        when(jsonApiClient.get(eq(mockConnection), anyString()))
+            .thenThrow(new BoxAPIException("Not Found", 404, "{}"));
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () ->
+            folderService.getFolderInfo(TEST_API_KEY, TEST_FOLDER_ID)
+        );
+        verify(negativeResultCache).record("scope-1", BoxItemChangedEvent.ItemType.FOLDER, TEST_FOLDER_ID, 404);
+    }
+
+    @Test
+    @DisplayName("getFolderInfo - ネガティブキャッシュに記録済みの場合、Boxを呼ばずトークンも消費しないこと")
+    void testGetFolderInfo_NegativeCacheHit() throws Exception {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        doThrow(new ResourceNotFoundException("Folder", TEST_FOLDER_ID)).when(negativeResultCache)
+            .throwIfRecorded("scope-1", BoxItemChangedEvent.ItemType.FOLDER, TEST_FOLDER_ID);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () ->
+            folderService.getFolderInfo(TEST_API_KEY, TEST_FOLDER_ID)
+        );
+        verify(rateLimiterManager, never()).tryConsume(anyString());
+        verify(jsonApiClient, never()).get(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("getFolderInfo - item_collectionの総数がitemCountに設定されること")
+    void testGetFolderInfo_ItemCountFromItemCollection() throws Exception {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        when(folderListingCache.getTotalCount("scope-1", TEST_FOLDER_ID)).thenReturn(Optional.empty());
+        when(jsonApiClient.get(eq(mockConnection), anyString())).thenReturn(new ObjectMapper().readTree(
+            "{\"id\":\"123456\",\"name\":\"Test Folder\",\"parent\":{\"id\":\"0\"},"
+                + "\"created_at\":\"2024-01-01T10:00:00-08:00\",\"modified_at\":\"2024-01-02T10:00:00-08:00\","
+                + "\"item_collection\":{\"total_count\":42,\"entries\":[]}}"));
+
+        // When
+        FolderInfoResponse response = folderService.getFolderInfo(TEST_API_KEY, TEST_FOLDER_ID);
+
+        // Then
+        assertEquals(TEST_FOLDER_ID, response.getFolderId());
+        assertEquals(TEST_FOLDER_NAME, response.getFolderName());
+        assertEquals("0", response.getParentFolderId());
+        assertEquals(42, response.getItemCount());
+        assertNotNull(response.getCreatedAt());
+        verify(jsonApiClient).get(mockConnection,
+            "folders/" + TEST_FOLDER_ID + "?fields=id,name,parent,created_at,modified_at,etag,item_collection&limit=0");
+    }
+
+    @Test
+    @DisplayName("getFolderInfo - キャッシュ済み一覧がある場合はその総数を使いitem_collectionを要求しないこと")
+    void testGetFolderInfo_ItemCountFromCachedListing() throws Exception {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        when(folderListingCache.getTotalCount("scope-1", TEST_FOLDER_ID)).thenReturn(Optional.of(7L));
+        when(jsonApiClient.get(eq(mockConnection), anyString())).thenReturn(new ObjectMapper().readTree(
+            "{\"id\":\"123456\",\"name\":\"Test Folder\",\"parent\":null}"));
+
+        // When
+        FolderInfoResponse response = folderService.getFolderInfo(TEST_API_KEY, TEST_FOLDER_ID);
+
+        // Then
+        assertEquals(7, response.getItemCount());
+        assertNull(response.getParentFolderId());
+        verify(jsonApiClient).get(mockConnection,
+            "folders/" + TEST_FOLDER_ID + "?fields=id,name,parent,created_at,modified_at,etag");
+    }
+
     @Test
     @DisplayName("listFolderItems - レート制限に達した場合、BoxApiExceptionがスローされること")
     void testListFolderItems_RateLimitExceeded() {
@@ -122,6 +218,42 @@ class BoxFolderServiceTest {
         verify(clientManager, never()).getConnection(anyString());
     }
 
+    @Test
+    @DisplayName("listFolderItems - キャッシュヒット時はBoxを呼ばずレート制限も消費しないこと")
+    void testListFolderItems_CacheHit() {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        when(folderListingCache.get("scope-1", TEST_FOLDER_ID, null, null))
+            .thenReturn(Optional.of(List.of(
+                FolderItem.builder().id("1").type("file").name("a.txt").build(),
+                FolderItem.builder().id("2").type("folder").name("sub").build())));
+
+        // When
+        List<String> items = folderService.listFolderItems(TEST_API_KEY, TEST_FOLDER_ID);
+
+        // Then
+        assertEquals(List.of("a.txt", "sub"), items);
+        verify(rateLimiterManager, never()).tryConsume(anyString());
+        verify(clientManager, never()).getConnection(anyString());
+    }
+
+    @Test
+    @DisplayName("listFolderItems - ページ条件付きでキャッシュが参照されること")
+    void testListFolderItems_PagedCacheHit() {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        when(folderListingCache.get("scope-1", TEST_FOLDER_ID, 10, 5))
+            .thenReturn(Optional.of(List.of(
+                FolderItem.builder().id("11").type("file").name("k.txt").build())));
+
+        // When
+        List<String> items = folderService.listFolderItems(TEST_API_KEY, TEST_FOLDER_ID, 10, 5);
+
+        // Then
+        assertEquals(List.of("k.txt"), items);
+        verify(rateLimiterManager, never()).tryConsume(anyString());
+    }
+
     @Test
     @DisplayName("deleteFolder - レート制限に達した場合、BoxApiExceptionがスローされること")
     void testDeleteFolder_RateLimitExceeded() {
@@ -287,6 +419,58 @@ class BoxFolderServiceTest {
         verify(rateLimiterManager, times(3)).tryConsume(TEST_API_KEY);
     }
 
+    @Test
+    @DisplayName("revalidateFolderInfo - 変更がない場合、アイテム数が一覧の件数と異なれば更新した情報を返すこと")
+    void testRevalidateFolderInfo_NotModifiedUpdatesItemCount() {
+        // Given
+        FolderInfoResponse cached = FolderInfoResponse.builder()
+            .folderId(TEST_FOLDER_ID).folderName(TEST_FOLDER_NAME).itemCount(3).etag("1").build();
+        when(folderListingCache.getTotalCount(any(), eq(TEST_FOLDER_ID))).thenReturn(Optional.of(5L));
+        when(jsonApiClient.getIfNoneMatch(eq(mockConnection), anyString(), eq("1"))).thenReturn(Optional.empty());
+
+        // When
+        Optional<FolderInfoResponse> updated = folderService.revalidateFolderInfo(TEST_API_KEY, TEST_FOLDER_ID, cached);
+        Optional<FolderInfoResponse> unchanged = folderService.revalidateFolderInfo(TEST_API_KEY, TEST_FOLDER_ID,
+            FolderInfoResponse.builder().folderId(TEST_FOLDER_ID).itemCount(5).etag("1").build());
+
+        // Then
+        assertEquals(5, updated.orElseThrow().getItemCount());
+        assertEquals(TEST_FOLDER_NAME, updated.get().getFolderName());
+        assertEquals("1", updated.get().getEtag());
+        assertTrue(unchanged.isEmpty());
+    }
+
+    @Test
+    @DisplayName("revalidateFolderInfo - 404の場合、ResourceNotFoundExceptionがスローされ404が記録されること")
+    void testRevalidateFolderInfo_NotFound() {
+        // Given
+        when(folderListingCache.getTotalCount(any(), eq(TEST_FOLDER_ID))).thenReturn(Optional.of(5L));
+        when(jsonApiClient.getIfNoneMatch(eq(mockConnection), anyString(), eq("1")))
+            .thenThrow(new BoxAPIException("Not Found", 404, ""));
+        FolderInfoResponse cached = FolderInfoResponse.builder().folderId(TEST_FOLDER_ID).itemCount(5).etag("1").build();
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class,
+            () -> folderService.revalidateFolderInfo(TEST_API_KEY, TEST_FOLDER_ID, cached));
+        verify(negativeResultCache).record(any(), eq(BoxItemChangedEvent.ItemType.FOLDER), eq(TEST_FOLDER_ID), eq(404));
+    }
+
+    @Test
+    @DisplayName("revalidateFolderInfo - 429の場合、レート制限を通知してステータス429のBoxApiExceptionがスローされること")
+    void testRevalidateFolderInfo_RateLimited() {
+        // Given
+        when(folderListingCache.getTotalCount(any(), eq(TEST_FOLDER_ID))).thenReturn(Optional.of(5L));
+        when(jsonApiClient.getIfNoneMatch(eq(mockConnection), anyString(), eq("1")))
+            .thenThrow(new BoxAPIException("Too Many Requests", 429, ""));
+        FolderInfoResponse cached = FolderInfoResponse.builder().folderId(TEST_FOLDER_ID).itemCount(5).etag("1").build();
+
+        // When & Then
+        BoxApiException e = assertThrows(BoxApiException.class,
+            () -> folderService.revalidateFolderInfo(TEST_API_KEY, TEST_FOLDER_ID, cached));
+        assertEquals(429, e.getStatusCode());
+        verify(rateLimiterManager).handleRateLimitExceeded(TEST_API_KEY);
+    }
+
     // Helper method to create mock folder info
     private BoxFolder.Info createMockFolderInfo(String folderId, String folderName, String parentId) {
         BoxFolder.Info mockInfo = mock(BoxFolder.Info.class);
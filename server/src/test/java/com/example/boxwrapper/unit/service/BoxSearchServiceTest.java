@@ -1,10 +1,20 @@
 package com.example.boxwrapper.unit.service;
 
+import com.example.boxwrapper.cache.MetadataCacheUpdater;
+import com.example.boxwrapper.cache.SearchCacheKey;
+import com.example.boxwrapper.cache.SearchResultCache;
+import com.example.boxwrapper.cache.SearchResultPage;
 import com.example.boxwrapper.client.BoxClientManager;
 import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.index.IndexedItem;
+import com.example.boxwrapper.index.IndexedPage;
 import com.example.boxwrapper.model.request.SearchRequest;
+import com.example.boxwrapper.model.response.SearchResultItem;
 import com.example.boxwrapper.service.BoxSearchService;
+import com.example.boxwrapper.service.FanOutSearchService;
+import com.example.boxwrapper.service.SearchIndexService;
 import com.example.boxwrapper.utils.RateLimiterManager;
+import com.example.boxwrapper.utils.RequestDebouncer;
 import com.box.sdk.BoxAPIConnection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,8 +24,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,6 +48,21 @@ class BoxSearchServiceTest {
     @Mock
     private RateLimiterManager rateLimiterManager;
 
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private MetadataCacheUpdater metadataCacheUpdater;
+
+    @Mock
+    private RequestDebouncer requestDebouncer;
+
+    @Mock
+    private FanOutSearchService fanOutSearchService;
+
     @Mock
     private BoxAPIConnection mockConnection;
 
@@ -64,6 +96,118 @@ class BoxSearchServiceTest {
         verify(clientManager, never()).getConnection(anyString());
     }
 
+    @Test
+    @DisplayName("search - キャッシュ済みのページはトークンを消費せずに返ること")
+    void testSearch_CacheHit() {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        SearchRequest request = SearchRequest.builder()
+            .query(" Report ")
+            .type("FILE")
+            .offset(0)
+            .limit(10)
+            .build();
+        SearchCacheKey expectedKey = SearchCacheKey.of("scope-1",
+            SearchRequest.builder().query("report").type("file").limit(10).build());
+        when(searchResultCache.get(expectedKey))
+            .thenReturn(Optional.of(new SearchResultPage(List.of(
+                SearchResultItem.builder().id("1").type("file").name("report.pdf").build()), 1)));
+
+        // When
+        List<SearchResultItem> results = searchService.search(TEST_API_KEY, request);
+
+        // Then
+        assertEquals(List.of("1"), results.stream().map(SearchResultItem::getId).toList());
+        verify(rateLimiterManager, never()).tryConsume(anyString());
+        verify(searchResultCache, never()).tryBeginPrefetch(any());
+    }
+
+    @Test
+    @DisplayName("streamSearch - 最初のページのトークンを待機時間内に取得できない場合、出力開始前に429がスローされること")
+    void testStreamSearch_RateLimitBeforeFirstPage() {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        when(rateLimiterManager.tryConsume(eq(TEST_API_KEY), any(Duration.class))).thenReturn(false);
+        SearchRequest request = SearchRequest.builder()
+            .query("report")
+            .build();
+
+        // When & Then
+        BoxApiException exception = assertThrows(BoxApiException.class, () ->
+            searchService.streamSearch(TEST_API_KEY, request)
+        );
+
+        assertEquals(429, exception.getStatusCode());
+        verify(clientManager, never()).getConnection(anyString());
+    }
+
+    @Test
+    @DisplayName("search - ローカル索引で応答できる場合はBoxを呼ばずに返ること")
+    void testSearch_ServedFromIndex() {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        when(searchIndexService.search(any(SearchCacheKey.class))).thenReturn(Optional.of(new IndexedPage(List.of(
+            IndexedItem.builder().id("1").type("file").name("report.pdf").parentId("0").size(10L).build()), 25)));
+        SearchRequest request = SearchRequest.builder()
+            .query("report")
+            .build();
+
+        // When
+        SearchResultPage page = searchService.searchPage(TEST_API_KEY, request);
+        List<SearchResultItem> results = page.getResults();
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(25, page.getTotalCount());
+        assertEquals("report.pdf", results.get(0).getName());
+        assertEquals("0", results.get(0).getParentId());
+        assertEquals(10L, results.get(0).getSize());
+        verify(rateLimiterManager, never()).tryConsume(anyString());
+        verify(searchResultCache, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("searchPage - 横断検索が有効な場合、全アカウントの結果を返し、一部が欠けたページはキャッシュしないこと")
+    void testSearchPage_FanOutPartialNotCached() {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        when(fanOutSearchService.appliesTo(TEST_API_KEY)).thenReturn(true);
+        SearchResultPage partialPage = new SearchResultPage(List.of(
+            SearchResultItem.builder().id("1").type("file").name("report.pdf").build()), 1, true);
+        when(fanOutSearchService.search(eq(TEST_API_KEY), any(SearchCacheKey.class), any()))
+            .thenReturn(partialPage);
+        SearchRequest request = SearchRequest.builder()
+            .query("report")
+            .build();
+
+        // When
+        SearchResultPage page = searchService.searchPage(TEST_API_KEY, request);
+
+        // Then
+        assertTrue(page.isPartial());
+        assertEquals(List.of("1"), page.getResults().stream().map(SearchResultItem::getId).toList());
+        verify(searchResultCache, never()).put(any(), any());
+        verify(clientManager, never()).getConnection(anyString());
+    }
+
+    @Test
+    @DisplayName("typeahead - 同じセッションの新しい入力に置き換えられた場合、Boxを呼ばずに空を返すこと")
+    void testTypeahead_SupersededWithinDebounceWindow() {
+        // Given
+        when(clientManager.getTenantScope(TEST_API_KEY)).thenReturn("scope-1");
+        when(searchIndexService.typeahead(TEST_API_KEY, "re", 10)).thenReturn(Optional.empty());
+        when(requestDebouncer.isEnabled()).thenReturn(true);
+        when(requestDebouncer.debounce("scope-1:session-1")).thenReturn(CompletableFuture.completedFuture(true));
+
+        // When
+        Optional<List<String>> results = searchService.typeahead(TEST_API_KEY, "session-1", "re", 10).join();
+
+        // Then
+        assertTrue(results.isEmpty());
+        verify(rateLimiterManager, never()).tryConsume(anyString());
+        verify(searchResultCache, never()).get(any());
+    }
+
     @Test
     @DisplayName("search - クエリパラメータが正しく設定されること - ファイルタイプフィルタ")
     void testSearch_FileTypeFilter() {
@@ -0,0 +1,228 @@
+package com.example.boxwrapper.unit.service;
+
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.ApiProperties;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.AuthenticationException;
+import com.example.boxwrapper.service.BoxWebhookService;
+import com.example.boxwrapper.service.ClusterInvalidationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * BoxWebhookServiceのユニットテスト.
+ *
+ * <p>署名と配信時刻の検証、トリガーから外部変更イベントへの変換、
+ * 同じアイテムへの連続した通知をまとめる処理をテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoxWebhookService Unit Tests")
+class BoxWebhookServiceTest {
+
+    @Mock
+    private BoxClientManager clientManager;
+
+    @Mock
+    private FolderListingCache folderListingCache;
+
+    @Mock
+    private ClusterInvalidationService clusterInvalidationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BoxWebhookService webhookService;
+
+    private static final String SCOPE = "scope-1";
+    private static final String PRIMARY_KEY = "primary-key";
+    private static final String SECONDARY_KEY = "secondary-key";
+    private static final String TENANT_SCOPE = "scope-2";
+    private static final String TENANT_PRIMARY_KEY = "tenant-primary-key";
+
+    @BeforeEach
+    void setUp() {
+        // 自動発行は使わず、テストからflushを呼び出す
+        BoxProperties boxProperties = new BoxProperties();
+        boxProperties.getWebhooks().setEnabled(true);
+        boxProperties.getWebhooks().setPrimarySignatureKey(PRIMARY_KEY);
+        boxProperties.getWebhooks().setSecondarySignatureKey(SECONDARY_KEY);
+        boxProperties.getWebhooks().setBatchIntervalMillis(60_000);
+
+        // 2つ目のテナントは独自の署名キーを持つ
+        ApiProperties apiProperties = new ApiProperties();
+        ApiProperties.ApiKeyConfig shared = new ApiProperties.ApiKeyConfig();
+        shared.setKey("test-api-key");
+        ApiProperties.ApiKeyConfig tenant = new ApiProperties.ApiKeyConfig();
+        tenant.setKey("tenant-api-key");
+        tenant.setWebhookPrimarySignatureKey(TENANT_PRIMARY_KEY);
+        apiProperties.setKeys(List.of(shared, tenant));
+        lenient().when(clientManager.getTenantScope("test-api-key")).thenReturn(SCOPE);
+        lenient().when(clientManager.getTenantScope("tenant-api-key")).thenReturn(TENANT_SCOPE);
+
+        webhookService = new BoxWebhookService(clientManager, folderListingCache, clusterInvalidationService,
+            eventPublisher, new ObjectMapper(), apiProperties, boxProperties);
+        lenient().when(clientManager.findApiKey(SCOPE)).thenReturn(Optional.of("test-api-key"));
+        lenient().when(clientManager.findApiKey(TENANT_SCOPE)).thenReturn(Optional.of("tenant-api-key"));
+        lenient().when(folderListingCache.findParentId(anyString(), anyString())).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        webhookService.shutdown();
+    }
+
+    @Test
+    @DisplayName("receive - 署名が正しいWebhookが外部変更イベントとしてまとめて発行されること")
+    void testReceive_PublishesOnFlush() throws Exception {
+        // Given
+        String payload = webhook("FILE.TRASHED", "file", "f1", "100");
+
+        // When
+        webhookService.receive(SCOPE, payload, signedHeaders(payload, PRIMARY_KEY));
+
+        // Then - flushまでは発行されない
+        verify(eventPublisher, never()).publishEvent(any(BoxItemInvalidatedEvent.class));
+        webhookService.flush();
+
+        ArgumentCaptor<BoxItemInvalidatedEvent> captor = ArgumentCaptor.forClass(BoxItemInvalidatedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(SCOPE, captor.getValue().getScope());
+        assertEquals("f1", captor.getValue().getItemId());
+        assertEquals("100", captor.getValue().getParentId());
+        assertTrue(captor.getValue().isDeleted());
+        verify(clusterInvalidationService).broadcast(captor.getValue());
+    }
+
+    @Test
+    @DisplayName("receive - 同じアイテムへの連続した通知は1件にまとめられること")
+    void testReceive_CoalescesBurst() throws Exception {
+        // Given
+        String uploaded = webhook("FILE.UPLOADED", "file", "f1", "100");
+        String renamed = webhook("FILE.RENAMED", "file", "f1", "100");
+        String other = webhook("FOLDER.RENAMED", "folder", "d1", "0");
+
+        // When - セカンダリキーの署名も受け付ける
+        webhookService.receive(SCOPE, uploaded, signedHeaders(uploaded, PRIMARY_KEY));
+        webhookService.receive(SCOPE, renamed, signedHeaders(renamed, SECONDARY_KEY));
+        webhookService.receive(SCOPE, other, signedHeaders(other, PRIMARY_KEY));
+        webhookService.flush();
+
+        // Then
+        verify(eventPublisher, times(2)).publishEvent(any(BoxItemInvalidatedEvent.class));
+        assertEquals(3, webhookService.getReceivedCount());
+        assertEquals(1, webhookService.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("receive - 署名が一致しない場合、AuthenticationExceptionがスローされること")
+    void testReceive_InvalidSignature() throws Exception {
+        // Given
+        String payload = webhook("FILE.UPLOADED", "file", "f1", "100");
+        HttpHeaders headers = signedHeaders(payload, "wrong-key");
+
+        // When & Then
+        assertThrows(AuthenticationException.class, () -> webhookService.receive(SCOPE, payload, headers));
+        webhookService.flush();
+        verify(eventPublisher, never()).publishEvent(any(BoxItemInvalidatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("receive - 独自の署名キーを持つテナントはそのキーの署名のみ受け付けること")
+    void testReceive_TenantSignatureKey() throws Exception {
+        // Given
+        String payload = webhook("FILE.UPLOADED", "file", "f1", "100");
+
+        // When - テナントのキーで署名されたWebhookは受け付ける
+        webhookService.receive(TENANT_SCOPE, payload, signedHeaders(payload, TENANT_PRIMARY_KEY));
+
+        // Then - 共通キーの署名や別テナント宛ての送信は拒否する
+        assertThrows(AuthenticationException.class,
+            () -> webhookService.receive(TENANT_SCOPE, payload, signedHeaders(payload, PRIMARY_KEY)));
+        assertThrows(AuthenticationException.class,
+            () -> webhookService.receive(SCOPE, payload, signedHeaders(payload, TENANT_PRIMARY_KEY)));
+        webhookService.flush();
+
+        ArgumentCaptor<BoxItemInvalidatedEvent> captor = ArgumentCaptor.forClass(BoxItemInvalidatedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(TENANT_SCOPE, captor.getValue().getScope());
+    }
+
+    @Test
+    @DisplayName("receive - 配信時刻が古い場合、AuthenticationExceptionがスローされること")
+    void testReceive_StaleDelivery() throws Exception {
+        // Given
+        String payload = webhook("FILE.UPLOADED", "file", "f1", "100");
+        HttpHeaders headers = signedHeaders(payload, PRIMARY_KEY, OffsetDateTime.now().minusHours(1).toString());
+
+        // When & Then
+        assertThrows(AuthenticationException.class, () -> webhookService.receive(SCOPE, payload, headers));
+    }
+
+    @Test
+    @DisplayName("receive - アイテムの情報が変わらないトリガーは無視されること")
+    void testReceive_IgnoresPreview() throws Exception {
+        // Given
+        String payload = webhook("FILE.PREVIEWED", "file", "f1", "100");
+
+        // When
+        webhookService.receive(SCOPE, payload, signedHeaders(payload, PRIMARY_KEY));
+        webhookService.flush();
+
+        // Then
+        verify(eventPublisher, never()).publishEvent(any(BoxItemInvalidatedEvent.class));
+    }
+
+    private static String webhook(String trigger, String type, String id, String parentId) {
+        return "{\"type\":\"webhook_event\",\"trigger\":\"" + trigger + "\",\"source\":{\"type\":\"" + type
+            + "\",\"id\":\"" + id + "\",\"name\":\"item-" + id + "\",\"parent\":{\"type\":\"folder\",\"id\":\""
+            + parentId + "\"}}}";
+    }
+
+    private static HttpHeaders signedHeaders(String payload, String key) throws Exception {
+        return signedHeaders(payload, key, OffsetDateTime.now().toString());
+    }
+
+    /**
+     * Boxと同じ方式（ボディと配信時刻のHMAC-SHA256）で署名したヘッダー
+     */
+    private static HttpHeaders signedHeaders(String payload, String key, String timestamp) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        mac.update(payload.getBytes(StandardCharsets.UTF_8));
+        mac.update(timestamp.getBytes(StandardCharsets.UTF_8));
+        String signature = Base64.getEncoder().encodeToString(mac.doFinal());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("BOX-DELIVERY-TIMESTAMP", timestamp);
+        boolean primary = !key.equals(SECONDARY_KEY);
+        headers.set("BOX-SIGNATURE-PRIMARY", primary ? signature : "invalid");
+        headers.set("BOX-SIGNATURE-SECONDARY", primary ? "invalid" : signature);
+        headers.set("BOX-SIGNATURE-VERSION", "1");
+        headers.set("BOX-SIGNATURE-ALGORITHM", "HmacSHA256");
+        return headers;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.boxwrapper.unit.service;
+
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.AsyncProperties;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.model.request.BulkTransferRequest;
+import com.example.boxwrapper.model.response.JobStatusResponse;
+import com.example.boxwrapper.service.BulkTransferService;
+import com.example.boxwrapper.utils.JobProgressTracker;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * BulkTransferServiceのユニットテスト.
+ *
+ * <p>Box SDKのコンストラクタをモックできないため、レート制限時のリトライと
+ * ジョブ進捗の記録をテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkTransferService Unit Tests")
+class BulkTransferServiceTest {
+
+    @Mock
+    private BoxClientManager clientManager;
+
+    @Mock
+    private RateLimiterManager rateLimiterManager;
+
+    @Mock
+    private FolderListingCache folderListingCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private JobProgressTracker progressTracker;
+
+    private BulkTransferService transferService;
+
+    private static final String API_KEY = "test-api-key";
+
+    @BeforeEach
+    void setUp() {
+        BoxProperties boxProperties = new BoxProperties();
+        boxProperties.getRetry().setMaxAttempts(2);
+        progressTracker = new JobProgressTracker();
+        transferService = new BulkTransferService(clientManager, rateLimiterManager, progressTracker,
+            folderListingCache, eventPublisher, boxProperties, new AsyncProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferService.shutdown();
+    }
+
+    @Test
+    @DisplayName("startTransfer - レート制限超過のアイテムはリトライ後に失敗として記録されること")
+    void testStartTransfer_RateLimitRetriedThenFailed() throws Exception {
+        // Given
+        when(rateLimiterManager.tryConsume(API_KEY)).thenReturn(false);
+        BulkTransferRequest request = BulkTransferRequest.builder()
+            .operation(BulkTransferRequest.Operation.MOVE)
+            .items(List.of(item("1"), item("2"), item("3")))
+            .build();
+
+        // When
+        String jobId = transferService.startTransfer(API_KEY, request);
+        JobStatusResponse status = awaitCompletion(jobId);
+
+        // Then
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(3, status.getTotal());
+        assertEquals(0, status.getCompleted());
+        assertEquals(3, status.getFailed());
+        verify(rateLimiterManager, times(6)).tryConsume(API_KEY);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("startTransfer - Box APIのエラー以外の例外はリトライせずに失敗として記録されること")
+    void testStartTransfer_UnexpectedErrorNotRetried() throws Exception {
+        // Given
+        when(rateLimiterManager.tryConsume(API_KEY)).thenReturn(true);
+        when(clientManager.getConnection(API_KEY)).thenThrow(new IllegalStateException("接続設定がありません"));
+        BulkTransferRequest request = BulkTransferRequest.builder()
+            .operation(BulkTransferRequest.Operation.COPY)
+            .items(List.of(item("1")))
+            .build();
+
+        // When
+        String jobId = transferService.startTransfer(API_KEY, request);
+        JobStatusResponse status = awaitCompletion(jobId);
+
+        // Then
+        assertEquals(1, status.getFailed());
+        verify(clientManager, times(1)).getConnection(API_KEY);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private BulkTransferRequest.Item item(String itemId) {
+        return BulkTransferRequest.Item.builder().itemId(itemId).destFolderId("200").build();
+    }
+
+    private JobStatusResponse awaitCompletion(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            JobStatusResponse status = progressTracker.getJobStatus(jobId);
+            if (!"IN_PROGRESS".equals(status.getStatus())) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        fail("ジョブが完了しませんでした: " + jobId);
+        return null;
+    }
+}
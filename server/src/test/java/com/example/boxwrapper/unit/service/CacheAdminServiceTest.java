@@ -0,0 +1,284 @@
+package com.example.boxwrapper.unit.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.CacheAdminInvalidatedEvent;
+import com.example.boxwrapper.cache.CacheInvalidationMessage;
+import com.example.boxwrapper.cache.CacheSettings;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.cache.NegativeResultCache;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.exception.ValidationException;
+import com.example.boxwrapper.model.request.CacheSettingsRequest;
+import com.example.boxwrapper.model.response.CacheInvalidationResponse;
+import com.example.boxwrapper.model.response.CacheSettingsResponse;
+import com.example.boxwrapper.model.response.CacheStatsResponse;
+import com.example.boxwrapper.service.BoxFolderService;
+import com.example.boxwrapper.service.BoxSearchService;
+import com.example.boxwrapper.service.CacheAdminService;
+import com.example.boxwrapper.service.ClusterInvalidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * CacheAdminServiceのユニットテスト.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheAdminService Unit Tests")
+class CacheAdminServiceTest {
+
+    @Mock
+    private BoxFolderService folderService;
+
+    @Mock
+    private BoxSearchService searchService;
+
+    @Mock
+    private ClusterInvalidationService clusterInvalidationService;
+
+    private TenantPartitionedCache fileCache;
+    private TenantPartitionedCache folderCache;
+    private TenantPartitionedCache listingCache;
+    private FolderListingCache folderListingCache;
+    private CacheAdminService cacheAdminService;
+
+    @BeforeEach
+    void setUp() {
+        fileCache = new TenantPartitionedCache("fileMetadata", 100, 0.2, Duration.ofMinutes(5), Map.of());
+        TenantPartitionedCache searchCache = new TenantPartitionedCache("searchResults", CacheSettings.builder()
+            .maximumWeightBytes(1024 * 1024)
+            .ttl(Duration.ofMinutes(1))
+            .overflowRatio(0.2)
+            .build(), Map.of(), Duration.ofSeconds(5));
+        folderCache = new TenantPartitionedCache("folderInfo", 100, 0.2, Duration.ofMinutes(5), Map.of());
+        listingCache = new TenantPartitionedCache("folderListing", 100, 0.2, Duration.ofMinutes(5), Map.of());
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(fileCache, searchCache, folderCache, listingCache));
+        cacheManager.initializeCaches();
+
+        folderListingCache = new FolderListingCache(cacheManager);
+        cacheAdminService = new CacheAdminService(cacheManager, folderListingCache,
+            new NegativeResultCache(new BoxProperties()), folderService, searchService,
+            clusterInvalidationService);
+    }
+
+    @Test
+    @DisplayName("updateSettings - 指定した項目のみ変更され、容量の縮小が即座に反映されること")
+    void testUpdateSettings_AppliesSpecifiedFields() {
+        // Given
+        for (int i = 0; i < 50; i++) {
+            fileCache.put(TenantCacheKey.of("tenant-a", "f" + i), "value-" + i);
+        }
+
+        // When
+        CacheSettingsResponse response = cacheAdminService.updateSettings("fileMetadata",
+            CacheSettingsRequest.builder().maximumSize(10L).expireAfterWriteSeconds(30).build());
+
+        // Then
+        assertEquals(10, response.getMaximumSize());
+        assertEquals(30, response.getExpireAfterWriteSeconds());
+        assertEquals(0.2, response.getOverflowRatio());
+        assertFalse(response.isWeighted());
+        assertTrue(response.getSize() <= 10);
+        assertEquals(Duration.ofSeconds(30), fileCache.getTtl());
+    }
+
+    @Test
+    @DisplayName("updateSettings - 容量の単位と異なる上限を指定した場合、ValidationExceptionがスローされること")
+    void testUpdateSettings_RejectsOtherUnit() {
+        // Given
+        CacheSettingsRequest request = CacheSettingsRequest.builder().maximumSize(10L).build();
+
+        // When & Then
+        ValidationException e = assertThrows(ValidationException.class,
+            () -> cacheAdminService.updateSettings("searchResults", request));
+        assertTrue(e.getFieldErrors().containsKey("maximumSize"));
+        assertEquals(1024 * 1024, cacheAdminService.getSettings("searchResults").getMaximumWeightBytes());
+    }
+
+    @Test
+    @DisplayName("getSettings - 存在しないキャッシュの場合、ResourceNotFoundExceptionがスローされること")
+    void testGetSettings_UnknownCache() {
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> cacheAdminService.getSettings("unknown"));
+    }
+
+    @Test
+    @DisplayName("getStats - テナントごとのヒット・ミスとキャッシュ全体の合計が返ること")
+    void testGetStats_AggregatesTenants() {
+        // Given
+        fileCache.put(TenantCacheKey.of("tenant-a", "f1"), "value-1");
+        fileCache.get(TenantCacheKey.of("tenant-a", "f1"));
+        fileCache.get(TenantCacheKey.of("tenant-a", "missing"));
+        fileCache.get(TenantCacheKey.of("tenant-b", "f1"));
+
+        // When
+        CacheStatsResponse response = cacheAdminService.getStats("fileMetadata");
+
+        // Then
+        assertEquals(1, response.getSize());
+        assertEquals(1, response.getHitCount());
+        assertEquals(2, response.getMissCount());
+        assertEquals(2.0 / 3, response.getMissRate(), 0.001);
+        assertTrue(response.getEstimatedBytes() > 0);
+        assertEquals("L1", response.getTiers().get(0).getTier());
+
+        CacheStatsResponse.TenantStats tenantA = response.getTenants().stream()
+            .filter(stats -> stats.getScope().equals("tenant-a"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(1, tenantA.getHitCount());
+        assertEquals(0.5, tenantA.getHitRate(), 0.001);
+    }
+
+    @Test
+    @DisplayName("invalidatePrefix - 指定したテナントの前方一致するキーのみ無効化されること")
+    void testInvalidatePrefix_RemovesMatchingKeys() {
+        // Given
+        fileCache.put(TenantCacheKey.of("tenant-a", "report-1"), "value");
+        fileCache.put(TenantCacheKey.of("tenant-a", "report-2"), "value");
+        fileCache.put(TenantCacheKey.of("tenant-a", "other"), "value");
+        fileCache.put(TenantCacheKey.of("tenant-b", "report-1"), "value");
+
+        // When
+        CacheInvalidationResponse response = cacheAdminService.invalidatePrefix("fileMetadata", "tenant-a", "report-");
+
+        // Then
+        assertEquals(2, response.getInvalidatedCount());
+        assertNull(fileCache.get(TenantCacheKey.of("tenant-a", "report-1")));
+        assertNotNull(fileCache.get(TenantCacheKey.of("tenant-a", "other")));
+        assertNotNull(fileCache.get(TenantCacheKey.of("tenant-b", "report-1")));
+    }
+
+    @Test
+    @DisplayName("invalidateSubtree - フォルダと一覧を取得済みの配下のアイテムが全キャッシュから無効化されること")
+    void testInvalidateSubtree_RemovesDescendants() {
+        // Given - 100 → 200 → f2 、100 → f1
+        folderListingCache.put("tenant-a", "100", null, null,
+            List.of(item("200", "folder"), item("f1", "file")), 2L, 0);
+        folderListingCache.put("tenant-a", "200", null, null, List.of(item("f2", "file")), 1L, 0);
+        folderCache.put(TenantCacheKey.of("tenant-a", "100"), "folder-100");
+        folderCache.put(TenantCacheKey.of("tenant-a", "200"), "folder-200");
+        folderCache.put(TenantCacheKey.of("tenant-a", "300"), "folder-300");
+        fileCache.put(TenantCacheKey.of("tenant-a", "f1"), "file-1");
+        fileCache.put(TenantCacheKey.of("tenant-a", "f2"), "file-2");
+
+        // When
+        CacheInvalidationResponse response = cacheAdminService.invalidateSubtree("tenant-a", "100");
+
+        // Then
+        assertEquals(6, response.getInvalidatedCount());
+        assertNull(folderCache.get(TenantCacheKey.of("tenant-a", "200")));
+        assertNull(fileCache.get(TenantCacheKey.of("tenant-a", "f2")));
+        assertNull(listingCache.get(TenantCacheKey.of("tenant-a", "100")));
+        assertNotNull(folderCache.get(TenantCacheKey.of("tenant-a", "300")));
+    }
+
+    @Test
+    @DisplayName("onItemChanged - フォルダが削除された場合、一覧を取得済みの配下のアイテムのエントリが無効化されること")
+    void testOnItemChanged_FolderDeletedEvictsDescendants() {
+        // Given - 100 → 200 → f2
+        folderListingCache.put("tenant-a", "100", null, null, List.of(item("200", "folder")), 1L, 0);
+        folderListingCache.put("tenant-a", "200", null, null, List.of(item("f2", "file")), 1L, 0);
+        folderCache.put(TenantCacheKey.of("tenant-a", "200"), "folder-200");
+        fileCache.put(TenantCacheKey.of("tenant-a", "f2"), "file-2");
+        fileCache.put(TenantCacheKey.of("tenant-b", "f2"), "file-2");
+
+        // When
+        cacheAdminService.onItemChanged(BoxItemChangedEvent.builder()
+            .scope("tenant-a")
+            .changeType(BoxItemChangedEvent.ChangeType.DELETED)
+            .itemType(BoxItemChangedEvent.ItemType.FOLDER)
+            .itemId("100")
+            .build());
+
+        // Then
+        assertNull(folderCache.get(TenantCacheKey.of("tenant-a", "200")));
+        assertNull(listingCache.get(TenantCacheKey.of("tenant-a", "200")));
+        assertNull(fileCache.get(TenantCacheKey.of("tenant-a", "f2")));
+        assertNotNull(fileCache.get(TenantCacheKey.of("tenant-b", "f2")));
+    }
+
+    @Test
+    @DisplayName("flush - テナントを指定した場合、他のテナントのエントリが残ること")
+    void testFlush_Scope() {
+        // Given
+        fileCache.put(TenantCacheKey.of("tenant-a", "f1"), "value");
+        fileCache.put(TenantCacheKey.of("tenant-a", "f2"), "value");
+        fileCache.put(TenantCacheKey.of("tenant-b", "f1"), "value");
+
+        // When
+        CacheInvalidationResponse response = cacheAdminService.flush("fileMetadata", "tenant-a");
+
+        // Then
+        assertEquals(2, response.getInvalidatedCount());
+        assertEquals(List.of("fileMetadata"), response.getCacheNames());
+        assertNull(fileCache.get(TenantCacheKey.of("tenant-a", "f1")));
+        assertNotNull(fileCache.get(TenantCacheKey.of("tenant-b", "f1")));
+        verify(clusterInvalidationService).broadcastAdmin(
+            CacheInvalidationMessage.Operation.FLUSH, "fileMetadata", "tenant-a", null);
+    }
+
+    @Test
+    @DisplayName("invalidateKey - 無効化が他のノードに通知されること")
+    void testInvalidateKey_BroadcastsToPeers() {
+        // Given
+        fileCache.put(TenantCacheKey.of("tenant-a", "f1"), "value");
+
+        // When
+        CacheInvalidationResponse response = cacheAdminService.invalidateKey("fileMetadata", "tenant-a", "f1");
+
+        // Then
+        assertEquals(1, response.getInvalidatedCount());
+        verify(clusterInvalidationService).broadcastAdmin(
+            CacheInvalidationMessage.Operation.KEY, "fileMetadata", "tenant-a", "f1");
+    }
+
+    @Test
+    @DisplayName("onAdminInvalidated - 他のノードの無効化が適用され、再送信されないこと")
+    void testOnAdminInvalidated_AppliesWithoutBroadcast() {
+        // Given
+        fileCache.put(TenantCacheKey.of("tenant-a", "f1"), "value");
+        fileCache.put(TenantCacheKey.of("tenant-a", "f2"), "value");
+        folderCache.put(TenantCacheKey.of("tenant-a", "f1"), "value");
+
+        // When
+        cacheAdminService.onAdminInvalidated(CacheAdminInvalidatedEvent.builder()
+            .operation(CacheInvalidationMessage.Operation.PREFIX)
+            .cacheName("fileMetadata")
+            .scope("tenant-a")
+            .key("f1")
+            .build());
+        cacheAdminService.onAdminInvalidated(CacheAdminInvalidatedEvent.builder()
+            .operation(CacheInvalidationMessage.Operation.FLUSH)
+            .cacheName("unknownCache")
+            .build());
+
+        // Then - 存在しないキャッシュは無視される
+        assertNull(fileCache.get(TenantCacheKey.of("tenant-a", "f1")));
+        assertNotNull(fileCache.get(TenantCacheKey.of("tenant-a", "f2")));
+        assertNotNull(folderCache.get(TenantCacheKey.of("tenant-a", "f1")));
+        verify(clusterInvalidationService, never()).broadcastAdmin(any(), any(), any(), any());
+    }
+
+    private static FolderItem item(String id, String type) {
+        return FolderItem.builder().id(id).type(type).name("item-" + id).build();
+    }
+}
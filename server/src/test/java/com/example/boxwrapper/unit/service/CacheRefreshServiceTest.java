@@ -0,0 +1,181 @@
+package com.example.boxwrapper.unit.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.MetadataCacheUpdater;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import com.example.boxwrapper.service.BoxFileService;
+import com.example.boxwrapper.service.BoxFolderService;
+import com.example.boxwrapper.service.BoxSearchService;
+import com.example.boxwrapper.service.CacheRefreshService;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * CacheRefreshServiceのユニットテスト.
+ *
+ * <p>有効期限前の非同期更新と、トークンに余裕がない場合の見送り、削除済みアイテムの
+ * エントリ削除をテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheRefreshService Unit Tests")
+class CacheRefreshServiceTest {
+
+    @Mock
+    private BoxFileService fileService;
+
+    @Mock
+    private BoxFolderService folderService;
+
+    @Mock
+    private BoxSearchService searchService;
+
+    @Mock
+    private BoxClientManager clientManager;
+
+    @Mock
+    private RateLimiterManager rateLimiterManager;
+
+    private TenantPartitionedCache fileCache;
+    private SimpleCacheManager cacheManager;
+    private CacheRefreshService refreshService;
+
+    private static final String API_KEY = "test-api-key";
+    private static final String SCOPE = "tenant-a";
+    private static final TenantCacheKey KEY = TenantCacheKey.of(SCOPE, "100");
+
+    @BeforeEach
+    void setUp() {
+        // 有効期間1秒の1%（10ミリ秒）を過ぎたエントリを更新対象とする
+        BoxProperties properties = new BoxProperties();
+        properties.getCache().setRefreshAheadRatio(0.01);
+        fileCache = new TenantPartitionedCache("fileMetadata", 100, 0.2, Duration.ofSeconds(1), Map.of());
+        cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(fileCache,
+            new TenantPartitionedCache("folderInfo", 100, 0.2, Duration.ofSeconds(1), Map.of())));
+        cacheManager.initializeCaches();
+
+        refreshService = new CacheRefreshService(fileService, folderService, searchService, clientManager,
+            rateLimiterManager, cacheManager, properties);
+        refreshService.registerCaches();
+
+        when(clientManager.findApiKey(SCOPE)).thenReturn(Optional.of(API_KEY));
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshService.shutdown();
+    }
+
+    @Test
+    @DisplayName("refresh-ahead - 更新時刻を過ぎたエントリは古い値を返しつつ非同期で再取得されること")
+    void testRefreshAhead_ServesStaleValueAndReloadsAsync() throws Exception {
+        // Given
+        FileInfoResponse stale = FileInfoResponse.builder().fileId("100").fileName("old.txt").build();
+        fileCache.put(KEY, stale);
+        when(rateLimiterManager.hasSpareCapacity(API_KEY)).thenReturn(true);
+        Thread.sleep(30);
+
+        // When
+        Object value = fileCache.get(KEY).get();
+
+        // Then
+        assertEquals(stale, value);
+        verify(fileService, timeout(2000)).refreshFileInfo(API_KEY, "100");
+    }
+
+    @Test
+    @DisplayName("refresh-ahead - etagで変更がないことを確認できた場合は全体を再取得しないこと")
+    void testRefreshAhead_RevalidatesWithEtag() throws Exception {
+        // Given
+        fileCache.put(KEY, FileInfoResponse.builder().fileId("100").etag("3").build());
+        when(rateLimiterManager.hasSpareCapacity(API_KEY)).thenReturn(true);
+        when(fileService.revalidateFileInfo(API_KEY, "100", "3")).thenReturn(Optional.empty());
+        Thread.sleep(30);
+
+        // When
+        fileCache.get(KEY);
+
+        // Then
+        verify(fileService, timeout(2000)).revalidateFileInfo(API_KEY, "100", "3");
+        verify(fileService, after(200).never()).refreshFileInfo(anyString(), anyString());
+        assertEquals(1, fileCache.getConditionalReloadStats().getNotModifiedCount());
+    }
+
+    @Test
+    @DisplayName("refresh-ahead - 移動で更新したエントリもetagで再検証されること")
+    void testRefreshAhead_RevalidatesMovedEntryWithEtag() throws Exception {
+        // Given
+        fileCache.put(KEY, FileInfoResponse.builder().fileId("100").parentFolderId("1").etag("3").build());
+        new MetadataCacheUpdater(cacheManager).onItemChanged(BoxItemChangedEvent.builder()
+            .scope(SCOPE)
+            .changeType(BoxItemChangedEvent.ChangeType.MOVED)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId("100")
+            .parentId("2")
+            .previousParentId("1")
+            .build());
+        when(rateLimiterManager.hasSpareCapacity(API_KEY)).thenReturn(true);
+        when(fileService.revalidateFileInfo(API_KEY, "100", "3")).thenReturn(Optional.empty());
+        Thread.sleep(30);
+
+        // When
+        fileCache.get(KEY);
+
+        // Then
+        verify(fileService, timeout(2000)).revalidateFileInfo(API_KEY, "100", "3");
+        verify(fileService, after(200).never()).refreshFileInfo(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("refresh-ahead - トークンに余裕がない場合は更新を見送ること")
+    void testRefreshAhead_SkipsWhenRateLimitIsTight() throws Exception {
+        // Given
+        fileCache.put(KEY, FileInfoResponse.builder().fileId("100").build());
+        when(rateLimiterManager.hasSpareCapacity(API_KEY)).thenReturn(false);
+        Thread.sleep(30);
+
+        // When
+        fileCache.get(KEY);
+
+        // Then
+        verify(fileService, after(200).never()).refreshFileInfo(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("refresh-ahead - 再取得でアイテムが存在しない場合はエントリを削除すること")
+    void testRefreshAhead_EvictsDeletedItem() throws Exception {
+        // Given
+        fileCache.put(KEY, FileInfoResponse.builder().fileId("100").build());
+        when(rateLimiterManager.hasSpareCapacity(API_KEY)).thenReturn(true);
+        when(fileService.refreshFileInfo(API_KEY, "100")).thenThrow(new ResourceNotFoundException("File", "100"));
+        Thread.sleep(30);
+
+        // When
+        fileCache.get(KEY);
+
+        // Then
+        verify(fileService, timeout(2000)).refreshFileInfo(API_KEY, "100");
+        Thread.sleep(100);
+        assertNull(fileCache.get(KEY));
+    }
+}
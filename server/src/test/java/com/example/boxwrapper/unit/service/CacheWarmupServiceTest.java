@@ -0,0 +1,162 @@
+package com.example.boxwrapper.unit.service;
+
+import com.example.boxwrapper.cache.CacheWarmupStore;
+import com.example.boxwrapper.cache.TenantCacheKey;
+import com.example.boxwrapper.cache.TenantPartitionedCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.response.FileInfoResponse;
+import com.example.boxwrapper.service.BoxFileService;
+import com.example.boxwrapper.service.BoxFolderService;
+import com.example.boxwrapper.service.CacheWarmupService;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * CacheWarmupServiceのユニットテスト.
+ *
+ * <p>参照頻度の高いエントリの保存と、再起動後の読み込み・Boxからの再取得をテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheWarmupService Unit Tests")
+class CacheWarmupServiceTest {
+
+    @Mock
+    private BoxFileService fileService;
+
+    @Mock
+    private BoxFolderService folderService;
+
+    @Mock
+    private BoxClientManager clientManager;
+
+    @Mock
+    private RateLimiterManager rateLimiterManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private BoxProperties boxProperties;
+    private CacheWarmupStore warmupStore;
+
+    private static final String API_KEY = "test-api-key";
+    private static final String SCOPE = "tenant-a";
+
+    @BeforeEach
+    void setUp() {
+        boxProperties = new BoxProperties();
+        boxProperties.getWarmup().setEnabled(true);
+        boxProperties.getWarmup().setFile(tempDir.resolve("warmup.snap").toString());
+        boxProperties.getWarmup().setIntervalSeconds(3600);
+        boxProperties.getWarmup().setRevalidatePerSecond(1000);
+        warmupStore = new CacheWarmupStore(boxProperties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("run - 停止前に保存したエントリが再起動後のキャッシュに戻ること")
+    void testRun_RestoresSavedEntries() {
+        // Given - 停止前のノード
+        TenantPartitionedCache before = fileCache();
+        for (int i = 0; i < 5; i++) {
+            before.put(TenantCacheKey.of(SCOPE, "f" + i), file("f" + i));
+        }
+        CacheWarmupService stopping = service(before);
+        assertEquals(5, stopping.saveSnapshot());
+        stopping.shutdown();
+
+        // When - 再起動後のノード
+        TenantPartitionedCache after = fileCache();
+        CacheWarmupService starting = service(after);
+        starting.run(new DefaultApplicationArguments());
+
+        // Then
+        assertTrue(starting.isWarmupComplete());
+        assertEquals(5, starting.getRestoredCount());
+        assertEquals("file-f3.txt", after.get(TenantCacheKey.of(SCOPE, "f3"), FileInfoResponse.class).getFileName());
+        verifyNoInteractions(fileService);
+        starting.shutdown();
+    }
+
+    @Test
+    @DisplayName("saveSnapshot - キャッシュごとの件数の上限を超えて保存しないこと")
+    void testSaveSnapshot_LimitsEntriesPerCache() {
+        // Given
+        boxProperties.getWarmup().setEntriesPerCache(3);
+        TenantPartitionedCache cache = fileCache();
+        for (int i = 0; i < 10; i++) {
+            cache.put(TenantCacheKey.of(SCOPE, "f" + i), file("f" + i));
+        }
+        CacheWarmupService warmupService = service(cache);
+
+        // When & Then
+        assertEquals(3, warmupService.saveSnapshot());
+        warmupService.shutdown();
+    }
+
+    @Test
+    @DisplayName("run - 戻したエントリをBoxから再取得し、存在しないアイテムは削除すること")
+    void testRun_RevalidatesRestoredEntries() {
+        // Given
+        TenantPartitionedCache before = fileCache();
+        before.put(TenantCacheKey.of(SCOPE, "f1"), file("f1"));
+        before.put(TenantCacheKey.of(SCOPE, "f2"), file("f2"));
+        CacheWarmupService stopping = service(before);
+        stopping.saveSnapshot();
+        stopping.shutdown();
+
+        boxProperties.getWarmup().setRevalidate(true);
+        when(clientManager.findApiKey(SCOPE)).thenReturn(Optional.of(API_KEY));
+        when(rateLimiterManager.hasSpareCapacity(API_KEY)).thenReturn(true);
+        when(fileService.refreshFileInfo(API_KEY, "f2")).thenThrow(new ResourceNotFoundException("File", "f2"));
+
+        // When
+        TenantPartitionedCache after = fileCache();
+        CacheWarmupService starting = service(after);
+        starting.run(new DefaultApplicationArguments());
+
+        // Then
+        verify(fileService).refreshFileInfo(API_KEY, "f1");
+        verify(fileService).refreshFileInfo(API_KEY, "f2");
+        verify(folderService, never()).refreshFolderInfo(anyString(), anyString());
+        assertEquals(1, starting.getRevalidatedCount());
+        assertNotNull(after.get(TenantCacheKey.of(SCOPE, "f1")));
+        assertNull(after.get(TenantCacheKey.of(SCOPE, "f2")));
+        starting.shutdown();
+    }
+
+    private CacheWarmupService service(TenantPartitionedCache cache) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(cache));
+        cacheManager.initializeCaches();
+        return new CacheWarmupService(fileService, folderService, clientManager, rateLimiterManager,
+            cacheManager, warmupStore, boxProperties);
+    }
+
+    private static TenantPartitionedCache fileCache() {
+        return new TenantPartitionedCache("fileMetadata", 100, 0.2, Duration.ofMinutes(5), Map.of());
+    }
+
+    private static FileInfoResponse file(String fileId) {
+        return FileInfoResponse.builder().fileId(fileId).fileName("file-" + fileId + ".txt").size(100L).build();
+    }
+}
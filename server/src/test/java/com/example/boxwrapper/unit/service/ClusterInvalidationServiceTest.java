@@ -0,0 +1,166 @@
+package com.example.boxwrapper.unit.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.CacheAdminInvalidatedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.CacheInvalidationMessage;
+import com.example.boxwrapper.cache.InProcessInvalidationBus;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.service.ClusterInvalidationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * ClusterInvalidationServiceのユニットテスト.
+ *
+ * <p>同じグループの{@link InProcessInvalidationBus}で2つのノードを再現し、
+ * 変更の通知、同じアイテムへの変更をまとめる処理、送信の分割をテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClusterInvalidationService Unit Tests")
+class ClusterInvalidationServiceTest {
+
+    @Mock
+    private ApplicationEventPublisher publisherA;
+
+    @Mock
+    private ApplicationEventPublisher publisherB;
+
+    private InProcessInvalidationBus busA;
+    private InProcessInvalidationBus busB;
+    private ClusterInvalidationService nodeA;
+    private ClusterInvalidationService nodeB;
+
+    private static final String SCOPE = "scope-1";
+
+    @BeforeEach
+    void setUp() {
+        // 自動送信は使わず、テストからflushを呼び出す
+        BoxProperties boxProperties = new BoxProperties();
+        boxProperties.getCluster().setEnabled(true);
+        boxProperties.getCluster().setBatchIntervalMillis(60_000);
+        boxProperties.getCluster().setMaxBatchSize(2);
+
+        busA = new InProcessInvalidationBus();
+        busB = busA.newPeer();
+        nodeA = new ClusterInvalidationService(busA, publisherA, boxProperties);
+        nodeB = new ClusterInvalidationService(busB, publisherB, boxProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 変更が他のノードで外部変更イベントとして発行され、送信元には戻らないこと")
+    void testOnItemChanged_PublishesOnPeer() {
+        // Given
+        nodeA.onItemChanged(changed(BoxItemChangedEvent.ChangeType.DELETED, "f1", "100", null));
+
+        // When
+        nodeA.flush();
+
+        // Then
+        ArgumentCaptor<BoxItemInvalidatedEvent> captor = ArgumentCaptor.forClass(BoxItemInvalidatedEvent.class);
+        verify(publisherB).publishEvent(captor.capture());
+        assertEquals(SCOPE, captor.getValue().getScope());
+        assertEquals("f1", captor.getValue().getItemId());
+        assertEquals("100", captor.getValue().getParentId());
+        assertTrue(captor.getValue().isDeleted());
+        verify(publisherA, never()).publishEvent(any(BoxItemInvalidatedEvent.class));
+        assertEquals(1, nodeB.getReceivedCount());
+    }
+
+    @Test
+    @DisplayName("onItemChanged - 同じアイテムへの連続した変更は1件にまとめ、移動元のフォルダも残ること")
+    void testOnItemChanged_CoalescesBurst() {
+        // Given - 100に作成した後、200に移動
+        nodeA.onItemChanged(changed(BoxItemChangedEvent.ChangeType.CREATED, "f1", "100", null));
+        nodeA.onItemChanged(changed(BoxItemChangedEvent.ChangeType.MOVED, "f1", "200", null));
+
+        // When
+        nodeA.flush();
+
+        // Then
+        ArgumentCaptor<BoxItemInvalidatedEvent> captor = ArgumentCaptor.forClass(BoxItemInvalidatedEvent.class);
+        verify(publisherB, times(1)).publishEvent(captor.capture());
+        assertEquals("200", captor.getValue().getParentId());
+        assertEquals("100", captor.getValue().getPreviousParentId());
+        assertEquals(1, nodeA.getCoalescedCount());
+        assertEquals(1, nodeA.getPublishedCount());
+    }
+
+    @Test
+    @DisplayName("broadcastAdmin - 管理APIの無効化が他のノードで管理APIの無効化イベントとして発行されること")
+    void testBroadcastAdmin_PublishesOnPeer() {
+        // Given - 同じ無効化は1件にまとめられ、同じIDのアイテムの変更とはまとめられない
+        nodeA.broadcastAdmin(CacheInvalidationMessage.Operation.KEY, "fileMetadata", SCOPE, "f1");
+        nodeA.broadcastAdmin(CacheInvalidationMessage.Operation.KEY, "fileMetadata", SCOPE, "f1");
+        nodeA.onItemChanged(changed(BoxItemChangedEvent.ChangeType.CREATED, "f1", "100", null));
+
+        // When
+        nodeA.flush();
+
+        // Then
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(publisherB, times(2)).publishEvent(captor.capture());
+        CacheAdminInvalidatedEvent event = captor.getAllValues().stream()
+            .filter(CacheAdminInvalidatedEvent.class::isInstance)
+            .map(CacheAdminInvalidatedEvent.class::cast)
+            .findFirst()
+            .orElseThrow();
+        assertEquals(CacheInvalidationMessage.Operation.KEY, event.getOperation());
+        assertEquals("fileMetadata", event.getCacheName());
+        assertEquals(SCOPE, event.getScope());
+        assertEquals("f1", event.getKey());
+        assertTrue(captor.getAllValues().stream().anyMatch(BoxItemInvalidatedEvent.class::isInstance));
+        assertEquals(1, nodeA.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("flush - 最大件数を超える変更は分割して送信されること")
+    void testFlush_SplitsBatches() {
+        // Given
+        List<List<CacheInvalidationMessage>> batches = new ArrayList<>();
+        busB.subscribe(batches::add);
+        for (int i = 0; i < 5; i++) {
+            nodeA.onItemChanged(changed(BoxItemChangedEvent.ChangeType.CREATED, "f" + i, "100", null));
+        }
+
+        // When
+        nodeA.flush();
+
+        // Then
+        assertEquals(3, batches.size());
+        verify(publisherB, times(5)).publishEvent(any(BoxItemInvalidatedEvent.class));
+        assertEquals(5, nodeA.getPublishedCount());
+    }
+
+    private static BoxItemChangedEvent changed(BoxItemChangedEvent.ChangeType changeType, String itemId,
+                                               String parentId, String previousParentId) {
+        return BoxItemChangedEvent.builder()
+            .scope(SCOPE)
+            .changeType(changeType)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId(itemId)
+            .parentId(parentId)
+            .previousParentId(previousParentId)
+            .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.boxwrapper.unit.service;
+
+import com.box.sdk.BoxAPIConnection;
+import com.example.boxwrapper.cache.SearchCacheKey;
+import com.example.boxwrapper.cache.SearchResultPage;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ValidationException;
+import com.example.boxwrapper.model.request.SearchRequest;
+import com.example.boxwrapper.model.response.SearchResultItem;
+import com.example.boxwrapper.service.FanOutSearchService;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * FanOutSearchServiceのユニットテスト.
+ *
+ * <p>複数アカウントの結果の統合・重複除外と、待ち時間の上限を超えた場合の部分結果をテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FanOutSearchService Unit Tests")
+class FanOutSearchServiceTest {
+
+    @Mock
+    private BoxClientManager clientManager;
+
+    @Mock
+    private RateLimiterManager rateLimiterManager;
+
+    private final BoxAPIConnection accountA = mock(BoxAPIConnection.class);
+    private final BoxAPIConnection accountB = mock(BoxAPIConnection.class);
+
+    private FanOutSearchService fanOutSearchService;
+
+    private static final String API_KEY = "test-api-key";
+
+    @BeforeEach
+    void setUp() {
+        BoxProperties properties = new BoxProperties();
+        properties.getSearch().setFanOut(true);
+        properties.getSearch().setFanOutBudgetMillis(500);
+        fanOutSearchService = new FanOutSearchService(clientManager, rateLimiterManager, properties);
+
+        when(clientManager.getConnections(API_KEY)).thenReturn(List.of(accountA, accountB));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOutSearchService.shutdown();
+    }
+
+    @Test
+    @DisplayName("search - 各アカウントの結果を順位ごとに交互に並べ、重複を除外してページ分割すること")
+    void testSearch_MergesAndDeduplicatesWithStableRanking() {
+        // Given
+        when(rateLimiterManager.tryConsume(API_KEY)).thenReturn(true);
+        BiFunction<BoxAPIConnection, SearchCacheKey, SearchResultPage> fetcher = fetcher(Map.of(
+            accountA, items("a1", "shared", "a2"),
+            accountB, items("b1", "shared", "b2")));
+
+        // When
+        SearchResultPage first = fanOutSearchService.search(API_KEY, key(0, 3), fetcher);
+        SearchResultPage second = fanOutSearchService.search(API_KEY, key(3, 3), fetcher);
+
+        // Then
+        assertTrue(fanOutSearchService.appliesTo(API_KEY));
+        assertEquals(List.of("a1", "b1", "shared"), ids(first));
+        assertEquals(List.of("a2", "b2"), ids(second));
+        assertFalse(first.isPartial());
+        assertEquals(6, first.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("search - 待ち時間の上限までに応答しないアカウントを除き、部分結果として返すこと")
+    void testSearch_SlowAccountReturnsPartial() {
+        // Given
+        when(rateLimiterManager.tryConsume(API_KEY)).thenReturn(true);
+        BiFunction<BoxAPIConnection, SearchCacheKey, SearchResultPage> fast = fetcher(Map.of(
+            accountA, items("a1", "a2")));
+        BiFunction<BoxAPIConnection, SearchCacheKey, SearchResultPage> fetcher = (api, key) -> {
+            if (api == accountB) {
+                sleep(3000);
+                return new SearchResultPage(items("b1"), 1);
+            }
+            return fast.apply(api, key);
+        };
+
+        // When
+        long start = System.nanoTime();
+        SearchResultPage page = fanOutSearchService.search(API_KEY, key(0, 10), fetcher);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertTrue(page.isPartial());
+        assertEquals(List.of("a1", "a2"), ids(page));
+        assertTrue(elapsedMillis < 2000, "経過時間: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("search - 全てのアカウントで失敗した場合、BoxApiExceptionがスローされること")
+    void testSearch_AllAccountsFail() {
+        // Given
+        when(rateLimiterManager.tryConsume(API_KEY)).thenReturn(false);
+
+        // When & Then
+        BoxApiException exception = assertThrows(BoxApiException.class, () ->
+            fanOutSearchService.search(API_KEY, key(0, 10), (api, key) -> fail("Boxが呼ばれました")));
+        assertEquals(429, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("search - offset + limitが上限を超える場合、Boxを呼ばずにValidationExceptionがスローされること")
+    void testSearch_DepthLimitExceeded() {
+        // When & Then
+        ValidationException exception = assertThrows(ValidationException.class, () ->
+            fanOutSearchService.search(API_KEY, key(950, 100), (api, key) -> fail("Boxが呼ばれました")));
+        assertTrue(exception.getFieldErrors().containsKey("offset"));
+        verify(rateLimiterManager, never()).tryConsume(API_KEY);
+    }
+
+    private static SearchCacheKey key(int offset, int limit) {
+        return SearchCacheKey.of("scope-1", SearchRequest.builder().query("report").offset(offset).limit(limit).build());
+    }
+
+    /**
+     * アカウントごとの関連度順の結果から、指定範囲を返すフェッチャー
+     */
+    private static BiFunction<BoxAPIConnection, SearchCacheKey, SearchResultPage> fetcher(
+            Map<BoxAPIConnection, List<SearchResultItem>> results) {
+        return (api, key) -> {
+            List<SearchResultItem> all = results.get(api);
+            int from = Math.min(key.getOffset(), all.size());
+            int to = Math.min(key.getOffset() + key.getLimit(), all.size());
+            return new SearchResultPage(all.subList(from, to), all.size());
+        };
+    }
+
+    private static List<SearchResultItem> items(String... ids) {
+        return Arrays.stream(ids)
+            .map(id -> SearchResultItem.builder().id(id).type("file").name(id + ".pdf").build())
+            .toList();
+    }
+
+    private static List<String> ids(SearchResultPage page) {
+        return page.getResults().stream().map(SearchResultItem::getId).toList();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
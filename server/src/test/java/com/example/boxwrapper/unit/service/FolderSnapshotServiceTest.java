@@ -0,0 +1,152 @@
+package com.example.boxwrapper.unit.service;
+
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.client.BoxJsonApiClient;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.response.FolderChangesResponse;
+import com.example.boxwrapper.model.response.FolderSnapshotResponse;
+import com.example.boxwrapper.service.BoxFolderService;
+import com.example.boxwrapper.service.FolderSnapshotService;
+import com.example.boxwrapper.snapshot.FolderSnapshotStore;
+import com.example.boxwrapper.utils.RateLimiterManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * FolderSnapshotServiceのユニットテスト.
+ *
+ * <p>イベントストリームを使った差分検出と、全件クロールへのフォールバックをテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FolderSnapshotService Unit Tests")
+class FolderSnapshotServiceTest {
+
+    @Mock
+    private BoxFolderService folderService;
+
+    @Mock
+    private BoxClientManager clientManager;
+
+    @Mock
+    private RateLimiterManager rateLimiterManager;
+
+    @Mock
+    private BoxJsonApiClient jsonApiClient;
+
+    @TempDir
+    Path tempDir;
+
+    private FolderSnapshotService snapshotService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String API_KEY = "test-api-key";
+    private static final String SCOPE = "scope-1";
+    private static final String ROOT_ID = "100";
+    private static final String SUB_ID = "200";
+
+    @BeforeEach
+    void setUp() {
+        BoxProperties properties = new BoxProperties();
+        properties.getSnapshot().setDirectory(tempDir.toString());
+        snapshotService = new FolderSnapshotService(folderService, clientManager, rateLimiterManager,
+            jsonApiClient, new FolderSnapshotStore(properties), properties);
+
+        when(clientManager.getTenantScope(API_KEY)).thenReturn(SCOPE);
+        lenient().when(rateLimiterManager.tryConsume(API_KEY)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("getChanges - イベントに現れたフォルダのみ再取得し、追加と移動を検出すること")
+    void testGetChanges_IncrementalFromEvents() throws Exception {
+        // Given
+        when(jsonApiClient.get(any(), eq("events?stream_position=now")))
+            .thenReturn(objectMapper.readTree("{\"next_stream_position\": 10}"));
+        when(folderService.listFolderItemDetails(API_KEY, ROOT_ID))
+            .thenReturn(List.of(file("1", "0"), folder(SUB_ID)))
+            .thenReturn(List.of(file("1", "0"), folder(SUB_ID), file("2", "0"), file("3", "0")));
+        when(folderService.listFolderItemDetails(API_KEY, SUB_ID))
+            .thenReturn(List.of(file("2", "0")))
+            .thenReturn(List.of());
+        FolderSnapshotResponse snapshot = snapshotService.createSnapshot(API_KEY, ROOT_ID);
+
+        when(jsonApiClient.get(any(), eq("events?stream_type=changes&limit=500&stream_position=10")))
+            .thenReturn(objectMapper.readTree("{\"next_stream_position\": 12, \"entries\": ["
+                + "{\"source\": {\"type\": \"file\", \"id\": \"3\", \"parent\": {\"type\": \"folder\", \"id\": \"100\"}}},"
+                + "{\"source\": {\"type\": \"file\", \"id\": \"2\", \"parent\": {\"type\": \"folder\", \"id\": \"100\"}}}]}"));
+        when(jsonApiClient.get(any(), eq("events?stream_type=changes&limit=500&stream_position=12")))
+            .thenReturn(objectMapper.readTree("{\"next_stream_position\": 12, \"entries\": []}"));
+
+        // When
+        FolderChangesResponse changes = snapshotService.getChanges(API_KEY, ROOT_ID, snapshot.getSnapshotId());
+
+        // Then
+        assertTrue(changes.isIncremental());
+        assertEquals(List.of("3"), changes.getAdded().stream().map(FolderChangesResponse.ChangedItem::getId).toList());
+        assertEquals(1, changes.getMoved().size());
+        assertEquals("2", changes.getMoved().get(0).getId());
+        assertEquals(SUB_ID, changes.getMoved().get(0).getPreviousParentId());
+        assertTrue(changes.getRemoved().isEmpty());
+        assertTrue(changes.getModified().isEmpty());
+        assertNotEquals(snapshot.getSnapshotId(), changes.getSnapshotId());
+    }
+
+    @Test
+    @DisplayName("getChanges - イベントストリームが使えない場合は全件クロールで変更と削除を検出すること")
+    void testGetChanges_FullCrawlFallback() {
+        // Given
+        when(jsonApiClient.get(any(), any()))
+            .thenThrow(new BoxApiException("イベント取得に失敗しました", 403));
+        when(folderService.listFolderItemDetails(API_KEY, ROOT_ID))
+            .thenReturn(List.of(file("1", "0"), folder(SUB_ID)))
+            .thenReturn(List.of(file("1", "1")));
+        when(folderService.listFolderItemDetails(API_KEY, SUB_ID))
+            .thenReturn(List.of(file("2", "0")));
+        FolderSnapshotResponse snapshot = snapshotService.createSnapshot(API_KEY, ROOT_ID);
+
+        // When
+        FolderChangesResponse changes = snapshotService.getChanges(API_KEY, ROOT_ID, snapshot.getSnapshotId());
+
+        // Then
+        assertFalse(changes.isIncremental());
+        assertEquals(3, snapshot.getItemCount());
+        assertEquals(List.of("1"), changes.getModified().stream().map(FolderChangesResponse.ChangedItem::getId).toList());
+        assertEquals(List.of(SUB_ID, "2"), changes.getRemoved().stream().map(FolderChangesResponse.ChangedItem::getId).toList());
+        assertTrue(changes.getAdded().isEmpty());
+    }
+
+    @Test
+    @DisplayName("getChanges - スナップショットが存在しない場合、ResourceNotFoundExceptionがスローされること")
+    void testGetChanges_SnapshotNotFound() {
+        // When & Then
+        assertThrows(ResourceNotFoundException.class,
+            () -> snapshotService.getChanges(API_KEY, ROOT_ID, UUID.randomUUID().toString()));
+        verify(folderService, never()).listFolderItemDetails(any(), any());
+    }
+
+    private FolderItem file(String id, String etag) {
+        return FolderItem.builder().id(id).type("file").name("file" + id + ".txt").etag(etag).build();
+    }
+
+    private FolderItem folder(String id) {
+        return FolderItem.builder().id(id).type("folder").name("folder" + id).etag("0").build();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.boxwrapper.unit.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.BoxItemInvalidatedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListingCache;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.AsyncProperties;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.exception.BoxApiException;
+import com.example.boxwrapper.exception.ResourceNotFoundException;
+import com.example.boxwrapper.model.response.FolderUsageResponse;
+import com.example.boxwrapper.service.BoxFolderService;
+import com.example.boxwrapper.service.FolderUsageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * FolderUsageServiceのユニットテスト.
+ *
+ * <p>再帰集計、集計結果のキャッシュ、変更イベントによる差分反映をテストします。</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FolderUsageService Unit Tests")
+class FolderUsageServiceTest {
+
+    @Mock
+    private BoxFolderService folderService;
+
+    @Mock
+    private BoxClientManager clientManager;
+
+    private FolderListingCache folderListingCache;
+
+    private FolderUsageService usageService;
+
+    private static final String API_KEY = "test-api-key";
+    private static final String SCOPE = "scope-1";
+    private static final String ROOT_ID = "100";
+    private static final String CHILD_ID = "200";
+
+    @BeforeEach
+    void setUp() {
+        folderListingCache = new FolderListingCache(new CaffeineCacheManager(FolderListingCache.CACHE_NAME));
+        usageService = new FolderUsageService(folderService, clientManager, folderListingCache,
+            new BoxProperties(), new AsyncProperties());
+
+        when(clientManager.getTenantScope(API_KEY)).thenReturn(SCOPE);
+        lenient().when(folderService.listFolderItemDetails(API_KEY, ROOT_ID))
+            .thenReturn(List.of(file("1", 100L), file("2", 50L), folder(CHILD_ID)));
+        lenient().when(folderService.listFolderItemDetails(API_KEY, CHILD_ID))
+            .thenReturn(List.of(file("3", 25L)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        usageService.shutdown();
+    }
+
+    @Test
+    @DisplayName("getUsage - サブフォルダを含めて集計されること")
+    void testGetUsage_AggregatesSubtree() {
+        // When
+        FolderUsageResponse usage = usageService.getUsage(API_KEY, ROOT_ID, false);
+
+        // Then
+        assertEquals(ROOT_ID, usage.getFolderId());
+        assertEquals(175L, usage.getTotalBytes());
+        assertEquals(3L, usage.getFileCount());
+        assertEquals(1L, usage.getFolderCount());
+        assertNotNull(usage.getComputedAt());
+    }
+
+    @Test
+    @DisplayName("getUsage - 集計済みの場合はBoxを呼ばずに返すこと")
+    void testGetUsage_CacheHit() {
+        // Given
+        usageService.getUsage(API_KEY, ROOT_ID, false);
+
+        // When
+        FolderUsageResponse usage = usageService.getUsage(API_KEY, ROOT_ID, false);
+
+        // Then
+        assertEquals(175L, usage.getTotalBytes());
+        verify(folderService, times(1)).listFolderItemDetails(API_KEY, ROOT_ID);
+        verify(folderService, times(1)).listFolderItemDetails(API_KEY, CHILD_ID);
+    }
+
+    @Test
+    @DisplayName("onItemChanged - アップロードが祖先の集計に差分反映されること")
+    void testOnItemChanged_FileCreatedPropagates() {
+        // Given
+        usageService.getUsage(API_KEY, ROOT_ID, false);
+
+        // When
+        usageService.onItemChanged(event(BoxItemChangedEvent.ChangeType.CREATED,
+            BoxItemChangedEvent.ItemType.FILE, "4", CHILD_ID, file("4", 1000L)));
+
+        // Then
+        FolderUsageResponse usage = usageService.getUsage(API_KEY, ROOT_ID, false);
+        assertEquals(1175L, usage.getTotalBytes());
+        assertEquals(4L, usage.getFileCount());
+        verify(folderService, times(1)).listFolderItemDetails(API_KEY, ROOT_ID);
+    }
+
+    @Test
+    @DisplayName("getUsage - 小計を再計算した場合は集計日時が更新されること")
+    void testGetUsage_RecomputeUpdatesComputedAt() throws Exception {
+        // Given
+        FolderUsageResponse first = usageService.getUsage(API_KEY, ROOT_ID, false);
+        Thread.sleep(10);
+
+        // When
+        usageService.onItemChanged(event(BoxItemChangedEvent.ChangeType.DELETED,
+            BoxItemChangedEvent.ItemType.FILE, "3", CHILD_ID, null));
+        FolderUsageResponse recomputed = usageService.getUsage(API_KEY, ROOT_ID, false);
+
+        // Then
+        assertTrue(recomputed.getComputedAt().isAfter(first.getComputedAt()));
+        verify(folderService, times(1)).listFolderItemDetails(API_KEY, ROOT_ID);
+    }
+
+    @Test
+    @DisplayName("onItemChanged - サイズ不明のファイル削除では変更のあったフォルダのみ再取得されること")
+    void testOnItemChanged_UnknownDeleteRecrawlsOnlyDirtyFolder() {
+        // Given
+        usageService.getUsage(API_KEY, ROOT_ID, false);
+        when(folderService.listFolderItemDetails(API_KEY, CHILD_ID)).thenReturn(List.of());
+
+        // When
+        usageService.onItemChanged(event(BoxItemChangedEvent.ChangeType.DELETED,
+            BoxItemChangedEvent.ItemType.FILE, "3", CHILD_ID, null));
+        FolderUsageResponse usage = usageService.getUsage(API_KEY, ROOT_ID, false);
+
+        // Then
+        assertEquals(150L, usage.getTotalBytes());
+        assertEquals(2L, usage.getFileCount());
+        verify(folderService, times(1)).listFolderItemDetails(API_KEY, ROOT_ID);
+        verify(folderService, times(2)).listFolderItemDetails(API_KEY, CHILD_ID);
+    }
+
+    @Test
+    @DisplayName("onItemChanged - フォルダ削除で配下の集計が差し引かれること")
+    void testOnItemChanged_FolderDeletedSubtractsSubtree() {
+        // Given
+        usageService.getUsage(API_KEY, ROOT_ID, false);
+
+        // When
+        usageService.onItemChanged(event(BoxItemChangedEvent.ChangeType.DELETED,
+            BoxItemChangedEvent.ItemType.FOLDER, CHILD_ID, ROOT_ID, null));
+
+        // Then
+        FolderUsageResponse usage = usageService.getUsage(API_KEY, ROOT_ID, false);
+        assertEquals(150L, usage.getTotalBytes());
+        assertEquals(2L, usage.getFileCount());
+        assertEquals(0L, usage.getFolderCount());
+    }
+
+    @Test
+    @DisplayName("getUsage - Box APIエラーはそのままスローされること")
+    void testGetUsage_BoxApiError() {
+        // Given
+        when(folderService.listFolderItemDetails(anyString(), anyString()))
+            .thenThrow(new BoxApiException("失敗しました", 500));
+
+        // When & Then
+        BoxApiException exception = assertThrows(BoxApiException.class,
+            () -> usageService.getUsage(API_KEY, ROOT_ID, false));
+        assertEquals(500, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("getUsage - 再取得した子フォルダが削除済みの場合、親フォルダの集計は失敗せず子フォルダを除いて返すこと")
+    void testGetUsage_DeletedChildIsDropped() {
+        // Given - 集計後に子フォルダの外部変更が通知され、再取得時には子フォルダが削除されている
+        usageService.getUsage(API_KEY, ROOT_ID, false);
+        usageService.onItemInvalidated(BoxItemInvalidatedEvent.builder()
+            .scope(SCOPE)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId("3")
+            .parentId(CHILD_ID)
+            .build());
+        when(folderService.listFolderItemDetails(API_KEY, CHILD_ID))
+            .thenThrow(new ResourceNotFoundException("Folder", CHILD_ID));
+
+        // When
+        FolderUsageResponse usage = usageService.getUsage(API_KEY, ROOT_ID, false);
+
+        // Then
+        assertEquals(150L, usage.getTotalBytes());
+        assertEquals(2L, usage.getFileCount());
+        assertEquals(0L, usage.getFolderCount());
+        verify(folderService, times(1)).listFolderItemDetails(API_KEY, ROOT_ID);
+    }
+
+    private BoxItemChangedEvent event(BoxItemChangedEvent.ChangeType changeType, BoxItemChangedEvent.ItemType itemType,
+                                      String itemId, String parentId, FolderItem item) {
+        return BoxItemChangedEvent.builder()
+            .scope(SCOPE)
+            .changeType(changeType)
+            .itemType(itemType)
+            .itemId(itemId)
+            .parentId(parentId)
+            .item(item)
+            .build();
+    }
+
+    private FolderItem file(String id, Long size) {
+        return FolderItem.builder().id(id).type("file").name("file" + id + ".txt").size(size).build();
+    }
+
+    private FolderItem folder(String id) {
+        return FolderItem.builder().id(id).type("folder").name("folder" + id).build();
+    }
+}
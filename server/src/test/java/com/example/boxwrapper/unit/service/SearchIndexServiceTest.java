@@ -0,0 +1,166 @@
+package com.example.boxwrapper.unit.service;
+
+import com.example.boxwrapper.cache.BoxItemChangedEvent;
+import com.example.boxwrapper.cache.FolderItem;
+import com.example.boxwrapper.cache.FolderListedEvent;
+import com.example.boxwrapper.cache.SearchCacheKey;
+import com.example.boxwrapper.client.BoxClientManager;
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.index.IndexedItem;
+import com.example.boxwrapper.index.IndexedPage;
+import com.example.boxwrapper.model.request.SearchRequest;
+import com.example.boxwrapper.model.response.SearchIndexStatusResponse;
+import com.example.boxwrapper.service.BoxFolderService;
+import com.example.boxwrapper.service.SearchIndexService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SearchIndexServiceのユニットテスト.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchIndexService Unit Tests")
+class SearchIndexServiceTest {
+
+    @Mock
+    private BoxFolderService folderService;
+
+    @Mock
+    private BoxClientManager clientManager;
+
+    @TempDir
+    Path tempDir;
+
+    private SearchIndexService indexService;
+
+    private static final String API_KEY = "test-api-key";
+    private static final String SCOPE = "scope-1";
+
+    @BeforeEach
+    void setUp() {
+        BoxProperties properties = new BoxProperties();
+        properties.getSearchIndex().setEnabled(true);
+        properties.getSearchIndex().setDirectory(tempDir.toString());
+        indexService = new SearchIndexService(folderService, clientManager, properties);
+
+        lenient().when(clientManager.getTenantScope(API_KEY)).thenReturn(SCOPE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indexService.shutdown();
+    }
+
+    @Test
+    @DisplayName("search - 再構築前の索引では応答せず、Box検索にフォールバックすること")
+    void testSearch_NotCoveredBeforeRebuild() {
+        // Given
+        indexService.onFolderListed(new FolderListedEvent(SCOPE, "0", List.of(file("1", "report.pdf")), true));
+
+        // When
+        Optional<IndexedPage> result = indexService.search(key("report"));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("rebuild - 全フォルダ巡回後は索引から応答し、変更イベントが反映されること")
+    void testRebuild_ThenServesFromIndex() throws Exception {
+        // Given
+        when(folderService.listFolderItemDetails(API_KEY, "0"))
+            .thenReturn(List.of(file("1", "report.pdf"), folder("10", "reports")));
+        when(folderService.listFolderItemDetails(API_KEY, "10"))
+            .thenReturn(List.of(file("2", "report-2024.xlsx")));
+
+        // When
+        indexService.rebuild(API_KEY);
+        SearchIndexStatusResponse status = awaitRebuild();
+        indexService.onItemChanged(BoxItemChangedEvent.builder()
+            .scope(SCOPE)
+            .changeType(BoxItemChangedEvent.ChangeType.DELETED)
+            .itemType(BoxItemChangedEvent.ItemType.FILE)
+            .itemId("1")
+            .parentId("0")
+            .build());
+
+        // Then
+        assertTrue(status.isComplete());
+        assertEquals(3, status.getItemCount());
+        assertTrue(Files.exists(tempDir.resolve(SCOPE + ".idx")));
+
+        IndexedPage files = indexService.search(SearchCacheKey.of(SCOPE,
+            SearchRequest.builder().query("report").type("file").build())).orElseThrow();
+        assertEquals(List.of("report-2024.xlsx"), files.getItems().stream().map(IndexedItem::getName).toList());
+        assertEquals(1, files.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("search - 全件数はページの件数ではなく、ページングの前の一致件数であること")
+    void testSearch_TotalCountIsMatchCount() throws Exception {
+        // Given
+        when(folderService.listFolderItemDetails(API_KEY, "0"))
+            .thenReturn(List.of(file("1", "report-1.pdf"), file("2", "report-2.pdf"), file("3", "report-3.pdf")));
+        indexService.rebuild(API_KEY);
+        awaitRebuild();
+
+        // When
+        IndexedPage page = indexService.search(SearchCacheKey.of(SCOPE,
+            SearchRequest.builder().query("report").limit(2).offset(2).build())).orElseThrow();
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertEquals(3, page.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("getStatus - 索引が無効な場合、IllegalArgumentExceptionがスローされること")
+    void testGetStatus_Disabled() {
+        // Given
+        BoxProperties properties = new BoxProperties();
+        SearchIndexService disabled = new SearchIndexService(folderService, clientManager, properties);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> disabled.getStatus(API_KEY));
+        assertTrue(disabled.search(key("report")).isEmpty());
+        disabled.shutdown();
+    }
+
+    private SearchIndexStatusResponse awaitRebuild() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            SearchIndexStatusResponse status = indexService.getStatus(API_KEY);
+            if (!status.isRebuilding()) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        fail("索引の再構築が完了しませんでした");
+        return null;
+    }
+
+    private static SearchCacheKey key(String query) {
+        return SearchCacheKey.of(SCOPE, SearchRequest.builder().query(query).build());
+    }
+
+    private static FolderItem file(String id, String name) {
+        return FolderItem.builder().id(id).type("file").name(name).build();
+    }
+
+    private static FolderItem folder(String id, String name) {
+        return FolderItem.builder().id(id).type("folder").name(name).build();
+    }
+}
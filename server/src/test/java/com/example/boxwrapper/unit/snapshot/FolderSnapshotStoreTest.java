@@ -0,0 +1,116 @@
+package com.example.boxwrapper.unit.snapshot;
+
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.snapshot.FolderSnapshot;
+import com.example.boxwrapper.snapshot.FolderSnapshotStore;
+import com.example.boxwrapper.snapshot.SnapshotEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FolderSnapshotStoreのユニットテスト.
+ */
+@DisplayName("FolderSnapshotStore Unit Tests")
+class FolderSnapshotStoreTest {
+
+    private static final String SCOPE = "scope-1";
+
+    @TempDir
+    Path tempDir;
+
+    private FolderSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        BoxProperties properties = new BoxProperties();
+        properties.getSnapshot().setDirectory(tempDir.toString());
+        store = new FolderSnapshotStore(properties);
+    }
+
+    @Test
+    @DisplayName("save/load - 保存したスナップショットが復元されること")
+    void testSaveAndLoad_RoundTrip() {
+        // Given
+        FolderSnapshot snapshot = FolderSnapshot.builder()
+            .snapshotId(UUID.randomUUID().toString())
+            .folderId("100")
+            .streamPosition(123456789L)
+            .createdAt(Instant.ofEpochMilli(1_700_000_000_000L))
+            .entries(List.of(
+                SnapshotEntry.builder().id("1").type("file").name("a.txt").etag("0").sha1("abc").parentId("100").build(),
+                SnapshotEntry.builder().id("200").type("folder").name("sub").etag("1").parentId("100").build()))
+            .build();
+
+        // When
+        store.save(SCOPE, snapshot);
+        Optional<FolderSnapshot> loaded = store.load(SCOPE, snapshot.getSnapshotId());
+
+        // Then
+        assertTrue(loaded.isPresent());
+        assertEquals(snapshot, loaded.get());
+    }
+
+    @Test
+    @DisplayName("load - 他テナントのスナップショットは参照できないこと")
+    void testLoad_OtherTenant() {
+        // Given
+        FolderSnapshot snapshot = FolderSnapshot.builder()
+            .snapshotId(UUID.randomUUID().toString())
+            .folderId("100")
+            .createdAt(Instant.now())
+            .entries(List.of())
+            .build();
+        store.save(SCOPE, snapshot);
+
+        // When & Then
+        assertTrue(store.load("scope-2", snapshot.getSnapshotId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("save - フォルダごとに新しいスナップショットのみが保持されること")
+    void testSave_PrunesOldSnapshotsPerFolder() {
+        // Given
+        BoxProperties properties = new BoxProperties();
+        properties.getSnapshot().setDirectory(tempDir.toString());
+        properties.getSnapshot().setRetainedPerFolder(2);
+        FolderSnapshotStore retainingStore = new FolderSnapshotStore(properties);
+        FolderSnapshot other = snapshot("200", 0);
+        retainingStore.save(SCOPE, other);
+
+        // When
+        List<FolderSnapshot> saved = List.of(snapshot("100", 1), snapshot("100", 2), snapshot("100", 3));
+        saved.forEach(snapshot -> retainingStore.save(SCOPE, snapshot));
+
+        // Then
+        assertTrue(retainingStore.load(SCOPE, saved.get(0).getSnapshotId()).isEmpty());
+        assertTrue(retainingStore.load(SCOPE, saved.get(1).getSnapshotId()).isPresent());
+        assertTrue(retainingStore.load(SCOPE, saved.get(2).getSnapshotId()).isPresent());
+        assertTrue(retainingStore.load(SCOPE, other.getSnapshotId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("load - 不正な形式のIDは拒否されること")
+    void testLoad_InvalidId() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> store.load(SCOPE, "../secret"));
+    }
+
+    private static FolderSnapshot snapshot(String folderId, long createdAtSeconds) {
+        return FolderSnapshot.builder()
+            .snapshotId(UUID.randomUUID().toString())
+            .folderId(folderId)
+            .createdAt(Instant.ofEpochSecond(1_700_000_000L + createdAtSeconds))
+            .entries(List.of())
+            .build();
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -125,6 +127,22 @@ class RateLimiterManagerTest {
             "Request exceeding rate limit should fail");
     }
 
+    @Test
+    @DisplayName("tryConsume(待機あり) - トークンが補充されるまで待機して成功し、待機時間を超えると失敗すること")
+    void testTryConsumeWithWait_WaitsForRefill() {
+        // Given
+        boxProperties.getRateLimit().setRequestsPerSecond(5);
+        rateLimiterManager = new RateLimiterManager(boxProperties);
+        String apiKey = "test-api-key";
+        for (int i = 0; i < 5; i++) {
+            rateLimiterManager.tryConsume(apiKey);
+        }
+
+        // When & Then
+        assertFalse(rateLimiterManager.tryConsume(apiKey, Duration.ofMillis(10)));
+        assertTrue(rateLimiterManager.tryConsume(apiKey, Duration.ofSeconds(2)));
+    }
+
     @Test
     @DisplayName("handleRateLimitExceeded - アダプティブ制御が有効の場合、レート制限が減少すること")
     void testHandleRateLimitExceeded_AdaptiveEnabled() {
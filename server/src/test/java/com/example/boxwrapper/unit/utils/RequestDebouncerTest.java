@@ -0,0 +1,101 @@
+package com.example.boxwrapper.unit.utils;
+
+import com.example.boxwrapper.config.BoxProperties;
+import com.example.boxwrapper.utils.RequestDebouncer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RequestDebouncerのユニットテスト.
+ *
+ * <p>同じキーの連続したリクエストの置き換えと、呼び出し元をブロックしないことをテストします。</p>
+ */
+@DisplayName("RequestDebouncer Unit Tests")
+class RequestDebouncerTest {
+
+    private RequestDebouncer debouncer;
+
+    @AfterEach
+    void tearDown() {
+        if (debouncer != null) {
+            debouncer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("debounce - 待機時間が0の場合、置き換えなしで即座に完了すること")
+    void testDebounce_Disabled() {
+        // Given
+        debouncer = new RequestDebouncer(properties(0));
+
+        // When
+        CompletableFuture<Boolean> result = debouncer.debounce("scope-1:session-1");
+
+        // Then
+        assertFalse(debouncer.isEnabled());
+        assertTrue(result.isDone());
+        assertFalse(result.join());
+    }
+
+    @Test
+    @DisplayName("debounce - 呼び出し元をブロックせず、待機時間の経過後に置き換えなしで完了すること")
+    void testDebounce_CompletesAfterWindow() throws Exception {
+        // Given
+        debouncer = new RequestDebouncer(properties(200));
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> result = debouncer.debounce("scope-1:session-1");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertTrue(elapsedMillis < 200);
+        assertFalse(result.isDone());
+        assertFalse(result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("debounce - 同じキーの新しいリクエストが届いた時点で、前のリクエストが置き換えられること")
+    void testDebounce_SupersededBySameKey() throws Exception {
+        // Given
+        debouncer = new RequestDebouncer(properties(10_000));
+
+        // When
+        CompletableFuture<Boolean> first = debouncer.debounce("scope-1:session-1");
+        CompletableFuture<Boolean> second = debouncer.debounce("scope-1:session-1");
+        CompletableFuture<Boolean> otherSession = debouncer.debounce("scope-1:session-2");
+
+        // Then
+        assertTrue(first.isDone());
+        assertTrue(first.join());
+        assertFalse(second.isDone());
+        assertFalse(otherSession.isDone());
+    }
+
+    @Test
+    @DisplayName("shutdown - 待機中のリクエストは置き換えられたものとして完了すること")
+    void testShutdown_CompletesPending() {
+        // Given
+        debouncer = new RequestDebouncer(properties(10_000));
+        CompletableFuture<Boolean> pending = debouncer.debounce("scope-1:session-1");
+
+        // When
+        debouncer.shutdown();
+
+        // Then
+        assertTrue(pending.isDone());
+        assertTrue(pending.join());
+    }
+
+    private static BoxProperties properties(long debounceMillis) {
+        BoxProperties boxProperties = new BoxProperties();
+        boxProperties.getSearch().setDebounceMillis(debounceMillis);
+        return boxProperties;
+    }
+}
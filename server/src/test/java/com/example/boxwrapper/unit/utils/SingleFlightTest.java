@@ -0,0 +1,165 @@
+package com.example.boxwrapper.unit.utils;
+
+import com.example.boxwrapper.utils.SingleFlight;
+import com.example.boxwrapper.utils.SingleFlightStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SingleFlightのユニットテスト.
+ *
+ * <p>同一キーの同時呼び出しの集約と、例外の共有、待機時間の上限をテストします。</p>
+ */
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("execute - 同じキーの同時呼び出しは1回の処理にまとめられ、結果を共有すること")
+    void testExecute_ConcurrentCallsShareOneInvocation() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            List<Future<String>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                invocations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    invocations.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            // 後続の呼び出しが待機状態に入るまで待つ
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            for (Future<String> future : futures) {
+                assertEquals("result", future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, invocations.get());
+            assertEquals(0, singleFlight.inFlightCount());
+            SingleFlightStats stats = singleFlight.getStats();
+            assertEquals(1, stats.getExecutionCount());
+            assertEquals(3, stats.getCollapsedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("execute - 処理が例外をスローした場合、待機していた呼び出し元にも同じ例外がスローされること")
+    void testExecute_ExceptionSharedWithWaiters() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        IllegalStateException failure = new IllegalStateException("upstream failed");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw failure;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Throwable> follower = executor.submit(() -> {
+                try {
+                    singleFlight.execute("key", () -> "unexpected");
+                    return null;
+                } catch (RuntimeException e) {
+                    return e;
+                }
+            });
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertSame(failure, follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("execute - 処理の完了後に呼び出された場合は新たに実行されること")
+    void testExecute_RunsAgainAfterCompletion() {
+        // Given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger invocations = new AtomicInteger();
+
+        // When
+        int first = singleFlight.execute("key", invocations::incrementAndGet);
+        int second = singleFlight.execute("key", invocations::incrementAndGet);
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(2, second);
+    }
+
+    @Test
+    @DisplayName("execute - 待機時間の上限を超えた場合は実行中の処理を待たずに自身で実行すること")
+    void testExecute_FollowerRunsItselfAfterMaxWait() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                return "slow";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When
+            String follower = singleFlight.execute("key", () -> "own");
+
+            // Then
+            assertEquals("own", follower);
+            release.countDown();
+            assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+            SingleFlightStats stats = singleFlight.getStats();
+            assertEquals(2, stats.getExecutionCount());
+            assertEquals(0, stats.getCollapsedCount());
+            assertEquals(1, stats.getWaitTimeoutCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}